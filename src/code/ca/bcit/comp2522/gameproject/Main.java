@@ -1,7 +1,7 @@
 package ca.bcit.comp2522.gameproject;
 
-import java.util.Scanner;
-
+import ca.bcit.comp2522.gameproject.input.ReaderInputSource;
+import ca.bcit.comp2522.gameproject.interfaces.InputSource;
 import ca.bcit.comp2522.gameproject.interfaces.Replayable;
 import ca.bcit.comp2522.gameproject.mastermind.MastermindGame;
 import ca.bcit.comp2522.gameproject.numbergame.NumberGame;
@@ -13,7 +13,11 @@ import ca.bcit.comp2522.gameproject.wordgame.WordGame;
  * This class provides a simple text-based menu that allows the user to choose
  * from different games.
  * The menu runs in an infinite loop until the user chooses to quit by pressing
- * {@value #CHOICE_QUIT}.
+ * {@value #CHOICE_QUIT}, or until the input ends.
+ * </p>
+ * <p>
+ * The menu and every game read from the one shared console input, so input
+ * piped in is handed out a line at a time in order.
  * </p>
  *
  * @author Nathan O
@@ -21,10 +25,10 @@ import ca.bcit.comp2522.gameproject.wordgame.WordGame;
  */
 public final class Main
 {
-    private static final Scanner    scan;
-    private static final Replayable wordGame;
-    private static final Replayable numberGame;
-    private static final Replayable mastermindGame;
+    private static final InputSource input;
+    private static final Replayable  wordGame;
+    private static final Replayable  numberGame;
+    private static final Replayable  mastermindGame;
 
     private static final String CHOICE_WORD_GAME   = "W";
     private static final String CHOICE_NUMBER_GAME = "N";
@@ -43,10 +47,10 @@ public final class Main
 
     static
     {
-        scan           = new Scanner(System.in);
-        wordGame       = new WordGame();
+        input          = ReaderInputSource.standardInput();
+        wordGame       = new WordGame(input);
         numberGame     = new NumberGame();
-        mastermindGame = new MastermindGame();
+        mastermindGame = new MastermindGame(input);
     }
 
     /**
@@ -68,8 +72,11 @@ public final class Main
         do
         {
             showMenu();
-            choice = scan.next()
-                         .toUpperCase();
+            choice = input.hasNextLine() ?
+                     input.nextLine()
+                          .trim()
+                          .toUpperCase() :
+                     CHOICE_QUIT;
 
             switch(choice)
             {
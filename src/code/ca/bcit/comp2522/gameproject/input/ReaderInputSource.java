@@ -0,0 +1,131 @@
+package ca.bcit.comp2522.gameproject.input;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.NoSuchElementException;
+
+import ca.bcit.comp2522.gameproject.interfaces.InputSource;
+
+/**
+ * An {@link InputSource} that reads lines from a single buffered reader.
+ * <p>
+ * The console is read through one shared instance,
+ * {@link #standardInput()}. Wrapping standard input more than once would let
+ * each wrapper buffer ahead, so lines piped in for one reader would be lost
+ * to another.
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public final class ReaderInputSource implements
+                                     InputSource
+{
+    private static final ReaderInputSource STANDARD_INPUT = new ReaderInputSource(new InputStreamReader(System.in,
+                                                                                                        Charset.defaultCharset()));
+
+    private final BufferedReader reader;
+
+    private String  pendingLine;
+    private boolean ended;
+
+    /**
+     * Constructs a {@code ReaderInputSource} over the given reader.
+     *
+     * @param reader the reader to take lines from
+     */
+    public ReaderInputSource(final Reader reader)
+    {
+        if(reader == null)
+        {
+            throw new IllegalArgumentException("Reader cannot be null");
+        }
+
+        this.reader      = reader instanceof BufferedReader buffered ?
+                           buffered :
+                           new BufferedReader(reader);
+        this.pendingLine = null;
+        this.ended       = false;
+    }
+
+    /**
+     * Gets the source shared by everything that reads from the console.
+     *
+     * @return the standard input source
+     */
+    public static ReaderInputSource standardInput()
+    {
+        return STANDARD_INPUT;
+    }
+
+    @Override
+    public boolean hasNextLine()
+    {
+        if(pendingLine != null)
+        {
+            return true;
+        }
+        if(ended)
+        {
+            return false;
+        }
+
+        try
+        {
+            pendingLine = reader.readLine();
+        }
+        catch(final IOException e)
+        {
+            throw new UncheckedIOException("Failed to read input",
+                                           e);
+        }
+
+        ended = pendingLine == null;
+        return !ended;
+    }
+
+    @Override
+    public String nextLine()
+    {
+        if(!hasNextLine())
+        {
+            throw new NoSuchElementException("Input stream ended unexpectedly.");
+        }
+
+        final String line;
+
+        line        = pendingLine;
+        pendingLine = null;
+        return line;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A line that has only partly arrived still counts as ready, so reading
+     * it may wait for the rest.
+     * </p>
+     */
+    @Override
+    public boolean isReady()
+    {
+        if(pendingLine != null || ended)
+        {
+            return true;
+        }
+
+        try
+        {
+            return reader.ready();
+        }
+        catch(final IOException e)
+        {
+            throw new UncheckedIOException("Failed to check input",
+                                           e);
+        }
+    }
+}
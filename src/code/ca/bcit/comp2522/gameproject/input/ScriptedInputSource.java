@@ -0,0 +1,108 @@
+package ca.bcit.comp2522.gameproject.input;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+import ca.bcit.comp2522.gameproject.interfaces.InputSource;
+
+/**
+ * An {@link InputSource} that plays back a fixed script of lines held in
+ * memory.
+ * <p>
+ * Nothing ever waits, so a long transcript of player input runs through a
+ * game as fast as the game can process it. When the script runs out, the
+ * input has ended.
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public final class ScriptedInputSource implements
+                                       InputSource
+{
+    private final List<String> lines;
+
+    private int nextLine;
+
+    /**
+     * Constructs a {@code ScriptedInputSource} that plays back the given
+     * lines in order.
+     *
+     * @param lines the lines to play back
+     */
+    public ScriptedInputSource(final List<String> lines)
+    {
+        if(lines == null)
+        {
+            throw new IllegalArgumentException("Lines cannot be null");
+        }
+
+        this.lines    = List.copyOf(lines);
+        this.nextLine = 0;
+    }
+
+    /**
+     * Creates a source that plays back the given lines in order.
+     *
+     * @param lines the lines to play back
+     * @return the scripted source
+     */
+    public static ScriptedInputSource of(final String... lines)
+    {
+        if(lines == null)
+        {
+            throw new IllegalArgumentException("Lines cannot be null");
+        }
+        return new ScriptedInputSource(List.of(lines));
+    }
+
+    /**
+     * Creates a source that plays back a transcript, one line per line of
+     * text.
+     *
+     * @param transcript the text to split into lines
+     * @return the scripted source
+     */
+    public static ScriptedInputSource fromTranscript(final String transcript)
+    {
+        if(transcript == null)
+        {
+            throw new IllegalArgumentException("Transcript cannot be null");
+        }
+        return new ScriptedInputSource(transcript.lines()
+                                                 .collect(Collectors.toList()));
+    }
+
+    @Override
+    public boolean hasNextLine()
+    {
+        return nextLine < lines.size();
+    }
+
+    @Override
+    public String nextLine()
+    {
+        if(!hasNextLine())
+        {
+            throw new NoSuchElementException("Input stream ended unexpectedly.");
+        }
+        return lines.get(nextLine++);
+    }
+
+    @Override
+    public boolean isReady()
+    {
+        return true;
+    }
+
+    /**
+     * Gets how many lines of the script have not been read yet.
+     *
+     * @return the number of lines left
+     */
+    public int getRemainingLines()
+    {
+        return lines.size() - nextLine;
+    }
+}
@@ -0,0 +1,44 @@
+package ca.bcit.comp2522.gameproject.interfaces;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A source of player input, read one line at a time.
+ * <p>
+ * Every game reads through the same source, so input meant for one game is
+ * never swallowed by another game's buffer. A source can be backed by the
+ * console or by a script of lines, which lets a whole transcript be replayed
+ * at full speed. A source is meant to be used by one thread at a time.
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public interface InputSource
+{
+    /**
+     * Checks whether another line can be read, waiting for one to arrive if
+     * need be.
+     *
+     * @return true if {@link #nextLine()} will return a line, false if the
+     *         input has ended
+     */
+    boolean hasNextLine();
+
+    /**
+     * Reads the next line, waiting for one to arrive if need be.
+     *
+     * @return the next line, without its line terminator
+     * @throws NoSuchElementException if the input has ended
+     */
+    String nextLine();
+
+    /**
+     * Checks, without waiting, whether {@link #hasNextLine()} can answer
+     * straight away, either because input has arrived or because the input
+     * has ended.
+     *
+     * @return true if checking for the next line will not block
+     */
+    boolean isReady();
+}
@@ -0,0 +1,23 @@
+package ca.bcit.comp2522.gameproject.interfaces;
+
+/**
+ * A destination for text shown to the player.
+ * <p>
+ * Text is handed over a whole screen at a time, so a sink backed by a
+ * console or socket can send it in one write and flush, rather than one per
+ * line.
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+@FunctionalInterface
+public interface OutputSink
+{
+    /**
+     * Writes text and makes sure it has been sent on before returning.
+     *
+     * @param text the text to write
+     */
+    void write(CharSequence text);
+}
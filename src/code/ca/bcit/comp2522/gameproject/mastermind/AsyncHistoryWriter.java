@@ -0,0 +1,437 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import ca.bcit.comp2522.gameproject.mastermind.GameHistoryManager.GameSessionRecord;
+
+/**
+ * Writes game history records to the text history file on a background
+ * thread, committing them in groups.
+ * <p>
+ * Callers hand records to a bounded queue and return at once; they only block
+ * when the queue is full. A single writer thread collects up to a batch size
+ * of records, or whatever arrives within the batch delay, and writes them in
+ * one go through a file handle it keeps open. After each batch it makes the
+ * records as durable as the configured {@link Durability} asks.
+ * </p>
+ * <p>
+ * A shutdown hook drains the queue so records accepted before the JVM exits
+ * are written. {@link #close()} does the same on demand.
+ * </p>
+ * <p>
+ * If the writer thread fails, for example because the disk is full, it stops
+ * for good and {@link #submit(GameSessionRecord)} turns records away so the
+ * caller can write them itself. Records that were queued, or written but not
+ * yet confirmed, when it failed are handed back by {@link #takeUnwritten()}.
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+final class AsyncHistoryWriter implements AutoCloseable
+{
+    /**
+     * How far each batch is pushed towards the disk before it counts as
+     * written.
+     */
+    enum Durability
+    {
+        /** Leave records in the writer's buffer until it fills or closes. */
+        NONE,
+        /** Hand each batch to the operating system. */
+        FLUSH,
+        /** Force each batch to the storage device. */
+        FSYNC
+    }
+
+    private static final long POLL_MILLIS = 50L;
+
+    private final Path                             filePath;
+    private final BlockingQueue<GameSessionRecord> queue;
+    private final int                              batchSize;
+    private final long                             maxDelayNanos;
+    private final Durability                       durability;
+    private final Thread                           writerThread;
+    private final Thread                           shutdownHook;
+    private final Object                           progressLock;
+    private final List<GameSessionRecord>          unwritten;
+
+    private volatile boolean closed;
+    private volatile boolean failed;
+    private volatile boolean flushRequested;
+    private long             submittedCount;
+    private long             visibleCount;
+
+    /**
+     * Constructs an {@code AsyncHistoryWriter} and starts its writer thread.
+     *
+     * @param filePath       the history file to append to
+     * @param queueCapacity  the most records that can wait to be written
+     * @param batchSize      the most records written in one batch
+     * @param maxDelayMillis how long a batch waits for more records
+     * @param durability     how far each batch is pushed towards the disk
+     */
+    AsyncHistoryWriter(final Path filePath,
+                       final int queueCapacity,
+                       final int batchSize,
+                       final long maxDelayMillis,
+                       final Durability durability)
+    {
+        if(filePath == null)
+        {
+            throw new IllegalArgumentException("File path cannot be null");
+        }
+        if(queueCapacity <= 0 || batchSize <= 0)
+        {
+            throw new IllegalArgumentException("Queue capacity and batch size must be positive");
+        }
+        if(maxDelayMillis < 0)
+        {
+            throw new IllegalArgumentException("Batch delay cannot be negative");
+        }
+        if(durability == null)
+        {
+            throw new IllegalArgumentException("Durability cannot be null");
+        }
+
+        this.filePath      = filePath;
+        this.queue         = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize     = batchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.durability    = durability;
+        this.progressLock  = new Object();
+        this.unwritten     = new ArrayList<>();
+        this.writerThread  = new Thread(this::runWriter,
+                                        "mastermind-history-writer");
+        this.shutdownHook  = new Thread(this::drainAndStop,
+                                        "mastermind-history-drain");
+
+        writerThread.setDaemon(true);
+        writerThread.start();
+        Runtime.getRuntime()
+               .addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Queues a record to be written, waiting if the queue is full. Never
+     * waits on a writer that has failed.
+     *
+     * @param record the record to write
+     * @return true if the record was queued, or false if it was not and the
+     *         caller must write it itself. A queued record the writer fails
+     *         to write is handed back by {@link #takeUnwritten()}.
+     */
+    boolean submit(final GameSessionRecord record)
+    {
+        if(record == null)
+        {
+            throw new IllegalArgumentException("Record cannot be null");
+        }
+        if(closed)
+        {
+            throw new IllegalStateException("History writer is closed");
+        }
+        if(failed)
+        {
+            return false;
+        }
+
+        synchronized(progressLock)
+        {
+            submittedCount++;
+        }
+
+        try
+        {
+            while(!queue.offer(record,
+                               POLL_MILLIS,
+                               TimeUnit.MILLISECONDS))
+            {
+                if(failed)
+                {
+                    return false;
+                }
+            }
+        }
+        catch(final InterruptedException e)
+        {
+            Thread.currentThread()
+                  .interrupt();
+            markVisible(1);
+            return false;
+        }
+
+        // The writer may have failed after the check above. A record it
+        // already took is handed back by takeUnwritten; otherwise take it back.
+        return !(failed && queue.remove(record));
+    }
+
+    /**
+     * Checks whether the writer thread has stopped because of an error.
+     *
+     * @return true if the writer has failed
+     */
+    boolean hasFailed()
+    {
+        return failed;
+    }
+
+    /**
+     * Takes the records the writer could not confirm as written when it
+     * failed, oldest first, so the caller can write them itself.
+     *
+     * @return the unwritten records; empty unless the writer has failed
+     */
+    List<GameSessionRecord> takeUnwritten()
+    {
+        synchronized(progressLock)
+        {
+            final List<GameSessionRecord> records;
+            records = new ArrayList<>(unwritten);
+
+            unwritten.clear();
+            return records;
+        }
+    }
+
+    /**
+     * Waits until every record submitted so far can be read back from the
+     * file, asking the writer to flush if records are being held in its
+     * buffer.
+     */
+    void awaitWritten()
+    {
+        synchronized(progressLock)
+        {
+            final long target;
+            target = submittedCount;
+
+            while(visibleCount < target && writerThread.isAlive())
+            {
+                flushRequested = true;
+                try
+                {
+                    progressLock.wait(POLL_MILLIS);
+                }
+                catch(final InterruptedException e)
+                {
+                    Thread.currentThread()
+                          .interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes every queued record and stops the writer thread.
+     */
+    @Override
+    public void close()
+    {
+        try
+        {
+            Runtime.getRuntime()
+                   .removeShutdownHook(shutdownHook);
+        }
+        catch(final IllegalStateException e)
+        {
+            // Already shutting down; the hook is draining.
+        }
+        drainAndStop();
+    }
+
+    /*
+     * Stops accepting records and waits for the writer to finish the queue.
+     */
+    private void drainAndStop()
+    {
+        closed = true;
+        try
+        {
+            writerThread.join();
+        }
+        catch(final InterruptedException e)
+        {
+            Thread.currentThread()
+                  .interrupt();
+        }
+    }
+
+    /*
+     * The writer thread: collects batches from the queue and writes them
+     * until closed and drained.
+     */
+    private void runWriter()
+    {
+        final List<GameSessionRecord> batch;
+        final List<GameSessionRecord> unconfirmed;
+
+        batch       = new ArrayList<>(batchSize);
+        unconfirmed = new ArrayList<>();
+
+        try
+        {
+            if(filePath.getParent() != null)
+            {
+                Files.createDirectories(filePath.getParent());
+            }
+        }
+        catch(final IOException e)
+        {
+            System.err.println("Error creating history directory for " +
+                               filePath +
+                               ": " +
+                               e.getMessage());
+        }
+
+        try(final FileOutputStream fileStream = new FileOutputStream(filePath.toFile(),
+                                                                     true);
+            final BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(fileStream,
+                                                                                    StandardCharsets.UTF_8)))
+        {
+            while(!closed || !queue.isEmpty())
+            {
+                collectBatch(batch);
+
+                if(!batch.isEmpty())
+                {
+                    for(final GameSessionRecord record : batch)
+                    {
+                        writer.write(GameHistoryManager.formatRecord(record));
+                    }
+                    unconfirmed.addAll(batch);
+                    batch.clear();
+
+                    if(durability != Durability.NONE)
+                    {
+                        confirm(writer,
+                                fileStream,
+                                unconfirmed);
+                    }
+                }
+
+                if(!unconfirmed.isEmpty() && (flushRequested || closed))
+                {
+                    confirm(writer,
+                            fileStream,
+                            unconfirmed);
+                }
+                flushRequested = false;
+            }
+
+            confirm(writer,
+                    fileStream,
+                    unconfirmed);
+        }
+        catch(final IOException | RuntimeException e)
+        {
+            failed = true;
+            System.err.println("Error writing game history to " +
+                               filePath +
+                               ": " +
+                               e.getMessage());
+        }
+        finally
+        {
+            synchronized(progressLock)
+            {
+                // Hand back anything not confirmed, oldest first, so it can be saved directly.
+                unwritten.addAll(unconfirmed);
+                unwritten.addAll(batch);
+                queue.drainTo(unwritten);
+
+                // Release waiting readers; the writer is done either way.
+                visibleCount = submittedCount;
+                progressLock.notifyAll();
+            }
+        }
+    }
+
+    /*
+     * Pushes written records as far towards the disk as the durability asks
+     * and marks them as readable.
+     */
+    private void confirm(final BufferedWriter writer,
+                         final FileOutputStream fileStream,
+                         final List<GameSessionRecord> unconfirmed) throws IOException
+    {
+        writer.flush();
+        if(durability == Durability.FSYNC)
+        {
+            fileStream.getChannel()
+                      .force(true);
+        }
+        markVisible(unconfirmed.size());
+        unconfirmed.clear();
+    }
+
+    /*
+     * Fills the batch with the next record and any that follow within the
+     * batch delay, up to the batch size. Returns with an empty batch if
+     * nothing arrives within one poll interval.
+     */
+    private void collectBatch(final List<GameSessionRecord> batch)
+    {
+        try
+        {
+            final GameSessionRecord first;
+            first = queue.poll(POLL_MILLIS,
+                               TimeUnit.MILLISECONDS);
+
+            if(first == null)
+            {
+                return;
+            }
+            batch.add(first);
+
+            final long deadline;
+            deadline = System.nanoTime() + maxDelayNanos;
+
+            while(batch.size() < batchSize)
+            {
+                final long              remaining;
+                final GameSessionRecord next;
+
+                remaining = deadline - System.nanoTime();
+                next      = remaining > 0 ?
+                            queue.poll(remaining,
+                                       TimeUnit.NANOSECONDS) :
+                            queue.poll();
+
+                if(next == null)
+                {
+                    return;
+                }
+                batch.add(next);
+            }
+        }
+        catch(final InterruptedException e)
+        {
+            closed = true;
+        }
+    }
+
+    /*
+     * Records that more records can now be read from the file.
+     */
+    private void markVisible(final long count)
+    {
+        synchronized(progressLock)
+        {
+            visibleCount += count;
+            progressLock.notifyAll();
+        }
+    }
+}
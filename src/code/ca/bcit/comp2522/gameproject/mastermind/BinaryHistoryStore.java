@@ -0,0 +1,570 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import ca.bcit.comp2522.gameproject.mastermind.GameHistoryManager.GameSessionRecord;
+
+/**
+ * Append-only binary store for {@code Mastermind} game history.
+ * <p>
+ * The data file starts with an {@value #FILE_HEADER_BYTES}-byte header and is
+ * followed by records. Each record has a fixed {@value #RECORD_HEADER_BYTES}
+ * -byte header (record mark, outcome byte, round count, truth scan text
+ * length and end-of-game timestamp in epoch seconds), one packed {@code int}
+ * per round, and the truth scan text in UTF-8.
+ * </p>
+ * <p>
+ * Three sidecar index files sit beside the data file: one for every game and
+ * one per outcome. Each holds {@value #INDEX_ENTRY_BYTES}-byte entries of
+ * record offset and timestamp in the order games were saved, so filtered
+ * views, "last N" and date-range queries read only the entries and records
+ * they return. Reads go through a single memory-mapped buffer, so data files
+ * over 2 GB are refused rather than read.
+ * </p>
+ * <p>
+ * Rounds are stored in the {@link PackedRound} layout.
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+final class BinaryHistoryStore
+{
+    static final String OUTCOME_WON  = "Won";
+    static final String OUTCOME_LOST = "Lost";
+
+    private static final int   FILE_MAGIC        = 0x4D4D4831; // "MMH1"
+    private static final int   FILE_VERSION      = 1;
+    private static final int   FILE_HEADER_BYTES = 8;
+    private static final short RECORD_MARK       = 0x4D52; // "MR"
+
+    private static final int RECORD_HEADER_BYTES = 16;
+    private static final int ROUND_BYTES         = Integer.BYTES;
+    private static final int INDEX_ENTRY_BYTES   = 16;
+
+    private static final byte OUTCOME_LOST_BYTE = 0;
+    private static final byte OUTCOME_WON_BYTE  = 1;
+
+    private static final String INDEX_ALL_SUFFIX  = ".all.idx";
+    private static final String INDEX_WON_SUFFIX  = ".won.idx";
+    private static final String INDEX_LOST_SUFFIX = ".lost.idx";
+
+    private static final int  MAX_ROUND_COUNT = Byte.MAX_VALUE;
+    private static final long MAX_DATA_BYTES  = Integer.MAX_VALUE;
+
+    private final Path dataPath;
+    private final Path allIndexPath;
+    private final Path wonIndexPath;
+    private final Path lostIndexPath;
+
+    /**
+     * Constructs a {@code BinaryHistoryStore} over the given data file. The
+     * index files are named after it.
+     *
+     * @param dataPath the path of the binary history file
+     */
+    BinaryHistoryStore(final Path dataPath)
+    {
+        if(dataPath == null)
+        {
+            throw new IllegalArgumentException("Data path cannot be null");
+        }
+
+        this.dataPath      = dataPath;
+        this.allIndexPath  = siblingPath(dataPath,
+                                         INDEX_ALL_SUFFIX);
+        this.wonIndexPath  = siblingPath(dataPath,
+                                         INDEX_WON_SUFFIX);
+        this.lostIndexPath = siblingPath(dataPath,
+                                         INDEX_LOST_SUFFIX);
+    }
+
+    /**
+     * Gets the path of the binary history file.
+     *
+     * @return the data file path
+     */
+    Path getDataPath()
+    {
+        return dataPath;
+    }
+
+    /**
+     * Appends a record to the store, then adds it to the indexes.
+     *
+     * @param record the record to append
+     * @throws IOException if the files cannot be written
+     */
+    void append(final GameSessionRecord record) throws IOException
+    {
+        if(record == null)
+        {
+            throw new IllegalArgumentException("Record cannot be null");
+        }
+
+        final int        roundCount;
+        final byte[]     scanInfo;
+        final long       epochSecond;
+        final ByteBuffer buffer;
+        final long       offset;
+
+        roundCount   = record.getRoundCount();
+        scanInfo     = record.getTruthScanInfo() == null ?
+                       new byte[0] :
+                       record.getTruthScanInfo()
+                             .getBytes(StandardCharsets.UTF_8);
+        epochSecond  = record.getTimestamp()
+                             .toEpochSecond(ZoneOffset.UTC);
+
+        if(roundCount > MAX_ROUND_COUNT)
+        {
+            throw new IllegalArgumentException("Too many rounds to store: " +
+                                               roundCount);
+        }
+
+        buffer = ByteBuffer.allocate(RECORD_HEADER_BYTES +
+                                     roundCount * ROUND_BYTES +
+                                     scanInfo.length);
+        buffer.putShort(RECORD_MARK);
+        buffer.put(outcomeToByte(record.getOutcome()));
+        buffer.put((byte)roundCount);
+        buffer.putInt(scanInfo.length);
+        buffer.putLong(epochSecond);
+        for(int round = 0; round < roundCount; round++)
+        {
+            buffer.putInt(record.getRound(round));
+        }
+        buffer.put(scanInfo);
+        buffer.flip();
+
+        if(dataPath.getParent() != null)
+        {
+            Files.createDirectories(dataPath.getParent());
+        }
+
+        try(final FileChannel channel = FileChannel.open(dataPath,
+                                                         StandardOpenOption.CREATE,
+                                                         StandardOpenOption.WRITE,
+                                                         StandardOpenOption.APPEND))
+        {
+            if(channel.size() == 0)
+            {
+                final ByteBuffer header;
+                header = ByteBuffer.allocate(FILE_HEADER_BYTES);
+                header.putInt(FILE_MAGIC);
+                header.putInt(FILE_VERSION);
+                header.flip();
+                writeFully(channel,
+                           header);
+            }
+
+            offset = channel.size();
+            writeFully(channel,
+                       buffer);
+        }
+
+        appendIndexEntry(allIndexPath,
+                         offset,
+                         epochSecond);
+        appendIndexEntry(OUTCOME_WON.equalsIgnoreCase(record.getOutcome()) ?
+                         wonIndexPath :
+                         lostIndexPath,
+                         offset,
+                         epochSecond);
+    }
+
+    /**
+     * Reads every record in the order they were saved.
+     *
+     * @return all records
+     * @throws IOException if the files cannot be read
+     */
+    List<GameSessionRecord> readAll() throws IOException
+    {
+        return readIndexed(allIndexPath,
+                           0,
+                           Integer.MAX_VALUE);
+    }
+
+    /**
+     * Streams every record in the order they were saved. Records are decoded
+     * only as the stream reaches them.
+     *
+     * @return a stream of all records
+     * @throws IOException if the files cannot be opened
+     */
+    Stream<GameSessionRecord> stream() throws IOException
+    {
+        return streamIndexed(allIndexPath,
+                             0,
+                             Integer.MAX_VALUE);
+    }
+
+    /**
+     * Streams every record with the given outcome, using that outcome's index.
+     *
+     * @param outcome {@value #OUTCOME_WON} or {@value #OUTCOME_LOST}
+     * @return a stream of the matching records in the order they were saved
+     * @throws IOException if the files cannot be opened
+     */
+    Stream<GameSessionRecord> streamByOutcome(final String outcome) throws IOException
+    {
+        return streamIndexed(outcomeIndexPath(outcome),
+                             0,
+                             Integer.MAX_VALUE);
+    }
+
+    /**
+     * Reads every record with the given outcome, using that outcome's index.
+     *
+     * @param outcome {@value #OUTCOME_WON} or {@value #OUTCOME_LOST}
+     * @return the matching records in the order they were saved
+     * @throws IOException if the files cannot be read
+     */
+    List<GameSessionRecord> readByOutcome(final String outcome) throws IOException
+    {
+        return readIndexed(outcomeIndexPath(outcome),
+                           0,
+                           Integer.MAX_VALUE);
+    }
+
+    /**
+     * Reads the most recently saved records.
+     *
+     * @param count the most records to return
+     * @return up to {@code count} records, oldest first
+     * @throws IOException if the files cannot be read
+     */
+    List<GameSessionRecord> readLast(final int count) throws IOException
+    {
+        if(count < 0)
+        {
+            throw new IllegalArgumentException("Count cannot be negative: " +
+                                               count);
+        }
+
+        final long entries;
+        entries = indexEntryCount(allIndexPath);
+
+        return readIndexed(allIndexPath,
+                           (int)Math.max(0,
+                                         entries - count),
+                           count);
+    }
+
+    /**
+     * Reads the records saved between two times, inclusive. Games are saved
+     * in the order they end, so the index is searched by timestamp.
+     *
+     * @param from the earliest end time to include
+     * @param to   the latest end time to include
+     * @return the matching records, oldest first
+     * @throws IOException if the files cannot be read
+     */
+    List<GameSessionRecord> readBetween(final LocalDateTime from,
+                                        final LocalDateTime to) throws IOException
+    {
+        if(from == null || to == null)
+        {
+            throw new IllegalArgumentException("Date range cannot be null");
+        }
+
+        if(!Files.exists(allIndexPath))
+        {
+            return new ArrayList<>();
+        }
+
+        try(final FileChannel indexChannel = FileChannel.open(allIndexPath,
+                                                              StandardOpenOption.READ))
+        {
+            final MappedByteBuffer index;
+            final int              entries;
+            final int              first;
+            final int              last;
+
+            index   = indexChannel.map(FileChannel.MapMode.READ_ONLY,
+                                       0,
+                                       indexChannel.size());
+            entries = (int)(indexChannel.size() / INDEX_ENTRY_BYTES);
+            first   = lowerBound(index,
+                                 entries,
+                                 from.toEpochSecond(ZoneOffset.UTC));
+            last    = lowerBound(index,
+                                 entries,
+                                 to.toEpochSecond(ZoneOffset.UTC) + 1);
+
+            return readIndexed(allIndexPath,
+                               first,
+                               last - first);
+        }
+    }
+
+    /*
+     * Reads up to count records starting at entry first of the given index.
+     */
+    private List<GameSessionRecord> readIndexed(final Path indexPath,
+                                                final int first,
+                                                final int count) throws IOException
+    {
+        return streamIndexed(indexPath,
+                             first,
+                             count).collect(Collectors.toList());
+    }
+
+    /*
+     * Maps the given index entries and the data file, and returns a stream
+     * that decodes each record only when it is reached. Mappings stay valid
+     * after their channels close, so the stream holds no open files.
+     */
+    private Stream<GameSessionRecord> streamIndexed(final Path indexPath,
+                                                    final int first,
+                                                    final int count) throws IOException
+    {
+        if(count == 0 || !Files.exists(indexPath) || !Files.exists(dataPath))
+        {
+            return Stream.empty();
+        }
+
+        try(final FileChannel indexChannel = FileChannel.open(indexPath,
+                                                              StandardOpenOption.READ);
+            final FileChannel dataChannel = FileChannel.open(dataPath,
+                                                             StandardOpenOption.READ))
+        {
+            final long             entries;
+            final int              last;
+            final long             dataSize;
+            final MappedByteBuffer index;
+            final MappedByteBuffer data;
+
+            entries  = indexChannel.size() / INDEX_ENTRY_BYTES;
+            last     = (int)Math.min(entries,
+                                     (long)first + count);
+            dataSize = dataChannel.size();
+
+            if(first >= last)
+            {
+                return Stream.empty();
+            }
+
+            // A single mapping, and the int offsets into it, stop at 2 GB.
+            if(dataSize > MAX_DATA_BYTES)
+            {
+                throw new IllegalStateException("History file " + dataPath +
+                                                " is " + dataSize +
+                                                " bytes; files over 2 GB cannot be read");
+            }
+
+            index = indexChannel.map(FileChannel.MapMode.READ_ONLY,
+                                     (long)first * INDEX_ENTRY_BYTES,
+                                     (long)(last - first) * INDEX_ENTRY_BYTES);
+            data  = dataChannel.map(FileChannel.MapMode.READ_ONLY,
+                                    0,
+                                    dataSize);
+            validateFileHeader(data);
+
+            // An index entry past the data means the data write never finished.
+            return IntStream.range(0,
+                                   last - first)
+                            .mapToLong(entry -> index.getLong(entry * INDEX_ENTRY_BYTES))
+                            .takeWhile(offset -> offset + RECORD_HEADER_BYTES <= dataSize)
+                            .mapToObj(offset -> decodeRecord(data,
+                                                             (int)offset));
+        }
+    }
+
+    /*
+     * Decodes the record whose header starts at the given offset, checking
+     * that the whole record lies inside the data.
+     */
+    private static GameSessionRecord decodeRecord(final ByteBuffer data,
+                                                  final int offset)
+    {
+        if(data.getShort(offset) != RECORD_MARK)
+        {
+            throw new IllegalStateException("Corrupt history record at offset " +
+                                            offset);
+        }
+
+        final byte   outcome;
+        final int    roundCount;
+        final int    scanLength;
+        final long   epochSecond;
+        final int[]  rounds;
+        final byte[] scanBytes;
+        final int    scanOffset;
+
+        outcome     = data.get(offset + Short.BYTES);
+        roundCount  = data.get(offset + Short.BYTES + 1);
+        scanLength  = data.getInt(offset + Integer.BYTES);
+        epochSecond = data.getLong(offset + Long.BYTES);
+
+        if(roundCount < 0 ||
+           scanLength < 0 ||
+           (long)offset + RECORD_HEADER_BYTES + (long)roundCount * ROUND_BYTES + scanLength > data.capacity())
+        {
+            throw new IllegalStateException("Truncated history record at offset " +
+                                            offset);
+        }
+
+        rounds     = new int[roundCount];
+        scanBytes  = new byte[scanLength];
+        scanOffset = offset + RECORD_HEADER_BYTES + roundCount * ROUND_BYTES;
+
+        for(int round = 0; round < roundCount; round++)
+        {
+            rounds[round] = data.getInt(offset + RECORD_HEADER_BYTES + round * ROUND_BYTES);
+        }
+        data.get(scanOffset,
+                 scanBytes);
+
+        return new GameSessionRecord(LocalDateTime.ofEpochSecond(epochSecond,
+                                                                 0,
+                                                                 ZoneOffset.UTC),
+                                     rounds,
+                                     new String(scanBytes,
+                                                StandardCharsets.UTF_8),
+                                     outcome == OUTCOME_WON_BYTE ?
+                                     OUTCOME_WON :
+                                     OUTCOME_LOST);
+    }
+
+    /*
+     * Finds the first index entry whose timestamp is at least epochSecond.
+     */
+    private static int lowerBound(final ByteBuffer index,
+                                  final int entries,
+                                  final long epochSecond)
+    {
+        int low;
+        int high;
+
+        low  = 0;
+        high = entries;
+        while(low < high)
+        {
+            final int middle;
+            middle = (low + high) >>> 1;
+
+            if(index.getLong(middle * INDEX_ENTRY_BYTES + Long.BYTES) < epochSecond)
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /*
+     * Appends one (offset, timestamp) entry to an index file.
+     */
+    private static void appendIndexEntry(final Path indexPath,
+                                         final long offset,
+                                         final long epochSecond) throws IOException
+    {
+        final ByteBuffer entry;
+        entry = ByteBuffer.allocate(INDEX_ENTRY_BYTES);
+        entry.putLong(offset);
+        entry.putLong(epochSecond);
+        entry.flip();
+
+        try(final FileChannel channel = FileChannel.open(indexPath,
+                                                         StandardOpenOption.CREATE,
+                                                         StandardOpenOption.WRITE,
+                                                         StandardOpenOption.APPEND))
+        {
+            writeFully(channel,
+                       entry);
+        }
+    }
+
+    /*
+     * Picks the index file for an outcome.
+     */
+    private Path outcomeIndexPath(final String outcome)
+    {
+        return outcomeToByte(outcome) == OUTCOME_WON_BYTE ?
+               wonIndexPath :
+               lostIndexPath;
+    }
+
+    /*
+     * Counts the entries in an index file.
+     */
+    private static long indexEntryCount(final Path indexPath) throws IOException
+    {
+        if(!Files.exists(indexPath))
+        {
+            return 0;
+        }
+        return Files.size(indexPath) / INDEX_ENTRY_BYTES;
+    }
+
+    /*
+     * Writes the whole buffer to the channel.
+     */
+    private static void writeFully(final FileChannel channel,
+                                   final ByteBuffer buffer) throws IOException
+    {
+        while(buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+    }
+
+    /*
+     * Checks that a mapped data file starts with the expected header.
+     */
+    private static void validateFileHeader(final ByteBuffer data)
+    {
+        if(data.capacity() < FILE_HEADER_BYTES ||
+           data.getInt(0) != FILE_MAGIC ||
+           data.getInt(Integer.BYTES) != FILE_VERSION)
+        {
+            throw new IllegalStateException("Not a Mastermind history file");
+        }
+    }
+
+    /*
+     * Maps an outcome string to its stored byte.
+     */
+    private static byte outcomeToByte(final String outcome)
+    {
+        if(OUTCOME_WON.equalsIgnoreCase(outcome))
+        {
+            return OUTCOME_WON_BYTE;
+        }
+        if(OUTCOME_LOST.equalsIgnoreCase(outcome))
+        {
+            return OUTCOME_LOST_BYTE;
+        }
+        throw new IllegalArgumentException("Unknown outcome: " +
+                                           outcome);
+    }
+
+    /*
+     * Builds the path of a file stored beside the data file.
+     */
+    private static Path siblingPath(final Path dataPath,
+                                    final String suffix)
+    {
+        return dataPath.resolveSibling(dataPath.getFileName()
+                                               .toString() + suffix);
+    }
+}
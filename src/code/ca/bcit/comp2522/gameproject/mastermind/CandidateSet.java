@@ -0,0 +1,346 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import java.util.Arrays;
+
+/**
+ * A set of {@code Mastermind} codes, held as a bitmap over the
+ * {@value FeedbackTable#CODE_COUNT} dense code indices of the
+ * {@link FeedbackTable}.
+ * <p>
+ * For every guess and every result a guess can score, the codes that would
+ * score that result are precomputed once as a mask. Filtering the set by a
+ * round is then a word-by-word {@code AND} with one mask, and counting how
+ * many codes a result would keep is an {@code AND} and a population count,
+ * so neither re-scores a single code. The masks take about three megabytes
+ * and are built the first time a set is filtered.
+ * </p>
+ * <p>
+ * A set is mutable and is not safe for use by more than one thread at a time.
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+final class CandidateSet
+{
+    static final int NO_CODE = -1;
+
+    private static final int  WORD_SHIFT     = 6;
+    private static final int  WORDS          = (FeedbackTable.CODE_COUNT + Long.SIZE - 1) >>> WORD_SHIFT;
+    private static final long LAST_WORD_MASK = -1L >>> (WORDS * Long.SIZE - FeedbackTable.CODE_COUNT);
+    private static final int  NO_RESULT      = -1;
+
+    /*
+     * Holder idiom so the masks are only built on first use.
+     */
+    private static final class Masks
+    {
+        private static final int[]  RESULT_INDEX;
+        private static final int    RESULT_COUNT;
+        private static final long[] MASKS;
+
+        static
+        {
+            final FeedbackTable table;
+            int                 next;
+
+            table        = FeedbackTable.getInstance();
+            RESULT_INDEX = new int[Feedback.packResult(Code.CODE_LENGTH,
+                                                       Code.CODE_LENGTH) + 1];
+            next         = 0;
+
+            for(int result = 0; result < RESULT_INDEX.length; result++)
+            {
+                if(table.getResultFrequency(result) > 0)
+                {
+                    RESULT_INDEX[result] = next;
+                    next++;
+                }
+                else
+                {
+                    RESULT_INDEX[result] = NO_RESULT;
+                }
+            }
+
+            RESULT_COUNT = next;
+            MASKS        = new long[FeedbackTable.CODE_COUNT * RESULT_COUNT * WORDS];
+
+            for(int guess = 0; guess < FeedbackTable.CODE_COUNT; guess++)
+            {
+                for(int code = 0; code < FeedbackTable.CODE_COUNT; code++)
+                {
+                    final int offset;
+                    offset = maskOffset(guess,
+                                        RESULT_INDEX[table.score(code,
+                                                                 guess)]);
+
+                    MASKS[offset + (code >>> WORD_SHIFT)] |= 1L << code;
+                }
+            }
+        }
+
+        /*
+         * Finds the first word of the mask for a guess index and a dense
+         * result index.
+         */
+        private static int maskOffset(final int guessIndex,
+                                      final int resultIndex)
+        {
+            return (guessIndex * RESULT_COUNT + resultIndex) * WORDS;
+        }
+
+        /*
+         * Finds the first word of the mask for a packed guess and a packed
+         * result, or NO_RESULT if no code scores that result.
+         */
+        private static int maskOffsetOf(final int guess,
+                                        final int result)
+        {
+            if(result < 0 || result >= RESULT_INDEX.length)
+            {
+                throw new IllegalArgumentException("Not a packed feedback result: " +
+                                                   result);
+            }
+            if(RESULT_INDEX[result] == NO_RESULT)
+            {
+                return NO_RESULT;
+            }
+            return maskOffset(FeedbackTable.indexOf(guess),
+                              RESULT_INDEX[result]);
+        }
+    }
+
+    private final long[] words;
+
+    /*
+     * Constructs a set over the given words, which it takes ownership of.
+     */
+    private CandidateSet(final long[] words)
+    {
+        this.words = words;
+    }
+
+    /**
+     * Creates a set holding every code.
+     *
+     * @return a new full set
+     */
+    static CandidateSet all()
+    {
+        final CandidateSet set;
+        set = new CandidateSet(new long[WORDS]);
+
+        set.fill();
+        return set;
+    }
+
+    /**
+     * Creates a set holding no codes.
+     *
+     * @return a new empty set
+     */
+    static CandidateSet none()
+    {
+        return new CandidateSet(new long[WORDS]);
+    }
+
+    /**
+     * Creates an independent copy of this set.
+     *
+     * @return a new set holding the same codes
+     */
+    CandidateSet copy()
+    {
+        return new CandidateSet(words.clone());
+    }
+
+    /**
+     * Puts every code back in the set.
+     */
+    void fill()
+    {
+        Arrays.fill(words,
+                    -1L);
+        words[WORDS - 1] = LAST_WORD_MASK;
+    }
+
+    /**
+     * Keeps only the codes that would score the given result against the
+     * given guess.
+     *
+     * @param guess  the packed guess
+     * @param result the packed result the guess scored
+     */
+    void filter(final int guess,
+                final int result)
+    {
+        final int offset;
+        offset = Masks.maskOffsetOf(guess,
+                                    result);
+
+        if(offset == NO_RESULT)
+        {
+            Arrays.fill(words,
+                        0L);
+            return;
+        }
+
+        for(int word = 0; word < WORDS; word++)
+        {
+            words[word] &= Masks.MASKS[offset + word];
+        }
+    }
+
+    /**
+     * Counts the codes that would remain if the set were filtered by the
+     * given guess and result, without changing the set.
+     *
+     * @param guess  the packed guess
+     * @param result the packed result
+     * @return the number of codes that would remain
+     */
+    int countMatching(final int guess,
+                      final int result)
+    {
+        final int offset;
+        int       count;
+
+        offset = Masks.maskOffsetOf(guess,
+                                    result);
+        count  = 0;
+
+        if(offset != NO_RESULT)
+        {
+            for(int word = 0; word < WORDS; word++)
+            {
+                count += Long.bitCount(words[word] & Masks.MASKS[offset + word]);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Keeps only the codes that are also in another set.
+     *
+     * @param other the set to intersect with
+     */
+    void intersect(final CandidateSet other)
+    {
+        if(other == null)
+        {
+            throw new IllegalArgumentException("Other set cannot be null");
+        }
+
+        for(int word = 0; word < WORDS; word++)
+        {
+            words[word] &= other.words[word];
+        }
+    }
+
+    /**
+     * Adds a code to the set.
+     *
+     * @param packedCode the packed code
+     */
+    void add(final int packedCode)
+    {
+        final int index;
+        index = FeedbackTable.indexOf(packedCode);
+
+        words[index >>> WORD_SHIFT] |= 1L << index;
+    }
+
+    /**
+     * Checks whether a code is in the set.
+     *
+     * @param packedCode the packed code
+     * @return true if the code is in the set
+     */
+    boolean contains(final int packedCode)
+    {
+        final int index;
+        index = FeedbackTable.indexOf(packedCode);
+
+        return (words[index >>> WORD_SHIFT] & 1L << index) != 0;
+    }
+
+    /**
+     * Counts the codes in the set.
+     *
+     * @return the number of codes in the set
+     */
+    int cardinality()
+    {
+        int count;
+        count = 0;
+
+        for(final long word : words)
+        {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Checks whether the set holds no codes.
+     *
+     * @return true if the set is empty
+     */
+    boolean isEmpty()
+    {
+        for(final long word : words)
+        {
+            if(word != 0)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the first code in the set at or after a dense index. Iterate with
+     * {@code for(int i = set.nextIndex(0); i != NO_CODE; i = set.nextIndex(i + 1))}
+     * and {@link FeedbackTable#codeAt(int)}.
+     *
+     * @param fromIndex the dense index to start from
+     * @return the dense index of the next code, or {@value #NO_CODE} if there
+     *         is none
+     */
+    int nextIndex(final int fromIndex)
+    {
+        if(fromIndex < 0)
+        {
+            throw new IllegalArgumentException("Index cannot be negative: " +
+                                               fromIndex);
+        }
+        if(fromIndex >= FeedbackTable.CODE_COUNT)
+        {
+            return NO_CODE;
+        }
+
+        int  word;
+        long bits;
+
+        word = fromIndex >>> WORD_SHIFT;
+        bits = words[word] & -1L << fromIndex;
+        while(bits == 0)
+        {
+            word++;
+            if(word == WORDS)
+            {
+                return NO_CODE;
+            }
+            bits = words[word];
+        }
+        return (word << WORD_SHIFT) + Long.numberOfTrailingZeros(bits);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "CandidateSet{" +
+               "cardinality=" + cardinality() +
+               '}';
+    }
+}
@@ -9,9 +9,17 @@ import java.util.List;
  * This class serves as the base representation for both secret codes and player
  * guesses, storing and managing a sequence of digits.
  * </p>
+ * <p>
+ * Every code belongs to a {@link CodeGeometry}, which packs its digits into a
+ * single {@code int} with position 0 in the lowest bits and decides which
+ * digits are valid. Codes made without one belong to
+ * {@link CodeGeometry#CLASSIC}, packed {@value #DIGIT_BITS} bits per position.
+ * The static helpers on this class operate directly on that classic packed
+ * form so scoring code can work on primitives without allocating.
+ * </p>
  *
  * @author Nathan O
- * @version 1.0 2025
+ * @version 1.1 2025
  */
 abstract class Code
 {
@@ -19,23 +27,72 @@ abstract class Code
     static final int DIGIT_MIN   = 1;
     static final int DIGIT_MAX   = 6;
 
+    // Packed layout: one digit per DIGIT_BITS, one colour count per COUNT_BITS.
+    static final int DIGIT_BITS = 3;
+    static final int DIGIT_MASK = (1 << DIGIT_BITS) - 1;
+    static final int COUNT_BITS = 4;
+    static final int COUNT_MASK = (1 << COUNT_BITS) - 1;
+
     // Example values for the game rules.
     static final String EXAMPLE_GUESS             = "1356";
     static final String EXAMPLE_SECRET            = "1234";
     static final int    EXAMPLE_CORRECT_POSITIONS = 1;
     static final int    EXAMPLE_MISPLACED         = 1;
 
-    private final List<Integer> digits;
+    private final CodeGeometry geometry;
+    private final int          packed;
 
     /**
-     * Constructs a new {@code Code} with the specified sequence of digits.
+     * Constructs a new classic {@code Code} with the specified sequence of
+     * digits.
      *
      * @param digits the sequence of digits that make up the code
      */
     Code(final List<Integer> digits)
     {
-        validateDigits(digits);
-        this.digits = new ArrayList<>(digits);
+        this(CodeGeometry.CLASSIC,
+             digits);
+    }
+
+    /**
+     * Constructs a new classic {@code Code} from its packed representation.
+     *
+     * @param packed the packed digits, as produced by {@link #pack(List)}
+     */
+    Code(final int packed)
+    {
+        this(CodeGeometry.CLASSIC,
+             packed);
+    }
+
+    /**
+     * Constructs a new {@code Code} of the given geometry with the specified
+     * sequence of digits.
+     *
+     * @param geometry the shape of the code
+     * @param digits   the sequence of digits that make up the code
+     */
+    Code(final CodeGeometry geometry,
+         final List<Integer> digits)
+    {
+        this.geometry = validateGeometry(geometry);
+        this.packed   = geometry.pack(digits);
+    }
+
+    /**
+     * Constructs a new {@code Code} of the given geometry from its packed
+     * representation.
+     *
+     * @param geometry the shape of the code
+     * @param packed   the packed digits, as produced by
+     *                 {@link CodeGeometry#pack(List)}
+     */
+    Code(final CodeGeometry geometry,
+         final int packed)
+    {
+        validateGeometry(geometry).validate(packed);
+        this.geometry = geometry;
+        this.packed   = packed;
     }
 
     /**
@@ -45,7 +102,83 @@ abstract class Code
      */
     List<Integer> getDigits()
     {
-        return new ArrayList<>(digits);
+        final List<Integer> digits;
+        digits = new ArrayList<>(geometry.getLength());
+
+        for(int i = 0; i < geometry.getLength(); i++)
+        {
+            digits.add(geometry.digitAt(packed,
+                                        i));
+        }
+        return digits;
+    }
+
+    /**
+     * Returns the packed representation of the code's digits.
+     *
+     * @return the digits packed as the code's geometry packs them
+     */
+    int getPacked()
+    {
+        return packed;
+    }
+
+    /**
+     * Returns the shape of the code.
+     *
+     * @return the code's geometry
+     */
+    CodeGeometry getGeometry()
+    {
+        return geometry;
+    }
+
+    /**
+     * Packs a list of classic digits into a single int.
+     *
+     * @param digits the digits to pack
+     * @return the packed digits
+     */
+    static int pack(final List<Integer> digits)
+    {
+        return CodeGeometry.CLASSIC.pack(digits);
+    }
+
+    /**
+     * Returns the digit at the given position of a packed classic code.
+     *
+     * @param packed   the packed code
+     * @param position the zero-based position to read
+     * @return the digit at that position
+     */
+    static int digitAt(final int packed,
+                       final int position)
+    {
+        return CodeGeometry.CLASSIC.digitAt(packed,
+                                            position);
+    }
+
+    /**
+     * Returns how many times each digit appears in a packed classic code.
+     * <p>
+     * The count for digit {@code d} is stored in the {@value #COUNT_BITS}-bit
+     * nibble starting at bit {@code (d - DIGIT_MIN) * COUNT_BITS}.
+     * </p>
+     *
+     * @param packed the packed code
+     * @return the per-colour counts packed one nibble per digit value
+     */
+    static int colourCounts(final int packed)
+    {
+        int counts;
+        counts = 0;
+
+        for(int i = 0; i < CODE_LENGTH; i++)
+        {
+            counts += 1 << ((digitAt(packed,
+                                     i) - DIGIT_MIN) * COUNT_BITS);
+        }
+        return counts;
     }
 
     /**
@@ -86,7 +219,7 @@ abstract class Code
         }
 
         otherCode     = (Code)other;
-        codesAreEqual = digits.equals(otherCode.digits);
+        codesAreEqual = packed == otherCode.packed && geometry.equals(otherCode.geometry);
 
         return codesAreEqual;
     }
@@ -99,7 +232,7 @@ abstract class Code
     @Override
     public int hashCode()
     {
-        return digits.hashCode();
+        return Integer.hashCode(packed);
     }
 
     /**
@@ -110,44 +243,22 @@ abstract class Code
     @Override
     public String toString()
     {
-        return digits.toString();
+        return geometry.format(packed);
     }
 
-    /**
-     * Validates the provided list of digits for nullity, emptiness, correct
-     * size, and valid digit range. Also checks for null elements within the
-     * list.
+    /*
+     * Validates the geometry a code is made with.
+     *
+     * @param geometry the geometry to check
      *
-     * @param digits the list of digits to validate
+     * @return the geometry, for use in constructor chaining
      */
-    private static final void validateDigits(final List<Integer> digits)
+    private static CodeGeometry validateGeometry(final CodeGeometry geometry)
     {
-        if(digits == null)
-        {
-            throw new IllegalArgumentException("Digits list cannot be null");
-        }
-
-        if(digits.size() != CODE_LENGTH)
-        {
-            throw new IllegalArgumentException(String.format("Digits list must contain exactly %d digits, but found %d.",
-                                                             CODE_LENGTH,
-                                                             digits.size()));
-        }
-
-        // Check individual digit validity and null elements
-        for(final Integer num : digits)
+        if(geometry == null)
         {
-            if(num == null)
-            {
-                throw new IllegalArgumentException("Digits list cannot contain null elements.");
-            }
-            if(num < DIGIT_MIN || num > DIGIT_MAX)
-            {
-                throw new IllegalArgumentException(String.format("Invalid code digit: %d. Must be between %d and %d.",
-                                                                 num,
-                                                                 DIGIT_MIN,
-                                                                 DIGIT_MAX));
-            }
+            throw new IllegalArgumentException("Geometry cannot be null");
         }
+        return geometry;
     }
 }
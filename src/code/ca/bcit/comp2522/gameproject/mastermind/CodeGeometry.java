@@ -0,0 +1,582 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.random.RandomGenerator;
+
+/**
+ * The shape of the codes in one game of {@code Mastermind}: how many
+ * positions a code has and how many colours each position can take.
+ * <p>
+ * Every {@link Code} carries its geometry, which decides how its digits are
+ * packed, which digits are valid and how a guess is scored. The classic game
+ * is {@link #CLASSIC} ({@value Code#CODE_LENGTH} positions, digits
+ * {@value Code#DIGIT_MIN} to {@value Code#DIGIT_MAX}), the only one the
+ * {@link FeedbackTable}, the solver, deception and the history files are built
+ * around. Harder variants such as {@link #SUPER} and {@link #GRAND} have up to
+ * {@value #MAX_CODE_COUNT} codes, too many to tabulate, so they are played
+ * honestly and scored directly:
+ * </p>
+ * <ul>
+ *     <li>Codes are packed into an {@code int}, position 0 in the lowest bits,
+ *         with just enough bits per position for the colours. The classic
+ *         geometry uses {@value Code#DIGIT_BITS}.</li>
+ *     <li>Each code also has a dense index in {@code [0, getCodeCount())}, in
+ *         the same order as the {@link FeedbackTable}. Codes are decoded from
+ *         their index on demand rather than stored.</li>
+ *     <li>Scoring counts the colours of the unmatched positions into a count
+ *         array packed one nibble per colour in a {@code long}, so it costs
+ *         one pass over the positions and one over the colours and allocates
+ *         nothing. Results are packed as by
+ *         {@link Feedback#packResult(int, int)}.</li>
+ *     <li>Players type one character per position: the digit itself, or
+ *         {@code 0} for colour 10.</li>
+ * </ul>
+ * <p>
+ * Instances are immutable and can be shared freely.
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.1 2025
+ */
+final class CodeGeometry
+{
+    static final int MIN_LENGTH     = 1;
+    static final int MAX_LENGTH     = 6;
+    static final int MIN_COLOURS    = 2;
+    static final int MAX_COLOURS    = 10;
+    static final int MAX_CODE_COUNT = 1_000_000;
+    static final int NO_CODE        = -1;
+    static final int NO_DIGIT       = -1;
+
+    static final String GEOMETRY_PROPERTY = "mastermind.geometry";
+
+    /** The classic game: four positions, six colours. */
+    static final CodeGeometry CLASSIC = new CodeGeometry(Code.CODE_LENGTH,
+                                                         Code.DIGIT_MAX - Code.DIGIT_MIN + 1);
+
+    /** Super Mastermind: five positions, eight colours. */
+    static final CodeGeometry SUPER = new CodeGeometry(5,
+                                                       8);
+
+    /** Grand Mastermind: six positions, ten colours. */
+    static final CodeGeometry GRAND = new CodeGeometry(6,
+                                                       10);
+
+    private static final char SEPARATOR      = 'x';
+    private static final char ZERO_CHARACTER = '0';
+    private static final int  COUNT_BITS     = 4;
+    private static final long COUNT_MASK     = (1L << COUNT_BITS) - 1;
+
+    private final int length;
+    private final int colours;
+    private final int codeCount;
+    private final int digitBits;
+    private final int digitMask;
+
+    /**
+     * Constructs a {@code CodeGeometry}.
+     *
+     * @param length  the number of positions in a code
+     * @param colours the number of colours, shown as digits
+     *                {@value Code#DIGIT_MIN} to {@code colours}
+     */
+    CodeGeometry(final int length,
+                 final int colours)
+    {
+        if(length < MIN_LENGTH || length > MAX_LENGTH)
+        {
+            throw new IllegalArgumentException(String.format("Code length must be between %d and %d, but was %d.",
+                                                             MIN_LENGTH,
+                                                             MAX_LENGTH,
+                                                             length));
+        }
+        if(colours < MIN_COLOURS || colours > MAX_COLOURS)
+        {
+            throw new IllegalArgumentException(String.format("Colour count must be between %d and %d, but was %d.",
+                                                             MIN_COLOURS,
+                                                             MAX_COLOURS,
+                                                             colours));
+        }
+
+        final double codes;
+        codes = Math.pow(colours,
+                         length);
+
+        if(codes > MAX_CODE_COUNT)
+        {
+            throw new IllegalArgumentException(String.format("A %dx%d game has more than %d codes.",
+                                                             length,
+                                                             colours,
+                                                             MAX_CODE_COUNT));
+        }
+
+        this.length    = length;
+        this.colours   = colours;
+        this.codeCount = (int) codes;
+        this.digitBits = Integer.SIZE - Integer.numberOfLeadingZeros(colours);
+        this.digitMask = (1 << digitBits) - 1;
+    }
+
+    /**
+     * Parses a geometry written as {@code <length>x<colours>}, such as
+     * {@code 5x8}.
+     *
+     * @param text the geometry to parse
+     * @return the geometry, reusing a named one where it matches
+     */
+    static CodeGeometry parse(final String text)
+    {
+        if(text == null)
+        {
+            throw new IllegalArgumentException("Geometry cannot be null");
+        }
+
+        final int separator;
+        separator = text.toLowerCase(Locale.ROOT)
+                        .indexOf(SEPARATOR);
+
+        if(separator <= 0 || separator == text.length() - 1)
+        {
+            throw new IllegalArgumentException("Geometry must look like 5x8, but was: " +
+                                               text);
+        }
+
+        final CodeGeometry parsed;
+        try
+        {
+            parsed = new CodeGeometry(Integer.parseInt(text.substring(0,
+                                                                      separator)
+                                                           .trim()),
+                                      Integer.parseInt(text.substring(separator + 1)
+                                                           .trim()));
+        }
+        catch(final NumberFormatException e)
+        {
+            throw new IllegalArgumentException("Geometry must look like 5x8, but was: " +
+                                               text);
+        }
+
+        for(final CodeGeometry named : new CodeGeometry[] {CLASSIC, SUPER, GRAND})
+        {
+            if(named.equals(parsed))
+            {
+                return named;
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Gets the geometry new games are played with, named by the
+     * {@value #GEOMETRY_PROPERTY} system property, such as {@code 5x8}.
+     *
+     * @return the chosen geometry, or {@link #CLASSIC} if none is set
+     */
+    static CodeGeometry defaultGeometry()
+    {
+        final String name;
+        name = System.getProperty(GEOMETRY_PROPERTY);
+
+        if(name == null)
+        {
+            return CLASSIC;
+        }
+        return parse(name);
+    }
+
+    /**
+     * Gets the number of positions in a code.
+     *
+     * @return the code length
+     */
+    int getLength()
+    {
+        return length;
+    }
+
+    /**
+     * Gets the number of colours a position can take.
+     *
+     * @return the colour count
+     */
+    int getColours()
+    {
+        return colours;
+    }
+
+    /**
+     * Gets how many different codes there are.
+     *
+     * @return {@code colours} to the power {@code length}
+     */
+    int getCodeCount()
+    {
+        return codeCount;
+    }
+
+    /**
+     * Gets how many bits each position takes in a packed code.
+     *
+     * @return the bits per position
+     */
+    int getDigitBits()
+    {
+        return digitBits;
+    }
+
+    /**
+     * Checks whether this is the classic geometry the rest of the game is
+     * built around.
+     *
+     * @return true for {@link #CLASSIC}
+     */
+    boolean isClassic()
+    {
+        return equals(CLASSIC);
+    }
+
+    /**
+     * Gets the packed result of a guess that matches the secret exactly.
+     *
+     * @return the winning packed result
+     */
+    int getWinningResult()
+    {
+        return Feedback.packResult(length,
+                                   0);
+    }
+
+    /**
+     * Returns the digit at a position of a packed code.
+     *
+     * @param code     the packed code
+     * @param position the zero-based position
+     * @return the digit at that position
+     */
+    int digitAt(final int code,
+                final int position)
+    {
+        return (code >>> (position * digitBits)) & digitMask;
+    }
+
+    /**
+     * Packs a list of digits into a single int after checking that it holds
+     * one digit in range for every position.
+     *
+     * @param digits the digits to pack
+     * @return the packed digits
+     */
+    int pack(final List<Integer> digits)
+    {
+        if(digits == null)
+        {
+            throw new IllegalArgumentException("Digits list cannot be null");
+        }
+        if(digits.size() != length)
+        {
+            throw new IllegalArgumentException(String.format("Digits list must contain exactly %d digits, but found %d.",
+                                                             length,
+                                                             digits.size()));
+        }
+
+        int code;
+        code = 0;
+
+        for(int position = 0; position < length; position++)
+        {
+            final Integer digit;
+            digit = digits.get(position);
+
+            if(digit == null)
+            {
+                throw new IllegalArgumentException("Digits list cannot contain null elements.");
+            }
+            validateDigit(digit);
+            code |= digit << (position * digitBits);
+        }
+        return code;
+    }
+
+    /**
+     * Checks that every position of a packed code holds one of the colours
+     * and that no bits are set beyond the last position.
+     *
+     * @param code the packed code to validate
+     */
+    void validate(final int code)
+    {
+        if(code < 0 || code >>> (length * digitBits) != 0)
+        {
+            throw new IllegalArgumentException("Packed code has bits set beyond " +
+                                               length +
+                                               " digits");
+        }
+
+        for(int position = 0; position < length; position++)
+        {
+            validateDigit(digitAt(code,
+                                  position));
+        }
+    }
+
+    /**
+     * Reads the digit a player typed for one position.
+     *
+     * @param symbol the character typed
+     * @return the digit, or {@value #NO_DIGIT} if it is not one of the colours
+     */
+    int digitOf(final int symbol)
+    {
+        final int digit;
+
+        if(symbol == ZERO_CHARACTER && colours == MAX_COLOURS)
+        {
+            digit = MAX_COLOURS;
+        }
+        else
+        {
+            digit = symbol - ZERO_CHARACTER;
+        }
+
+        if(digit < Code.DIGIT_MIN || digit > colours)
+        {
+            return NO_DIGIT;
+        }
+        return digit;
+    }
+
+    /**
+     * Describes the characters a player may type for each position.
+     *
+     * @return the digit range, such as {@code 1-6}
+     */
+    String describeDigits()
+    {
+        if(colours == MAX_COLOURS)
+        {
+            return Code.DIGIT_MIN + "-" + (MAX_COLOURS - 1) + " and 0 for " + MAX_COLOURS;
+        }
+        return Code.DIGIT_MIN + "-" + colours;
+    }
+
+    /**
+     * Decodes the code at a dense index.
+     *
+     * @param index the index in {@code [0, getCodeCount())}
+     * @return the packed code
+     */
+    int codeAt(final int index)
+    {
+        if(index < 0 || index >= codeCount)
+        {
+            throw new IllegalArgumentException("Code index out of range: " +
+                                               index);
+        }
+
+        int remaining;
+        int code;
+
+        remaining = index;
+        code      = 0;
+        for(int position = 0; position < length; position++)
+        {
+            code      |= (remaining % colours + Code.DIGIT_MIN) << (position * digitBits);
+            remaining /= colours;
+        }
+        return code;
+    }
+
+    /**
+     * Finds the dense index of a packed code.
+     *
+     * @param code the packed code
+     * @return the index in {@code [0, getCodeCount())}
+     */
+    int indexOf(final int code)
+    {
+        validate(code);
+
+        int index;
+        index = 0;
+
+        for(int position = length - 1; position >= 0; position--)
+        {
+            index = index * colours + digitAt(code,
+                                              position) - Code.DIGIT_MIN;
+        }
+        return index;
+    }
+
+    /**
+     * Steps from a code to the one at the next dense index, like an odometer,
+     * without dividing.
+     *
+     * @param code the packed code
+     * @return the next packed code, or {@value #NO_CODE} after the last one
+     */
+    int nextCode(final int code)
+    {
+        int next;
+        next = code;
+
+        for(int position = 0; position < length; position++)
+        {
+            final int shift;
+            final int digit;
+
+            shift = position * digitBits;
+            digit = (next >>> shift) & digitMask;
+
+            next &= ~(digitMask << shift);
+            if(digit < colours)
+            {
+                return next | (digit + 1) << shift;
+            }
+            next |= Code.DIGIT_MIN << shift;
+        }
+        return NO_CODE;
+    }
+
+    /**
+     * Draws a code uniformly at random.
+     *
+     * @param random the source of randomness
+     * @return the packed code
+     */
+    int randomCode(final RandomGenerator random)
+    {
+        int code;
+        code = 0;
+
+        for(int position = 0; position < length; position++)
+        {
+            code |= (random.nextInt(colours) + Code.DIGIT_MIN) << (position * digitBits);
+        }
+        return code;
+    }
+
+    /**
+     * Scores a guess against a secret with a count array over the colours.
+     *
+     * @param secret the packed secret
+     * @param guess  the packed guess
+     * @return the packed result
+     */
+    int score(final int secret,
+              final int guess)
+    {
+        int  correct;
+        int  misplaced;
+        long secretCounts;
+        long guessCounts;
+
+        correct      = 0;
+        misplaced    = 0;
+        secretCounts = 0L;
+        guessCounts  = 0L;
+
+        for(int position = 0; position < length; position++)
+        {
+            final int secretDigit;
+            final int guessDigit;
+
+            secretDigit = digitAt(secret,
+                                  position);
+            guessDigit  = digitAt(guess,
+                                  position);
+
+            if(secretDigit == guessDigit)
+            {
+                correct++;
+            }
+            else
+            {
+                secretCounts += 1L << ((secretDigit - Code.DIGIT_MIN) * COUNT_BITS);
+                guessCounts  += 1L << ((guessDigit - Code.DIGIT_MIN) * COUNT_BITS);
+            }
+        }
+
+        // Only unmatched positions were counted, so the overlap is the misplaced count.
+        while(secretCounts != 0 && guessCounts != 0)
+        {
+            misplaced    += (int) Math.min(secretCounts & COUNT_MASK,
+                                           guessCounts & COUNT_MASK);
+            secretCounts >>>= COUNT_BITS;
+            guessCounts  >>>= COUNT_BITS;
+        }
+
+        return Feedback.packResult(correct,
+                                   misplaced);
+    }
+
+    /**
+     * Formats a packed code for display.
+     *
+     * @param code the packed code
+     * @return the digits in brackets, separated by commas
+     */
+    String format(final int code)
+    {
+        final StringBuilder result;
+        result = new StringBuilder();
+
+        result.append('[');
+        for(int position = 0; position < length; position++)
+        {
+            if(position > 0)
+            {
+                result.append(", ");
+            }
+            result.append(digitAt(code,
+                                  position));
+        }
+        result.append(']');
+
+        return result.toString();
+    }
+
+    @Override
+    public boolean equals(final Object other)
+    {
+        if(this == other)
+        {
+            return true;
+        }
+        if(!(other instanceof CodeGeometry))
+        {
+            return false;
+        }
+
+        final CodeGeometry that;
+        that = (CodeGeometry) other;
+
+        return length == that.length && colours == that.colours;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return length * (MAX_COLOURS + 1) + colours;
+    }
+
+    @Override
+    public String toString()
+    {
+        return length + "x" + colours;
+    }
+
+    /*
+     * Checks that a digit is one of the colours.
+     */
+    private void validateDigit(final int digit)
+    {
+        if(digit < Code.DIGIT_MIN || digit > colours)
+        {
+            throw new IllegalArgumentException(String.format("Invalid code digit: %d. Must be between %d and %d.",
+                                                             digit,
+                                                             Code.DIGIT_MIN,
+                                                             colours));
+        }
+    }
+}
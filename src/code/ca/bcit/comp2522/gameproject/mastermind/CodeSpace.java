@@ -0,0 +1,177 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import java.util.Arrays;
+
+/**
+ * The codes of a {@link CodeGeometry} that are still consistent with the
+ * rounds played, generated lazily.
+ * <p>
+ * A {@link CandidateSet} holds one bit per code, which is ideal for the
+ * classic game but means materialising every code of a large variant up
+ * front. A {@code CodeSpace} stores only the rounds. Codes are produced in
+ * index order by stepping an odometer over the positions and checking each
+ * one against the rounds, newest first since a recent round usually rules a
+ * code out soonest. Nothing is allocated while searching.
+ * </p>
+ * <p>
+ * Rounds only ever remove codes, so a search that starts just past the last
+ * code it returned never needs to look back; {@link #nextIndex(int)} makes
+ * that possible.
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+final class CodeSpace
+{
+    static final int NO_CODE = CodeGeometry.NO_CODE;
+
+    private static final int INITIAL_ROUNDS = 16;
+
+    private final CodeGeometry geometry;
+
+    private int[] guesses;
+    private int[] results;
+    private int   roundCount;
+
+    /**
+     * Constructs a {@code CodeSpace} holding every code of a geometry.
+     *
+     * @param geometry the geometry of the game
+     */
+    CodeSpace(final CodeGeometry geometry)
+    {
+        if(geometry == null)
+        {
+            throw new IllegalArgumentException("Geometry cannot be null");
+        }
+
+        this.geometry   = geometry;
+        this.guesses    = new int[INITIAL_ROUNDS];
+        this.results    = new int[INITIAL_ROUNDS];
+        this.roundCount = 0;
+    }
+
+    /**
+     * Gets the geometry of the codes in this space.
+     *
+     * @return the geometry
+     */
+    CodeGeometry getGeometry()
+    {
+        return geometry;
+    }
+
+    /**
+     * Keeps only the codes that would score the given result against the
+     * given guess. The codes themselves are not visited until they are asked
+     * for.
+     *
+     * @param guess  the packed guess
+     * @param result the packed result the guess scored
+     */
+    void filter(final int guess,
+                final int result)
+    {
+        geometry.indexOf(guess);
+
+        if(roundCount == guesses.length)
+        {
+            guesses = Arrays.copyOf(guesses,
+                                    guesses.length * 2);
+            results = Arrays.copyOf(results,
+                                    results.length * 2);
+        }
+
+        guesses[roundCount] = guess;
+        results[roundCount] = result;
+        roundCount++;
+    }
+
+    /**
+     * Checks whether a code is consistent with every round.
+     *
+     * @param code the packed code
+     * @return true if the code could still be the secret
+     */
+    boolean contains(final int code)
+    {
+        for(int round = roundCount - 1; round >= 0; round--)
+        {
+            if(geometry.score(code,
+                              guesses[round]) != results[round])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the first consistent code at or after a dense index.
+     *
+     * @param fromIndex the dense index to start from
+     * @return the dense index of the next consistent code, or
+     *         {@value #NO_CODE} if there is none
+     */
+    int nextIndex(final int fromIndex)
+    {
+        if(fromIndex < 0)
+        {
+            throw new IllegalArgumentException("Index cannot be negative: " +
+                                               fromIndex);
+        }
+        if(fromIndex >= geometry.getCodeCount())
+        {
+            return NO_CODE;
+        }
+
+        int index;
+        int code;
+
+        index = fromIndex;
+        code  = geometry.codeAt(fromIndex);
+        while(code != NO_CODE)
+        {
+            if(contains(code))
+            {
+                return index;
+            }
+            code = geometry.nextCode(code);
+            index++;
+        }
+        return NO_CODE;
+    }
+
+    /**
+     * Counts the consistent codes by visiting the whole space.
+     *
+     * @return the number of codes that could still be the secret
+     */
+    int count()
+    {
+        int count;
+        int code;
+
+        count = 0;
+        code  = geometry.codeAt(0);
+        while(code != NO_CODE)
+        {
+            if(contains(code))
+            {
+                count++;
+            }
+            code = geometry.nextCode(code);
+        }
+        return count;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "CodeSpace{" +
+               "geometry=" + geometry +
+               ", rounds=" + roundCount +
+               '}';
+    }
+}
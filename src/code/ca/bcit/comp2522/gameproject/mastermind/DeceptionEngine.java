@@ -1,6 +1,8 @@
 package ca.bcit.comp2522.gameproject.mastermind;
 
-import java.util.Random;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.random.RandomGenerator;
 
 /**
  * Manages the generation and application of deceptive feedback in the
@@ -15,16 +17,328 @@ import java.util.Random;
  * uncertainty. The goal is to maintain game fairness while introducing
  * strategic doubt for the player.
  * </p>
+ * <p>
+ * A lie is drawn directly from the feedback results the guess can actually
+ * score, leaving out the true one and a full match, so a lie can never be
+ * spotted from the guess alone. For each kind of guess, true result and
+ * {@link Distribution} an alias table over the alternatives is built once, so
+ * drawing a lie takes two random numbers and a few array reads and allocates
+ * nothing.
+ * </p>
+ * <p>
+ * Each distribution is a {@link DeceptionStrategy}, alongside the
+ * {@link EvilDeceptionStrategy}. The strategy used by default is chosen with
+ * {@code -D}{@value #STRATEGY_PROPERTY}, naming a distribution or
+ * {@value #EVIL_STRATEGY}.
+ * </p>
  *
  * @author Nathan O
  * @version 1.0 2025
  */
 final class DeceptionEngine
 {
-    private static final Random RANDOM               = new Random();
-    private static final double DECEPTION_CHANCE     = 0.3;
+    static final double DECEPTION_CHANCE = 0.3;
+
     private static final int    DECEPTION_MIN_DIGITS = 0;
-    private static final String FALSE_GUESS_DIGITS   = "1111";
+    private static final String STRATEGY_PROPERTY    = "mastermind.deception";
+    private static final String EVIL_STRATEGY        = "EVIL";
+    private static final int    NO_RESULT            = -1;
+
+    /**
+     * How a lie is chosen among the feedback results the guess can score
+     * other than the true one. Distributions hold no state, so one constant
+     * can serve any number of sessions.
+     */
+    enum Distribution implements DeceptionStrategy
+    {
+        /** Every other result is equally likely. */
+        UNIFORM
+        {
+            @Override
+            double weight(final int trueResult,
+                          final int falseResult)
+            {
+                return 1.0;
+            }
+        },
+        /**
+         * Results are weighted by how often a real guess scores them, so lies
+         * look like feedback the player sees all the time.
+         */
+        PLAUSIBLE
+        {
+            @Override
+            double weight(final int trueResult,
+                          final int falseResult)
+            {
+                return FeedbackTable.getInstance()
+                                    .getResultFrequency(falseResult);
+            }
+        },
+        /**
+         * Results are weighted by how far they are from the truth, so lies
+         * mislead the player as much as possible.
+         */
+        ADVERSARIAL
+        {
+            @Override
+            double weight(final int trueResult,
+                          final int falseResult)
+            {
+                return Math.abs(Feedback.correctPositionsOf(trueResult) - Feedback.correctPositionsOf(falseResult)) +
+                       Math.abs(Feedback.misplacedOf(trueResult) - Feedback.misplacedOf(falseResult));
+            }
+        };
+
+        /**
+         * Gets the relative weight of showing one result in place of another.
+         *
+         * @param trueResult  the packed true result
+         * @param falseResult the packed result that might be shown instead
+         * @return a positive weight
+         */
+        abstract double weight(int trueResult,
+                               int falseResult);
+
+        @Override
+        public int lie(final int guess,
+                       final int trueResult,
+                       final RandomGenerator random)
+        {
+            return DeceptionEngine.lie(guess,
+                                       trueResult,
+                                       this,
+                                       random);
+        }
+    }
+
+    /*
+     * Holder idiom so the alias tables are only built on first use, after the
+     * feedback table exists.
+     * <p>
+     * Which results a guess can score depends only on how its digits repeat
+     * (1234, 1123, 1122, 1112 or 1111 for four digits), so guesses are
+     * grouped into shapes by the set of results they can score. Each shape
+     * and true result has a row of lies: the shape's other results, never a
+     * full match.
+     * </p>
+     */
+    private static final class Tables
+    {
+        private static final int      RESULT_SLOTS = Feedback.packResult(Code.CODE_LENGTH,
+                                                                         Code.CODE_LENGTH) + 1;
+        private static final int      WINNING      = Feedback.packResult(Code.CODE_LENGTH,
+                                                                         0);
+        private static final byte[]   SHAPE_OF_GUESS;
+        private static final int[]    ROW_START;
+        private static final int[]    ROW_LENGTH;
+        private static final int[]    LIES;
+        private static final double[] ACCEPT;
+        private static final int[]    ALIAS;
+
+        static
+        {
+            final FeedbackTable table;
+            final int[]         resultBit;
+            final int[]         shapeMasks;
+            final int[]         guessMasks;
+            int                 shapeCount;
+            int                 lieCount;
+            int                 nextBit;
+
+            table          = FeedbackTable.getInstance();
+            resultBit      = new int[RESULT_SLOTS];
+            guessMasks     = new int[FeedbackTable.CODE_COUNT];
+            shapeMasks     = new int[FeedbackTable.CODE_COUNT];
+            SHAPE_OF_GUESS = new byte[FeedbackTable.CODE_COUNT];
+            shapeCount     = 0;
+            nextBit        = 0;
+
+            // One bit per result that can occur, so a set of results fits an int.
+            for(int result = 0; result < RESULT_SLOTS; result++)
+            {
+                resultBit[result] = table.getResultFrequency(result) > 0 ?
+                                    1 << nextBit++ :
+                                    0;
+            }
+
+            for(int guess = 0; guess < FeedbackTable.CODE_COUNT; guess++)
+            {
+                int shape;
+
+                for(int secret = 0; secret < FeedbackTable.CODE_COUNT; secret++)
+                {
+                    guessMasks[guess] |= resultBit[table.score(secret,
+                                                               guess)];
+                }
+
+                shape = 0;
+                while(shape < shapeCount && shapeMasks[shape] != guessMasks[guess])
+                {
+                    shape++;
+                }
+                if(shape == shapeCount)
+                {
+                    shapeMasks[shapeCount++] = guessMasks[guess];
+                }
+                SHAPE_OF_GUESS[guess] = (byte)shape;
+            }
+
+            ROW_START  = new int[shapeCount * RESULT_SLOTS];
+            ROW_LENGTH = new int[ROW_START.length];
+            lieCount   = 0;
+            Arrays.fill(ROW_START,
+                        NO_RESULT);
+
+            for(int shape = 0; shape < shapeCount; shape++)
+            {
+                final int results;
+                results = Integer.bitCount(shapeMasks[shape] & ~resultBit[WINNING]);
+
+                for(int truth = 0; truth < RESULT_SLOTS; truth++)
+                {
+                    if((shapeMasks[shape] & resultBit[truth]) != 0)
+                    {
+                        final int row;
+                        row = shape * RESULT_SLOTS + truth;
+
+                        ROW_START[row]  = lieCount;
+                        ROW_LENGTH[row] = truth == WINNING ? results : results - 1;
+                        lieCount       += ROW_LENGTH[row];
+                    }
+                }
+            }
+
+            LIES   = new int[lieCount];
+            ACCEPT = new double[Distribution.values().length * lieCount];
+            ALIAS  = new int[ACCEPT.length];
+
+            for(int row = 0; row < ROW_START.length; row++)
+            {
+                if(ROW_START[row] == NO_RESULT)
+                {
+                    continue;
+                }
+
+                final int shapeMask;
+                final int truth;
+                int       column;
+
+                shapeMask = shapeMasks[row / RESULT_SLOTS];
+                truth     = row % RESULT_SLOTS;
+                column    = ROW_START[row];
+
+                for(int lie = 0; lie < RESULT_SLOTS; lie++)
+                {
+                    if(lie != truth && lie != WINNING && (shapeMask & resultBit[lie]) != 0)
+                    {
+                        LIES[column++] = lie;
+                    }
+                }
+            }
+
+            for(final Distribution distribution : Distribution.values())
+            {
+                for(int row = 0; row < ROW_START.length; row++)
+                {
+                    if(ROW_START[row] == NO_RESULT)
+                    {
+                        continue;
+                    }
+
+                    final double[] weights;
+                    weights = new double[ROW_LENGTH[row]];
+
+                    for(int column = 0; column < weights.length; column++)
+                    {
+                        weights[column] = distribution.weight(row % RESULT_SLOTS,
+                                                              LIES[ROW_START[row] + column]);
+                    }
+                    buildAliasTable(weights,
+                                    distribution.ordinal() * LIES.length + ROW_START[row]);
+                }
+            }
+        }
+
+        /*
+         * Fills one row of ACCEPT and ALIAS with Vose's alias method, so a
+         * column picked uniformly is kept with probability ACCEPT and
+         * otherwise replaced by its ALIAS, giving the weighted distribution.
+         */
+        private static void buildAliasTable(final double[] weights,
+                                            final int offset)
+        {
+            final double[] scaled;
+            final int[]    small;
+            final int[]    large;
+            double         total;
+            int            smallCount;
+            int            largeCount;
+
+            scaled     = new double[weights.length];
+            small      = new int[weights.length];
+            large      = new int[weights.length];
+            total      = 0.0;
+            smallCount = 0;
+            largeCount = 0;
+
+            for(final double weight : weights)
+            {
+                total += weight;
+            }
+
+            for(int column = 0; column < weights.length; column++)
+            {
+                scaled[column] = weights[column] * weights.length / total;
+                if(scaled[column] < 1.0)
+                {
+                    small[smallCount++] = column;
+                }
+                else
+                {
+                    large[largeCount++] = column;
+                }
+            }
+
+            while(smallCount > 0 && largeCount > 0)
+            {
+                final int less;
+                final int more;
+
+                less = small[--smallCount];
+                more = large[--largeCount];
+
+                ACCEPT[offset + less] = scaled[less];
+                ALIAS[offset + less]  = more;
+                scaled[more]          = scaled[more] + scaled[less] - 1.0;
+
+                if(scaled[more] < 1.0)
+                {
+                    small[smallCount++] = more;
+                }
+                else
+                {
+                    large[largeCount++] = more;
+                }
+            }
+
+            // Whatever is left holds a full share, up to rounding.
+            while(largeCount > 0)
+            {
+                final int column;
+                column                  = large[--largeCount];
+                ACCEPT[offset + column] = 1.0;
+                ALIAS[offset + column]  = column;
+            }
+            while(smallCount > 0)
+            {
+                final int column;
+                column                  = small[--smallCount];
+                ACCEPT[offset + column] = 1.0;
+                ALIAS[offset + column]  = column;
+            }
+        }
+    }
 
     /*
      * Private constructor to prevent instantiation.
@@ -34,6 +348,28 @@ final class DeceptionEngine
         // Utility class should not be instantiated
     }
 
+    /**
+     * Gets the strategy chosen by the {@value #STRATEGY_PROPERTY} system
+     * property, or {@link Distribution#UNIFORM} if it is not set. A new
+     * {@link EvilDeceptionStrategy} is made on every call, so the result must
+     * not be shared between sessions.
+     *
+     * @return the default strategy for a new session
+     */
+    static DeceptionStrategy defaultStrategy()
+    {
+        final String name;
+        name = System.getProperty(STRATEGY_PROPERTY,
+                                  Distribution.UNIFORM.name())
+                     .toUpperCase(Locale.ROOT);
+
+        if(EVIL_STRATEGY.equals(name))
+        {
+            return new EvilDeceptionStrategy();
+        }
+        return Distribution.valueOf(name);
+    }
+
     /**
      * Determines if deception should be applied based on the current game
      * state.
@@ -50,18 +386,20 @@ final class DeceptionEngine
      *                               in the game
      * @param deceptiveRoundsAllowed maximum number of deceptive rounds allowed
      *                               in the game
+     * @param random                 the session's source of randomness
      * @return true if deception should be applied in this round, false
      *         otherwise
      */
     static boolean shouldApplyDeception(final int deceptiveRoundsUsed,
-                                        final int deceptiveRoundsAllowed)
+                                        final int deceptiveRoundsAllowed,
+                                        final RandomGenerator random)
     {
         validateDeceptionParameters(deceptiveRoundsUsed,
                                     deceptiveRoundsAllowed);
 
         final boolean shouldDeceive;
         shouldDeceive = deceptiveRoundsUsed < deceptiveRoundsAllowed &&
-                        RANDOM.nextDouble() < DECEPTION_CHANCE;
+                        random.nextDouble() < DECEPTION_CHANCE;
 
         return shouldDeceive;
     }
@@ -69,38 +407,127 @@ final class DeceptionEngine
     /**
      * Applies a controlled modification to the feedback to create deception.
      * <p>
-     * This method generates false feedback that differs from the true feedback
-     * by creating a random secret code and using a predefined guess. It ensures
-     * that the deceptive feedback is different from the actual feedback to
-     * maintain the deceptive element of the game.
+     * The false feedback is drawn uniformly from every result the guess can
+     * score other than the true one.
      * </p>
      *
+     * @param guess        the guess the feedback is for
      * @param trueFeedback the original, true feedback based on the player's
      *                     actual guess
+     * @param random       the session's source of randomness
      * @return a modified feedback object that contains deceptive information
      */
-    static Feedback applyDeception(final Feedback trueFeedback)
+    static Feedback applyDeception(final Code guess,
+                                   final Feedback trueFeedback,
+                                   final RandomGenerator random)
+    {
+        return applyDeception(guess,
+                              trueFeedback,
+                              Distribution.UNIFORM,
+                              random);
+    }
+
+    /**
+     * Applies a controlled modification to the feedback to create deception,
+     * drawing the false feedback from the given distribution.
+     *
+     * @param guess        the guess the feedback is for
+     * @param trueFeedback the original, true feedback based on the player's
+     *                     actual guess
+     * @param distribution how the false feedback is chosen
+     * @param random       the session's source of randomness
+     * @return a feedback object that differs from the true feedback
+     */
+    static Feedback applyDeception(final Code guess,
+                                   final Feedback trueFeedback,
+                                   final Distribution distribution,
+                                   final RandomGenerator random)
     {
+        if(guess == null)
+        {
+            throw new NullPointerException("Guess cannot be null");
+        }
         if(trueFeedback == null)
         {
             throw new NullPointerException("True feedback cannot be null");
         }
 
-        // Loop to ensure that randomly generated false feedback is not
-        // accurate.
-        Feedback falseFeedback;
-        do
+        return Feedback.fromPacked(lie(guess.getPacked(),
+                                       trueFeedback.getPacked(),
+                                       distribution,
+                                       random));
+    }
+
+    /**
+     * Draws a packed false result for a guess and its packed true result
+     * without allocating.
+     *
+     * @param guess        the packed guess
+     * @param trueResult   the packed true result
+     * @param distribution how the false result is chosen
+     * @param random       the source of randomness
+     * @return a packed result the guess can score, other than the true one
+     *         and a full match
+     */
+    static int lie(final int guess,
+                   final int trueResult,
+                   final Distribution distribution,
+                   final RandomGenerator random)
+    {
+        if(distribution == null)
+        {
+            throw new IllegalArgumentException("Distribution cannot be null");
+        }
+
+        final int shape;
+        shape = Tables.SHAPE_OF_GUESS[FeedbackTable.indexOf(guess)];
+
+        if(trueResult < 0 ||
+           trueResult >= Tables.RESULT_SLOTS ||
+           Tables.ROW_START[shape * Tables.RESULT_SLOTS + trueResult] == NO_RESULT)
+        {
+            throw new IllegalArgumentException("Not a feedback result the guess can score: " +
+                                               trueResult);
+        }
+
+        final int row;
+        final int start;
+        final int offset;
+        final int column;
+        final int chosen;
+
+        row    = shape * Tables.RESULT_SLOTS + trueResult;
+        start  = Tables.ROW_START[row];
+        offset = distribution.ordinal() * Tables.LIES.length + start;
+        column = random.nextInt(Tables.ROW_LENGTH[row]);
+        chosen = random.nextDouble() < Tables.ACCEPT[offset + column] ?
+                 column :
+                 Tables.ALIAS[offset + column];
+
+        return Tables.LIES[start + chosen];
+    }
+
+    /**
+     * Counts the false results that can be shown for a guess in place of a
+     * true result.
+     *
+     * @param guess      the packed guess
+     * @param trueResult the packed true result
+     * @return how many lies the guess can be given, or 0 if the guess can
+     *         never score the true result
+     */
+    static int lieCount(final int guess,
+                        final int trueResult)
+    {
+        if(trueResult < 0 || trueResult >= Tables.RESULT_SLOTS)
         {
-            final SecretCode      falseCode;
-            final PlayerGuessCode falseGuess;
+            return 0;
+        }
 
-            falseCode     = SecretCode.generateRandomCode(Code.CODE_LENGTH);
-            falseGuess    = PlayerGuessCode.fromInput(FALSE_GUESS_DIGITS);
-            falseFeedback = new Feedback(falseCode,
-                                         falseGuess);
-        } while(trueFeedback.equals(falseFeedback));
+        final int row;
+        row = Tables.SHAPE_OF_GUESS[FeedbackTable.indexOf(guess)] * Tables.RESULT_SLOTS + trueResult;
 
-        return falseFeedback;
+        return Tables.ROW_START[row] == NO_RESULT ? 0 : Tables.ROW_LENGTH[row];
     }
 
     /*
@@ -0,0 +1,520 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tracks how likely each secret is when some feedback may have been a lie.
+ * <p>
+ * Each game may contain up to {@value Round#DECEPTIVE_ROUNDS_ALLOWED}
+ * deceptive rounds, and each round is deceptive with probability
+ * {@link DeceptionEngine#DECEPTION_CHANCE} while the budget lasts. This model
+ * keeps a weight for every (lie pattern, candidate secret) pair, where a lie
+ * pattern is the set of rounds assumed to have lied. When a round is observed
+ * every pattern splits into "this round was honest" and, while the budget
+ * allows, "this round lied"; patterns that no longer explain any secret are
+ * dropped. The weights live in one flat {@code float[]}, so a full
+ * {@value #DEFAULT_MAX_ROUNDS}-round game needs well under 2 MB.
+ * </p>
+ * <p>
+ * A lie is modelled as {@link DeceptionEngine.Distribution#UNIFORM} draws
+ * it: any result the guess can score other than the true one and a full
+ * match, with every alternative equally likely.
+ * </p>
+ * <p>
+ * Instances are not thread-safe; each game should use its own model.
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+final class DeceptionModel
+{
+    static final int NO_ROUND = -1;
+
+    private static final int DEFAULT_MAX_ROUNDS = 12;
+    private static final int FEEDBACK_SLOTS     = Feedback.packResult(Code.CODE_LENGTH,
+                                                                      Code.CODE_LENGTH) + 1;
+    private static final int WINNING_RESULT     = Feedback.packResult(Code.CODE_LENGTH,
+                                                                      0);
+    private static final int HONEST_PATTERN     = 0;
+    private static final int ROUND_INCREMENT    = 1;
+
+    private final FeedbackTable table;
+    private final int           maxRounds;
+    private final float[]       weights;
+    private final int[]         patternMasks;
+    private final int[]         guessIndices;
+    private final int[]         shownFeedback;
+    private final boolean[]     truthApplied;
+    private final float[]       lieLikelihoods;
+
+    private int patternCount;
+    private int roundCount;
+
+    /**
+     * Constructs a model for a game of {@value #DEFAULT_MAX_ROUNDS} rounds.
+     */
+    DeceptionModel()
+    {
+        this(DEFAULT_MAX_ROUNDS);
+    }
+
+    /**
+     * Constructs a model for a game with the given number of rounds.
+     *
+     * @param maxRounds the most rounds the game can have
+     */
+    DeceptionModel(final int maxRounds)
+    {
+        if(maxRounds < ROUND_INCREMENT || maxRounds >= Integer.SIZE)
+        {
+            throw new IllegalArgumentException("Max rounds must be between 1 and " +
+                                               (Integer.SIZE - ROUND_INCREMENT));
+        }
+
+        final int patternCapacity;
+
+        this.table          = FeedbackTable.getInstance();
+        this.maxRounds      = maxRounds;
+        patternCapacity     = countPatterns(maxRounds,
+                                            Round.DECEPTIVE_ROUNDS_ALLOWED);
+        this.weights        = new float[patternCapacity * FeedbackTable.CODE_COUNT];
+        this.patternMasks   = new int[patternCapacity];
+        this.guessIndices   = new int[maxRounds];
+        this.shownFeedback  = new int[maxRounds];
+        this.truthApplied   = new boolean[maxRounds];
+        this.lieLikelihoods = new float[FEEDBACK_SLOTS];
+
+        reset();
+    }
+
+    /**
+     * Clears all observations so the model can be reused for a new game.
+     */
+    void reset()
+    {
+        patternCount = ROUND_INCREMENT;
+        roundCount   = 0;
+        patternMasks[HONEST_PATTERN] = 0;
+        Arrays.fill(truthApplied,
+                    false);
+        Arrays.fill(weights,
+                    0,
+                    FeedbackTable.CODE_COUNT,
+                    1.0f / FeedbackTable.CODE_COUNT);
+    }
+
+    /**
+     * Brings the model up to date with the rounds played so far.
+     * <p>
+     * Only rounds and truth scans that have not been seen yet are applied. If
+     * the rounds do not continue the history already observed, for example
+     * because a new game started, the model is reset first.
+     * </p>
+     *
+     * @param rounds the rounds played so far
+     */
+    void sync(final List<Round> rounds)
+    {
+        if(!continuesHistory(rounds))
+        {
+            reset();
+        }
+
+        for(int i = roundCount; i < rounds.size(); i++)
+        {
+            final Round round;
+            round = rounds.get(i);
+
+            observeRound(round.getGuess()
+                              .getPacked(),
+                         round.getFeedback()
+                              .getPacked());
+        }
+
+        for(int i = 0; i < rounds.size(); i++)
+        {
+            final Round round;
+            round = rounds.get(i);
+
+            if(round.isTruthRevealed() && !truthApplied[i])
+            {
+                observeTruth(i,
+                             round.isDeceptiveRound(),
+                             round.getVisibleFeedback()
+                                  .getPacked());
+            }
+        }
+    }
+
+    /**
+     * Records the feedback shown for the next round.
+     *
+     * @param guess        the packed guess
+     * @param shownResult  the packed feedback the player was shown
+     */
+    void observeRound(final int guess,
+                      final int shownResult)
+    {
+        if(roundCount >= maxRounds)
+        {
+            throw new IllegalStateException("Model already holds " +
+                                            maxRounds +
+                                            " rounds");
+        }
+
+        final int roundIndex;
+        final int existingPatterns;
+        final int roundBit;
+
+        roundIndex                = roundCount;
+        guessIndices[roundIndex]  = FeedbackTable.indexOf(guess);
+        shownFeedback[roundIndex] = shownResult;
+        roundBit                  = 1 << roundIndex;
+        existingPatterns          = patternCount;
+
+        // How likely the shown result is as a lie, for each possible truth.
+        for(int trueResult = 0; trueResult < FEEDBACK_SLOTS; trueResult++)
+        {
+            final int lies;
+            lies = DeceptionEngine.lieCount(guess,
+                                            trueResult);
+
+            lieLikelihoods[trueResult] = lies > 0 && shownResult != WINNING_RESULT ?
+                                         1.0f / lies :
+                                         0.0f;
+        }
+
+        for(int pattern = 0; pattern < existingPatterns; pattern++)
+        {
+            final int     mask;
+            final boolean canStillLie;
+            final float   honestPrior;
+            final int     offset;
+            final int     lieOffset;
+
+            mask        = patternMasks[pattern];
+            canStillLie = Integer.bitCount(mask) < Round.DECEPTIVE_ROUNDS_ALLOWED;
+            honestPrior = canStillLie ? (float)(1.0 - DeceptionEngine.DECEPTION_CHANCE) : 1.0f;
+            offset      = pattern * FeedbackTable.CODE_COUNT;
+
+            if(canStillLie)
+            {
+                lieOffset                  = patternCount * FeedbackTable.CODE_COUNT;
+                patternMasks[patternCount] = mask | roundBit;
+                patternCount++;
+            }
+            else
+            {
+                lieOffset = NO_ROUND;
+            }
+
+            for(int code = 0; code < FeedbackTable.CODE_COUNT; code++)
+            {
+                final float   weight;
+                final int     trueResult;
+                final boolean matchesShown;
+
+                weight       = weights[offset + code];
+                trueResult   = table.score(code,
+                                           guessIndices[roundIndex]);
+                matchesShown = trueResult == shownResult;
+
+                weights[offset + code] = matchesShown ? weight * honestPrior : 0.0f;
+                if(lieOffset != NO_ROUND)
+                {
+                    weights[lieOffset + code] = matchesShown ?
+                                                0.0f :
+                                                weight * (float)DeceptionEngine.DECEPTION_CHANCE * lieLikelihoods[trueResult];
+                }
+            }
+        }
+
+        roundCount++;
+        compactAndNormalize();
+    }
+
+    /**
+     * Records what a truth scan revealed about a round.
+     *
+     * @param roundIndex   the zero-based index of the scanned round
+     * @param wasDeceptive whether the round's feedback had been a lie
+     * @param trueResult   the packed true feedback for the round
+     */
+    void observeTruth(final int roundIndex,
+                      final boolean wasDeceptive,
+                      final int trueResult)
+    {
+        if(roundIndex < 0 || roundIndex >= roundCount)
+        {
+            throw new IllegalArgumentException("No observed round at index " +
+                                               roundIndex);
+        }
+
+        final int roundBit;
+        roundBit = 1 << roundIndex;
+
+        for(int pattern = 0; pattern < patternCount; pattern++)
+        {
+            final boolean assumesLie;
+            final int     offset;
+
+            assumesLie = (patternMasks[pattern] & roundBit) != 0;
+            offset     = pattern * FeedbackTable.CODE_COUNT;
+
+            for(int code = 0; code < FeedbackTable.CODE_COUNT; code++)
+            {
+                if(assumesLie != wasDeceptive ||
+                   table.score(code,
+                               guessIndices[roundIndex]) != trueResult)
+                {
+                    weights[offset + code] = 0.0f;
+                }
+            }
+        }
+
+        truthApplied[roundIndex] = true;
+        compactAndNormalize();
+    }
+
+    /**
+     * Returns the probability of each code being the secret.
+     *
+     * @return a probability per code index, summing to one unless the
+     *         observations are contradictory, in which case all are zero
+     */
+    double[] posterior()
+    {
+        final double[] result;
+        result = new double[FeedbackTable.CODE_COUNT];
+
+        for(int pattern = 0; pattern < patternCount; pattern++)
+        {
+            final int offset;
+            offset = pattern * FeedbackTable.CODE_COUNT;
+
+            for(int code = 0; code < FeedbackTable.CODE_COUNT; code++)
+            {
+                result[code] += weights[offset + code];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the probability that an observed round's feedback was a lie.
+     *
+     * @param roundIndex the zero-based index of the round
+     * @return the probability the round was deceptive
+     */
+    double probabilityOfLie(final int roundIndex)
+    {
+        final int roundBit;
+        double    probability;
+
+        roundBit    = 1 << roundIndex;
+        probability = 0.0;
+
+        for(int pattern = 0; pattern < patternCount; pattern++)
+        {
+            if((patternMasks[pattern] & roundBit) != 0)
+            {
+                probability += patternWeight(pattern);
+            }
+        }
+        return probability;
+    }
+
+    /**
+     * Picks the round whose truth scan is expected to tell the most about the
+     * secret.
+     * <p>
+     * A scan reveals a round's true feedback, which is fixed once the secret
+     * is known, so the information it gives is the entropy of that round's
+     * true feedback under the current posterior. Rounds already revealed are
+     * skipped.
+     * </p>
+     *
+     * @return the zero-based index of the best round, or {@value #NO_ROUND}
+     *         if no round is worth scanning
+     */
+    int mostInformativeScan()
+    {
+        final double[] probabilities;
+        final double[] outcomeProbabilities;
+
+        int    bestRound;
+        double bestEntropy;
+
+        probabilities        = posterior();
+        outcomeProbabilities = new double[FEEDBACK_SLOTS];
+        bestRound            = NO_ROUND;
+        bestEntropy          = 0.0;
+
+        for(int round = 0; round < roundCount; round++)
+        {
+            if(truthApplied[round])
+            {
+                continue;
+            }
+
+            double entropy;
+            entropy = 0.0;
+
+            Arrays.fill(outcomeProbabilities,
+                        0.0);
+            for(int code = 0; code < FeedbackTable.CODE_COUNT; code++)
+            {
+                outcomeProbabilities[table.score(code,
+                                                 guessIndices[round])] += probabilities[code];
+            }
+            for(final double probability : outcomeProbabilities)
+            {
+                if(probability > 0.0)
+                {
+                    entropy -= probability * Math.log(probability);
+                }
+            }
+
+            if(entropy > bestEntropy)
+            {
+                bestEntropy = entropy;
+                bestRound   = round;
+            }
+        }
+        return bestRound;
+    }
+
+    /**
+     * Gets the number of lie patterns that still explain the observations.
+     *
+     * @return the number of live patterns
+     */
+    int getPatternCount()
+    {
+        return patternCount;
+    }
+
+    /**
+     * Gets the number of rounds observed so far.
+     *
+     * @return the observed round count
+     */
+    int getRoundCount()
+    {
+        return roundCount;
+    }
+
+    /*
+     * Checks whether the given rounds extend the history already observed.
+     */
+    private boolean continuesHistory(final List<Round> rounds)
+    {
+        if(rounds.size() < roundCount)
+        {
+            return false;
+        }
+
+        for(int i = 0; i < roundCount; i++)
+        {
+            final Round round;
+            round = rounds.get(i);
+
+            if(FeedbackTable.indexOf(round.getGuess()
+                                          .getPacked()) != guessIndices[i] ||
+               round.getFeedback()
+                    .getPacked() != shownFeedback[i])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Drops patterns with no remaining weight and rescales the rest so the
+     * total weight is one.
+     */
+    private void compactAndNormalize()
+    {
+        double totalWeight;
+        int    livePatterns;
+
+        totalWeight  = 0.0;
+        livePatterns = 0;
+
+        for(int pattern = 0; pattern < patternCount; pattern++)
+        {
+            final double weight;
+            weight = patternWeight(pattern);
+
+            if(weight > 0.0)
+            {
+                if(livePatterns != pattern)
+                {
+                    System.arraycopy(weights,
+                                     pattern * FeedbackTable.CODE_COUNT,
+                                     weights,
+                                     livePatterns * FeedbackTable.CODE_COUNT,
+                                     FeedbackTable.CODE_COUNT);
+                    patternMasks[livePatterns] = patternMasks[pattern];
+                }
+                totalWeight += weight;
+                livePatterns++;
+            }
+        }
+
+        patternCount = livePatterns;
+
+        if(totalWeight > 0.0)
+        {
+            final float scale;
+            scale = (float)(1.0 / totalWeight);
+
+            for(int i = 0; i < patternCount * FeedbackTable.CODE_COUNT; i++)
+            {
+                weights[i] *= scale;
+            }
+        }
+    }
+
+    /*
+     * Sums the weight held by one pattern across all codes.
+     */
+    private double patternWeight(final int pattern)
+    {
+        final int offset;
+        double    total;
+
+        offset = pattern * FeedbackTable.CODE_COUNT;
+        total  = 0.0;
+
+        for(int code = 0; code < FeedbackTable.CODE_COUNT; code++)
+        {
+            total += weights[offset + code];
+        }
+        return total;
+    }
+
+    /*
+     * Counts the subsets of at most maxLies rounds out of rounds, which is the
+     * most lie patterns the model can ever hold.
+     */
+    private static int countPatterns(final int rounds,
+                                     final int maxLies)
+    {
+        int  total;
+        long binomial;
+
+        total    = 0;
+        binomial = 1;
+
+        for(int lies = 0; lies <= maxLies && lies <= rounds; lies++)
+        {
+            total    += (int)binomial;
+            binomial  = binomial * (rounds - lies) / (lies + ROUND_INCREMENT);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,61 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Chooses the false feedback shown in a deceptive round of {@code Mastermind}.
+ * <p>
+ * The session decides whether a round lies; a strategy decides what the lie
+ * is. Stateless strategies such as the {@link DeceptionEngine.Distribution}
+ * constants can be shared, while a strategy that follows the game, such as
+ * {@link EvilDeceptionStrategy}, belongs to a single session and is told about
+ * every round that is shown and every truth that is revealed.
+ * </p>
+ * <p>
+ * Codes and results are passed packed (see {@link Code#getPacked()} and
+ * {@link Feedback#getPacked()}) so a choice can be made without allocating.
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+interface DeceptionStrategy
+{
+    /**
+     * Chooses the false result to show for a guess.
+     *
+     * @param guess      the packed guess
+     * @param trueResult the packed true result for the guess
+     * @param random     the session's source of randomness
+     * @return a packed result a guess can score, other than the true one
+     */
+    int lie(int guess,
+            int trueResult,
+            RandomGenerator random);
+
+    /**
+     * Called once a round has been recorded, with the result the player was
+     * shown, whether or not it was a lie.
+     *
+     * @param guess       the packed guess
+     * @param shownResult the packed result shown to the player
+     */
+    default void roundShown(final int guess,
+                            final int shownResult)
+    {
+        // Stateless strategies do not follow the game.
+    }
+
+    /**
+     * Called when a truth scan shows the player the true result of an earlier
+     * round.
+     *
+     * @param roundIndex the zero-based index of the scanned round
+     * @param trueResult the packed true result of that round
+     */
+    default void truthRevealed(final int roundIndex,
+                               final int trueResult)
+    {
+        // Stateless strategies do not follow the game.
+    }
+}
@@ -0,0 +1,181 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * A {@link DeceptionStrategy} that lies to keep the player guessing for as
+ * long as possible.
+ * <p>
+ * The strategy follows what the player has been shown and keeps the set of
+ * codes that are still consistent with it. When a round lies, every possible
+ * result for the guess is weighed by how many of those candidates would
+ * survive it, and the result that keeps the most alive is shown, with ties
+ * broken at random. If no false result leaves any candidate standing, a lie
+ * is drawn uniformly instead.
+ * </p>
+ * <p>
+ * The candidates are a {@link CandidateSet}. Weighing a guess counts each
+ * result's survivors with the set's precomputed masks, and each shown round
+ * filters the set in place, so a choice takes microseconds and nothing is
+ * allocated once the strategy is built. Each session needs its own instance.
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+final class EvilDeceptionStrategy implements DeceptionStrategy
+{
+    private static final int RESULT_SLOTS   = Feedback.packResult(Code.CODE_LENGTH,
+                                                                  Code.CODE_LENGTH) + 1;
+    private static final int WINNING_RESULT = Feedback.packResult(Code.CODE_LENGTH,
+                                                                  0);
+    private static final int NO_RESULT      = -1;
+
+    private final CandidateSet candidates;
+
+    private int[] guesses;
+    private int[] shownResults;
+    private int   roundCount;
+
+    /**
+     * Constructs an {@code EvilDeceptionStrategy} for a new game, with every
+     * code still a candidate.
+     */
+    EvilDeceptionStrategy()
+    {
+        this.candidates   = CandidateSet.all();
+        this.guesses      = new int[MastermindSession.MAX_ROUNDS];
+        this.shownResults = new int[MastermindSession.MAX_ROUNDS];
+        this.roundCount   = 0;
+    }
+
+    /**
+     * Chooses the false result that leaves the player the most codes still
+     * consistent with everything they have been shown.
+     *
+     * @param guess      the packed guess
+     * @param trueResult the packed true result for the guess
+     * @param random     the session's source of randomness
+     * @return a packed result a guess can score, other than the true one
+     */
+    @Override
+    public int lie(final int guess,
+                   final int trueResult,
+                   final RandomGenerator random)
+    {
+        int best;
+        int bestSurvivors;
+        int ties;
+
+        best          = NO_RESULT;
+        bestSurvivors = 0;
+        ties          = 0;
+        for(int result = 0; result < RESULT_SLOTS; result++)
+        {
+            // A claimed win on a guess that did not win gives the lie away.
+            if(result == trueResult || result == WINNING_RESULT)
+            {
+                continue;
+            }
+
+            final int survivors;
+            survivors = candidates.countMatching(guess,
+                                                 result);
+
+            if(survivors == 0 || survivors < bestSurvivors)
+            {
+                continue;
+            }
+
+            if(survivors > bestSurvivors)
+            {
+                best          = result;
+                bestSurvivors = survivors;
+                ties          = 1;
+            }
+            else
+            {
+                // Keep each tied result with equal probability.
+                ties++;
+                if(random.nextInt(ties) == 0)
+                {
+                    best = result;
+                }
+            }
+        }
+
+        if(best == NO_RESULT)
+        {
+            return DeceptionEngine.lie(guess,
+                                       trueResult,
+                                       DeceptionEngine.Distribution.UNIFORM,
+                                       random);
+        }
+        return best;
+    }
+
+    /**
+     * Drops the candidates that are not consistent with the shown round.
+     *
+     * @param guess       the packed guess
+     * @param shownResult the packed result shown to the player
+     */
+    @Override
+    public void roundShown(final int guess,
+                           final int shownResult)
+    {
+        if(roundCount == guesses.length)
+        {
+            guesses      = Arrays.copyOf(guesses,
+                                         guesses.length * 2);
+            shownResults = Arrays.copyOf(shownResults,
+                                         shownResults.length * 2);
+        }
+
+        guesses[roundCount]      = guess;
+        shownResults[roundCount] = shownResult;
+        roundCount++;
+
+        candidates.filter(guess,
+                          shownResult);
+    }
+
+    /**
+     * Rebuilds the candidates now that the player knows the true result of
+     * an earlier round.
+     *
+     * @param roundIndex the zero-based index of the scanned round
+     * @param trueResult the packed true result of that round
+     */
+    @Override
+    public void truthRevealed(final int roundIndex,
+                              final int trueResult)
+    {
+        if(roundIndex < 0 || roundIndex >= roundCount)
+        {
+            throw new IllegalArgumentException("No round has been shown at index " +
+                                               roundIndex);
+        }
+
+        shownResults[roundIndex] = trueResult;
+
+        candidates.fill();
+        for(int round = 0; round < roundCount; round++)
+        {
+            candidates.filter(guesses[round],
+                              shownResults[round]);
+        }
+    }
+
+    /**
+     * Gets how many codes are still consistent with what the player has been
+     * shown.
+     *
+     * @return the number of remaining candidates
+     */
+    int getCandidateCount()
+    {
+        return candidates.cardinality();
+    }
+}
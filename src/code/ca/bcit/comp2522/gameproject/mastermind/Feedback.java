@@ -1,8 +1,5 @@
 package ca.bcit.comp2522.gameproject.mastermind;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Stores and displays the result of a guess in {@code Mastermind}.
  * <p>
@@ -10,23 +7,72 @@ import java.util.List;
  * including the number of correct digits in correct positions and the number
  * of correct digits in wrong positions.
  * </p>
+ * <p>
+ * Scoring is done on packed codes (see {@link Code#getPacked()}) and yields a
+ * packed result with the correct-position count in the high nibble and the
+ * misplaced count in the low nibble, so hot paths can score without
+ * allocating any objects.
+ * </p>
  *
  * @author Nathan O
  * @version 1.0 2025
  */
 final class Feedback
 {
-    private static final int RESULT_SIZE               = 2;
-    private static final int CORRECT_POSITION          = 0;
-    private static final int MISPLACED                 = 1;
-    private static final int DEFAULT_CORRECT_POSITIONS = 0;
-    private static final int DEFAULT_MISPLACED         = 0;
+    private static final int RESULT_SHIFT = 4;
+    private static final int RESULT_MASK  = (1 << RESULT_SHIFT) - 1;
+
+    private static final Feedback[] CACHED = new Feedback[(CodeGeometry.MAX_LENGTH << RESULT_SHIFT) + 1];
+
+    // Bit patterns for scoring a packed code a whole word at a time.
+    private static final int COLOURS          = Code.DIGIT_MAX - Code.DIGIT_MIN + 1;
+    private static final int DIGIT_LOW_BITS   = repeat(1,
+                                                       Code.DIGIT_BITS,
+                                                       Code.CODE_LENGTH);
+    private static final int COUNT_ONES       = repeat(1,
+                                                       Code.COUNT_BITS,
+                                                       COLOURS);
+    private static final int COUNT_HIGH_BITS  = COUNT_ONES << (Code.COUNT_BITS - 1);
+    private static final int COUNT_SUM_SHIFT  = (COLOURS - 1) * Code.COUNT_BITS;
+    private static final int COUNT_TEST_SHIFT = Code.COUNT_BITS - 1;
+
+    static
+    {
+        for(int correct = 0; correct <= CodeGeometry.MAX_LENGTH; correct++)
+        {
+            for(int misplaced = 0; correct + misplaced <= CodeGeometry.MAX_LENGTH; misplaced++)
+            {
+                CACHED[packResult(correct,
+                                  misplaced)] = new Feedback(packResult(correct,
+                                                                        misplaced));
+            }
+        }
+    }
+
+    /*
+     * Holder idiom so the colour counts of every packed code are only built
+     * the first time a guess is scored in bulk.
+     */
+    private static final class ColourCounts
+    {
+        private static final int[] BY_CODE = new int[1 << (Code.CODE_LENGTH * Code.DIGIT_BITS)];
+
+        static
+        {
+            for(int packed = 0; packed < BY_CODE.length; packed++)
+            {
+                BY_CODE[packed] = Code.colourCounts(packed);
+            }
+        }
+    }
 
     private final int correctPositionCount;
     private final int misplacedCount;
 
     /**
-     * Constructs a new {@code Feedback} object.
+     * Constructs a new {@code Feedback} object. Classic codes are scored
+     * through the {@link FeedbackTable}; codes of any other geometry are
+     * scored by their geometry.
      */
     <S extends Code, G extends Code> Feedback(final S secretCode,
                                               final G guessCode)
@@ -34,11 +80,51 @@ final class Feedback
         validateCodes(secretCode,
                       guessCode);
 
-        final int[] result;
-        result                    = evaluateGuess(secretCode,
-                                                  guessCode);
-        this.correctPositionCount = result[CORRECT_POSITION];
-        this.misplacedCount       = result[MISPLACED];
+        final CodeGeometry geometry;
+        final int          result;
+
+        geometry = secretCode.getGeometry();
+        if(geometry.isClassic())
+        {
+            result = FeedbackTable.scoreOf(secretCode.getPacked(),
+                                           guessCode.getPacked());
+        }
+        else
+        {
+            result = geometry.score(secretCode.getPacked(),
+                                    guessCode.getPacked());
+        }
+        this.correctPositionCount = correctPositionsOf(result);
+        this.misplacedCount       = misplacedOf(result);
+    }
+
+    /*
+     * Constructs a Feedback from an already packed score.
+     *
+     * @param packedResult a result produced by score or packResult
+     */
+    private Feedback(final int packedResult)
+    {
+        this.correctPositionCount = correctPositionsOf(packedResult);
+        this.misplacedCount       = misplacedOf(packedResult);
+    }
+
+    /**
+     * Gets the Feedback for a packed result. Results a guess can score share
+     * one instance each, so this does not allocate for them.
+     *
+     * @param packedResult a result produced by {@link #score(int, int)}
+     * @return the equivalent Feedback object
+     */
+    static Feedback fromPacked(final int packedResult)
+    {
+        if(packedResult >= 0 &&
+           packedResult < CACHED.length &&
+           CACHED[packedResult] != null)
+        {
+            return CACHED[packedResult];
+        }
+        return new Feedback(packedResult);
     }
 
     /**
@@ -61,6 +147,180 @@ final class Feedback
         return misplacedCount;
     }
 
+    /**
+     * Gets this feedback as a packed result.
+     *
+     * @return the packed result, as produced by {@link #score(int, int)}
+     */
+    int getPacked()
+    {
+        return packResult(correctPositionCount,
+                          misplacedCount);
+    }
+
+    /**
+     * Scores a packed classic guess against a packed classic secret without
+     * allocating, using the rules of {@link CodeGeometry#score(int, int)}.
+     *
+     * @param secret the packed secret code
+     * @param guess  the packed guess code
+     * @return the packed result
+     */
+    static int score(final int secret,
+                     final int guess)
+    {
+        return CodeGeometry.CLASSIC.score(secret,
+                                          guess);
+    }
+
+    /**
+     * Scores one guess against many candidate secrets, writing each packed
+     * result to the matching slot of {@code out}.
+     * <p>
+     * This is the bulk form of {@link #score(int, int)} for loops such as
+     * weighing a guess against every remaining candidate. It works on the
+     * packed codes as words rather than digit by digit:
+     * </p>
+     * <ul>
+     *     <li>Exact matches are the positions where the XOR of the two codes
+     *         has an all-zero digit, found by folding each digit's bits onto
+     *         its lowest bit and counting the bits left set.</li>
+     *     <li>The colour counts of each code are read from a small table
+     *         indexed by the packed code, built on the first call. Every
+     *         per-colour minimum is taken at once by subtracting the nibbles
+     *         with a guard bit and using the borrow as a select mask, and the
+     *         minimums are summed with one multiply.</li>
+     * </ul>
+     * <p>
+     * Nothing is allocated and the {@link FeedbackTable} is not used, so this
+     * is equally fast with it disabled.
+     * </p>
+     *
+     * @param guess      the packed guess code
+     * @param candidates the packed candidate secret codes
+     * @param out        receives the packed result for each candidate; at
+     *                   least as long as {@code candidates}
+     */
+    static void scoreAll(final int guess,
+                         final int[] candidates,
+                         final byte[] out)
+    {
+        if(candidates == null || out == null)
+        {
+            throw new IllegalArgumentException("Candidates and output cannot be null");
+        }
+        if(out.length < candidates.length)
+        {
+            throw new IllegalArgumentException(String.format("Output holds %d results but there are %d candidates.",
+                                                             out.length,
+                                                             candidates.length));
+        }
+
+        final int[] colourCounts;
+        final int   guessCounts;
+        final int   guardedCounts;
+
+        colourCounts  = ColourCounts.BY_CODE;
+        guessCounts   = Code.colourCounts(guess);
+        guardedCounts = guessCounts | COUNT_HIGH_BITS;
+
+        for(int i = 0; i < candidates.length; i++)
+        {
+            final int candidate;
+            final int difference;
+            final int correctPosition;
+            final int candidateCounts;
+            final int guessIsLarger;
+            final int shared;
+
+            candidate       = candidates[i];
+            difference      = candidate ^ guess;
+            correctPosition = Code.CODE_LENGTH - Integer.bitCount((difference |
+                                                                   difference >>> 1 |
+                                                                   difference >>> 2) & DIGIT_LOW_BITS);
+
+            // A guard bit survives in each nibble where the guess count is at least the candidate's.
+            candidateCounts = colourCounts[candidate];
+            guessIsLarger   = ((guardedCounts - candidateCounts) & COUNT_HIGH_BITS) >>> COUNT_TEST_SHIFT;
+            shared          = ((candidateCounts & guessIsLarger * Code.COUNT_MASK |
+                                guessCounts & ~(guessIsLarger * Code.COUNT_MASK)) * COUNT_ONES >>> COUNT_SUM_SHIFT) & Code.COUNT_MASK;
+
+            out[i] = (byte) packResult(correctPosition,
+                                       shared - correctPosition);
+        }
+    }
+
+    /**
+     * Packs a correct-position count and a misplaced count into one int.
+     *
+     * @param correctPositions number of correctly positioned digits
+     * @param misplaced        number of misplaced digits
+     * @return the packed result
+     */
+    static int packResult(final int correctPositions,
+                          final int misplaced)
+    {
+        return (correctPositions << RESULT_SHIFT) | misplaced;
+    }
+
+    /**
+     * Extracts the correct-position count from a packed result.
+     *
+     * @param packedResult the packed result
+     * @return number of correctly positioned digits
+     */
+    static int correctPositionsOf(final int packedResult)
+    {
+        return packedResult >>> RESULT_SHIFT;
+    }
+
+    /**
+     * Extracts the misplaced count from a packed result.
+     *
+     * @param packedResult the packed result
+     * @return number of misplaced digits
+     */
+    static int misplacedOf(final int packedResult)
+    {
+        return packedResult & RESULT_MASK;
+    }
+
+    /**
+     * Checks whether another object is feedback with the same counts.
+     *
+     * @param other the object to compare with
+     * @return true if both counts match
+     */
+    @Override
+    public boolean equals(final Object other)
+    {
+        if(this == other)
+        {
+            return true;
+        }
+        if(!(other instanceof Feedback))
+        {
+            return false;
+        }
+
+        final Feedback feedback;
+        feedback = (Feedback)other;
+
+        return correctPositionCount == feedback.correctPositionCount &&
+               misplacedCount == feedback.misplacedCount;
+    }
+
+    /**
+     * Returns a hash code consistent with {@link #equals(Object)}.
+     *
+     * @return the packed result
+     */
+    @Override
+    public int hashCode()
+    {
+        return getPacked();
+    }
+
     /**
      * Returns the feedback object as a formatted String.
      *
@@ -81,110 +341,49 @@ final class Feedback
     }
 
     /*
-     * Validates the provided codes for nullity and correct length.
-     * <p>
-     * This method checks if the {@code secretCode} and {@code guessCode} are
-     * not null and have the correct length.
-     * </p>
-     * 
-     * @param secretCode the secret code to validate
-     * @param guessCode the player's guess code
+     * Builds a word with the given value repeated in each of count fields of
+     * the given width, lowest field first.
      */
-    private static void validateCodes(final Code secretCode,
-                                      final Code guessCode)
+    private static int repeat(final int value,
+                              final int width,
+                              final int count)
     {
-        if(secretCode == null || guessCode == null)
-        {
-            throw new IllegalArgumentException("Codes cannot be null");
-        }
-
-        final int secretCodeLength;
-        final int guessCodeLength;
-
-        secretCodeLength = secretCode.getDigits()
-                                     .size();
-        guessCodeLength  = guessCode.getDigits()
-                                    .size();
+        int word;
+        word = 0;
 
-        if(secretCodeLength != Code.CODE_LENGTH ||
-           guessCodeLength != Code.CODE_LENGTH)
+        for(int field = 0; field < count; field++)
         {
-            throw new IllegalArgumentException("Codes must be of length " +
-                                               Code.CODE_LENGTH);
+            word |= value << (field * width);
         }
+        return word;
     }
 
     /*
-     * Evaluates a guess against a secret code and returns feedback.
+     * Validates the provided codes for nullity and checks that they share a
+     * geometry.
      * <p>
-     * This method compares the {@code guessCode} with the {@code secretCode}
-     * and calculates:
-     * 1. The number of digits in the correct position
-     * 2. The number of correct digits in the wrong position (misplaced)
-     * The result is returned as an array where the first element is the count of
-     * correct positions and the second element is the count of misplaced digits.
+     * Codes can only be constructed with valid digits for their geometry, so
+     * two non-null codes of the same geometry are always safe to score.
      * </p>
      * 
-     * @param secretCode the secret code to compare against
+     * @param secretCode the secret code to validate
      * @param guessCode the player's guess code
-     * @return an array containing counts of correct positions and misplaced digits
      */
-    private static int[] evaluateGuess(final Code secretCode,
-                                       final Code guessCode)
+    private static void validateCodes(final Code secretCode,
+                                      final Code guessCode)
     {
-        final List<Integer> secretCodeDigits;
-        final List<Integer> guessCodeDigits;
-        final List<Integer> secretCopy;
-        final List<Integer> guessCopy;
-        final int[]         result;
-
-        int correctPosition;
-        int misplaced;
-
-        correctPosition = DEFAULT_CORRECT_POSITIONS;
-        misplaced       = DEFAULT_MISPLACED;
-
-        secretCodeDigits = secretCode.getDigits();
-        guessCodeDigits  = guessCode.getDigits();
-
-        // Calculate correct positions
-        for(int i = 0; i < Code.CODE_LENGTH; i++)
+        if(secretCode == null || guessCode == null)
         {
-            final int secretCodeDigitAtThisIndex;
-            final int guessCodeDigitAtThisIndex;
-
-            secretCodeDigitAtThisIndex = secretCodeDigits.get(i);
-            guessCodeDigitAtThisIndex  = guessCodeDigits.get(i);
-
-            if(secretCodeDigitAtThisIndex == guessCodeDigitAtThisIndex)
-            {
-                correctPosition++;
-            }
+            throw new IllegalArgumentException("Codes cannot be null");
         }
-
-        secretCopy = new ArrayList<>(secretCodeDigits);
-        guessCopy  = new ArrayList<>(guessCodeDigits);
-
-        // Calculate total matches (including correct position) for misplaced
-        // count derivation
-        for(int j = 0; j < Code.CODE_LENGTH; j++)
+        if(!secretCode.getGeometry()
+                      .equals(guessCode.getGeometry()))
         {
-            if(secretCopy.contains(guessCopy.get(j)))
-            {
-                misplaced++;
-                secretCopy.remove(guessCopy.get(j));
-            }
+            throw new IllegalArgumentException("Cannot score a " +
+                                               guessCode.getGeometry() +
+                                               " guess against a " +
+                                               secretCode.getGeometry() +
+                                               " secret");
         }
-
-        // Adjust misplaced: total matches minus those in the correct position
-        misplaced = misplaced - correctPosition;
-
-        result                   = new int[RESULT_SIZE];
-        result[CORRECT_POSITION] = correctPosition;
-        result[MISPLACED]        = misplaced;
-
-        return result;
     }
-
-
-}
\ No newline at end of file
+}
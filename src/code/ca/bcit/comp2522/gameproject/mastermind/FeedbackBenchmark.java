@@ -0,0 +1,296 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Measures how fast one guess can be scored against many candidates.
+ * <p>
+ * Times five ways of scoring every guess against a list of candidate
+ * secrets: the original {@code evaluateGuess}, which compared and copied
+ * lists of digits, building a {@link Feedback} object per pair, calling
+ * {@link Feedback#score(int, int)} per pair, looking each pair up in the
+ * {@link FeedbackTable}, and {@link Feedback#scoreAll(int, int[], byte[])}.
+ * Every method sums the same packed results, so matching checksums show they
+ * agree.
+ * Each method gets warm-up passes before the timed iterations, and the best
+ * time of each is reported per score.
+ * </p>
+ * <p>
+ * Usage: {@code FeedbackBenchmark [candidates] [iterations]}
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public final class FeedbackBenchmark
+{
+    private static final int  DEFAULT_CANDIDATES = FeedbackTable.CODE_COUNT;
+    private static final int  DEFAULT_ITERATIONS = 20;
+    private static final int  WARM_UP_PASSES     = 5;
+    private static final int  GUESSES            = 256;
+    private static final long SEED               = 42L;
+
+    private static final int ARG_CANDIDATES = 0;
+    private static final int ARG_ITERATIONS = 1;
+
+    private final int[]               guesses;
+    private final int[]               candidates;
+    private final int[]               candidateIndices;
+    private final SecretCode[]        secretCodes;
+    private final Code[]              guessCodes;
+    private final List<List<Integer>> guessDigits;
+    private final List<List<Integer>> candidateDigits;
+    private final byte[]              results;
+
+    /*
+     * Builds random guesses and candidates to score.
+     */
+    private FeedbackBenchmark(final int candidateCount)
+    {
+        final SplittableRandom random;
+        random = new SplittableRandom(SEED);
+
+        guesses          = new int[GUESSES];
+        guessCodes       = new Code[GUESSES];
+        candidates       = new int[candidateCount];
+        candidateIndices = new int[candidateCount];
+        secretCodes      = new SecretCode[candidateCount];
+        guessDigits      = new ArrayList<>(GUESSES);
+        candidateDigits  = new ArrayList<>(candidateCount);
+        results          = new byte[candidateCount];
+
+        for(int i = 0; i < GUESSES; i++)
+        {
+            guesses[i]    = FeedbackTable.codeAt(random.nextInt(FeedbackTable.CODE_COUNT));
+            guessCodes[i] = PlayerGuessCode.fromPacked(guesses[i]);
+            guessDigits.add(guessCodes[i].getDigits());
+        }
+        for(int i = 0; i < candidateCount; i++)
+        {
+            candidateIndices[i] = random.nextInt(FeedbackTable.CODE_COUNT);
+            candidates[i]       = FeedbackTable.codeAt(candidateIndices[i]);
+            secretCodes[i]      = new SecretCode(candidates[i]);
+            candidateDigits.add(secretCodes[i].getDigits());
+        }
+    }
+
+    /**
+     * Entry point for the benchmark.
+     *
+     * @param args optional candidate count and iteration count
+     */
+    public static void main(final String[] args)
+    {
+        final int               candidateCount;
+        final int               iterations;
+        final FeedbackBenchmark benchmark;
+
+        candidateCount = args.length > ARG_CANDIDATES ?
+                         Integer.parseInt(args[ARG_CANDIDATES]) :
+                         DEFAULT_CANDIDATES;
+        iterations     = args.length > ARG_ITERATIONS ?
+                         Integer.parseInt(args[ARG_ITERATIONS]) :
+                         DEFAULT_ITERATIONS;
+        benchmark      = new FeedbackBenchmark(candidateCount);
+
+        System.out.printf("%d guesses x %d candidates, best of %d%n",
+                          GUESSES,
+                          candidateCount,
+                          iterations);
+
+        benchmark.report("evaluateGuess (old)",
+                         iterations,
+                         benchmark::scoreWithDigitLists);
+        benchmark.report("new Feedback(...)",
+                         iterations,
+                         benchmark::scoreWithObjects);
+        benchmark.report("Feedback.score",
+                         iterations,
+                         benchmark::scoreWithScalar);
+        benchmark.report("FeedbackTable",
+                         iterations,
+                         benchmark::scoreWithTable);
+        benchmark.report("Feedback.scoreAll",
+                         iterations,
+                         benchmark::scoreWithBatch);
+    }
+
+    /*
+     * One way of scoring every guess against every candidate, returning a
+     * checksum so the work cannot be skipped.
+     */
+    @FunctionalInterface
+    private interface ScoreRun
+    {
+        long score();
+    }
+
+    /*
+     * Warms a method up, times it, and prints its best time per score.
+     */
+    private void report(final String name,
+                        final int iterations,
+                        final ScoreRun run)
+    {
+        long checksum;
+        long best;
+
+        checksum = 0;
+        for(int pass = 0; pass < WARM_UP_PASSES; pass++)
+        {
+            checksum += run.score();
+        }
+
+        best = Long.MAX_VALUE;
+        for(int i = 0; i < iterations; i++)
+        {
+            final long start;
+            start = System.nanoTime();
+
+            checksum += run.score();
+            best = Math.min(best,
+                            System.nanoTime() - start);
+        }
+
+        System.out.printf("%-20s %7.2f ns/score (checksum %d)%n",
+                          name,
+                          best / ((double) GUESSES * candidates.length),
+                          checksum / (WARM_UP_PASSES + iterations));
+    }
+
+    /*
+     * Scores each pair the way the original evaluateGuess did: counting
+     * exact matches over the digit lists, then copying both lists and
+     * removing each guess digit found in the secret's copy.
+     */
+    private long scoreWithDigitLists()
+    {
+        long checksum;
+        checksum = 0;
+
+        for(final List<Integer> guess : guessDigits)
+        {
+            for(final List<Integer> secret : candidateDigits)
+            {
+                final List<Integer> secretCopy;
+                final List<Integer> guessCopy;
+
+                int correctPosition;
+                int matches;
+
+                correctPosition = 0;
+                for(int i = 0; i < Code.CODE_LENGTH; i++)
+                {
+                    if(secret.get(i)
+                             .intValue() == guess.get(i)
+                                                 .intValue())
+                    {
+                        correctPosition++;
+                    }
+                }
+
+                secretCopy = new ArrayList<>(secret);
+                guessCopy  = new ArrayList<>(guess);
+                matches    = 0;
+                for(int j = 0; j < Code.CODE_LENGTH; j++)
+                {
+                    if(secretCopy.contains(guessCopy.get(j)))
+                    {
+                        matches++;
+                        secretCopy.remove(guessCopy.get(j));
+                    }
+                }
+
+                checksum += Feedback.packResult(correctPosition,
+                                                matches - correctPosition);
+            }
+        }
+        return checksum;
+    }
+
+    /*
+     * Scores each pair by building a Feedback object.
+     */
+    private long scoreWithObjects()
+    {
+        long checksum;
+        checksum = 0;
+
+        for(final Code guess : guessCodes)
+        {
+            for(final SecretCode secret : secretCodes)
+            {
+                checksum += new Feedback(secret,
+                                         guess).getPacked();
+            }
+        }
+        return checksum;
+    }
+
+    /*
+     * Scores each pair with the scalar packed scorer.
+     */
+    private long scoreWithScalar()
+    {
+        long checksum;
+        checksum = 0;
+
+        for(final int guess : guesses)
+        {
+            for(final int candidate : candidates)
+            {
+                checksum += Feedback.score(candidate,
+                                           guess);
+            }
+        }
+        return checksum;
+    }
+
+    /*
+     * Scores each pair with a table lookup.
+     */
+    private long scoreWithTable()
+    {
+        final FeedbackTable table;
+        long                checksum;
+
+        table    = FeedbackTable.getInstance();
+        checksum = 0;
+
+        for(final int guess : guesses)
+        {
+            final int guessIndex;
+            guessIndex = FeedbackTable.indexOf(guess);
+
+            for(final int candidate : candidateIndices)
+            {
+                checksum += table.score(candidate,
+                                        guessIndex);
+            }
+        }
+        return checksum;
+    }
+
+    /*
+     * Scores each guess against all candidates with the batch scorer.
+     */
+    private long scoreWithBatch()
+    {
+        long checksum;
+        checksum = 0;
+
+        for(final int guess : guesses)
+        {
+            Feedback.scoreAll(guess,
+                              candidates,
+                              results);
+            for(final byte result : results)
+            {
+                checksum += result;
+            }
+        }
+        return checksum;
+    }
+}
@@ -0,0 +1,251 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import java.util.Arrays;
+
+/**
+ * Precomputed feedback for every (secret, guess) pair in {@code Mastermind}.
+ * <p>
+ * With {@value Code#CODE_LENGTH} positions and digits {@value Code#DIGIT_MIN}
+ * to {@value Code#DIGIT_MAX} there are only {@value #CODE_COUNT} possible
+ * codes, so every packed {@link Feedback} result fits in a single
+ * {@code byte[]} of {@code CODE_COUNT * CODE_COUNT} entries. The table is
+ * built the first time it is used and is shared for the life of the JVM.
+ * </p>
+ * <p>
+ * The table can be turned off with {@code -D}{@value #ENABLED_PROPERTY}
+ * {@code =false}, in which case {@link #scoreOf(int, int)} falls back to
+ * {@link Feedback#score(int, int)}.
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+final class FeedbackTable
+{
+    static final int CODE_COUNT = 1296;
+
+    private static final String  ENABLED_PROPERTY = "mastermind.feedbackTable";
+    private static final boolean ENABLED          = !"false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY));
+
+    private static final int   COLOUR_COUNT    = Code.DIGIT_MAX - Code.DIGIT_MIN + 1;
+    private static final int   NO_INDEX        = -1;
+    private static final int[] CODES           = new int[CODE_COUNT];
+    private static final int[] INDEX_BY_PACKED = new int[1 << (Code.CODE_LENGTH * Code.DIGIT_BITS)];
+
+    static
+    {
+        Arrays.fill(INDEX_BY_PACKED,
+                    NO_INDEX);
+
+        for(int index = 0; index < CODE_COUNT; index++)
+        {
+            int remaining;
+            int packed;
+
+            remaining = index;
+            packed    = 0;
+            for(int position = 0; position < Code.CODE_LENGTH; position++)
+            {
+                packed    |= (remaining % COLOUR_COUNT + Code.DIGIT_MIN) << (position * Code.DIGIT_BITS);
+                remaining /= COLOUR_COUNT;
+            }
+
+            CODES[index]            = packed;
+            INDEX_BY_PACKED[packed] = index;
+        }
+    }
+
+    /*
+     * Holder idiom so the table is only built on first use.
+     */
+    private static final class Holder
+    {
+        private static final FeedbackTable INSTANCE = new FeedbackTable();
+    }
+
+    private final byte[] scores;
+    private final int[]  resultFrequencies;
+    private final long   buildTimeNanos;
+    private final int    distinctResultCount;
+
+    /*
+     * Builds the full table by scoring every guess against every secret.
+     */
+    private FeedbackTable()
+    {
+        final long startTime;
+        startTime = System.nanoTime();
+
+        int distinctResults;
+
+        scores            = new byte[CODE_COUNT * CODE_COUNT];
+        resultFrequencies = new int[Byte.MAX_VALUE + 1];
+        distinctResults   = 0;
+
+        for(int secret = 0; secret < CODE_COUNT; secret++)
+        {
+            final int rowOffset;
+            rowOffset = secret * CODE_COUNT;
+
+            for(int guess = 0; guess < CODE_COUNT; guess++)
+            {
+                final int result;
+                result = Feedback.score(CODES[secret],
+                                        CODES[guess]);
+
+                scores[rowOffset + guess] = (byte)result;
+                if(resultFrequencies[result] == 0)
+                {
+                    distinctResults++;
+                }
+                resultFrequencies[result]++;
+            }
+        }
+
+        distinctResultCount = distinctResults;
+        buildTimeNanos      = System.nanoTime() - startTime;
+    }
+
+    /**
+     * Returns the shared table, building it on first call.
+     *
+     * @return the shared FeedbackTable
+     */
+    static FeedbackTable getInstance()
+    {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Checks whether lookups should go through the table.
+     *
+     * @return true unless the table was disabled by system property
+     */
+    static boolean isEnabled()
+    {
+        return ENABLED;
+    }
+
+    /**
+     * Scores a packed guess against a packed secret, using the table when it is
+     * enabled.
+     *
+     * @param secret the packed secret code
+     * @param guess  the packed guess code
+     * @return the packed result, as produced by {@link Feedback#score(int, int)}
+     */
+    static int scoreOf(final int secret,
+                       final int guess)
+    {
+        if(ENABLED)
+        {
+            return getInstance().score(indexOf(secret),
+                                       indexOf(guess));
+        }
+        return Feedback.score(secret,
+                              guess);
+    }
+
+    /**
+     * Returns the dense index in {@code [0, CODE_COUNT)} of a packed code.
+     *
+     * @param packedCode the packed code
+     * @return the index of the code
+     */
+    static int indexOf(final int packedCode)
+    {
+        final int index;
+        index = INDEX_BY_PACKED[packedCode];
+
+        if(index == NO_INDEX)
+        {
+            throw new IllegalArgumentException("Not a valid packed code: " +
+                                               packedCode);
+        }
+        return index;
+    }
+
+    /**
+     * Returns the packed code stored at a dense index.
+     *
+     * @param index the index in {@code [0, CODE_COUNT)}
+     * @return the packed code
+     */
+    static int codeAt(final int index)
+    {
+        return CODES[index];
+    }
+
+    /**
+     * Looks up the packed result for a pair of code indices.
+     *
+     * @param secretIndex the index of the secret code
+     * @param guessIndex  the index of the guess code
+     * @return the packed result
+     */
+    int score(final int secretIndex,
+              final int guessIndex)
+    {
+        return scores[secretIndex * CODE_COUNT + guessIndex];
+    }
+
+    /**
+     * Gets how many different feedback results can occur.
+     *
+     * @return the number of distinct packed results in the table
+     */
+    int getDistinctResultCount()
+    {
+        return distinctResultCount;
+    }
+
+    /**
+     * Gets how many (secret, guess) pairs score the given result.
+     *
+     * @param packedResult the packed result
+     * @return the number of pairs with that result, or 0 if it never occurs
+     */
+    int getResultFrequency(final int packedResult)
+    {
+        if(packedResult < 0 || packedResult >= resultFrequencies.length)
+        {
+            return 0;
+        }
+        return resultFrequencies[packedResult];
+    }
+
+    /**
+     * Gets how long the table took to build.
+     *
+     * @return the build time in nanoseconds
+     */
+    long getBuildTimeNanos()
+    {
+        return buildTimeNanos;
+    }
+
+    /**
+     * Gets the size of the score data held by the table.
+     *
+     * @return the resident size in bytes
+     */
+    long getResidentBytes()
+    {
+        return scores.length;
+    }
+
+    /**
+     * Returns a one-line summary of the table's build time and size.
+     *
+     * @return the metrics summary
+     */
+    @Override
+    public String toString()
+    {
+        return String.format("FeedbackTable: %dx%d codes, built in %.2f ms, %d bytes resident",
+                             CODE_COUNT,
+                             CODE_COUNT,
+                             buildTimeNanos / 1_000_000.0,
+                             getResidentBytes());
+    }
+}
@@ -1,6 +1,5 @@
 package ca.bcit.comp2522.gameproject.mastermind;
 
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -8,11 +7,20 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Manages saving and loading Mastermind game history to a file. Handles file
@@ -21,6 +29,24 @@ import java.util.stream.Collectors;
  * load the complete history, and filter records based on game outcomes. The
  * class uses a standardized format for storing game data with markers to
  * separate different game sessions and sections within each record.
+ * <p>
+ * Setting {@code -D}{@value #FORMAT_PROPERTY}{@code =}{@value #FORMAT_BINARY}
+ * stores history in an indexed {@link BinaryHistoryStore} instead of the text
+ * file, so filtered and recent views read only the games they show.
+ * </p>
+ * <p>
+ * Text history up to {@value #CACHE_MAX_BYTES} bytes is kept in memory after
+ * the first load, split by outcome, and saved games are added to it as they
+ * are written. The cache is dropped whenever the file's size or modification
+ * time no longer match what was cached, so outside edits are picked up.
+ * </p>
+ * <p>
+ * With {@code -D}{@value #ASYNC_PROPERTY}{@code =true} text history is written
+ * by an {@link AsyncHistoryWriter} that commits saved games in batches.
+ * {@value #DURABILITY_PROPERTY}, {@value #BATCH_SIZE_PROPERTY} and
+ * {@value #BATCH_MILLIS_PROPERTY} tune it. Reads wait for queued games to
+ * reach the file first.
+ * </p>
  *
  * @author Nathan O
  * @version 1.0 2025
@@ -29,31 +55,35 @@ final class GameHistoryManager
 {
     /**
      * Represents a single game session record.
+     * <p>
+     * Rounds are held as {@link PackedRound} values and only rendered to text
+     * when the record is displayed or written to the text file.
+     * </p>
      */
     static final class GameSessionRecord
     {
         private final LocalDateTime timestamp;
-        private final List<String>  roundDetails;
+        private final int[]         rounds;
 
         private final String truthScanInfo;
         private final String outcome;
 
         /**
-         * Constructs a GameSessionRecord with the given timestamp, round
-         * details, truth scan info, and outcome.
+         * Constructs a GameSessionRecord with the given timestamp, rounds,
+         * truth scan info, and outcome.
          *
          * @param timestamp     the timestamp of the game session
-         * @param roundDetails  the round details of the game session
+         * @param rounds        the packed rounds of the game session, in order
          * @param truthScanInfo the truth scan info of the game session
          * @param outcome       the outcome of the game session
          */
         GameSessionRecord(final LocalDateTime timestamp,
-                          final List<String> roundDetails,
+                          final int[] rounds,
                           final String truthScanInfo,
                           final String outcome)
         {
             this.timestamp     = timestamp;
-            this.roundDetails  = new ArrayList<>(roundDetails);
+            this.rounds        = rounds.clone();
             this.truthScanInfo = truthScanInfo;
             this.outcome       = outcome;
         }
@@ -69,13 +99,42 @@ final class GameHistoryManager
         }
 
         /**
-         * Gets the round details of the game session.
+         * Gets the number of rounds played in the game session.
+         *
+         * @return the number of rounds
+         */
+        int getRoundCount()
+        {
+            return rounds.length;
+        }
+
+        /**
+         * Gets one round of the game session.
          *
-         * @return the round details of the game session
+         * @param index the 0-based round index
+         * @return the packed round
+         */
+        int getRound(final int index)
+        {
+            return rounds[index];
+        }
+
+        /**
+         * Renders the rounds of the game session as round lines.
+         *
+         * @return the round lines of the game session
          */
         List<String> getRoundDetails()
         {
-            return new ArrayList<>(roundDetails);
+            final List<String> details;
+            details = new ArrayList<>(rounds.length);
+
+            for(int round = 0; round < rounds.length; round++)
+            {
+                details.add(PackedRound.format(round + 1,
+                                               rounds[round]));
+            }
+            return details;
         }
 
         /**
@@ -118,9 +177,13 @@ final class GameHistoryManager
               .append("\n");
             sb.append(ROUNDS_HEADER)
               .append("\n");
-            roundDetails.forEach(detail -> sb.append("  ")
-                                             .append(detail)
-                                             .append("\n"));
+            for(int round = 0; round < rounds.length; round++)
+            {
+                sb.append("  ")
+                  .append(PackedRound.format(round + 1,
+                                             rounds[round]))
+                  .append("\n");
+            }
             if(truthScanInfo != null && !truthScanInfo.isEmpty())
             {
                 sb.append(TRUTH_SCAN_PREFIX)
@@ -134,66 +197,242 @@ final class GameHistoryManager
         }
     }
 
-    private static final String HISTORY_FILE_PATH = "src" +
-                                                    java.io.File.separator +
-                                                    "res" +
-                                                    java.io.File.separator +
-                                                    "mastermind_history.txt";
-    private static final String GAME_START_MARKER = "=== GAME START ===";
-    private static final String GAME_END_MARKER   = "=== GAME END ===";
-    private static final String TIMESTAMP_PREFIX  = "Date and Time: ";
-    private static final String ROUNDS_HEADER     = "Rounds:";
-    private static final String TRUTH_SCAN_PREFIX = "Truth Scan: ";
-    private static final String OUTCOME_PREFIX    = "Outcome: ";
+    static final String HISTORY_FILE_PATH = "src" +
+                                            java.io.File.separator +
+                                            "res" +
+                                            java.io.File.separator +
+                                            "mastermind_history.txt";
+    static final String BINARY_FILE_PATH  = "src" +
+                                            java.io.File.separator +
+                                            "res" +
+                                            java.io.File.separator +
+                                            "mastermind_history.bin";
+
+    private static final String FORMAT_PROPERTY   = "mastermind.historyFormat";
+    private static final String FORMAT_BINARY     = "binary";
+
+    private static final String ASYNC_PROPERTY        = "mastermind.historyAsync";
+    private static final String DURABILITY_PROPERTY   = "mastermind.historyDurability";
+    private static final String BATCH_SIZE_PROPERTY   = "mastermind.historyBatchSize";
+    private static final String BATCH_MILLIS_PROPERTY = "mastermind.historyBatchMillis";
+    private static final int    DEFAULT_BATCH_SIZE    = 64;
+    private static final long   DEFAULT_BATCH_MILLIS  = 20L;
+    private static final int    ASYNC_QUEUE_CAPACITY  = 4096;
+
+    static final String GAME_START_MARKER = "=== GAME START ===";
+    static final String GAME_END_MARKER   = "=== GAME END ===";
+    static final String TIMESTAMP_PREFIX  = "Date and Time: ";
+    static final String ROUNDS_HEADER     = "Rounds:";
+    static final String TRUTH_SCAN_PREFIX = "Truth Scan: ";
+    static final String OUTCOME_PREFIX    = "Outcome: ";
+
+    private static final long CACHE_MAX_BYTES = 16L * 1024 * 1024;
 
-    private final static DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     /**
-     * Represents the transient state while parsing a single game session record
-     * from the history file.
+     * Parsed text history held in memory, with the file size and
+     * modification time it was read at.
      */
-    private static final class ParsingState
+    private static final class HistoryCache
     {
-        private LocalDateTime timestamp;
-        private List<String>  roundDetails;
-        private String        truthScanInfo;
-        private String        outcome;
+        private final List<GameSessionRecord>              records;
+        private final Map<String, List<GameSessionRecord>> recordsByOutcome;
+        private long                                       fileSize;
+        private FileTime                                   lastModified;
+
+        /*
+         * Creates a cache of the given records read at the given file state.
+         */
+        private HistoryCache(final List<GameSessionRecord> records,
+                             final long fileSize,
+                             final FileTime lastModified)
+        {
+            this.records          = new ArrayList<>();
+            this.recordsByOutcome = new HashMap<>();
+            this.fileSize         = fileSize;
+            this.lastModified     = lastModified;
+
+            records.forEach(this::add);
+        }
 
         /*
-         * Initializes a new parsing state with empty values.
+         * Adds a record to the full list and its outcome's partition.
          */
-        private ParsingState()
+        private void add(final GameSessionRecord record)
         {
-            reset();
+            records.add(record);
+            recordsByOutcome.computeIfAbsent(outcomeKey(record.getOutcome()),
+                                             key -> new ArrayList<>())
+                            .add(record);
         }
 
         /*
-         * Resets the state fields to their initial empty values.
+         * Gets the cached records with the given outcome.
          */
-        private void reset()
+        private List<GameSessionRecord> byOutcome(final String outcome)
         {
-            this.timestamp     = null;
-            this.roundDetails  = new ArrayList<>();
-            this.truthScanInfo = null;
-            this.outcome       = null;
+            return recordsByOutcome.getOrDefault(outcomeKey(outcome),
+                                                 List.of());
         }
 
         /*
-         * Checks if the current state contains enough valid information to
-         * build a GameSessionRecord.
-         * @return true if timestamp, roundDetails, and outcome are present,
-         * false otherwise.
+         * Checks whether the file is still the one this cache was read from.
          */
-        private boolean isValidForRecord()
+        private boolean matches(final long size,
+                                final FileTime modified)
         {
-            final boolean isValid;
+            return fileSize == size && lastModified.equals(modified);
+        }
+
+        /*
+         * Normalizes an outcome so lookups ignore case, as filtering does.
+         */
+        private static String outcomeKey(final String outcome)
+        {
+            return outcome.toLowerCase(Locale.ROOT);
+        }
+    }
 
-            isValid = this.timestamp != null &&
-                      !this.roundDetails.isEmpty() &&
-                      this.outcome != null;
+    private final Path               historyFilePath;
+    private final BinaryHistoryStore binaryStore;
+    private final AsyncHistoryWriter asyncWriter;
 
-            return isValid;
+    private final List<GameSessionRecord> queuedForCache;
+
+    private HistoryCache cache;
+    private boolean      directoriesReady;
+
+    /**
+     * Constructs a GameHistoryManager over the default history file, in the
+     * format chosen by the {@value #FORMAT_PROPERTY} system property.
+     */
+    GameHistoryManager()
+    {
+        this(Paths.get(HISTORY_FILE_PATH),
+             FORMAT_BINARY.equalsIgnoreCase(System.getProperty(FORMAT_PROPERTY)) ?
+             new BinaryHistoryStore(Paths.get(BINARY_FILE_PATH)) :
+             null,
+             Boolean.getBoolean(ASYNC_PROPERTY) ?
+             new AsyncHistoryWriter(Paths.get(HISTORY_FILE_PATH),
+                                    ASYNC_QUEUE_CAPACITY,
+                                    Integer.getInteger(BATCH_SIZE_PROPERTY,
+                                                       DEFAULT_BATCH_SIZE),
+                                    Long.getLong(BATCH_MILLIS_PROPERTY,
+                                                 DEFAULT_BATCH_MILLIS),
+                                    AsyncHistoryWriter.Durability.valueOf(System.getProperty(DURABILITY_PROPERTY,
+                                                                                             AsyncHistoryWriter.Durability.FLUSH.name())
+                                                                                .toUpperCase(Locale.ROOT))) :
+             null);
+    }
+
+    /**
+     * Constructs a GameHistoryManager over the given files.
+     *
+     * @param historyFilePath the text history file
+     * @param binaryStore     the binary store to use instead of the text file,
+     *                        or null to use the text file
+     */
+    GameHistoryManager(final Path historyFilePath,
+                       final BinaryHistoryStore binaryStore)
+    {
+        this(historyFilePath,
+             binaryStore,
+             null);
+    }
+
+    /**
+     * Constructs a GameHistoryManager over the given files, writing text
+     * history through the given background writer.
+     *
+     * @param historyFilePath the text history file
+     * @param binaryStore     the binary store to use instead of the text file,
+     *                        or null to use the text file
+     * @param asyncWriter     the writer for text history, or null to write
+     *                        each game as it is saved
+     */
+    GameHistoryManager(final Path historyFilePath,
+                       final BinaryHistoryStore binaryStore,
+                       final AsyncHistoryWriter asyncWriter)
+    {
+        if(historyFilePath == null)
+        {
+            throw new IllegalArgumentException("History file path cannot be null");
         }
+        if(binaryStore != null && asyncWriter != null)
+        {
+            throw new IllegalArgumentException("The async writer only writes text history");
+        }
+        this.historyFilePath = historyFilePath;
+        this.binaryStore     = binaryStore;
+        this.asyncWriter     = asyncWriter;
+        this.queuedForCache  = new ArrayList<>();
+    }
+
+    /**
+     * Writes any queued games and stops the background writer, if there is
+     * one.
+     */
+    void close()
+    {
+        if(asyncWriter != null)
+        {
+            asyncWriter.close();
+            awaitPendingWrites();
+        }
+    }
+
+    /**
+     * Formats a record in the text history format, ending with a blank line.
+     *
+     * @param record The record to format.
+     * @return The record's lines as written to the history file.
+     */
+    static String formatRecord(final GameSessionRecord record)
+    {
+        final String        newLine;
+        final StringBuilder text;
+
+        newLine = System.lineSeparator();
+        text    = new StringBuilder();
+
+        text.append(GAME_START_MARKER)
+            .append(newLine);
+        text.append(TIMESTAMP_PREFIX)
+            .append(record.getTimestamp()
+                          .format(TIMESTAMP_FORMATTER))
+            .append(newLine);
+        text.append(ROUNDS_HEADER)
+            .append(newLine);
+        for(int round = 0; round < record.getRoundCount(); round++)
+        {
+            if(round > 0)
+            {
+                text.append("\n");
+            }
+            text.append("  ")
+                .append(PackedRound.format(round + 1,
+                                           record.getRound(round)));
+        }
+        text.append(newLine);
+
+        if(record.getTruthScanInfo() != null && !record.getTruthScanInfo()
+                                                       .isEmpty())
+        {
+            text.append(TRUTH_SCAN_PREFIX)
+                .append(record.getTruthScanInfo())
+                .append(newLine);
+        }
+
+        text.append(OUTCOME_PREFIX)
+            .append(record.getOutcome())
+            .append(newLine);
+        text.append(GAME_END_MARKER)
+            .append(newLine);
+        // Add an extra blank line between entries
+        text.append(newLine);
+
+        return text.toString();
     }
 
     /**
@@ -207,13 +446,69 @@ final class GameHistoryManager
     {
         validateRecord(record);
 
-        final Path filePath;
-        filePath = Paths.get(HISTORY_FILE_PATH);
+        if(binaryStore != null)
+        {
+            try
+            {
+                binaryStore.append(record);
+            }
+            catch(final IOException e)
+            {
+                System.err.println("Error saving game history to " +
+                                   binaryStore.getDataPath() +
+                                   ": " +
+                                   e.getMessage());
+            }
+            return;
+        }
+
+        if(asyncWriter != null)
+        {
+            // Check the cache before the writer touches the file; after that,
+            // queued games are added to it once they are written.
+            if(queuedForCache.isEmpty())
+            {
+                validCache();
+            }
+            if(asyncWriter.submit(record))
+            {
+                if(cache != null)
+                {
+                    queuedForCache.add(record);
+                }
+                return;
+            }
+
+            // The writer turned the game away; save it, and anything the
+            // writer could not, directly instead.
+            awaitPendingWrites();
+        }
+
+        appendToFile(record);
+    }
+
+    /*
+     * Appends one record to the text history file, keeping the cache if
+     * nothing else touched the file since it was read.
+     * @param record The record to append.
+     */
+    private void appendToFile(final GameSessionRecord record)
+    {
+        final Path         filePath;
+        final HistoryCache cacheBeforeSave;
+
+        filePath        = historyFilePath;
+        cacheBeforeSave = validCache();
+        cache           = null;
 
         try
         {
-            // Ensure parent directories exist
-            Files.createDirectories(filePath.getParent());
+            // Ensure parent directories exist, once per manager
+            if(!directoriesReady && filePath.getParent() != null)
+            {
+                Files.createDirectories(filePath.getParent());
+            }
+            directoriesReady = true;
 
             // Append to the file, creating it if it doesn't exist
             try(final BufferedWriter writer = Files.newBufferedWriter(filePath,
@@ -221,50 +516,22 @@ final class GameHistoryManager
                                                                       StandardOpenOption.CREATE,
                                                                       StandardOpenOption.APPEND))
             {
-                final String dateTimeString;
-                final String roundDetailsString;
-                final String truthScanString;
-                final String outcomeString;
-
-                dateTimeString     = record.getTimestamp()
-                                           .format(TIMESTAMP_FORMATTER);
-                roundDetailsString = record.getRoundDetails()
-                                           .stream()
-                                           .map(detail -> "  " + detail)
-                                           .collect(Collectors.joining("\n"));
-                truthScanString    = record.getTruthScanInfo();
-                outcomeString      = record.getOutcome();
-
-                writer.write(GAME_START_MARKER);
-                writer.newLine();
-
-                writer.write(TIMESTAMP_PREFIX + dateTimeString);
-                writer.newLine();
-
-                writer.write(ROUNDS_HEADER);
-                writer.newLine();
-
-                writer.write(roundDetailsString);
-                writer.newLine();
-
-                if(truthScanString != null && !truthScanString.isEmpty())
-                {
-                    writer.write(TRUTH_SCAN_PREFIX + truthScanString);
-                    writer.newLine();
-                }
+                writer.write(formatRecord(record));
+            }
 
-                writer.write(OUTCOME_PREFIX + outcomeString);
-                writer.newLine();
-                writer.write(GAME_END_MARKER);
-                writer.newLine();
-                // Add an extra blank line between entries
-                writer.newLine();
+            // Only keep the cache if nothing else touched the file before this save.
+            if(cacheBeforeSave != null)
+            {
+                cacheBeforeSave.add(record);
+                cacheBeforeSave.fileSize     = Files.size(filePath);
+                cacheBeforeSave.lastModified = Files.getLastModifiedTime(filePath);
+                cache                        = cacheBeforeSave;
             }
         }
         catch(final IOException e)
         {
             System.err.println("Error saving game history to " +
-                               HISTORY_FILE_PATH +
+                               historyFilePath +
                                ": " +
                                e.getMessage());
         }
@@ -283,68 +550,228 @@ final class GameHistoryManager
      */
     List<GameSessionRecord> loadGameHistory()
     {
-        final Path                    filePath;
-        final List<GameSessionRecord> gameHistory;
-        final ParsingState            parseState;
-        boolean                       inGameRecord;
+        if(binaryStore != null)
+        {
+            try
+            {
+                return binaryStore.readAll();
+            }
+            catch(final IOException | IllegalStateException error)
+            {
+                reportBinaryReadError(error);
+                return new ArrayList<>();
+            }
+        }
 
-        filePath    = Paths.get(HISTORY_FILE_PATH);
-        gameHistory = new ArrayList<>();
+        final HistoryCache history;
+        history = loadCache();
 
-        if(!Files.exists(filePath))
+        if(history != null)
         {
-            System.out.println("History file not found (" +
-                               HISTORY_FILE_PATH +
-                               "). No history to display.");
-            return gameHistory; // Return empty list if file doesn't exist
+            return new ArrayList<>(history.records);
+        }
+
+        try(final Stream<GameSessionRecord> records = openHistoryStream())
+        {
+            return records.collect(Collectors.toList());
         }
+    }
 
-        parseState   = new ParsingState();
-        inGameRecord = false;
+    /**
+     * Streams the game session records that match a filter.
+     * <p>
+     * Records are read from the file only as the stream is consumed, so memory
+     * use does not grow with the size of the history. The stream holds the
+     * file open and should be closed, for example with try-with-resources.
+     * </p>
+     *
+     * @param filter The condition a record must meet to be included.
+     * @return A lazily read stream of the matching records, oldest first.
+     */
+    Stream<GameSessionRecord> streamHistory(final Predicate<GameSessionRecord> filter)
+    {
+        if(filter == null)
+        {
+            throw new IllegalArgumentException("Filter cannot be null");
+        }
 
-        try(final BufferedReader reader = Files.newBufferedReader(filePath,
-                                                                  StandardCharsets.UTF_8))
+        if(binaryStore != null)
         {
-            String line;
-            while((line = reader.readLine()) != null)
+            try
+            {
+                return binaryStore.stream()
+                                  .filter(filter);
+            }
+            catch(final IOException | IllegalStateException error)
             {
-                final String trimmedLine;
-                trimmedLine = line.trim();
+                reportBinaryReadError(error);
+                return Stream.empty();
+            }
+        }
 
-                if(trimmedLine.equals(GAME_START_MARKER))
-                {
-                    parseState.reset();
-                    inGameRecord = true;
-                }
-                else if(trimmedLine.equals(GAME_END_MARKER))
-                {
-                    if(inGameRecord)
-                    {
-                        buildAndAddRecord(parseState,
-                                          gameHistory);
-                        inGameRecord = false;
-                    }
-                }
-                else if(inGameRecord)
-                {
-                    processRecordLine(trimmedLine,
-                                      parseState);
-                }
+        final HistoryCache history;
+        history = loadCache();
+
+        if(history != null)
+        {
+            return history.records.stream()
+                                  .filter(filter);
+        }
+        return openHistoryStream().filter(filter);
+    }
+
+    /**
+     * Streams the game session records with the given outcome. With the
+     * binary store only the matching records are read.
+     *
+     * @param outcome The outcome to include ("Won" or "Lost").
+     * @return A lazily read stream of the matching records, oldest first.
+     */
+    Stream<GameSessionRecord> streamHistoryByOutcome(final String outcome)
+    {
+        if(binaryStore != null)
+        {
+            try
+            {
+                return binaryStore.streamByOutcome(outcome);
+            }
+            catch(final IOException | IllegalStateException error)
+            {
+                reportBinaryReadError(error);
+                return Stream.empty();
+            }
+        }
+
+        final HistoryCache history;
+        history = loadCache();
+
+        if(history != null)
+        {
+            return history.byOutcome(outcome)
+                          .stream();
+        }
+
+        return streamHistory(record -> record.getOutcome()
+                                             .equalsIgnoreCase(outcome));
+    }
+
+    /**
+     * Loads the game session records with the given outcome. With the binary
+     * store only the matching records are read.
+     *
+     * @param outcome The outcome to load ("Won" or "Lost").
+     * @return A List of the matching records, oldest first.
+     */
+    List<GameSessionRecord> loadGameHistoryByOutcome(final String outcome)
+    {
+        if(binaryStore != null)
+        {
+            try
+            {
+                return binaryStore.readByOutcome(outcome);
+            }
+            catch(final IOException | IllegalStateException error)
+            {
+                reportBinaryReadError(error);
+                return new ArrayList<>();
+            }
+        }
+
+        final HistoryCache history;
+        history = loadCache();
+
+        if(history != null)
+        {
+            return new ArrayList<>(history.byOutcome(outcome));
+        }
+
+        return filterHistoryByOutcome(loadGameHistory(),
+                                      outcome);
+    }
+
+    /**
+     * Loads the most recently saved game session records. With the binary
+     * store only those records are read.
+     *
+     * @param count The most records to return.
+     * @return A List of up to {@code count} records, oldest first.
+     */
+    List<GameSessionRecord> loadRecentGameHistory(final int count)
+    {
+        if(count < 0)
+        {
+            throw new IllegalArgumentException("Count cannot be negative");
+        }
+
+        if(binaryStore != null)
+        {
+            try
+            {
+                return binaryStore.readLast(count);
+            }
+            catch(final IOException | IllegalStateException error)
+            {
+                reportBinaryReadError(error);
+                return new ArrayList<>();
             }
+        }
 
-            if(inGameRecord)
+        final List<GameSessionRecord> history;
+        history = loadGameHistory();
+
+        return new ArrayList<>(history.subList(Math.max(0,
+                                                        history.size() - count),
+                                               history.size()));
+    }
+
+    /**
+     * Gathers statistics over the whole history in one pass. Text history
+     * too large to cache is read in parallel chunks, one per available
+     * processor.
+     *
+     * @return The statistics of every saved game.
+     */
+    HistoryAnalytics analyzeHistory()
+    {
+        if(binaryStore != null)
+        {
+            try(final Stream<GameSessionRecord> records = binaryStore.stream())
+            {
+                return HistoryAnalytics.analyze(records.iterator());
+            }
+            catch(final IOException | IllegalStateException error)
             {
-                System.err.println("Warning: History file ended unexpectedly within a game record.");
+                reportBinaryReadError(error);
+                return new HistoryAnalytics();
             }
         }
+
+        final HistoryCache history;
+        history = loadCache();
+
+        if(history != null)
+        {
+            return HistoryAnalytics.analyze(history.records.iterator());
+        }
+        if(!Files.exists(historyFilePath))
+        {
+            return new HistoryAnalytics();
+        }
+
+        try
+        {
+            return HistoryAnalytics.analyzeFile(historyFilePath,
+                                                Runtime.getRuntime()
+                                                       .availableProcessors());
+        }
         catch(final IOException error)
         {
             System.err.println("Error loading game history from " +
-                               HISTORY_FILE_PATH +
+                               historyFilePath +
                                ": " +
                                error.getMessage());
+            return new HistoryAnalytics();
         }
-        return gameHistory;
     }
 
     /**
@@ -389,87 +816,196 @@ final class GameHistoryManager
     }
 
     /*
-     * Processes a single line belonging to the current game record being
-     * parsed. Identifies the line type (timestamp, round, truth scan, outcome)
-     * and updates the parsing state.
-     * @param line The trimmed line from the history file.
-     * @param state The current parsing state object to update.
+     * Returns the cached text history, reading the file into it first if the
+     * cache is missing or stale. Files too large to cache are not read here,
+     * and nothing is cached while the binary store holds the history.
+     * @return The cache, or null if the history should be read from the file.
      */
-    private void processRecordLine(final String line,
-                                   final ParsingState state)
+    private HistoryCache loadCache()
     {
-        if(line.startsWith(TIMESTAMP_PREFIX))
+        if(binaryStore != null)
         {
-            try
+            return null;
+        }
+
+        awaitPendingWrites();
+
+        final HistoryCache current;
+        current = validCache();
+
+        if(current != null)
+        {
+            return current;
+        }
+
+        try
+        {
+            if(!Files.exists(historyFilePath) ||
+               Files.size(historyFilePath) > CACHE_MAX_BYTES)
             {
-                state.timestamp = LocalDateTime.parse(line.substring(TIMESTAMP_PREFIX.length()),
-                                                      TIMESTAMP_FORMATTER);
+                return null;
             }
-            catch(final Exception e)
+
+            final long     size;
+            final FileTime modified;
+
+            // Stamp before reading, so a change during the read leaves the cache stale.
+            size     = Files.size(historyFilePath);
+            modified = Files.getLastModifiedTime(historyFilePath);
+
+            try(final Stream<GameSessionRecord> records = openHistoryStream())
             {
-                System.err.println("Warning: Could not parse timestamp: " +
-                                   line +
-                                   " (" +
-                                   e.getMessage() +
-                                   ")");
-                state.timestamp = null;
+                cache = new HistoryCache(records.collect(Collectors.toList()),
+                                         size,
+                                         modified);
             }
+            return cache;
         }
-        else if(line.matches("^Round \\d+:.*$"))
+        catch(final IOException error)
         {
-            state.roundDetails.add(line);
+            cache = null;
+            return null;
         }
-        else if(line.startsWith(TRUTH_SCAN_PREFIX))
+    }
+
+    /*
+     * Waits for games queued with the background writer to reach the file,
+     * then adds them to the cache so it need not be read again. If the
+     * writer has failed, the games it could not write are saved directly.
+     */
+    private void awaitPendingWrites()
+    {
+        if(asyncWriter == null)
         {
-            state.truthScanInfo = line.substring(TRUTH_SCAN_PREFIX.length());
+            return;
         }
-        else if(line.startsWith(OUTCOME_PREFIX))
+
+        asyncWriter.awaitWritten();
+
+        if(asyncWriter.hasFailed())
+        {
+            queuedForCache.clear();
+            cache = null;
+            for(final GameSessionRecord record : asyncWriter.takeUnwritten())
+            {
+                appendToFile(record);
+            }
+            return;
+        }
+
+        if(queuedForCache.isEmpty())
         {
-            final String parsedOutcome;
-            parsedOutcome = line.substring(OUTCOME_PREFIX.length());
+            return;
+        }
 
-            if("Won".equalsIgnoreCase(parsedOutcome) ||
-               "Lost".equalsIgnoreCase(parsedOutcome))
+        if(cache != null)
+        {
+            try
             {
-                state.outcome = parsedOutcome;
+                queuedForCache.forEach(cache::add);
+                cache.fileSize     = Files.size(historyFilePath);
+                cache.lastModified = Files.getLastModifiedTime(historyFilePath);
             }
-            else
+            catch(final IOException error)
             {
-                System.err.println("Warning: Invalid outcome found: " +
-                                   parsedOutcome);
-                state.outcome = null;
+                cache = null;
             }
         }
+        queuedForCache.clear();
     }
 
     /*
-     * Attempts to build a GameSessionRecord from the current parsing state and
-     * add it to the history list. Validates the state before creating the
-     * record.
-     * @param state The current parsing state containing data for one record.
-     * @param gameHistory The list to add the created record to.
+     * Returns the cache if the file still has the size and modification time
+     * it was read at, dropping it otherwise.
+     * @return The cache, or null if there is no valid cache.
      */
-    private void buildAndAddRecord(final ParsingState state,
-                                   final List<GameSessionRecord> gameHistory)
+    private HistoryCache validCache()
     {
-        if(state.isValidForRecord())
+        if(cache == null)
         {
-            final GameSessionRecord record;
-            final List<String>      roundDetails;
+            return null;
+        }
 
-            roundDetails = new ArrayList<>(state.roundDetails);
-            record       = new GameSessionRecord(state.timestamp,
-                                                 roundDetails,
-                                                 state.truthScanInfo,
-                                                 state.outcome);
-            gameHistory.add(record);
+        try
+        {
+            if(Files.exists(historyFilePath) &&
+               cache.matches(Files.size(historyFilePath),
+                             Files.getLastModifiedTime(historyFilePath)))
+            {
+                return cache;
+            }
         }
-        else
+        catch(final IOException error)
         {
-            System.err.println("Warning: Incomplete game record found in history file. Skipping.");
+            // Treat an unreadable file as changed.
         }
+
+        cache = null;
+        return null;
+    }
+
+    /*
+     * Opens the history as a stream of records read on demand.
+     * @return A stream over every record in the history.
+     */
+    private Stream<GameSessionRecord> openHistoryStream()
+    {
+        awaitPendingWrites();
+
+        if(binaryStore != null)
+        {
+            try
+            {
+                return binaryStore.stream();
+            }
+            catch(final IOException | IllegalStateException error)
+            {
+                reportBinaryReadError(error);
+                return Stream.empty();
+            }
+        }
+
+        if(!Files.exists(historyFilePath))
+        {
+            System.out.println("History file not found (" +
+                               historyFilePath +
+                               "). No history to display.");
+            return Stream.empty();
+        }
+
+        final HistoryParser records;
+
+        try
+        {
+            records = HistoryParser.open(historyFilePath);
+        }
+        catch(final IOException error)
+        {
+            System.err.println("Error loading game history from " +
+                               historyFilePath +
+                               ": " +
+                               error.getMessage());
+            return Stream.empty();
+        }
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(records,
+                                                                        Spliterator.ORDERED |
+                                                                        Spliterator.NONNULL),
+                                    false)
+                            .onClose(records::close);
     }
 
+    /*
+     * Reports a failure to read the binary store.
+     * @param error The error that occurred.
+     */
+    private void reportBinaryReadError(final Exception error)
+    {
+        System.err.println("Error loading game history from " +
+                           binaryStore.getDataPath() +
+                           ": " +
+                           error.getMessage());
+    }
 
     /*
      * Validates that a game session record contains all required fields. Checks
@@ -487,11 +1023,9 @@ final class GameHistoryManager
         {
             throw new IllegalArgumentException("Timestamp cannot be null");
         }
-        if(record.getRoundDetails() == null ||
-           record.getRoundDetails()
-                 .isEmpty())
+        if(record.getRoundCount() == 0)
         {
-            throw new IllegalArgumentException("Round details cannot be null or empty");
+            throw new IllegalArgumentException("Rounds cannot be empty");
         }
         if(record.getTruthScanInfo() == null)
         {
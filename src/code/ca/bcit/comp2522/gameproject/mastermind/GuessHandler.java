@@ -1,7 +1,8 @@
 package ca.bcit.comp2522.gameproject.mastermind;
 
-import java.util.Scanner;
+import java.util.NoSuchElementException;
 
+import ca.bcit.comp2522.gameproject.interfaces.InputSource;
 
 /**
  * Handles user input for the Mastermind game.
@@ -11,6 +12,7 @@ import java.util.Scanner;
  * and validate user guesses, process special commands like truth scans, and
  * gather yes/no responses from the player. The class ensures all input is
  * properly formatted and within valid ranges before passing it to the game logic.
+ * All input is read from the {@link InputSource} the game was given.
  * </p>
  *
  * @author Nathan O
@@ -20,41 +22,62 @@ final class GuessHandler
 {
     private static final int MIN_ROUND_NUMBER = 1;
 
-    private static final Scanner scan = new Scanner(System.in);
+    private final InputSource input;
 
     /**
-     * Gets and validates player input from the console.
+     * Constructs a GuessHandler that reads from the given source.
+     *
+     * @param input the source of player input
+     */
+    GuessHandler(final InputSource input)
+    {
+        if(input == null)
+        {
+            throw new IllegalArgumentException("Input source cannot be null");
+        }
+        this.input = input;
+    }
+
+    /**
+     * Gets and validates the player's next line of input.
      * 
      * Reads user input and returns the appropriate PlayerAction:
      * - TruthScanRequest if input matches truth scan command
      * - GuessSummaryRequest if input matches guess summary command
+     * - HintRequest if input matches hint command
      * - PlayerGuessCode otherwise
      *
+     * @param geometry the shape of the codes being played
      * @return a PlayerAction based on the user's input
      */
-    static PlayerAction getPlayerInput()
+    PlayerAction getPlayerInput(final CodeGeometry geometry)
     {
-        if(!scan.hasNextLine())
+        if(!input.hasNextLine())
         {
-            throw new java.util.NoSuchElementException("Input stream ended unexpectedly.");
+            throw new NoSuchElementException("Input stream ended unexpectedly.");
         }
-        final String input;
+        final String line;
 
-        input = scan.nextLine()
+        line = input.nextLine()
                     .trim()
                     .toUpperCase();
 
-        if(input.equalsIgnoreCase(MastermindGame.INPUT_TRUTH_SCAN))
+        if(line.equalsIgnoreCase(MastermindGame.INPUT_TRUTH_SCAN))
         {
             return new PlayerAction.TruthScanRequest();
         }
-        else if(input.equalsIgnoreCase(MastermindGame.INPUT_GUESS_SUMMARY))
+        else if(line.equalsIgnoreCase(MastermindGame.INPUT_GUESS_SUMMARY))
         {
             return new PlayerAction.GuessSummaryRequest();
         }
+        else if(line.equalsIgnoreCase(MastermindGame.INPUT_HINT))
+        {
+            return new PlayerAction.HintRequest();
+        }
 
         final PlayerGuessCode guessCode;
-        guessCode = PlayerGuessCode.fromInput(input);
+        guessCode = PlayerGuessCode.fromInput(geometry,
+                                              line);
 
         return guessCode;
     }
@@ -65,7 +88,7 @@ final class GuessHandler
      * @param currentRound the current round number
      * @return the selected round number
      */
-    static int getRoundNumberForScan(final int currentRound)
+    int getRoundNumberForScan(final int currentRound)
     {
         validateCurrentRound(currentRound);
         return getRoundNumberWithValidation(currentRound);
@@ -83,12 +106,12 @@ final class GuessHandler
      *
      * @return the user's response as a lowercase string (either "yes" or "no")
      */
-    static String getYesNoResponse()
+    String getYesNoResponse()
     {
         String response;
         do
         {
-            response = scan.nextLine()
+            response = input.nextLine()
                            .trim()
                            .toLowerCase();
             if(!response.equalsIgnoreCase("yes") &&
@@ -110,26 +133,26 @@ final class GuessHandler
      * @param currentRound the current round number to use as upper bound
      * @return the validated round number selected by the user
      */
-    private static int getRoundNumberWithValidation(final int currentRound)
+    private int getRoundNumberWithValidation(final int currentRound)
     {
         while(true)
         {
-            final String input;
+            final String line;
             final int    roundNumber;
 
             System.out.println("Enter round number to scan (1-" +
                                currentRound +
                                "):");
-            input = scan.nextLine()
+            line = input.nextLine()
                         .trim();
 
-            if(!isValidNumericInput(input))
+            if(!isValidNumericInput(line))
             {
                 System.out.println("Please enter a valid number.");
                 continue;
             }
 
-            roundNumber = Integer.parseInt(input);
+            roundNumber = Integer.parseInt(line);
 
             if(!isValidRoundNumber(roundNumber,
                                    currentRound))
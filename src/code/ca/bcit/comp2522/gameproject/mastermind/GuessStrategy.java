@@ -0,0 +1,25 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import java.util.List;
+
+/**
+ * Supplies the next guess for a game of {@code Mastermind}.
+ * <p>
+ * The interactive game reads guesses from the player; headless runs such as
+ * the {@link MastermindSimulator} plug in a strategy instead.
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+@FunctionalInterface
+interface GuessStrategy
+{
+    /**
+     * Chooses the next guess.
+     *
+     * @param rounds the rounds played so far in the current game
+     * @return the next guess to play
+     */
+    PlayerGuessCode nextGuess(List<Round> rounds);
+}
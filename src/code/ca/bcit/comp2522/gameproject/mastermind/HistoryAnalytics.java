@@ -0,0 +1,652 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import ca.bcit.comp2522.gameproject.mastermind.GameHistoryManager.GameSessionRecord;
+
+/**
+ * Aggregate statistics over a game history: win rate overall and by day,
+ * rounds needed to win, how often truth scans found a lie, and how many
+ * lies each game told.
+ * <p>
+ * Statistics are gathered in one pass with {@link #add(GameSessionRecord)},
+ * reading only the packed rounds of each record, so a history never has to
+ * be held in memory. {@link #analyzeFile(Path, int)} reads a text history in
+ * chunks split at {@code === GAME START ===} lines, one parser per chunk on a
+ * {@link ForkJoinPool}, and combines the results with
+ * {@link #merge(HistoryAnalytics)}.
+ * </p>
+ * <p>
+ * The text format only records a lie once a truth scan has revealed it, so
+ * deception counts read from text history are lower bounds. The binary store
+ * keeps every lie.
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+final class HistoryAnalytics
+{
+    private static final int    CHUNKS_PER_THREAD = 4;
+    private static final long   MIN_CHUNK_BYTES   = 1024L * 1024L;
+    private static final int    SCAN_BLOCK_BYTES  = 64 * 1024;
+    private static final int    INITIAL_ROUNDS    = MastermindSession.MAX_ROUNDS + 1;
+    private static final int    RECENT_DAYS_SHOWN = 14;
+    private static final int    DAY_GAMES         = 0;
+    private static final int    DAY_WINS          = 1;
+    private static final double PERCENT           = 100.0;
+    private static final double P50               = 0.50;
+    private static final double P90               = 0.90;
+    private static final double P99               = 0.99;
+
+    private static final byte[] RECORD_BOUNDARY = ("\n" + GameHistoryManager.GAME_START_MARKER).getBytes(StandardCharsets.US_ASCII);
+
+    private final NavigableMap<LocalDate, long[]> gamesByDay;
+
+    private long   gamesPlayed;
+    private long   gamesWon;
+    private long[] winsByRounds;
+    private long   roundsToWin;
+    private long   scansUsed;
+    private long   scansFindingLies;
+    private long   deceptiveRounds;
+    private long   gamesWithLies;
+
+    /**
+     * Constructs an empty {@code HistoryAnalytics}.
+     */
+    HistoryAnalytics()
+    {
+        this.gamesByDay   = new TreeMap<>();
+        this.winsByRounds = new long[INITIAL_ROUNDS];
+    }
+
+    /**
+     * Gathers statistics over records read one at a time.
+     *
+     * @param records the records to read
+     * @return the statistics of those records
+     */
+    static HistoryAnalytics analyze(final Iterator<GameSessionRecord> records)
+    {
+        final HistoryAnalytics analytics;
+        analytics = new HistoryAnalytics();
+
+        records.forEachRemaining(analytics::add);
+        return analytics;
+    }
+
+    /**
+     * Gathers statistics over a text history file, reading it in chunks
+     * across the given number of threads. Small files and a single thread
+     * read the file in one pass on the calling thread.
+     *
+     * @param historyFile the text history file
+     * @param threads     the number of threads to read with
+     * @return the statistics of every record in the file
+     * @throws IOException if the file cannot be read
+     */
+    static HistoryAnalytics analyzeFile(final Path historyFile,
+                                        final int threads) throws IOException
+    {
+        if(threads <= 0)
+        {
+            throw new IllegalArgumentException("Thread count must be positive: " +
+                                               threads);
+        }
+
+        try(final FileChannel channel = FileChannel.open(historyFile,
+                                                         StandardOpenOption.READ))
+        {
+            final long   size;
+            final int    chunkCount;
+            final long[] bounds;
+
+            size       = channel.size();
+            chunkCount = (int)Math.max(1,
+                                       Math.min((long)threads * CHUNKS_PER_THREAD,
+                                                size / MIN_CHUNK_BYTES));
+            bounds     = chunkBounds(channel,
+                                     size,
+                                     threads == 1 ? 1 : chunkCount);
+
+            if(bounds.length == 2)
+            {
+                return analyzeRange(channel,
+                                    0,
+                                    size,
+                                    historyFile);
+            }
+
+            final ForkJoinPool pool;
+            pool = new ForkJoinPool(threads);
+
+            try
+            {
+                final List<ForkJoinTask<HistoryAnalytics>> tasks;
+                final HistoryAnalytics                     total;
+
+                tasks = new ArrayList<>();
+                total = new HistoryAnalytics();
+
+                for(int chunk = 0; chunk + 1 < bounds.length; chunk++)
+                {
+                    final long from;
+                    final long to;
+
+                    from = bounds[chunk];
+                    to   = bounds[chunk + 1];
+
+                    tasks.add(pool.submit(() -> analyzeRange(channel,
+                                                             from,
+                                                             to,
+                                                             historyFile)));
+                }
+
+                for(final ForkJoinTask<HistoryAnalytics> task : tasks)
+                {
+                    total.merge(task.join());
+                }
+                return total;
+            }
+            finally
+            {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Adds one game to the statistics.
+     *
+     * @param record the game to add
+     */
+    void add(final GameSessionRecord record)
+    {
+        final boolean won;
+        final long[]  day;
+        int           lies;
+        boolean       scanFoundLie;
+
+        won = BinaryHistoryStore.OUTCOME_WON.equalsIgnoreCase(record.getOutcome());
+        day = gamesByDay.computeIfAbsent(record.getTimestamp()
+                                               .toLocalDate(),
+                                         date -> new long[DAY_WINS + 1]);
+
+        gamesPlayed++;
+        day[DAY_GAMES]++;
+        if(won)
+        {
+            gamesWon++;
+            day[DAY_WINS]++;
+            countWin(record.getRoundCount());
+        }
+
+        lies         = 0;
+        scanFoundLie = false;
+        for(int round = 0; round < record.getRoundCount(); round++)
+        {
+            final int packedRound;
+            packedRound = record.getRound(round);
+
+            if(PackedRound.isDeceptive(packedRound))
+            {
+                lies++;
+                if(PackedRound.isRevealed(packedRound))
+                {
+                    scanFoundLie = true;
+                }
+            }
+        }
+
+        deceptiveRounds += lies;
+        if(lies > 0)
+        {
+            gamesWithLies++;
+        }
+        if(record.getTruthScanInfo() != null &&
+           !record.getTruthScanInfo()
+                  .isEmpty() &&
+           !MastermindSession.TRUTH_SCAN_NOT_USED.equals(record.getTruthScanInfo()))
+        {
+            scansUsed++;
+            if(scanFoundLie)
+            {
+                scansFindingLies++;
+            }
+        }
+    }
+
+    /**
+     * Adds another set of statistics to this one.
+     *
+     * @param other the statistics to add
+     */
+    void merge(final HistoryAnalytics other)
+    {
+        gamesPlayed      += other.gamesPlayed;
+        gamesWon         += other.gamesWon;
+        roundsToWin      += other.roundsToWin;
+        scansUsed        += other.scansUsed;
+        scansFindingLies += other.scansFindingLies;
+        deceptiveRounds  += other.deceptiveRounds;
+        gamesWithLies    += other.gamesWithLies;
+
+        if(other.winsByRounds.length > winsByRounds.length)
+        {
+            winsByRounds = Arrays.copyOf(winsByRounds,
+                                         other.winsByRounds.length);
+        }
+        for(int rounds = 0; rounds < other.winsByRounds.length; rounds++)
+        {
+            winsByRounds[rounds] += other.winsByRounds[rounds];
+        }
+
+        for(final Map.Entry<LocalDate, long[]> entry : other.gamesByDay.entrySet())
+        {
+            final long[] day;
+            day = gamesByDay.computeIfAbsent(entry.getKey(),
+                                             date -> new long[DAY_WINS + 1]);
+
+            day[DAY_GAMES] += entry.getValue()[DAY_GAMES];
+            day[DAY_WINS]  += entry.getValue()[DAY_WINS];
+        }
+    }
+
+    /**
+     * Gets the number of games in the history.
+     *
+     * @return the number of games
+     */
+    long getGamesPlayed()
+    {
+        return gamesPlayed;
+    }
+
+    /**
+     * Gets the number of games won.
+     *
+     * @return the number of games won
+     */
+    long getGamesWon()
+    {
+        return gamesWon;
+    }
+
+    /**
+     * Gets the fraction of games won.
+     *
+     * @return the win rate in [0, 1]
+     */
+    double getWinRate()
+    {
+        return ratio(gamesWon,
+                     gamesPlayed);
+    }
+
+    /**
+     * Gets the win rate of each day that has games, oldest first.
+     *
+     * @return the win rate by day
+     */
+    NavigableMap<LocalDate, Double> getWinRateByDay()
+    {
+        final NavigableMap<LocalDate, Double> rates;
+        rates = new TreeMap<>();
+
+        gamesByDay.forEach((date, day) -> rates.put(date,
+                                                    ratio(day[DAY_WINS],
+                                                          day[DAY_GAMES])));
+        return Collections.unmodifiableNavigableMap(rates);
+    }
+
+    /**
+     * Gets the mean number of rounds taken by won games.
+     *
+     * @return the mean rounds to win, or 0 if no game was won
+     */
+    double getMeanRoundsToWin()
+    {
+        return ratio(roundsToWin,
+                     gamesWon);
+    }
+
+    /**
+     * Gets the number of rounds within which the given fraction of won games
+     * were won.
+     *
+     * @param fraction the percentile as a fraction in (0, 1]
+     * @return the rounds to win at that percentile, or 0 if no game was won
+     */
+    int getRoundsToWin(final double fraction)
+    {
+        final long target;
+        long       seen;
+
+        target = (long)Math.ceil(gamesWon * fraction);
+        seen   = 0;
+
+        for(int rounds = 0; rounds < winsByRounds.length; rounds++)
+        {
+            seen += winsByRounds[rounds];
+            if(seen >= target && seen > 0)
+            {
+                return rounds;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the number of games in which a truth scan was used.
+     *
+     * @return the number of scans used
+     */
+    long getScansUsed()
+    {
+        return scansUsed;
+    }
+
+    /**
+     * Gets the fraction of truth scans that revealed a deceptive round.
+     *
+     * @return the scan hit rate in [0, 1]
+     */
+    double getScanHitRate()
+    {
+        return ratio(scansFindingLies,
+                     scansUsed);
+    }
+
+    /**
+     * Gets the mean number of known deceptive rounds per game.
+     *
+     * @return the deceptive rounds per game
+     */
+    double getDeceptionPerGame()
+    {
+        return ratio(deceptiveRounds,
+                     gamesPlayed);
+    }
+
+    /**
+     * Gets the fraction of games with at least one known deceptive round.
+     *
+     * @return the fraction of games that lied, in [0, 1]
+     */
+    double getGamesWithLiesRate()
+    {
+        return ratio(gamesWithLies,
+                     gamesPlayed);
+    }
+
+    /**
+     * Returns the statistics as a report, listing the most recent days.
+     *
+     * @return the formatted report
+     */
+    @Override
+    public String toString()
+    {
+        final StringBuilder report;
+        report = new StringBuilder();
+
+        report.append(String.format("Games: %d, won: %d (%.1f%%)%n",
+                                    gamesPlayed,
+                                    gamesWon,
+                                    getWinRate() * PERCENT));
+        report.append(String.format("Rounds to win: mean %.2f, p50 %d, p90 %d, p99 %d%n",
+                                    getMeanRoundsToWin(),
+                                    getRoundsToWin(P50),
+                                    getRoundsToWin(P90),
+                                    getRoundsToWin(P99)));
+        report.append(String.format("Truth scans: %d used, %.1f%% found a lie%n",
+                                    scansUsed,
+                                    getScanHitRate() * PERCENT));
+        report.append(String.format("Deception: %.2f known lies per game, %.1f%% of games lied%n",
+                                    getDeceptionPerGame(),
+                                    getGamesWithLiesRate() * PERCENT));
+
+        if(!gamesByDay.isEmpty())
+        {
+            report.append(String.format("Win rate by day (most recent %d of %d):%n",
+                                        Math.min(RECENT_DAYS_SHOWN,
+                                                 gamesByDay.size()),
+                                        gamesByDay.size()));
+
+            final List<Map.Entry<LocalDate, long[]>> recent;
+            recent = new ArrayList<>(gamesByDay.descendingMap()
+                                               .entrySet());
+
+            for(int i = Math.min(RECENT_DAYS_SHOWN,
+                                 recent.size()) - 1; i >= 0; i--)
+            {
+                final long[] day;
+                day = recent.get(i)
+                            .getValue();
+
+                report.append(String.format("  %s: %5.1f%% of %d%n",
+                                            recent.get(i)
+                                                  .getKey(),
+                                            ratio(day[DAY_WINS],
+                                                  day[DAY_GAMES]) * PERCENT,
+                                            day[DAY_GAMES]));
+            }
+        }
+        return report.toString();
+    }
+
+    /*
+     * Counts a win that took the given number of rounds.
+     */
+    private void countWin(final int rounds)
+    {
+        if(rounds >= winsByRounds.length)
+        {
+            winsByRounds = Arrays.copyOf(winsByRounds,
+                                         rounds + 1);
+        }
+        winsByRounds[rounds]++;
+        roundsToWin += rounds;
+    }
+
+    /*
+     * Divides, treating an empty denominator as a zero result.
+     */
+    private static double ratio(final long count,
+                                final long total)
+    {
+        return total == 0 ? 0.0 : (double)count / total;
+    }
+
+    /*
+     * Parses the records in [from, to) of the file on the calling thread.
+     */
+    private static HistoryAnalytics analyzeRange(final FileChannel channel,
+                                                 final long from,
+                                                 final long to,
+                                                 final Path historyFile)
+    {
+        return analyze(new HistoryParser(new RangeChannel(channel,
+                                                          from,
+                                                          to),
+                                         historyFile.toString()));
+    }
+
+    /*
+     * Splits the file into at most the given number of ranges, moving each
+     * split forward to the start of the next record.
+     * @return The range boundaries, starting at 0 and ending at the size.
+     */
+    private static long[] chunkBounds(final FileChannel channel,
+                                      final long size,
+                                      final int chunkCount) throws IOException
+    {
+        final List<Long> bounds;
+        bounds = new ArrayList<>();
+        bounds.add(0L);
+
+        for(int chunk = 1; chunk < chunkCount; chunk++)
+        {
+            final long previous;
+            final long split;
+
+            previous = bounds.get(bounds.size() - 1);
+            split    = nextRecordStart(channel,
+                                       Math.max(previous + 1,
+                                                size * chunk / chunkCount),
+                                       size);
+            if(split >= size)
+            {
+                break;
+            }
+            bounds.add(split);
+        }
+        bounds.add(size);
+
+        return bounds.stream()
+                     .mapToLong(Long::longValue)
+                     .toArray();
+    }
+
+    /*
+     * Finds the first line at or after the given offset that starts a game
+     * record.
+     * @return The offset of that line, or the file size if there is none.
+     */
+    private static long nextRecordStart(final FileChannel channel,
+                                        final long from,
+                                        final long size) throws IOException
+    {
+        final ByteBuffer block;
+        long             position;
+
+        block    = ByteBuffer.allocate(SCAN_BLOCK_BYTES);
+        position = from - 1;
+
+        while(position < size)
+        {
+            final int read;
+
+            block.clear();
+            read = channel.read(block,
+                                position);
+            if(read <= 0)
+            {
+                break;
+            }
+
+            for(int i = 0; i + RECORD_BOUNDARY.length <= read; i++)
+            {
+                if(matchesBoundary(block,
+                                   i))
+                {
+                    return position + i + 1;
+                }
+            }
+
+            if(position + read >= size)
+            {
+                break;
+            }
+            position += read - RECORD_BOUNDARY.length + 1;
+        }
+        return size;
+    }
+
+    /*
+     * Checks whether the record boundary starts at the given index.
+     */
+    private static boolean matchesBoundary(final ByteBuffer block,
+                                           final int index)
+    {
+        for(int i = 0; i < RECORD_BOUNDARY.length; i++)
+        {
+            if(block.get(index + i) != RECORD_BOUNDARY[i])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Reads one byte range of a file channel that other ranges share, using
+     * positional reads so ranges can be read at the same time. Closing it
+     * leaves the file open.
+     */
+    private static final class RangeChannel implements ReadableByteChannel
+    {
+        private final FileChannel channel;
+        private final long        end;
+        private long              position;
+        private boolean           open;
+
+        /*
+         * Creates a view of [from, to) of the channel.
+         */
+        private RangeChannel(final FileChannel channel,
+                             final long from,
+                             final long to)
+        {
+            this.channel  = channel;
+            this.position = from;
+            this.end      = to;
+            this.open     = true;
+        }
+
+        @Override
+        public int read(final ByteBuffer destination) throws IOException
+        {
+            if(position >= end)
+            {
+                return -1;
+            }
+
+            final ByteBuffer window;
+            final int        read;
+
+            window = destination.slice();
+            window.limit((int)Math.min(window.remaining(),
+                                       end - position));
+            read   = channel.read(window,
+                                  position);
+
+            if(read > 0)
+            {
+                destination.position(destination.position() + read);
+                position += read;
+            }
+            return read;
+        }
+
+        @Override
+        public boolean isOpen()
+        {
+            return open;
+        }
+
+        @Override
+        public void close()
+        {
+            open = false;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import ca.bcit.comp2522.gameproject.mastermind.GameHistoryManager.GameSessionRecord;
+
+/**
+ * Imports a text {@code Mastermind} history file into a
+ * {@link BinaryHistoryStore}.
+ * <p>
+ * Usage: {@code HistoryMigrationTool [textFile] [binaryFile]}, defaulting to
+ * the game's own history files. The binary file must not already hold games,
+ * so a migration cannot be imported twice.
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public final class HistoryMigrationTool
+{
+    private static final int ARG_TEXT_FILE   = 0;
+    private static final int ARG_BINARY_FILE = 1;
+
+    /*
+     * Private constructor to prevent instantiation.
+     */
+    private HistoryMigrationTool()
+    {
+        // Utility class should not be instantiated
+    }
+
+    /**
+     * Entry point for the migration tool.
+     *
+     * @param args optional text file path and binary file path
+     */
+    public static void main(final String[] args)
+    {
+        final Path textPath;
+        final Path binaryPath;
+
+        textPath   = Paths.get(args.length > ARG_TEXT_FILE ?
+                               args[ARG_TEXT_FILE] :
+                               GameHistoryManager.HISTORY_FILE_PATH);
+        binaryPath = Paths.get(args.length > ARG_BINARY_FILE ?
+                               args[ARG_BINARY_FILE] :
+                               GameHistoryManager.BINARY_FILE_PATH);
+
+        try
+        {
+            final int imported;
+            imported = migrate(textPath,
+                               new BinaryHistoryStore(binaryPath));
+
+            System.out.println("Imported " +
+                               imported +
+                               " games from " +
+                               textPath +
+                               " into " +
+                               binaryPath);
+        }
+        catch(final IOException | IllegalStateException e)
+        {
+            System.err.println("Migration failed: " +
+                               e.getMessage());
+        }
+    }
+
+    /**
+     * Copies every game in a text history file into a binary store.
+     *
+     * @param textPath the text history file to read
+     * @param store    the empty binary store to write
+     * @return the number of games imported
+     * @throws IOException if either file cannot be accessed
+     */
+    static int migrate(final Path textPath,
+                       final BinaryHistoryStore store) throws IOException
+    {
+        if(Files.exists(store.getDataPath()) &&
+           Files.size(store.getDataPath()) > 0)
+        {
+            throw new IllegalStateException(store.getDataPath() +
+                                            " already holds history");
+        }
+
+        final List<GameSessionRecord> records;
+        records = new GameHistoryManager(textPath,
+                                         null).loadGameHistory();
+
+        for(final GameSessionRecord record : records)
+        {
+            store.append(record);
+        }
+        return records.size();
+    }
+}
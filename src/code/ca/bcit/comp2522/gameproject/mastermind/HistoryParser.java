@@ -0,0 +1,615 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import ca.bcit.comp2522.gameproject.mastermind.GameHistoryManager.GameSessionRecord;
+
+/**
+ * Reads game session records from the text history file in a single pass.
+ * <p>
+ * Bytes are read from a channel into one reusable buffer and each line is
+ * examined in place: markers and prefixes are compared byte by byte, the
+ * timestamp digits are read directly, and round lines are decoded straight
+ * into {@link PackedRound} values. No string is created for a line unless it
+ * holds text the record keeps, such as the truth scan summary, or is
+ * malformed and has to be reported.
+ * </p>
+ * <p>
+ * Records are read on demand; each call to {@link #hasNext()} reads just far
+ * enough to find the next complete record. Malformed records are reported on
+ * standard error and skipped, as they always have been.
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+final class HistoryParser implements Iterator<GameSessionRecord>
+{
+    private static final int  INITIAL_BUFFER_BYTES = 64 * 1024;
+    private static final int  INITIAL_ROUNDS       = 16;
+    private static final byte NEW_LINE             = '\n';
+    private static final char LAST_WHITESPACE      = ' ';
+    private static final int  END_OF_STREAM        = -1;
+
+    private static final String OUTCOME_WON  = "Won";
+    private static final String OUTCOME_LOST = "Lost";
+
+    private static final int TIMESTAMP_LENGTH = 19;
+    private static final int YEAR_START       = 0;
+    private static final int MONTH_START      = 5;
+    private static final int DAY_START        = 8;
+    private static final int HOUR_START       = 11;
+    private static final int MINUTE_START     = 14;
+    private static final int SECOND_START     = 17;
+    private static final int YEAR_DIGITS      = 4;
+    private static final int FIELD_DIGITS     = 2;
+    private static final int DECIMAL_RADIX    = 10;
+    private static final int NOT_A_NUMBER     = -1;
+
+    private final ReadableByteChannel channel;
+    private final String              sourceName;
+    private final Line                line;
+
+    private byte[]  buffer;
+    private int     lineStart;
+    private int     filled;
+    private boolean endOfInput;
+
+    private LocalDateTime timestamp;
+    private int[]         rounds;
+    private int           roundCount;
+    private String        truthScanInfo;
+    private String        outcome;
+
+    private GameSessionRecord nextRecord;
+    private boolean           finished;
+
+    /**
+     * A view of one line of the buffer, trimmed of surrounding whitespace.
+     * History files are written in ASCII apart from free text, so each byte
+     * is read as one character for matching.
+     */
+    private final class Line implements CharSequence
+    {
+        private int start;
+        private int end;
+
+        @Override
+        public int length()
+        {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(final int index)
+        {
+            return (char) (buffer[start + index] & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(final int from,
+                                        final int to)
+        {
+            return decode(from,
+                          to);
+        }
+
+        @Override
+        public String toString()
+        {
+            return decode(0,
+                          length());
+        }
+
+        /*
+         * Decodes part of the line as UTF-8.
+         */
+        private String decode(final int from,
+                              final int to)
+        {
+            return new String(buffer,
+                              start + from,
+                              to - from,
+                              StandardCharsets.UTF_8);
+        }
+
+        /*
+         * Checks whether the line is exactly the given text.
+         */
+        private boolean is(final String text)
+        {
+            return length() == text.length() &&
+                   PackedRound.startsWith(this,
+                                          text,
+                                          0);
+        }
+
+        /*
+         * Checks whether the line starts with the given text.
+         */
+        private boolean startsWith(final String text)
+        {
+            return PackedRound.startsWith(this,
+                                          text,
+                                          0);
+        }
+    }
+
+    /**
+     * Constructs a {@code HistoryParser} over the given channel.
+     *
+     * @param channel    the channel positioned at the start of the history
+     * @param sourceName the name used when reporting read errors
+     */
+    HistoryParser(final ReadableByteChannel channel,
+                  final String sourceName)
+    {
+        if(channel == null)
+        {
+            throw new IllegalArgumentException("Channel cannot be null");
+        }
+
+        this.channel    = channel;
+        this.sourceName = sourceName;
+        this.line       = new Line();
+        this.buffer     = new byte[INITIAL_BUFFER_BYTES];
+        this.rounds     = new int[INITIAL_ROUNDS];
+        this.lineStart  = 0;
+        this.filled     = 0;
+        this.endOfInput = false;
+        this.finished   = false;
+    }
+
+    /**
+     * Opens a parser over a history file.
+     *
+     * @param historyFilePath the text history file
+     * @return a parser positioned at the start of the file
+     * @throws IOException if the file cannot be opened
+     */
+    static HistoryParser open(final Path historyFilePath) throws IOException
+    {
+        return new HistoryParser(FileChannel.open(historyFilePath,
+                                                  StandardOpenOption.READ),
+                                 historyFilePath.toString());
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        if(nextRecord == null && !finished)
+        {
+            nextRecord = readNextRecord();
+        }
+        return nextRecord != null;
+    }
+
+    @Override
+    public GameSessionRecord next()
+    {
+        if(!hasNext())
+        {
+            throw new NoSuchElementException("No more history records");
+        }
+
+        final GameSessionRecord record;
+        record     = nextRecord;
+        nextRecord = null;
+        return record;
+    }
+
+    /**
+     * Closes the underlying channel.
+     */
+    void close()
+    {
+        try
+        {
+            channel.close();
+        }
+        catch(final IOException error)
+        {
+            System.err.println("Error closing game history file: " +
+                               error.getMessage());
+        }
+    }
+
+    /*
+     * Reads lines until the next complete record is found.
+     * @return The next record, or null at the end of the input.
+     */
+    private GameSessionRecord readNextRecord()
+    {
+        boolean inGameRecord;
+        inGameRecord = false;
+
+        try
+        {
+            while(nextLine())
+            {
+                if(line.is(GameHistoryManager.GAME_START_MARKER))
+                {
+                    resetRecord();
+                    inGameRecord = true;
+                }
+                else if(line.is(GameHistoryManager.GAME_END_MARKER))
+                {
+                    if(inGameRecord)
+                    {
+                        final GameSessionRecord record;
+                        record       = buildRecord();
+                        inGameRecord = false;
+
+                        if(record != null)
+                        {
+                            return record;
+                        }
+                    }
+                }
+                else if(inGameRecord)
+                {
+                    processRecordLine();
+                }
+            }
+
+            if(inGameRecord)
+            {
+                System.err.println("Warning: History file ended unexpectedly within a game record.");
+            }
+        }
+        catch(final IOException error)
+        {
+            System.err.println("Error loading game history from " +
+                               sourceName +
+                               ": " +
+                               error.getMessage());
+        }
+
+        finished = true;
+        close();
+        return null;
+    }
+
+    /*
+     * Identifies the current line's type (timestamp, round, truth scan,
+     * outcome) and records what it holds.
+     */
+    private void processRecordLine()
+    {
+        if(line.startsWith(GameHistoryManager.TIMESTAMP_PREFIX))
+        {
+            timestamp = parseTimestamp(GameHistoryManager.TIMESTAMP_PREFIX.length());
+        }
+        else if(PackedRound.isRoundLine(line))
+        {
+            addRound();
+        }
+        else if(line.startsWith(GameHistoryManager.TRUTH_SCAN_PREFIX))
+        {
+            truthScanInfo = line.subSequence(GameHistoryManager.TRUTH_SCAN_PREFIX.length(),
+                                             line.length())
+                                .toString();
+        }
+        else if(line.startsWith(GameHistoryManager.OUTCOME_PREFIX))
+        {
+            outcome = parseOutcome(GameHistoryManager.OUTCOME_PREFIX.length());
+        }
+    }
+
+    /*
+     * Decodes the current round line and appends it to the record's rounds.
+     */
+    private void addRound()
+    {
+        final int packedRound;
+
+        try
+        {
+            packedRound = PackedRound.parse(line);
+        }
+        catch(final IllegalArgumentException error)
+        {
+            System.err.println("Warning: Could not parse round: " +
+                               error.getMessage());
+            return;
+        }
+
+        if(roundCount == rounds.length)
+        {
+            rounds = Arrays.copyOf(rounds,
+                                   rounds.length * 2);
+        }
+        rounds[roundCount] = packedRound;
+        roundCount++;
+    }
+
+    /*
+     * Reads the timestamp starting at the given position of the current line.
+     * Anything but the exact written layout falls back to the formatter, so
+     * lenient and failing cases behave as they did before.
+     */
+    private LocalDateTime parseTimestamp(final int offset)
+    {
+        if(line.length() - offset == TIMESTAMP_LENGTH)
+        {
+            final int year;
+            final int month;
+            final int day;
+            final int hour;
+            final int minute;
+            final int second;
+
+            year   = parseField(offset + YEAR_START,
+                                YEAR_DIGITS,
+                                '-');
+            month  = parseField(offset + MONTH_START,
+                                FIELD_DIGITS,
+                                '-');
+            day    = parseField(offset + DAY_START,
+                                FIELD_DIGITS,
+                                ' ');
+            hour   = parseField(offset + HOUR_START,
+                                FIELD_DIGITS,
+                                ':');
+            minute = parseField(offset + MINUTE_START,
+                                FIELD_DIGITS,
+                                ':');
+            second = parseField(offset + SECOND_START,
+                                FIELD_DIGITS,
+                                Character.MIN_VALUE);
+
+            if(year != NOT_A_NUMBER &&
+               month != NOT_A_NUMBER &&
+               day != NOT_A_NUMBER &&
+               hour != NOT_A_NUMBER &&
+               minute != NOT_A_NUMBER &&
+               second != NOT_A_NUMBER)
+            {
+                try
+                {
+                    return LocalDateTime.of(year,
+                                            month,
+                                            day,
+                                            hour,
+                                            minute,
+                                            second);
+                }
+                catch(final DateTimeException e)
+                {
+                    // Out-of-range fields; let the formatter decide below.
+                }
+            }
+        }
+
+        final String text;
+        text = line.toString();
+
+        try
+        {
+            return LocalDateTime.parse(text.substring(offset),
+                                       GameHistoryManager.TIMESTAMP_FORMATTER);
+        }
+        catch(final Exception e)
+        {
+            System.err.println("Warning: Could not parse timestamp: " +
+                               text +
+                               " (" +
+                               e.getMessage() +
+                               ")");
+            return null;
+        }
+    }
+
+    /*
+     * Reads a fixed-width number from the current line and checks the
+     * separator after it. A separator of Character.MIN_VALUE means the field
+     * ends the line.
+     * @return The number, or NOT_A_NUMBER if the field is malformed.
+     */
+    private int parseField(final int start,
+                           final int digits,
+                           final char separator)
+    {
+        int value;
+        value = 0;
+
+        for(int i = start; i < start + digits; i++)
+        {
+            final char character;
+            character = line.charAt(i);
+
+            if(character < '0' || character > '9')
+            {
+                return NOT_A_NUMBER;
+            }
+            value = value * DECIMAL_RADIX + (character - '0');
+        }
+
+        if(separator != Character.MIN_VALUE && line.charAt(start + digits) != separator)
+        {
+            return NOT_A_NUMBER;
+        }
+        return value;
+    }
+
+    /*
+     * Reads the outcome starting at the given position of the current line.
+     * @return The outcome, or null if it is not a win or a loss.
+     */
+    private String parseOutcome(final int offset)
+    {
+        if(PackedRound.startsWith(line,
+                                  OUTCOME_WON,
+                                  offset) &&
+           line.length() - offset == OUTCOME_WON.length())
+        {
+            return OUTCOME_WON;
+        }
+        if(PackedRound.startsWith(line,
+                                  OUTCOME_LOST,
+                                  offset) &&
+           line.length() - offset == OUTCOME_LOST.length())
+        {
+            return OUTCOME_LOST;
+        }
+
+        final String parsedOutcome;
+        parsedOutcome = line.subSequence(offset,
+                                         line.length())
+                            .toString();
+
+        if(OUTCOME_WON.equalsIgnoreCase(parsedOutcome) ||
+           OUTCOME_LOST.equalsIgnoreCase(parsedOutcome))
+        {
+            return parsedOutcome;
+        }
+
+        System.err.println("Warning: Invalid outcome found: " +
+                           parsedOutcome);
+        return null;
+    }
+
+    /*
+     * Clears the fields of the record being read.
+     */
+    private void resetRecord()
+    {
+        timestamp     = null;
+        roundCount    = 0;
+        truthScanInfo = null;
+        outcome       = null;
+    }
+
+    /*
+     * Builds a record from the fields read since the start marker.
+     * @return The record, or null if the fields were incomplete.
+     */
+    private GameSessionRecord buildRecord()
+    {
+        if(timestamp == null || roundCount == 0 || outcome == null)
+        {
+            System.err.println("Warning: Incomplete game record found in history file. Skipping.");
+            return null;
+        }
+
+        return new GameSessionRecord(timestamp,
+                                     Arrays.copyOf(rounds,
+                                                   roundCount),
+                                     truthScanInfo,
+                                     outcome);
+    }
+
+    /*
+     * Moves the line view to the next line, trimmed of surrounding
+     * whitespace, reading more input when the buffer holds no full line.
+     * @return false once the input is exhausted.
+     */
+    private boolean nextLine() throws IOException
+    {
+        int scanFrom;
+        scanFrom = lineStart;
+
+        while(true)
+        {
+            for(int i = scanFrom; i < filled; i++)
+            {
+                if(buffer[i] == NEW_LINE)
+                {
+                    setLine(lineStart,
+                            i);
+                    lineStart = i + 1;
+                    return true;
+                }
+            }
+
+            if(endOfInput)
+            {
+                if(lineStart < filled)
+                {
+                    setLine(lineStart,
+                            filled);
+                    lineStart = filled;
+                    return true;
+                }
+                return false;
+            }
+
+            scanFrom = filled - lineStart;
+            fill();
+        }
+    }
+
+    /*
+     * Moves the unread tail of the buffer to the front, growing the buffer if
+     * a single line fills it, and reads more input after it.
+     */
+    private void fill() throws IOException
+    {
+        final int pending;
+        final int read;
+
+        pending = filled - lineStart;
+        if(pending == buffer.length)
+        {
+            buffer = Arrays.copyOf(buffer,
+                                   buffer.length * 2);
+        }
+        else if(lineStart > 0)
+        {
+            System.arraycopy(buffer,
+                             lineStart,
+                             buffer,
+                             0,
+                             pending);
+        }
+        lineStart = 0;
+        filled    = pending;
+
+        read = channel.read(ByteBuffer.wrap(buffer,
+                                            filled,
+                                            buffer.length - filled));
+        if(read == END_OF_STREAM)
+        {
+            endOfInput = true;
+        }
+        else
+        {
+            filled += read;
+        }
+    }
+
+    /*
+     * Points the line view at the given range, trimmed like String.trim().
+     */
+    private void setLine(final int start,
+                         final int end)
+    {
+        int from;
+        int to;
+
+        from = start;
+        to   = end;
+        while(from < to && (buffer[from] & 0xFF) <= LAST_WHITESPACE)
+        {
+            from++;
+        }
+        while(to > from && (buffer[to - 1] & 0xFF) <= LAST_WHITESPACE)
+        {
+            to--;
+        }
+
+        line.start = from;
+        line.end   = to;
+    }
+}
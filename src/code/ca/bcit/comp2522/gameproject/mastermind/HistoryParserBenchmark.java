@@ -0,0 +1,287 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import ca.bcit.comp2522.gameproject.mastermind.GameHistoryManager.GameSessionRecord;
+
+/**
+ * Measures how fast the text history file can be parsed.
+ * <p>
+ * Writes a synthetic history file of the requested size, then times the
+ * line-by-line reader the history manager used to have (trim every line,
+ * regex-match round lines, keep them as strings) against
+ * {@link HistoryParser}. Each parser gets a warm-up pass before the timed
+ * iterations, and the best throughput of each is reported.
+ * </p>
+ * <p>
+ * Usage: {@code HistoryParserBenchmark [megabytes] [iterations] [file]}. An
+ * existing file is reused rather than rewritten.
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public final class HistoryParserBenchmark
+{
+    private static final int  DEFAULT_MEGABYTES  = 1024;
+    private static final int  DEFAULT_ITERATIONS = 3;
+    private static final long SEED               = 42L;
+    private static final long BYTES_PER_MEGABYTE = 1024L * 1024L;
+
+    private static final int ARG_MEGABYTES  = 0;
+    private static final int ARG_ITERATIONS = 1;
+    private static final int ARG_FILE       = 2;
+
+    private static final int    MAX_ROUNDS       = 12;
+    private static final int    REVEAL_ONE_IN    = 10;
+    private static final int    WIN_ONE_IN       = 2;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    /*
+     * Private constructor to prevent instantiation.
+     */
+    private HistoryParserBenchmark()
+    {
+        // Utility class should not be instantiated
+    }
+
+    /**
+     * Entry point for the benchmark.
+     *
+     * @param args optional size in megabytes, iteration count and file path
+     * @throws IOException if the history file cannot be written or read
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        final int  megabytes;
+        final int  iterations;
+        final Path file;
+
+        megabytes  = args.length > ARG_MEGABYTES ?
+                     Integer.parseInt(args[ARG_MEGABYTES]) :
+                     DEFAULT_MEGABYTES;
+        iterations = args.length > ARG_ITERATIONS ?
+                     Integer.parseInt(args[ARG_ITERATIONS]) :
+                     DEFAULT_ITERATIONS;
+        file       = args.length > ARG_FILE ?
+                     Paths.get(args[ARG_FILE]) :
+                     Files.createTempFile("mastermind-history-bench",
+                                          ".txt");
+
+        if(!Files.exists(file) || Files.size(file) == 0)
+        {
+            writeSyntheticHistory(file,
+                                  megabytes * BYTES_PER_MEGABYTE);
+        }
+
+        final long size;
+        size = Files.size(file);
+        System.out.printf("History file: %s (%d MB)%n",
+                          file,
+                          size / BYTES_PER_MEGABYTE);
+
+        report("Line reader + regex",
+               size,
+               iterations,
+               () -> parseWithLineReader(file));
+        report("HistoryParser",
+               size,
+               iterations,
+               () -> parseWithHistoryParser(file));
+    }
+
+    /*
+     * A parser run that returns a count, so the work cannot be skipped.
+     */
+    @FunctionalInterface
+    private interface ParseRun
+    {
+        long parse() throws IOException;
+    }
+
+    /*
+     * Runs a parser once to warm up, then the given number of times, and
+     * prints the throughput of the fastest run. The rounds counted per run
+     * are printed too, so the work cannot be skipped and the parsers can be
+     * checked against each other.
+     */
+    private static void report(final String name,
+                               final long size,
+                               final int iterations,
+                               final ParseRun run) throws IOException
+    {
+        long best;
+        long rounds;
+
+        rounds = run.parse();
+        best   = Long.MAX_VALUE;
+        for(int i = 0; i < iterations; i++)
+        {
+            final long start;
+            start = System.nanoTime();
+
+            rounds += run.parse();
+            best = Math.min(best,
+                            System.nanoTime() - start);
+        }
+
+        System.out.printf("%-20s %8.1f MB/s (%d ms, %d rounds)%n",
+                          name,
+                          size / (double) BYTES_PER_MEGABYTE / (best / NANOS_PER_SECOND),
+                          best / 1_000_000L,
+                          rounds / (iterations + 1));
+    }
+
+    /*
+     * Parses the file with HistoryParser, counting rounds.
+     */
+    private static long parseWithHistoryParser(final Path file) throws IOException
+    {
+        final HistoryParser parser;
+        long                rounds;
+
+        parser = HistoryParser.open(file);
+        rounds = 0;
+        try
+        {
+            while(parser.hasNext())
+            {
+                rounds += parser.next()
+                                .getRoundCount();
+            }
+        }
+        finally
+        {
+            parser.close();
+        }
+        return rounds;
+    }
+
+    /*
+     * Parses the file the way the history manager did before HistoryParser:
+     * a String per line, trimmed, with round lines found by regex.
+     */
+    private static long parseWithLineReader(final Path file) throws IOException
+    {
+        long rounds;
+        rounds = 0;
+
+        try(final BufferedReader reader = Files.newBufferedReader(file,
+                                                                  StandardCharsets.UTF_8))
+        {
+            final List<String> roundDetails;
+            String             line;
+
+            roundDetails = new ArrayList<>();
+            while((line = reader.readLine()) != null)
+            {
+                final String trimmedLine;
+                trimmedLine = line.trim();
+
+                if(trimmedLine.equals(GameHistoryManager.GAME_START_MARKER))
+                {
+                    roundDetails.clear();
+                }
+                else if(trimmedLine.equals(GameHistoryManager.GAME_END_MARKER))
+                {
+                    rounds += roundDetails.size();
+                }
+                else if(trimmedLine.startsWith(GameHistoryManager.TIMESTAMP_PREFIX))
+                {
+                    LocalDateTime.parse(trimmedLine.substring(GameHistoryManager.TIMESTAMP_PREFIX.length()),
+                                        GameHistoryManager.TIMESTAMP_FORMATTER);
+                }
+                else if(trimmedLine.matches("^Round \\d+:.*$"))
+                {
+                    roundDetails.add(trimmedLine);
+                }
+                else if(trimmedLine.startsWith(GameHistoryManager.TRUTH_SCAN_PREFIX) ||
+                        trimmedLine.startsWith(GameHistoryManager.OUTCOME_PREFIX))
+                {
+                    trimmedLine.substring(trimmedLine.indexOf(':') + 1);
+                }
+            }
+        }
+        return rounds;
+    }
+
+    /*
+     * Writes random but well-formed game records until the file reaches the
+     * target size.
+     */
+    private static void writeSyntheticHistory(final Path file,
+                                              final long targetBytes) throws IOException
+    {
+        final SplittableRandom random;
+        final LocalDateTime    start;
+        long                   written;
+        int                    game;
+
+        random  = new SplittableRandom(SEED);
+        start   = LocalDateTime.of(2025, 1, 1, 0, 0);
+        written = 0;
+        game    = 0;
+
+        try(final BufferedWriter writer = Files.newBufferedWriter(file,
+                                                                  StandardCharsets.UTF_8))
+        {
+            while(written < targetBytes)
+            {
+                final String text;
+                text = GameHistoryManager.formatRecord(syntheticRecord(random,
+                                                                       start.plusMinutes(game)));
+
+                writer.write(text);
+                written += text.length();
+                game++;
+            }
+        }
+    }
+
+    /*
+     * Builds one random game record.
+     */
+    private static GameSessionRecord syntheticRecord(final SplittableRandom random,
+                                                     final LocalDateTime timestamp)
+    {
+        final int[] rounds;
+
+        rounds = new int[random.nextInt(1,
+                                        MAX_ROUNDS + 1)];
+
+        for(int round = 0; round < rounds.length; round++)
+        {
+            final int guess;
+            final int feedback;
+            final int correct;
+
+            guess    = FeedbackTable.codeAt(random.nextInt(FeedbackTable.CODE_COUNT));
+            correct  = random.nextInt(Code.CODE_LENGTH + 1);
+            feedback = Feedback.packResult(correct,
+                                           random.nextInt(Code.CODE_LENGTH - correct + 1));
+
+            rounds[round] = PackedRound.pack(guess,
+                                             feedback,
+                                             feedback,
+                                             random.nextInt(REVEAL_ONE_IN) == 0,
+                                             true);
+        }
+
+        return new GameSessionRecord(timestamp,
+                                     rounds,
+                                     MastermindSession.TRUTH_SCAN_NOT_USED,
+                                     random.nextInt(WIN_ONE_IN) == 0 ?
+                                     BinaryHistoryStore.OUTCOME_WON :
+                                     BinaryHistoryStore.OUTCOME_LOST);
+    }
+}
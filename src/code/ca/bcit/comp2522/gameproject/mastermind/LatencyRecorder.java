@@ -0,0 +1,199 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+/**
+ * Collects how long an operation took over many runs, as a histogram with
+ * one bucket per microsecond.
+ * <p>
+ * Runs slower than {@value #LINEAR_MICROS} microseconds fall into buckets
+ * that grow with the latency, {@value #BUCKETS_PER_DOUBLING} for each
+ * doubling, so a percentile there is reported to within one part in
+ * {@value #BUCKETS_PER_DOUBLING} however slow the run was. The true maximum
+ * is kept. Recorders from separate threads are combined with
+ * {@link #merge(LatencyRecorder)}; a single recorder must only be used by one
+ * thread at a time.
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.1 2025
+ */
+final class LatencyRecorder
+{
+    static final int LINEAR_MICROS        = 10_000;
+    static final int BUCKETS_PER_DOUBLING = 16;
+
+    private static final long NANOS_PER_MICRO = 1_000L;
+    private static final int  NO_SAMPLES      = 0;
+
+    // Enough doublings above LINEAR_MICROS to hold any long count of nanoseconds.
+    private static final int DOUBLINGS = Long.SIZE - Long.numberOfLeadingZeros(Long.MAX_VALUE / NANOS_PER_MICRO / LINEAR_MICROS);
+
+    private final long[] bucketsMicros;
+
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+
+    /**
+     * Constructs an empty {@code LatencyRecorder}.
+     */
+    LatencyRecorder()
+    {
+        this.bucketsMicros = new long[LINEAR_MICROS + DOUBLINGS * BUCKETS_PER_DOUBLING];
+        this.count         = NO_SAMPLES;
+        this.totalNanos    = 0L;
+        this.maxNanos      = 0L;
+    }
+
+    /**
+     * Records one run.
+     *
+     * @param nanos how long the run took, in nanoseconds
+     */
+    void record(final long nanos)
+    {
+        count++;
+        totalNanos += nanos;
+        maxNanos   = Math.max(maxNanos,
+                              nanos);
+        bucketsMicros[bucketOf(Math.max(nanos,
+                                        0L) / NANOS_PER_MICRO)]++;
+    }
+
+    /**
+     * Adds another recorder's runs into this one.
+     *
+     * @param other the recorder to add
+     */
+    void merge(final LatencyRecorder other)
+    {
+        if(other == null)
+        {
+            throw new IllegalArgumentException("Other recorder cannot be null");
+        }
+
+        count      += other.count;
+        totalNanos += other.totalNanos;
+        maxNanos   = Math.max(maxNanos,
+                              other.maxNanos);
+        for(int bucket = 0; bucket < bucketsMicros.length; bucket++)
+        {
+            bucketsMicros[bucket] += other.bucketsMicros[bucket];
+        }
+    }
+
+    /**
+     * Gets how many runs were recorded.
+     *
+     * @return the number of runs
+     */
+    long getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Gets the approximate latency at a percentile, in microseconds.
+     *
+     * @param fraction the percentile as a fraction in (0, 1]
+     * @return the lowest latency in the bucket holding that percentile, or
+     *         the maximum if that is lower
+     */
+    long getPercentileMicros(final double fraction)
+    {
+        final long target;
+        long       seen;
+
+        target = (long)Math.ceil(count * fraction);
+        seen   = 0;
+
+        for(int bucket = 0; bucket < bucketsMicros.length; bucket++)
+        {
+            seen += bucketsMicros[bucket];
+            if(seen >= target && seen > 0)
+            {
+                return Math.min(lowestMicrosOf(bucket),
+                                getMaxMicros());
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the mean latency, in microseconds.
+     *
+     * @return the mean, or 0 if nothing was recorded
+     */
+    double getMeanMicros()
+    {
+        return count == NO_SAMPLES ? 0.0 : (double)totalNanos / count / NANOS_PER_MICRO;
+    }
+
+    /**
+     * Gets the slowest run, in microseconds.
+     *
+     * @return the maximum latency
+     */
+    long getMaxMicros()
+    {
+        return maxNanos / NANOS_PER_MICRO;
+    }
+
+    /*
+     * Finds the bucket for a latency: its own below LINEAR_MICROS, and above
+     * that one of BUCKETS_PER_DOUBLING equal slices of its doubling.
+     */
+    private static int bucketOf(final long micros)
+    {
+        if(micros < LINEAR_MICROS)
+        {
+            return (int)micros;
+        }
+
+        final int  doubling;
+        final long doublingStart;
+        final long slice;
+
+        doubling      = Long.SIZE - 1 - Long.numberOfLeadingZeros(micros / LINEAR_MICROS);
+        doublingStart = (long)LINEAR_MICROS << doubling;
+        slice         = (micros - doublingStart) * BUCKETS_PER_DOUBLING / doublingStart;
+
+        return LINEAR_MICROS + doubling * BUCKETS_PER_DOUBLING + (int)slice;
+    }
+
+    /*
+     * Gets the lowest latency that falls into a bucket.
+     */
+    private static long lowestMicrosOf(final int bucket)
+    {
+        if(bucket < LINEAR_MICROS)
+        {
+            return bucket;
+        }
+
+        final int  doubling;
+        final int  slice;
+        final long doublingStart;
+
+        doubling      = (bucket - LINEAR_MICROS) / BUCKETS_PER_DOUBLING;
+        slice         = (bucket - LINEAR_MICROS) % BUCKETS_PER_DOUBLING;
+        doublingStart = (long)LINEAR_MICROS << doubling;
+
+        return doublingStart + doublingStart * slice / BUCKETS_PER_DOUBLING;
+    }
+
+    /**
+     * Returns the usual percentiles, mean and maximum on one line.
+     *
+     * @return the latency summary, in microseconds
+     */
+    @Override
+    public String toString()
+    {
+        return String.format("p50 %d, p90 %d, p99 %d, mean %.1f, max %d",
+                             getPercentileMicros(0.50),
+                             getPercentileMicros(0.90),
+                             getPercentileMicros(0.99),
+                             getMeanMicros(),
+                             getMaxMicros());
+    }
+}
@@ -1,13 +1,19 @@
 package ca.bcit.comp2522.gameproject.mastermind;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Scanner;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
 
+import ca.bcit.comp2522.gameproject.input.ReaderInputSource;
+import ca.bcit.comp2522.gameproject.interfaces.InputSource;
 import ca.bcit.comp2522.gameproject.interfaces.RoundBased;
 import ca.bcit.comp2522.gameproject.mastermind.GameHistoryManager.GameSessionRecord;
 import ca.bcit.comp2522.gameproject.mastermind.UIHandler.HistoryMenuOption;
@@ -20,41 +26,170 @@ import ca.bcit.comp2522.gameproject.mastermind.UIHandler.MainMenuOption;
  * including handling player input, tracking rounds, managing deception,
  * and interacting with game history.
  * </p>
+ * <p>
+ * A game played from the console is written to a {@link SessionJournal}
+ * round by round. Games left unfinished by a crash or by quitting are
+ * restored when the next {@code MastermindGame} is made and are picked up
+ * again before any new game is started.
+ * </p>
+ * <p>
+ * New games are played with the {@link CodeGeometry} named by the
+ * {@value CodeGeometry#GEOMETRY_PROPERTY} system property, so players can try
+ * {@code 5x8} or {@code 6x10}. Those games are honest, and hints, history
+ * and the journal are left to the classic game they are built around.
+ * </p>
  *
  * @author Nathan O
- * @version 1.4 2025
+ * @version 1.5 2025
  */
 public final class MastermindGame implements
                                   RoundBased
 {
-    private static final int          MAX_ROUNDS      = 12;
-    private static final int          ROUND_INCREMENT = 1;
-    private static final TruthScanner TRUTH_SCANNER   = new TruthScanner();
+    private static final int ROUND_INCREMENT     = 1;
+    private static final int HISTORY_PAGE_SIZE   = 5;
+    private static final int NO_DECEPTIVE_ROUNDS = 0;
 
     private static final String OUTCOME_WON         = "Won";
     private static final String OUTCOME_LOST        = "Lost";
     private static final String YES                 = "yes";
     static final String         INPUT_TRUTH_SCAN    = "t";
     static final String         INPUT_GUESS_SUMMARY = "g";
+    static final String         INPUT_HINT          = "h";
+
+    private final GameHistoryManager           gameHistoryManager;
+    private final UIHandler                    uiHandler;
+    private final GuessHandler                 guessHandler;
+    private final GuessStrategy                guessStrategy;
+    private final SplittableRandom             random;
+    private final CodeGeometry                 geometry;
+    private final RoundExecutor                roundExecutor;
+    private final int[]                        preparedRounds;
+    private final Map<Long, MastermindSession> unfinishedSessions;
+
+    private MastermindSession session;
+    private SessionJournal    journal;
+    private long              sessionId;
+    private MastermindSolver  solver;
 
-    private final GameHistoryManager gameHistoryManager;
-    private final UIHandler          uiHandler;
+    /**
+     * Constructs a new {@code MastermindGame} that reads from the console.
+     * Initializes the {@code GameHistoryManager} and {@code UIHandler}.
+     */
+    public MastermindGame()
+    {
+        this(ReaderInputSource.standardInput());
+    }
 
+    /**
+     * Constructs a new {@code MastermindGame} that reads all player input
+     * from the given source.
+     *
+     * @param input the source of player input
+     */
+    public MastermindGame(final InputSource input)
+    {
+        this(new UIHandler(input),
+             null,
+             new SplittableRandom(),
+             new RoundExecutor(RoundExecutor.defaultMode()),
+             new SessionJournal(Paths.get(SessionJournal.JOURNAL_FILE_PATH)),
+             CodeGeometry.defaultGeometry());
+    }
 
-    private List<Round> rounds;
-    private SecretCode  secretCode;
-    private String      truthScanInfoForHistory;
+    /**
+     * Constructs a {@code MastermindGame} with the given UI, guess source and
+     * source of randomness. Used to run games without a player.
+     *
+     * @param uiHandler     the UI to report to
+     * @param guessStrategy where guesses come from, or null to ask the player
+     * @param random        the generator each new session's generator is split
+     *                      from
+     */
+    MastermindGame(final UIHandler uiHandler,
+                   final GuessStrategy guessStrategy,
+                   final SplittableRandom random)
+    {
+        this(uiHandler,
+             guessStrategy,
+             random,
+             new RoundExecutor(RoundExecutor.defaultMode()));
+    }
 
     /**
-     * Constructs a new {@code MastermindGame}. Initializes the
-     * {@code GameHistoryManager} and {@code UIHandler}.
+     * Constructs a {@code MastermindGame} that plays its rounds through the
+     * given executor.
+     *
+     * @param uiHandler     the UI to report to
+     * @param guessStrategy where guesses come from, or null to ask the player
+     * @param random        the generator each new session's generator is split
+     *                      from
+     * @param roundExecutor plays and times each round
      */
-    public MastermindGame()
+    MastermindGame(final UIHandler uiHandler,
+                   final GuessStrategy guessStrategy,
+                   final SplittableRandom random,
+                   final RoundExecutor roundExecutor)
     {
-        final Scanner            scannerForUIHandler;
-        scannerForUIHandler = new Scanner(System.in);
+        this(uiHandler,
+             guessStrategy,
+             random,
+             roundExecutor,
+             null,
+             CodeGeometry.CLASSIC);
+    }
+
+    /**
+     * Constructs a {@code MastermindGame} that records its games in the given
+     * journal, restoring any games the journal holds that were never
+     * finished.
+     *
+     * @param uiHandler     the UI to report to
+     * @param guessStrategy where guesses come from, or null to ask the player
+     * @param random        the generator each new session's generator is split
+     *                      from
+     * @param roundExecutor plays and times each round
+     * @param journal       where games in progress are recorded, or null to
+     *                      keep them only in memory
+     * @param geometry      the shape of the codes in each new game
+     */
+    MastermindGame(final UIHandler uiHandler,
+                   final GuessStrategy guessStrategy,
+                   final SplittableRandom random,
+                   final RoundExecutor roundExecutor,
+                   final SessionJournal journal,
+                   final CodeGeometry geometry)
+    {
+        if(uiHandler == null)
+        {
+            throw new IllegalArgumentException("UI handler cannot be null");
+        }
+        if(random == null)
+        {
+            throw new IllegalArgumentException("Random cannot be null");
+        }
+        if(roundExecutor == null)
+        {
+            throw new IllegalArgumentException("Round executor cannot be null");
+        }
+        if(geometry == null)
+        {
+            throw new IllegalArgumentException("Geometry cannot be null");
+        }
         this.gameHistoryManager = new GameHistoryManager();
-        this.uiHandler = new UIHandler(scannerForUIHandler);
+        this.uiHandler          = uiHandler;
+        this.guessHandler       = new GuessHandler(uiHandler.getInput());
+        this.guessStrategy      = guessStrategy;
+        this.random             = random;
+        this.geometry           = geometry;
+        this.roundExecutor      = roundExecutor;
+        this.preparedRounds     = new int[MastermindSession.MAX_ROUNDS];
+        this.unfinishedSessions = new LinkedHashMap<>();
+        this.journal            = journal;
+
+        if(journal != null)
+        {
+            restoreUnfinishedSessions();
+        }
     }
 
     /**
@@ -78,6 +213,10 @@ public final class MastermindGame implements
                                                   choice);
             }
         } while(choice != MainMenuOption.EXIT);
+
+        writeJournal(SessionJournal::close);
+        // Whatever plays next writes to the console directly.
+        uiHandler.flush();
     }
 
     /**
@@ -106,27 +245,16 @@ public final class MastermindGame implements
         {
             uiHandler.displayHistorySubMenu();
             choice = uiHandler.getHistoryMenuChoice();
-            List<GameSessionRecord> history;
 
             switch(choice)
             {
-                case VIEW_ALL -> {
-                    history = gameHistoryManager.loadGameHistory();
-                    uiHandler.displayHistory(history,
-                                             HistoryMenuOption.VIEW_ALL);
-                }
-                case VIEW_WON -> {
-                    history = gameHistoryManager.loadGameHistory();
-                    uiHandler.displayHistory(gameHistoryManager.filterHistoryByOutcome(history,
-                                                                                       OUTCOME_WON),
-                                             HistoryMenuOption.VIEW_WON);
-                }
-                case VIEW_LOST -> {
-                    history = gameHistoryManager.loadGameHistory();
-                    uiHandler.displayHistory(gameHistoryManager.filterHistoryByOutcome(history,
-                                                                                       OUTCOME_LOST),
-                                             HistoryMenuOption.VIEW_LOST);
-                }
+                case VIEW_ALL -> displayHistoryPaged(gameHistoryManager.streamHistory(record -> true),
+                                                     HistoryMenuOption.VIEW_ALL);
+                case VIEW_WON -> displayHistoryPaged(gameHistoryManager.streamHistoryByOutcome(OUTCOME_WON),
+                                                     HistoryMenuOption.VIEW_WON);
+                case VIEW_LOST -> displayHistoryPaged(gameHistoryManager.streamHistoryByOutcome(OUTCOME_LOST),
+                                                      HistoryMenuOption.VIEW_LOST);
+                case STATISTICS -> uiHandler.displayHistoryStatistics(gameHistoryManager.analyzeHistory());
                 case BACK_TO_MAIN -> {
                 }
                 default -> uiHandler.displayError("Unexpected history menu choice: " +
@@ -135,18 +263,110 @@ public final class MastermindGame implements
         } while(choice != HistoryMenuOption.BACK_TO_MAIN);
     }
 
+    /*
+     * Shows a stream of history records a page at a time, then closes it.
+     *
+     * @param history     the records to show, read as pages are displayed
+     * @param historyType which history view is being shown
+     */
+    private void displayHistoryPaged(final Stream<GameSessionRecord> history,
+                                     final HistoryMenuOption historyType)
+    {
+        try(history)
+        {
+            uiHandler.displayHistoryPaged(history.iterator(),
+                                          historyType,
+                                          HISTORY_PAGE_SIZE);
+        }
+    }
+
     /*
      * Initializes the state for a new game.
-     * Resets rounds, generates a new secret code, and resets counters.
+     * Picks up the oldest unfinished game if there is one, and otherwise
+     * starts a fresh session with its own generator split from this game's.
      */
     public void setupNewGame()
     {
-        rounds     = new ArrayList<>();
-        secretCode = SecretCode.generateRandomCode(Code.CODE_LENGTH);
+        if(!unfinishedSessions.isEmpty())
+        {
+            resumeUnfinishedGame();
+            return;
+        }
+
+        final MastermindSession newSession;
+        newSession = new MastermindSession(random.split(),
+                                           geometry);
+
+        setupNewGame(newSession);
+        if(journal != null && geometry.isClassic())
+        {
+            sessionId = journal.nextSessionId();
+            writeJournal(gameJournal -> gameJournal.sessionStarted(sessionId,
+                                                                   newSession));
+        }
+    }
+
+    /*
+     * Initializes the state for a new game played in the given session.
+     *
+     * @param newSession the session to play
+     */
+    void setupNewGame(final MastermindSession newSession)
+    {
+        if(newSession == null)
+        {
+            throw new IllegalArgumentException("Session cannot be null");
+        }
+
+        // The last game's rounds may still be being prepared.
+        roundExecutor.awaitIdle();
+        session = newSession;
+    }
+
+    /*
+     * Rebuilds the games the journal holds that were never finished, so they
+     * can be played on.
+     */
+    private void restoreUnfinishedSessions()
+    {
+        try
+        {
+            unfinishedSessions.putAll(journal.restore(random));
+        }
+        catch(final IOException e)
+        {
+            uiHandler.displayError("Could not restore unfinished games from " +
+                                   journal.getPath() +
+                                   ": " +
+                                   e.getMessage());
+            journal = null;
+        }
+    }
+
+    /*
+     * Continues the oldest unfinished game, preparing its rounds for history
+     * as if they had just been played.
+     */
+    private void resumeUnfinishedGame()
+    {
+        final Iterator<Map.Entry<Long, MastermindSession>> unfinished;
+        final Map.Entry<Long, MastermindSession>           next;
 
-        Round.resetDeceptiveRounds();
-        TRUTH_SCANNER.resetTruthScanner();
-        truthScanInfoForHistory = "Not Used";
+        unfinished = unfinishedSessions.entrySet()
+                                       .iterator();
+        next       = unfinished.next();
+        unfinished.remove();
+
+        setupNewGame(next.getValue());
+        sessionId = next.getKey();
+        for(final Round round : session.getRounds())
+        {
+            prepareRoundForHistory(round);
+        }
+
+        uiHandler.displayGameResumed(session.getRounds()
+                                            .size(),
+                                     INPUT_GUESS_SUMMARY);
     }
 
     /*
@@ -160,12 +380,12 @@ public final class MastermindGame implements
         uiHandler.promptForPlayedBefore();
         final String response;
 
-        response = GuessHandler.getYesNoResponse();
+        response = guessHandler.getYesNoResponse();
 
         if(!response.equalsIgnoreCase(YES))
         {
             displayFormattedRules();
-            final String ready = GuessHandler.getYesNoResponse();
+            final String ready = guessHandler.getYesNoResponse();
 
             if(!ready.equalsIgnoreCase(YES))
             {
@@ -174,8 +394,8 @@ public final class MastermindGame implements
             }
         }
 
-        uiHandler.displayInitialInstructions(Code.CODE_LENGTH,
-                                             MAX_ROUNDS);
+        uiHandler.displayInitialInstructions(geometry.getLength(),
+                                             MastermindSession.MAX_ROUNDS);
         return true;
     }
 
@@ -192,24 +412,30 @@ public final class MastermindGame implements
 
     /*
      * Plays a single round of the game.
-     * Handles player input (guess, scan, summary) and processes the guess.
+     * Gets the next guess, from the player (guess, scan, summary, hint) or
+     * from the plugged-in strategy, and processes it.
      */
     @Override
     public void playOneRound()
     {
-        final int          roundNumber;
-        final PlayerAction action;
+        final int             roundNumber;
+        final PlayerGuessCode guess;
 
-        roundNumber = rounds.size() + ROUND_INCREMENT;
+        roundNumber = session.getRounds()
+                             .size() + ROUND_INCREMENT;
         uiHandler.displayRoundHeader(roundNumber,
-                                     MAX_ROUNDS);
-
-        action = handlePlayerInput();
+                                     MastermindSession.MAX_ROUNDS);
 
-        if(action instanceof PlayerGuessCode playerGuess)
+        if(guessStrategy == null)
         {
-            processGuess(playerGuess);
+            guess = handlePlayerInput();
         }
+        else
+        {
+            guess = guessStrategy.nextGuess(session.getRounds());
+        }
+
+        processGuess(guess);
     }
 
     /*
@@ -234,8 +460,10 @@ public final class MastermindGame implements
 
         final String        outcome;
         final LocalDateTime endTime;
+        final List<Round>   rounds;
 
         endTime = LocalDateTime.now();
+        rounds  = session.getRounds();
 
         if(rounds.isEmpty())
         {
@@ -244,31 +472,30 @@ public final class MastermindGame implements
         }
         else
         {
-            final Round lastRound;
-            final int   roundsPlayed;
-
-            lastRound    = rounds.get(rounds.size() - ROUND_INCREMENT);
+            final int roundsPlayed;
             roundsPlayed = rounds.size();
 
-            if(isCorrectGuess(lastRound))
+            if(session.isWon())
             {
                 uiHandler.displayWinMessage(roundsPlayed);
                 outcome = OUTCOME_WON;
             }
             else
             {
-                uiHandler.displayLossMessage(secretCode);
+                uiHandler.displayLossMessage(session.getSecretCode());
                 outcome = OUTCOME_LOST;
             }
         }
 
         uiHandler.displaySeparator();
 
-        if(!rounds.isEmpty())
+        if(!rounds.isEmpty() && session.getGeometry()
+                                       .isClassic())
         {
             saveCurrentGameToHistory(endTime,
                                      outcome);
         }
+        writeSessionJournal(gameJournal -> gameJournal.sessionEnded(sessionId));
     }
 
     /*
@@ -280,70 +507,43 @@ public final class MastermindGame implements
      */
     boolean isGameOver()
     {
-        if(rounds.isEmpty())
-        {
-            return false;
-        }
-
-        final Round   lastRound;
-        final boolean maxRoundsReached;
-
-        lastRound = rounds.get(rounds.size() - ROUND_INCREMENT);
-
-        if(isCorrectGuess(lastRound))
-        {
-            return true;
-        }
-
-        maxRoundsReached = rounds.size() >= MAX_ROUNDS;
+        return session.isGameOver();
+    }
 
-        return maxRoundsReached;
+    /**
+     * Gets the time taken to play each round so far, from being handed a
+     * guess to having feedback ready to show.
+     *
+     * @return the per-round latency of this game's round executor
+     */
+    LatencyRecorder getRoundLatency()
+    {
+        return roundExecutor.getLatency();
     }
 
     /*
-     * Processes a player's guess asynchronously.
-     * Creates feedback and a new round object in a background thread,
-     * then waits for the result before adding it to the history and displaying
-     * feedback.
+     * Processes a player's guess.
+     * Plays the guess through the round executor, which also prepares the
+     * round for history, then displays the feedback.
      *
      * @param guess The player's guess code for the current round.
      */
     private void processGuess(final PlayerGuessCode guess)
     {
-        final int                      nextRoundNumber;
-        final CompletableFuture<Round> roundFuture;
-
-        nextRoundNumber = rounds.size() + ROUND_INCREMENT;
-
-        roundFuture = CompletableFuture.supplyAsync(() ->
-        {
-            final Feedback actualFeedback;
-            final Round    calculatedRound;
-
-            actualFeedback  = new Feedback(secretCode,
-                                           guess);
-            calculatedRound = new Round(nextRoundNumber,
-                                        guess,
-                                        actualFeedback);
-            return calculatedRound;
-        });
-
         try
         {
             final Round    thisRound;
             final Feedback displayFeedback;
 
-            thisRound = roundFuture.join();
-            rounds.add(thisRound);
+            thisRound = roundExecutor.playRound(session,
+                                                guess,
+                                                this::prepareRoundForHistory);
+            writeSessionJournal(gameJournal -> gameJournal.roundPlayed(sessionId,
+                                                                       thisRound));
 
             displayFeedback = thisRound.getFeedback();
             uiHandler.displayFeedback(displayFeedback);
         }
-        catch(final CompletionException e)
-        {
-            uiHandler.displayError("Error during feedback calculation: " +
-                                   e.getCause());
-        }
         catch(final Exception e)
         {
             uiHandler.displayError("Unexpected error processing guess: " +
@@ -351,6 +551,23 @@ public final class MastermindGame implements
         }
     }
 
+    /*
+     * Packs a recorded round the way the history stores it, ahead of the
+     * game being saved. Only classic games are saved.
+     *
+     * @param round the round to prepare
+     */
+    private void prepareRoundForHistory(final Round round)
+    {
+        if(!round.getGuess()
+                 .getGeometry()
+                 .isClassic())
+        {
+            return;
+        }
+        preparedRounds[round.getRoundNumber() - ROUND_INCREMENT] = PackedRound.of(round);
+    }
+
     /*
      * Handles player input within a round of the Mastermind game.
      * <p>
@@ -359,10 +576,11 @@ public final class MastermindGame implements
      * until a valid PlayerGuessCode is received, which is then returned.
      * </p>
      * <p>
-     * The method handles three main types of player actions:
+     * The method handles four main types of player actions:
      * 1. PlayerGuessCode - A valid guess that will be returned to the caller
      * 2. TruthScanRequest - Processed by calling handleTruthScanAction()
      * 3. GuessSummaryRequest - Processed by calling handleGuessSummaryAction()
+     * 4. HintRequest - Processed by calling handleHintAction()
      * </p>
      * <p>
      * Error handling is implemented for several scenarios:
@@ -373,34 +591,37 @@ public final class MastermindGame implements
      * - For unexpected input types, a generic error message is displayed
      * </p>
      * <p>
-     * After handling TruthScanRequest or GuessSummaryRequest actions, the method
+     * After handling TruthScanRequest, GuessSummaryRequest or HintRequest actions, the method
      * continues the loop to get another input. Only when a valid PlayerGuessCode
      * is received does the method exit the loop and return the guess.
      * </p>
      *
      * @return The PlayerGuessCode representing the player's valid guess
      */
-    private PlayerAction handlePlayerInput()
+    private PlayerGuessCode handlePlayerInput()
     {
         while(true)
         {
             uiHandler.promptForGuess(INPUT_TRUTH_SCAN,
-                                     INPUT_GUESS_SUMMARY);
+                                     INPUT_GUESS_SUMMARY,
+                                     INPUT_HINT);
 
             final PlayerAction input;
             try
             {
-                input = GuessHandler.getPlayerInput();
+                input = guessHandler.getPlayerInput(session.getGeometry());
             }
             catch(final InvalidGuessException e)
             {
                 uiHandler.displayError(e.getMessage());
-                uiHandler.displayMessage(String.format("Please try again. Enter %d digits (%d-%d), '%s' for truth scan, or '%s' for summary.",
-                                                       Code.CODE_LENGTH,
-                                                       Code.DIGIT_MIN,
-                                                       Code.DIGIT_MAX,
+                uiHandler.displayMessage(String.format("Please try again. Enter %d digits (%s), '%s' for truth scan, '%s' for summary, or '%s' for a hint.",
+                                                       session.getGeometry()
+                                                              .getLength(),
+                                                       session.getGeometry()
+                                                              .describeDigits(),
                                                        INPUT_TRUTH_SCAN,
-                                                       INPUT_GUESS_SUMMARY));
+                                                       INPUT_GUESS_SUMMARY,
+                                                       INPUT_HINT));
                 continue;
             }
 
@@ -418,6 +639,10 @@ public final class MastermindGame implements
             {
                 handleGuessSummaryAction();
             }
+            else if(input instanceof PlayerAction.HintRequest)
+            {
+                handleHintAction();
+            }
             else if(input instanceof PlayerGuessCode guess)
             {
                 return guess;
@@ -432,17 +657,29 @@ public final class MastermindGame implements
     /*
      * Handles the action when a Truth Scan is requested by the player.
      * Invokes the truth scanner and prints appropriate messages.
-     * Updates the truthScanInfoForHistory field if successful.
+     * The session records the scan for history if it succeeds.
      */
     private void handleTruthScanAction()
     {
         uiHandler.displayTruthScanRequested();
-        final String scanResultInfo = TRUTH_SCANNER.handleTruthScanRequestAndGetInfo(rounds,
-                                                                                     secretCode);
+        // The scan prints its own messages, so show ours first.
+        uiHandler.flush();
+        final String scanResultInfo = session.useTruthScan(guessHandler);
 
         if(scanResultInfo != null)
         {
-            this.truthScanInfoForHistory = scanResultInfo;
+            // A revealed round is stored differently, so prepare it again.
+            roundExecutor.awaitIdle();
+            for(final Round round : session.getRounds())
+            {
+                if(round.isTruthRevealed())
+                {
+                    prepareRoundForHistory(round);
+                }
+            }
+
+            writeSessionJournal(gameJournal -> gameJournal.truthScanUsed(sessionId,
+                                                                         session));
             uiHandler.displayTruthScanResult(scanResultInfo);
             uiHandler.displayTruthScanComplete();
         }
@@ -454,10 +691,14 @@ public final class MastermindGame implements
 
     /*
      * Handles the action when a Guess Summary is requested by the player.
-     * Calls the method to print the summary.
+     * Calls the method to print the summary, followed by how many codes the
+     * visible feedback still allows.
      */
     private void handleGuessSummaryAction()
     {
+        final List<Round> rounds;
+        rounds = session.getRounds();
+
         uiHandler.displayGuessSummarySeparator();
         if(rounds.isEmpty())
         {
@@ -470,26 +711,109 @@ public final class MastermindGame implements
                 uiHandler.displayGuessSummaryItem(round.toString());
             }
         }
+        uiHandler.displayRemainingPossibilities(session.getRemainingPossibilities());
+    }
+
+    /*
+     * Handles the action when a Hint is requested by the player.
+     * Asks the solver for the next guess, allowing for deceptive feedback,
+     * and for the round most worth scanning while the truth scan is unused.
+     * The solver only plays the classic game, and is made on the first hint
+     * so games played without hints never build it.
+     */
+    private void handleHintAction()
+    {
+        if(!session.getGeometry()
+                   .isClassic())
+        {
+            uiHandler.displayMessage("\nHints are only available in the classic game.");
+            return;
+        }
+
+        if(solver == null)
+        {
+            solver = new MastermindSolver(MastermindSolver.Strategy.DECEPTION_AWARE,
+                                          ForkJoinPool.commonPool());
+        }
+
+        final List<Round>     rounds;
+        final PlayerGuessCode suggestion;
+
+        rounds     = session.getRounds();
+        suggestion = solver.suggestNextGuess(rounds);
+        uiHandler.displayHint(suggestion);
+
+        if(!session.isTruthScanUsed())
+        {
+            final int scanRound;
+            scanRound = solver.suggestTruthScanRound(rounds);
+
+            if(scanRound != DeceptionModel.NO_ROUND)
+            {
+                uiHandler.displayScanAdvice(scanRound);
+            }
+        }
     }
 
     /*
-     * Checks if the guess in a given round matches the secret code.
+     * Gets the session for the current game.
      *
-     * @param round The round to check.
-     * 
-     * @return true if the guess is correct, false otherwise.
+     * @return the current session
+     */
+    MastermindSession getSession()
+    {
+        return session;
+    }
+
+    /*
+     * A change to record in the session journal.
      */
-    private boolean isCorrectGuess(final Round round)
+    @FunctionalInterface
+    private interface JournalEntry
     {
-        final Feedback actualFeedback;
-        final boolean  isCorrectGuess;
+        void writeTo(SessionJournal gameJournal) throws IOException;
+    }
 
-        actualFeedback = new Feedback(secretCode,
-                                      round.getGuess());
-        isCorrectGuess = actualFeedback.getCorrectPositionCount() ==
-                         Code.CODE_LENGTH;
+    /*
+     * Records a change in the session journal, if there is one. The game
+     * carries on without the journal once writing to it fails.
+     *
+     * @param entry the change to record
+     */
+    private void writeJournal(final JournalEntry entry)
+    {
+        if(journal == null)
+        {
+            return;
+        }
+
+        try
+        {
+            entry.writeTo(journal);
+        }
+        catch(final IOException e)
+        {
+            uiHandler.displayError("Could not save game progress to " +
+                                   journal.getPath() +
+                                   ": " +
+                                   e.getMessage());
+            journal = null;
+        }
+    }
 
-        return isCorrectGuess;
+    /*
+     * Records a change to the current game in the session journal. Only
+     * classic games are journalled.
+     *
+     * @param entry the change to record
+     */
+    private void writeSessionJournal(final JournalEntry entry)
+    {
+        if(session.getGeometry()
+                  .isClassic())
+        {
+            writeJournal(entry);
+        }
     }
 
     /*
@@ -502,16 +826,17 @@ public final class MastermindGame implements
     private void saveCurrentGameToHistory(final LocalDateTime endTime,
                                           final String outcome)
     {
-        final List<String>      roundDetails;
+        final int[]             rounds;
         final GameSessionRecord record;
 
-        roundDetails = rounds.stream()
-                             .map(Round::toString)
-                             .collect(Collectors.toList());
-        record       = new GameSessionRecord(endTime,
-                                             roundDetails,
-                                             this.truthScanInfoForHistory,
-                                             outcome);
+        roundExecutor.awaitIdle();
+        rounds = Arrays.copyOf(preparedRounds,
+                               session.getRounds()
+                                      .size());
+        record = new GameSessionRecord(endTime,
+                                       rounds,
+                                       session.getTruthScanInfo(),
+                                       outcome);
 
         uiHandler.displaySavingHistory();
         gameHistoryManager.saveGameHistory(record);
@@ -525,13 +850,14 @@ public final class MastermindGame implements
      */
     private void displayFormattedRules()
     {
-        uiHandler.displayRules(Code.CODE_LENGTH,
+        uiHandler.displayRules(geometry.getLength(),
                                Code.DIGIT_MIN,
-                               Code.DIGIT_MAX,
-                               MAX_ROUNDS,
-                               Round.DECEPTIVE_ROUNDS_ALLOWED,
+                               geometry.getColours(),
+                               MastermindSession.MAX_ROUNDS,
+                               geometry.isClassic() ? Round.DECEPTIVE_ROUNDS_ALLOWED : NO_DECEPTIVE_ROUNDS,
                                INPUT_TRUTH_SCAN,
                                INPUT_GUESS_SUMMARY,
+                               INPUT_HINT,
                                Code.EXAMPLE_SECRET,
                                Code.EXAMPLE_GUESS,
                                Code.EXAMPLE_CORRECT_POSITIONS,
@@ -0,0 +1,395 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+/**
+ * Plays many games against a {@link MastermindServer} at once to measure how
+ * it copes.
+ * <p>
+ * Opens the given number of connections and, on each, sends a random guess
+ * every time the server's prompt arrives, for the given number of seconds.
+ * The time from sending a guess to receiving the next prompt is recorded for
+ * every round. All connections are driven from one thread with a
+ * {@link Selector}, so the client can hold as many connections as the
+ * operating system allows.
+ * </p>
+ * <p>
+ * Usage: {@code MastermindLoadClient [connections] [seconds] [port] [host]}
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public final class MastermindLoadClient
+{
+    private static final int  DEFAULT_CONNECTIONS   = 1_000;
+    private static final int  DEFAULT_SECONDS       = 10;
+    private static final long SEED                  = 7L;
+    private static final int  READ_BUFFER_BYTES     = 8 * 1024;
+    private static final long SELECT_TIMEOUT_MILLIS = 100L;
+    private static final byte ZERO_CHARACTER        = '0';
+    private static final byte NEW_LINE              = '\n';
+
+    private static final int ARG_CONNECTIONS = 0;
+    private static final int ARG_SECONDS     = 1;
+    private static final int ARG_PORT        = 2;
+    private static final int ARG_HOST        = 3;
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private static final byte[] PROMPT_END = UIHandler.REMOTE_PROMPT_END.getBytes(StandardCharsets.US_ASCII);
+
+    private final InetSocketAddress address;
+    private final int               connections;
+    private final int               seconds;
+    private final SplittableRandom  random;
+    private final ByteBuffer        readBuffer;
+    private final LatencyRecorder   latency;
+
+    private int  connected;
+    private int  dropped;
+    private long rounds;
+
+    /**
+     * Constructs a {@code MastermindLoadClient}.
+     *
+     * @param address     the server to connect to
+     * @param connections the number of players to connect
+     * @param seconds     how long to play for
+     */
+    MastermindLoadClient(final InetSocketAddress address,
+                         final int connections,
+                         final int seconds)
+    {
+        if(address == null)
+        {
+            throw new IllegalArgumentException("Address cannot be null");
+        }
+        if(connections <= 0)
+        {
+            throw new IllegalArgumentException("Connections must be positive: " +
+                                               connections);
+        }
+        if(seconds <= 0)
+        {
+            throw new IllegalArgumentException("Seconds must be positive: " +
+                                               seconds);
+        }
+
+        this.address     = address;
+        this.connections = connections;
+        this.seconds     = seconds;
+        this.random      = new SplittableRandom(SEED);
+        this.readBuffer  = ByteBuffer.allocateDirect(READ_BUFFER_BYTES);
+        this.latency     = new LatencyRecorder();
+    }
+
+    /**
+     * Entry point for the load client.
+     *
+     * @param args optional connection count, seconds, port and host
+     * @throws IOException if the client cannot open its connections
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        final int                  connections;
+        final int                  seconds;
+        final int                  port;
+        final InetSocketAddress    address;
+        final MastermindLoadClient client;
+
+        connections = args.length > ARG_CONNECTIONS ?
+                      Integer.parseInt(args[ARG_CONNECTIONS]) :
+                      DEFAULT_CONNECTIONS;
+        seconds     = args.length > ARG_SECONDS ?
+                      Integer.parseInt(args[ARG_SECONDS]) :
+                      DEFAULT_SECONDS;
+        port        = args.length > ARG_PORT ?
+                      Integer.parseInt(args[ARG_PORT]) :
+                      MastermindServer.DEFAULT_PORT;
+        address     = args.length > ARG_HOST ?
+                      new InetSocketAddress(args[ARG_HOST],
+                                            port) :
+                      new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                                            port);
+        client      = new MastermindLoadClient(address,
+                                               connections,
+                                               seconds);
+
+        System.out.println(client.run());
+    }
+
+    /**
+     * Connects every player and plays until the time is up.
+     *
+     * @return what happened during the run
+     * @throws IOException if the connections cannot be opened
+     */
+    LoadResult run() throws IOException
+    {
+        final long startTime;
+        final long endTime;
+
+        try(final Selector selector = Selector.open())
+        {
+            for(int i = 0; i < connections; i++)
+            {
+                final SocketChannel channel;
+                channel = SocketChannel.open();
+
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY,
+                                  true);
+                channel.connect(address);
+                channel.register(selector,
+                                 SelectionKey.OP_CONNECT,
+                                 new Player());
+            }
+
+            startTime = System.nanoTime();
+            endTime   = startTime + (long)(seconds * NANOS_PER_SECOND);
+            while(System.nanoTime() < endTime)
+            {
+                selector.select(this::handleKey,
+                                SELECT_TIMEOUT_MILLIS);
+            }
+
+            for(final SelectionKey key : selector.keys())
+            {
+                key.channel()
+                   .close();
+            }
+        }
+
+        return new LoadResult(connections,
+                              connected,
+                              dropped,
+                              rounds,
+                              (System.nanoTime() - startTime) / NANOS_PER_SECOND,
+                              latency);
+    }
+
+    /*
+     * Finishes connecting, or reads what the server sent and answers each
+     * prompt with a guess.
+     */
+    private void handleKey(final SelectionKey key)
+    {
+        final SocketChannel channel;
+        final Player        player;
+
+        channel = (SocketChannel)key.channel();
+        player  = (Player)key.attachment();
+
+        try
+        {
+            if(key.isConnectable())
+            {
+                channel.finishConnect();
+                key.interestOps(SelectionKey.OP_READ);
+                connected++;
+                return;
+            }
+
+            readBuffer.clear();
+            if(channel.read(readBuffer) < 0)
+            {
+                throw new IOException("Server closed the connection");
+            }
+
+            readBuffer.flip();
+            while(readBuffer.hasRemaining())
+            {
+                if(player.matchPrompt(readBuffer.get()))
+                {
+                    answerPrompt(channel,
+                                 player);
+                }
+            }
+        }
+        catch(final IOException e)
+        {
+            dropped++;
+            key.cancel();
+            try
+            {
+                channel.close();
+            }
+            catch(final IOException closeFailure)
+            {
+                // The player is being dropped either way.
+            }
+        }
+    }
+
+    /*
+     * Records the round that just finished, if any, and sends a new guess.
+     */
+    private void answerPrompt(final SocketChannel channel,
+                              final Player player) throws IOException
+    {
+        final long now;
+        final int  guess;
+
+        now = System.nanoTime();
+        if(player.sentTime != Player.NOT_SENT)
+        {
+            latency.record(now - player.sentTime);
+            rounds++;
+        }
+
+        guess = FeedbackTable.codeAt(random.nextInt(FeedbackTable.CODE_COUNT));
+        player.guess.clear();
+        for(int position = 0; position < Code.CODE_LENGTH; position++)
+        {
+            player.guess.put((byte)(ZERO_CHARACTER + Code.digitAt(guess,
+                                                                  position)));
+        }
+        player.guess.put(NEW_LINE);
+        player.guess.flip();
+
+        channel.write(player.guess);
+        if(player.guess.hasRemaining())
+        {
+            throw new IOException("Server is not reading guesses");
+        }
+        player.sentTime = now;
+    }
+
+    /*
+     * One simulated player: how much of the prompt has arrived, and when
+     * their last guess was sent.
+     */
+    private static final class Player
+    {
+        private static final long NOT_SENT = 0L;
+
+        private final ByteBuffer guess;
+
+        private int  promptMatched;
+        private long sentTime;
+
+        /*
+         * Constructs a player that has not guessed yet.
+         */
+        private Player()
+        {
+            this.guess    = ByteBuffer.allocate(Code.CODE_LENGTH + 1);
+            this.sentTime = NOT_SENT;
+        }
+
+        /*
+         * Follows the server's output a byte at a time.
+         *
+         * @return true once the end of a prompt has arrived
+         */
+        private boolean matchPrompt(final byte value)
+        {
+            if(value == PROMPT_END[promptMatched])
+            {
+                promptMatched++;
+            }
+            else
+            {
+                promptMatched = value == PROMPT_END[0] ? 1 : 0;
+            }
+
+            if(promptMatched == PROMPT_END.length)
+            {
+                promptMatched = 0;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * What happened during a load run.
+     */
+    static final class LoadResult
+    {
+        private final int             requested;
+        private final int             connected;
+        private final int             dropped;
+        private final long            rounds;
+        private final double          seconds;
+        private final LatencyRecorder latency;
+
+        /*
+         * Constructs a LoadResult.
+         */
+        private LoadResult(final int requested,
+                           final int connected,
+                           final int dropped,
+                           final long rounds,
+                           final double seconds,
+                           final LatencyRecorder latency)
+        {
+            this.requested = requested;
+            this.connected = connected;
+            this.dropped   = dropped;
+            this.rounds    = rounds;
+            this.seconds   = seconds;
+            this.latency   = latency;
+        }
+
+        /**
+         * Gets how many players connected.
+         *
+         * @return the number of connections made
+         */
+        int getConnected()
+        {
+            return connected;
+        }
+
+        /**
+         * Gets how many players lost their connection.
+         *
+         * @return the number of connections dropped
+         */
+        int getDropped()
+        {
+            return dropped;
+        }
+
+        /**
+         * Gets how many rounds were played in all.
+         *
+         * @return the number of rounds
+         */
+        long getRounds()
+        {
+            return rounds;
+        }
+
+        /**
+         * Returns a short report of the run.
+         *
+         * @return the report
+         */
+        @Override
+        public String toString()
+        {
+            return String.format("Connections: %d of %d, dropped: %d%n" +
+                                 "Rounds: %d in %.1f s (%.0f per second)%n" +
+                                 "Round trip (us): %s",
+                                 connected,
+                                 requested,
+                                 dropped,
+                                 rounds,
+                                 seconds,
+                                 rounds / seconds,
+                                 latency);
+        }
+    }
+}
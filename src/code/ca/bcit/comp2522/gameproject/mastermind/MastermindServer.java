@@ -0,0 +1,764 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import ca.bcit.comp2522.gameproject.input.ScriptedInputSource;
+import ca.bcit.comp2522.gameproject.output.StreamOutputSink;
+
+/**
+ * Hosts {@code Mastermind} over TCP for many players at once.
+ * <p>
+ * Each connection plays its own {@link MastermindSession} and is shown the
+ * same screens as the console game, rendered by a {@link UIHandler}. A player
+ * sends one line per guess, {@value #INPUT_SUMMARY} for a summary of their
+ * guesses or {@value #INPUT_QUIT} to leave. When a game ends the next one
+ * starts straight away.
+ * </p>
+ * <p>
+ * Every connection is served by a single thread waiting on a
+ * {@link Selector}. Playing a guess takes microseconds and never waits on a
+ * player, so thousands of players need no thread each. A connection holds
+ * only its session, a line buffer of {@value #MAX_LINE_BYTES} bytes and any
+ * output the player has not read yet. That output is capped at
+ * {@value #MAX_PENDING_BYTES} bytes; the connection stops being read while
+ * output is waiting and is dropped if the cap is reached.
+ * </p>
+ * <p>
+ * The truth scan and hints stay in the console game. The scan asks its
+ * question outside the {@code UIHandler}, and the solver behind hints takes
+ * long enough to stall every other player. Network games are not saved to
+ * the history file.
+ * </p>
+ * <p>
+ * Usage: {@code MastermindServer [port] [host]}, listening on
+ * {@value #DEFAULT_PORT} on the loopback address by default. Use port 0 to
+ * pick any free port.
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public final class MastermindServer implements
+                                    AutoCloseable
+{
+    static final int    DEFAULT_PORT  = 4242;
+    static final String INPUT_SUMMARY = MastermindGame.INPUT_GUESS_SUMMARY;
+    static final String INPUT_QUIT    = "q";
+
+    private static final int MAX_LINE_BYTES    = 64;
+    private static final int MAX_PENDING_BYTES = 64 * 1024;
+    private static final int READ_BUFFER_BYTES = 8 * 1024;
+    private static final int ACCEPT_BACKLOG    = 1024;
+    private static final int ROUND_INCREMENT   = 1;
+
+    private static final int ARG_PORT = 0;
+    private static final int ARG_HOST = 1;
+
+    private static final byte NEW_LINE   = '\n';
+    private static final int  LOWER_CASE = 0x20;
+    private static final int  SINGLE_KEY = 1;
+
+    private final Selector            selector;
+    private final ServerSocketChannel serverChannel;
+    private final SplittableRandom    random;
+    private final UIHandler           ui;
+    private final ByteBuffer          readBuffer;
+
+    private Connection       current;
+    private volatile int     connectionCount;
+    private volatile boolean closed;
+
+    /**
+     * Constructs a {@code MastermindServer} listening on the given address.
+     * Nothing is served until {@link #serve()} is called.
+     *
+     * @param address the address to listen on
+     * @param random  the generator each session's generator is split from
+     * @throws IOException if the address cannot be bound
+     */
+    MastermindServer(final InetSocketAddress address,
+                     final SplittableRandom random) throws IOException
+    {
+        if(address == null)
+        {
+            throw new IllegalArgumentException("Address cannot be null");
+        }
+        if(random == null)
+        {
+            throw new IllegalArgumentException("Random cannot be null");
+        }
+
+        final StreamOutputSink sink;
+        sink = new StreamOutputSink(new CurrentConnectionStream(),
+                                    StandardCharsets.UTF_8);
+
+        this.random        = random;
+        this.readBuffer    = ByteBuffer.allocateDirect(READ_BUFFER_BYTES);
+        this.ui            = new UIHandler(ScriptedInputSource.of(),
+                                           sink,
+                                           sink);
+        this.selector      = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        this.serverChannel.bind(address,
+                                ACCEPT_BACKLOG);
+        this.serverChannel.configureBlocking(false);
+        this.serverChannel.register(selector,
+                                    SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * Entry point for the server.
+     *
+     * @param args optional port and host to listen on
+     * @throws IOException if the server cannot listen
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        final int               port;
+        final InetSocketAddress address;
+
+        port    = args.length > ARG_PORT ?
+                  Integer.parseInt(args[ARG_PORT]) :
+                  DEFAULT_PORT;
+        address = args.length > ARG_HOST ?
+                  new InetSocketAddress(args[ARG_HOST],
+                                        port) :
+                  new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                                        port);
+
+        try(final MastermindServer server = new MastermindServer(address,
+                                                                 new SplittableRandom()))
+        {
+            System.out.printf("Mastermind server listening on port %d%n",
+                              server.getPort());
+            server.serve();
+        }
+    }
+
+    /**
+     * Gets the port the server is listening on.
+     *
+     * @return the local port
+     */
+    int getPort()
+    {
+        return serverChannel.socket()
+                            .getLocalPort();
+    }
+
+    /**
+     * Gets how many players are connected.
+     *
+     * @return the number of open connections
+     */
+    int getConnectionCount()
+    {
+        return connectionCount;
+    }
+
+    /**
+     * Serves players on the calling thread until {@link #close()} is called.
+     *
+     * @throws IOException if waiting for connections fails
+     */
+    void serve() throws IOException
+    {
+        while(!closed)
+        {
+            selector.select(this::handleKey);
+        }
+        closeConnections();
+    }
+
+    /**
+     * Stops serving. May be called from any thread; connections are closed
+     * by the serving thread once it wakes.
+     */
+    @Override
+    public void close()
+    {
+        closed = true;
+        selector.wakeup();
+    }
+
+    /*
+     * Handles one ready channel, dropping a player whose connection fails
+     * without stopping the others.
+     */
+    private void handleKey(final SelectionKey key)
+    {
+        if(!key.isValid())
+        {
+            return;
+        }
+
+        if(key.isAcceptable())
+        {
+            acceptConnections();
+            return;
+        }
+
+        final Connection connection;
+        connection = (Connection)key.attachment();
+
+        try
+        {
+            if(key.isWritable())
+            {
+                connection.writePending();
+                if(connection.isFinished())
+                {
+                    closeConnection(connection);
+                    return;
+                }
+            }
+            if(key.isValid() && key.isReadable())
+            {
+                readLines(connection);
+            }
+        }
+        catch(final IOException | RuntimeException e)
+        {
+            closeConnection(connection);
+        }
+    }
+
+    /*
+     * Accepts every waiting connection and shows each player their first
+     * game.
+     */
+    private void acceptConnections()
+    {
+        try
+        {
+            while(!closed)
+            {
+                final SocketChannel channel;
+                final SelectionKey  key;
+                final Connection    connection;
+
+                channel = serverChannel.accept();
+                if(channel == null)
+                {
+                    return;
+                }
+
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY,
+                                  true);
+                key        = channel.register(selector,
+                                              SelectionKey.OP_READ);
+                connection = new Connection(channel,
+                                            key,
+                                            new MastermindSession(random.split()));
+                key.attach(connection);
+                connectionCount++;
+
+                render(connection,
+                       this::startGame);
+            }
+        }
+        catch(final IOException e)
+        {
+            System.err.println("Failed to accept a connection: " +
+                               e.getMessage());
+        }
+    }
+
+    /*
+     * Reads what a player has sent and handles each complete line.
+     */
+    private void readLines(final Connection connection) throws IOException
+    {
+        final int bytesRead;
+
+        readBuffer.clear();
+        bytesRead = connection.channel.read(readBuffer);
+        if(bytesRead < 0)
+        {
+            closeConnection(connection);
+            return;
+        }
+
+        readBuffer.flip();
+        while(readBuffer.hasRemaining() && connection.isReading())
+        {
+            final byte next;
+            next = readBuffer.get();
+
+            if(next == NEW_LINE)
+            {
+                render(connection,
+                       this::handleLine);
+                connection.clearLine();
+            }
+            else
+            {
+                connection.appendToLine(next);
+            }
+        }
+    }
+
+    /*
+     * Runs a piece of UI work for one connection and sends the screen it
+     * produced to that connection. The UI is shared by every connection, so
+     * whatever a failed screen left behind is dropped before the next player
+     * is rendered, and a failure closes only this player's connection.
+     */
+    private void render(final Connection connection,
+                        final ConnectionAction action)
+    {
+        current = connection;
+        try
+        {
+            action.run(connection);
+            ui.flush();
+        }
+        catch(final UncheckedIOException e)
+        {
+            closeConnection(connection);
+        }
+        catch(final RuntimeException e)
+        {
+            System.err.println("Dropping a player after an unexpected error: " +
+                               e);
+            closeConnection(connection);
+        }
+        finally
+        {
+            ui.discardOutput();
+            current = null;
+        }
+    }
+
+    /*
+     * Work done for a connection while it is the one being rendered.
+     */
+    @FunctionalInterface
+    private interface ConnectionAction
+    {
+        void run(Connection connection);
+    }
+
+    /*
+     * Shows the instructions and the first prompt of a new game.
+     */
+    private void startGame(final Connection connection)
+    {
+        ui.displayInitialInstructions(Code.CODE_LENGTH,
+                                      MastermindSession.MAX_ROUNDS);
+        promptForGuess(connection);
+    }
+
+    /*
+     * Shows the header and prompt for the next round.
+     */
+    private void promptForGuess(final Connection connection)
+    {
+        ui.displayRoundHeader(connection.session.getRounds()
+                                                .size() + ROUND_INCREMENT,
+                              MastermindSession.MAX_ROUNDS);
+        ui.promptForRemoteGuess(INPUT_SUMMARY,
+                                INPUT_QUIT);
+    }
+
+    /*
+     * Acts on one complete line from a player.
+     */
+    private void handleLine(final Connection connection)
+    {
+        if(connection.lineTooLong)
+        {
+            ui.displayError("Input is too long.");
+            promptForGuess(connection);
+            return;
+        }
+
+        int start;
+        int end;
+
+        start = 0;
+        end   = connection.lineLength;
+        while(start < end && isBlank(connection.line[start]))
+        {
+            start++;
+        }
+        while(end > start && isBlank(connection.line[end - 1]))
+        {
+            end--;
+        }
+
+        if(isKey(connection,
+                 start,
+                 end,
+                 INPUT_QUIT))
+        {
+            ui.displayMessage("Goodbye!");
+            connection.closeAfterWrite();
+        }
+        else if(isKey(connection,
+                      start,
+                      end,
+                      INPUT_SUMMARY))
+        {
+            displaySummary(connection);
+            promptForGuess(connection);
+        }
+        else
+        {
+            playGuess(connection,
+                      start,
+                      end - start);
+        }
+    }
+
+    /*
+     * Parses and plays a guess, then shows its feedback and the next prompt,
+     * or the result and a new game if that guess ended the game.
+     */
+    private void playGuess(final Connection connection,
+                           final int offset,
+                           final int length)
+    {
+        final int   packed;
+        final Round round;
+
+        try
+        {
+            packed = PlayerGuessCode.parsePacked(connection.line,
+                                                 offset,
+                                                 length);
+        }
+        catch(final InvalidGuessException e)
+        {
+            ui.displayError(e.getMessage());
+            promptForGuess(connection);
+            return;
+        }
+
+        round = connection.session.playGuess(PlayerGuessCode.fromPacked(packed));
+        ui.displayFeedback(round.getFeedback());
+
+        if(connection.session.isGameOver())
+        {
+            concludeGame(connection);
+            connection.session = new MastermindSession(random.split());
+            ui.displayMessage("\nStarting a new game.");
+            startGame(connection);
+        }
+        else
+        {
+            promptForGuess(connection);
+        }
+    }
+
+    /*
+     * Shows how a finished game went.
+     */
+    private void concludeGame(final Connection connection)
+    {
+        final MastermindSession session;
+        session = connection.session;
+
+        ui.displayGameOverHeader();
+        if(session.isWon())
+        {
+            ui.displayWinMessage(session.getRounds()
+                                        .size());
+        }
+        else
+        {
+            ui.displayLossMessage(session.getSecretCode());
+        }
+        ui.displaySeparator();
+    }
+
+    /*
+     * Shows every round so far as the player saw it, and how many codes the
+     * feedback still allows.
+     */
+    private void displaySummary(final Connection connection)
+    {
+        final List<Round> rounds;
+        rounds = connection.session.getRounds();
+
+        ui.displayGuessSummarySeparator();
+        if(rounds.isEmpty())
+        {
+            ui.displayNoGuessesMessage();
+        }
+        else
+        {
+            for(final Round round : rounds)
+            {
+                ui.displayGuessSummaryItem(round.toString());
+            }
+        }
+        ui.displayRemainingPossibilities(connection.session.getRemainingPossibilities());
+    }
+
+    /*
+     * Checks whether a trimmed line is a single-key command, ignoring case.
+     */
+    private static boolean isKey(final Connection connection,
+                                 final int start,
+                                 final int end,
+                                 final String key)
+    {
+        return end - start == SINGLE_KEY &&
+               (connection.line[start] | LOWER_CASE) == key.charAt(0);
+    }
+
+    /*
+     * Checks whether a byte is white space to trim from a line.
+     */
+    private static boolean isBlank(final byte value)
+    {
+        return value == ' ' || value == '\t' || value == '\r';
+    }
+
+    /*
+     * Closes one player's connection.
+     */
+    private void closeConnection(final Connection connection)
+    {
+        if(connection.isOpen())
+        {
+            connection.close();
+            connectionCount--;
+        }
+    }
+
+    /*
+     * Closes every connection and the listening channel when serving stops.
+     */
+    private void closeConnections() throws IOException
+    {
+        for(final SelectionKey key : selector.keys())
+        {
+            if(key.attachment() instanceof Connection connection)
+            {
+                closeConnection(connection);
+            }
+        }
+        serverChannel.close();
+        selector.close();
+    }
+
+    /*
+     * Sends whatever the UI writes to the connection being rendered.
+     */
+    private final class CurrentConnectionStream extends OutputStream
+    {
+        @Override
+        public void write(final int value) throws IOException
+        {
+            write(new byte[]{(byte)value},
+                  0,
+                  1);
+        }
+
+        @Override
+        public void write(final byte[] bytes,
+                          final int offset,
+                          final int length) throws IOException
+        {
+            if(current == null)
+            {
+                throw new IllegalStateException("No connection is being rendered");
+            }
+            current.send(bytes,
+                         offset,
+                         length);
+        }
+    }
+
+    /*
+     * One player's connection: their session, the line they are typing, and
+     * any output they have not read yet.
+     */
+    private static final class Connection
+    {
+        private static final int INITIAL_PENDING_BYTES = 4 * 1024;
+
+        private final SocketChannel channel;
+        private final SelectionKey  key;
+        private final byte[]        line;
+
+        private MastermindSession session;
+        private int               lineLength;
+        private boolean           lineTooLong;
+        private ByteBuffer        pending;
+        private boolean           closeAfterWrite;
+
+        /*
+         * Constructs a connection playing the given session.
+         */
+        private Connection(final SocketChannel channel,
+                           final SelectionKey key,
+                           final MastermindSession session)
+        {
+            this.channel = channel;
+            this.key     = key;
+            this.session = session;
+            this.line    = new byte[MAX_LINE_BYTES];
+        }
+
+        /*
+         * Checks whether the connection is still open.
+         */
+        private boolean isOpen()
+        {
+            return channel.isOpen();
+        }
+
+        /*
+         * Checks whether the player's input is still being acted on.
+         */
+        private boolean isReading()
+        {
+            return isOpen() && !closeAfterWrite;
+        }
+
+        /*
+         * Checks whether the player has left and all output has been sent.
+         */
+        private boolean isFinished()
+        {
+            return closeAfterWrite && pending == null;
+        }
+
+        /*
+         * Adds a byte to the line being typed, noting when it overflows.
+         */
+        private void appendToLine(final byte value)
+        {
+            if(lineLength < line.length)
+            {
+                line[lineLength++] = value;
+            }
+            else
+            {
+                lineTooLong = true;
+            }
+        }
+
+        /*
+         * Starts a new line.
+         */
+        private void clearLine()
+        {
+            lineLength  = 0;
+            lineTooLong = false;
+        }
+
+        /*
+         * Sends bytes now, keeping whatever the socket cannot take yet. While
+         * output is waiting the player's input is not read.
+         */
+        private void send(final byte[] bytes,
+                          final int offset,
+                          final int length) throws IOException
+        {
+            if(pending == null)
+            {
+                final ByteBuffer buffer;
+                buffer = ByteBuffer.wrap(bytes,
+                                         offset,
+                                         length);
+
+                channel.write(buffer);
+                if(!buffer.hasRemaining())
+                {
+                    return;
+                }
+
+                pending = ByteBuffer.allocate(Math.max(INITIAL_PENDING_BYTES,
+                                                       buffer.remaining()));
+                pending.put(buffer);
+                key.interestOps(SelectionKey.OP_WRITE);
+                return;
+            }
+
+            if(pending.position() + length > MAX_PENDING_BYTES)
+            {
+                throw new IOException("Player is not reading their output");
+            }
+            if(pending.remaining() < length)
+            {
+                final ByteBuffer larger;
+                larger = ByteBuffer.allocate(Math.min(MAX_PENDING_BYTES,
+                                                      Math.max(pending.capacity() * 2,
+                                                               pending.position() + length)));
+                pending.flip();
+                larger.put(pending);
+                pending = larger;
+            }
+            pending.put(bytes,
+                        offset,
+                        length);
+        }
+
+        /*
+         * Sends waiting output, going back to reading once it has all gone.
+         */
+        private void writePending() throws IOException
+        {
+            if(pending != null)
+            {
+                pending.flip();
+                channel.write(pending);
+                pending.compact();
+
+                if(pending.position() > 0)
+                {
+                    return;
+                }
+                pending = null;
+            }
+
+            if(!closeAfterWrite)
+            {
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        }
+
+        /*
+         * Closes the connection once any waiting output has been sent.
+         */
+        private void closeAfterWrite()
+        {
+            closeAfterWrite = true;
+            key.interestOps(SelectionKey.OP_WRITE);
+        }
+
+        /*
+         * Closes the connection straight away.
+         */
+        private void close()
+        {
+            key.cancel();
+            try
+            {
+                channel.close();
+            }
+            catch(final IOException e)
+            {
+                // The connection is being dropped either way.
+            }
+        }
+    }
+}
@@ -0,0 +1,526 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Holds the state of one game of {@code Mastermind}.
+ * <p>
+ * A session owns everything that changes while a game is played: the secret
+ * code, the rounds so far, the deception budget, the truth scanner and the
+ * random number generator that drives deception. Nothing is shared between
+ * sessions, so any number of them can be played side by side in one process
+ * as long as each is used by one thread at a time.
+ * </p>
+ * <p>
+ * A session plays codes of its secret's {@link CodeGeometry}. Deception,
+ * replaying saved rounds and the packed round layout are built around the
+ * classic game, so a session of any other geometry is always honest and
+ * refuses to replay rounds.
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.1 2025
+ */
+final class MastermindSession
+{
+    static final int MAX_ROUNDS = 12;
+
+    static final String TRUTH_SCAN_NOT_USED = "Not Used";
+
+    private static final int INITIAL_DECEPTIVE_ROUNDS = 0;
+    private static final int ROUND_INCREMENT          = 1;
+
+    private final RandomGenerator   random;
+    private final CodeGeometry      geometry;
+    private final SecretCode        secretCode;
+    private final DeceptionStrategy deceptionStrategy;
+    private final List<Round>       rounds;
+    private final List<Round>       roundsView;
+    private final TruthScanner      truthScanner;
+
+    private int     deceptiveRoundsUsed;
+    private String  truthScanInfo;
+    private boolean won;
+
+    /**
+     * Constructs a classic {@code MastermindSession} with a secret code drawn
+     * from the given generator.
+     *
+     * @param random the session's own source of randomness
+     */
+    MastermindSession(final RandomGenerator random)
+    {
+        this(random,
+             CodeGeometry.CLASSIC);
+    }
+
+    /**
+     * Constructs a {@code MastermindSession} of the given geometry with a
+     * secret code drawn from the given generator.
+     *
+     * @param random   the session's own source of randomness
+     * @param geometry the shape of the codes played
+     */
+    MastermindSession(final RandomGenerator random,
+                      final CodeGeometry geometry)
+    {
+        this(random,
+             SecretCode.generateRandomCode(geometry,
+                                           validateRandom(random)));
+    }
+
+    /**
+     * Constructs a {@code MastermindSession} with a known secret code. A
+     * classic session lies with the default {@link DeceptionStrategy}; any
+     * other is honest.
+     *
+     * @param random     the session's own source of randomness
+     * @param secretCode the code the player must guess
+     */
+    MastermindSession(final RandomGenerator random,
+                      final SecretCode secretCode)
+    {
+        this(random,
+             secretCode,
+             secretCode != null && secretCode.getGeometry()
+                                             .isClassic() ? DeceptionEngine.defaultStrategy() : null,
+             false);
+    }
+
+    /**
+     * Constructs a classic {@code MastermindSession} with a known secret code
+     * and a chosen way of lying. A strategy that follows the game must not be
+     * shared with another session.
+     *
+     * @param random            the session's own source of randomness
+     * @param secretCode        the code the player must guess
+     * @param deceptionStrategy how false feedback is chosen
+     */
+    MastermindSession(final RandomGenerator random,
+                      final SecretCode secretCode,
+                      final DeceptionStrategy deceptionStrategy)
+    {
+        this(random,
+             secretCode,
+             deceptionStrategy,
+             true);
+    }
+
+    /*
+     * Constructs a session, lying with the given strategy or, if it is null
+     * and none was required, not at all.
+     */
+    private MastermindSession(final RandomGenerator random,
+                              final SecretCode secretCode,
+                              final DeceptionStrategy deceptionStrategy,
+                              final boolean deceptionRequired)
+    {
+        validateRandom(random);
+        if(secretCode == null)
+        {
+            throw new IllegalArgumentException("Secret code cannot be null");
+        }
+        if(deceptionRequired && deceptionStrategy == null)
+        {
+            throw new IllegalArgumentException("Deception strategy cannot be null");
+        }
+        if(deceptionStrategy != null && !secretCode.getGeometry()
+                                                   .isClassic())
+        {
+            throw new IllegalArgumentException("Deception is only played in the classic game, not " +
+                                               secretCode.getGeometry());
+        }
+
+        this.random              = random;
+        this.geometry            = secretCode.getGeometry();
+        this.secretCode          = secretCode;
+        this.deceptionStrategy   = deceptionStrategy;
+        this.rounds              = new ArrayList<>(MAX_ROUNDS);
+        this.roundsView          = Collections.unmodifiableList(rounds);
+        this.truthScanner        = new TruthScanner();
+        this.deceptiveRoundsUsed = INITIAL_DECEPTIVE_ROUNDS;
+        this.truthScanInfo       = TRUTH_SCAN_NOT_USED;
+        this.won                 = false;
+    }
+
+    /**
+     * Scores a guess, decides whether the round lies, and records it.
+     *
+     * @param guess the guess to play
+     * @return the round that was recorded
+     */
+    Round playGuess(final PlayerGuessCode guess)
+    {
+        if(guess == null)
+        {
+            throw new IllegalArgumentException("Guess cannot be null");
+        }
+        if(isGameOver())
+        {
+            throw new IllegalStateException("The game is already over");
+        }
+
+        final Feedback actualFeedback;
+        final Feedback falseFeedback;
+        final Round    round;
+
+        actualFeedback = new Feedback(secretCode,
+                                      guess);
+        falseFeedback  = decideDeception(guess,
+                                         actualFeedback);
+        round          = new Round(rounds.size() + ROUND_INCREMENT,
+                                   guess,
+                                   actualFeedback,
+                                   falseFeedback);
+
+        recordRound(round);
+        return round;
+    }
+
+    /**
+     * Records a round exactly as it was played before, as when a saved game
+     * is restored. The deception budget and strategy follow the round's
+     * shown feedback, so later lies are chosen as they would have been.
+     *
+     * @param packedRound the round in the {@link PackedRound} layout
+     * @return the round that was recorded
+     */
+    Round replayRound(final int packedRound)
+    {
+        requireClassic();
+        if(isGameOver())
+        {
+            throw new IllegalStateException("The game is already over");
+        }
+
+        final PlayerGuessCode guess;
+        final Feedback        actualFeedback;
+        final Round           round;
+
+        guess          = PlayerGuessCode.fromPacked(PackedRound.guessOf(packedRound));
+        actualFeedback = new Feedback(secretCode,
+                                      guess);
+        if(actualFeedback.getPacked() != PackedRound.trueFeedbackOf(packedRound))
+        {
+            throw new IllegalArgumentException("Round does not match the secret code: " +
+                                               PackedRound.format(rounds.size() + ROUND_INCREMENT,
+                                                                  packedRound));
+        }
+
+        if(PackedRound.isDeceptive(packedRound))
+        {
+            if(deceptiveRoundsUsed >= Round.DECEPTIVE_ROUNDS_ALLOWED)
+            {
+                throw new IllegalArgumentException("Round lies beyond the deception budget");
+            }
+            deceptiveRoundsUsed++;
+            round = new Round(rounds.size() + ROUND_INCREMENT,
+                              guess,
+                              actualFeedback,
+                              Feedback.fromPacked(PackedRound.shownFeedbackOf(packedRound)));
+        }
+        else
+        {
+            round = new Round(rounds.size() + ROUND_INCREMENT,
+                              guess,
+                              actualFeedback,
+                              null);
+        }
+
+        recordRound(round);
+        return round;
+    }
+
+    /**
+     * Runs the truth scan for this session, prompting for the round to scan.
+     *
+     * @param guessHandler reads the player's choice of round
+     * @return a description of the scan for history, or null if no scan was
+     *         made
+     */
+    String useTruthScan(final GuessHandler guessHandler)
+    {
+        if(guessHandler == null)
+        {
+            throw new IllegalArgumentException("Guess handler cannot be null");
+        }
+
+        final String scanResultInfo;
+        scanResultInfo = truthScanner.handleTruthScanRequestAndGetInfo(rounds,
+                                                                       secretCode,
+                                                                       guessHandler);
+
+        if(scanResultInfo != null)
+        {
+            truthScanInfo = scanResultInfo;
+            for(int index = 0; index < rounds.size(); index++)
+            {
+                final Round round;
+                round = rounds.get(index);
+
+                if(round.isDeceptiveRound() && round.isTruthRevealed())
+                {
+                    deceptionStrategy.truthRevealed(index,
+                                                    round.getTrueFeedback()
+                                                         .getPacked());
+                }
+            }
+        }
+        return scanResultInfo;
+    }
+
+    /**
+     * Records a truth scan exactly as it was made before, as when a saved
+     * game is restored, without asking the player anything.
+     *
+     * @param initiatedIn the round the scan was used in
+     * @param scanned     the round the scan targeted
+     */
+    void replayTruthScan(final int initiatedIn,
+                         final int scanned)
+    {
+        requireClassic();
+        if(initiatedIn != rounds.size() + ROUND_INCREMENT)
+        {
+            throw new IllegalArgumentException("Scan must be used in the round being played: " +
+                                               initiatedIn);
+        }
+
+        final Round round;
+
+        truthScanner.restoreScan(initiatedIn,
+                                 scanned);
+        round = rounds.get(scanned - ROUND_INCREMENT);
+        round.revealTruth();
+        truthScanInfo = TruthScanner.describeScan(initiatedIn,
+                                                  scanned,
+                                                  round.isDeceptiveRound());
+
+        if(round.isDeceptiveRound())
+        {
+            deceptionStrategy.truthRevealed(scanned - ROUND_INCREMENT,
+                                            round.getTrueFeedback()
+                                                 .getPacked());
+        }
+    }
+
+    /**
+     * Gets the round the truth scan was used in.
+     *
+     * @return the 1-based round number, or -1 if the scan is unused
+     */
+    int getTruthScanInitiatedIn()
+    {
+        return truthScanner.getRoundScanInitiatedIn();
+    }
+
+    /**
+     * Gets the round the truth scan targeted.
+     *
+     * @return the 1-based round number, or -1 if the scan is unused
+     */
+    int getTruthScanRound()
+    {
+        return truthScanner.getRoundScanned();
+    }
+
+    /**
+     * Checks whether the truth scan has already been used.
+     *
+     * @return true if the scan was used, false otherwise
+     */
+    boolean isTruthScanUsed()
+    {
+        return truthScanner.isTruthScanUsed();
+    }
+
+    /**
+     * Gets the description of the truth scan recorded for history.
+     *
+     * @return the scan description, or {@value #TRUTH_SCAN_NOT_USED}
+     */
+    String getTruthScanInfo()
+    {
+        return truthScanInfo;
+    }
+
+    /**
+     * Gets the rounds played so far. The list is a read-only view that
+     * follows the session as it is played.
+     *
+     * @return the rounds played so far
+     */
+    List<Round> getRounds()
+    {
+        return roundsView;
+    }
+
+    /**
+     * Counts the codes that are still consistent with the feedback the
+     * player can currently see, counting a scanned round by its true
+     * feedback.
+     *
+     * @return the number of codes that could still be the secret
+     */
+    int getRemainingPossibilities()
+    {
+        if(!geometry.isClassic())
+        {
+            final CodeSpace space;
+            space = new CodeSpace(geometry);
+
+            for(final Round round : rounds)
+            {
+                space.filter(round.getGuess()
+                                  .getPacked(),
+                             round.getVisibleFeedback()
+                                  .getPacked());
+            }
+            return space.count();
+        }
+
+        final CandidateSet candidates;
+        candidates = CandidateSet.all();
+
+        for(final Round round : rounds)
+        {
+            candidates.filter(round.getGuess()
+                                   .getPacked(),
+                              round.getVisibleFeedback()
+                                   .getPacked());
+        }
+        return candidates.cardinality();
+    }
+
+    /**
+     * Gets the shape of the codes played in this session.
+     *
+     * @return the session's geometry
+     */
+    CodeGeometry getGeometry()
+    {
+        return geometry;
+    }
+
+    /**
+     * Gets the secret code for this session.
+     *
+     * @return the secret code
+     */
+    SecretCode getSecretCode()
+    {
+        return secretCode;
+    }
+
+    /**
+     * Gets how many rounds have shown false feedback.
+     *
+     * @return the number of deceptive rounds so far
+     */
+    int getDeceptiveRoundsUsed()
+    {
+        return deceptiveRoundsUsed;
+    }
+
+    /**
+     * Checks whether the game has ended, either by a correct guess or by
+     * running out of rounds.
+     *
+     * @return true if the game is over, false otherwise
+     */
+    boolean isGameOver()
+    {
+        return won || rounds.size() >= MAX_ROUNDS;
+    }
+
+    /**
+     * Checks whether the last guess matched the secret code. The answer is
+     * kept as each round is played, so nothing is rescored.
+     *
+     * @return true if the game was won, false otherwise
+     */
+    boolean isWon()
+    {
+        return won;
+    }
+
+    /*
+     * Adds a round to the game and lets the deception strategy follow what
+     * the player was shown.
+     *
+     * @param round the round to add
+     */
+    private void recordRound(final Round round)
+    {
+        rounds.add(round);
+        won = round.isWinning();
+        if(deceptionStrategy != null)
+        {
+            deceptionStrategy.roundShown(round.getGuess()
+                                              .getPacked(),
+                                         round.getFeedback()
+                                              .getPacked());
+        }
+    }
+
+    /*
+     * Decides whether this round lies to the player and, if so, produces the
+     * false feedback. Spends one unit of the deception budget when it does.
+     *
+     * @param guess the guess being played
+     *
+     * @param actualFeedback the true feedback for the round
+     *
+     * @return the false feedback to show, or null for an honest round
+     */
+    private Feedback decideDeception(final PlayerGuessCode guess,
+                                     final Feedback actualFeedback)
+    {
+        if(deceptionStrategy == null)
+        {
+            return null;
+        }
+        if(!DeceptionEngine.shouldApplyDeception(deceptiveRoundsUsed,
+                                                 Round.DECEPTIVE_ROUNDS_ALLOWED,
+                                                 random))
+        {
+            return null;
+        }
+
+        deceptiveRoundsUsed++;
+        return Feedback.fromPacked(deceptionStrategy.lie(guess.getPacked(),
+                                                         actualFeedback.getPacked(),
+                                                         random));
+    }
+
+    /*
+     * Refuses work that only the classic game supports.
+     */
+    private void requireClassic()
+    {
+        if(!geometry.isClassic())
+        {
+            throw new IllegalStateException("Only classic games can be replayed, not " +
+                                            geometry);
+        }
+    }
+
+    /*
+     * Validates the session's random generator.
+     *
+     * @param random the generator to check
+     *
+     * @return the generator, for use in constructor chaining
+     */
+    private static RandomGenerator validateRandom(final RandomGenerator random)
+    {
+        if(random == null)
+        {
+            throw new IllegalArgumentException("Random generator cannot be null");
+        }
+        return random;
+    }
+}
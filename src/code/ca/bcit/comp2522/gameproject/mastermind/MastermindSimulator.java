@@ -0,0 +1,597 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import ca.bcit.comp2522.gameproject.input.ScriptedInputSource;
+import ca.bcit.comp2522.gameproject.output.NullOutputSink;
+
+/**
+ * Runs many games of {@code Mastermind} without a player and reports how they
+ * went.
+ * <p>
+ * Each game is driven through {@link MastermindGame#setupNewGame(MastermindSession)},
+ * {@link MastermindGame#playOneRound()} and
+ * {@link MastermindGame#isGameOver()} with a {@link MastermindSolver} supplying
+ * the guesses and all output discarded. Games are split into chunks and run
+ * across a {@link ForkJoinPool}; the solvers share the same pool.
+ * </p>
+ * <p>
+ * Every game is played in its own {@link MastermindSession} seeded from the
+ * run seed and the game's index, so a run with the same seed plays the same
+ * games whatever the thread count.
+ * </p>
+ * <p>
+ * Games of another {@link CodeGeometry}, such as {@code 5x8} or {@code 6x10},
+ * are played the same way in sessions of that geometry. They have no
+ * deception and the solver only plays the classic game, so each guess is the
+ * first code still consistent with the rounds so far, found by searching a
+ * lazy {@link CodeSpace}.
+ * </p>
+ * <p>
+ * Usage: {@code MastermindSimulator [games] [threads] [seed] [strategy] [geometry]}
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public final class MastermindSimulator
+{
+    private static final int    DEFAULT_GAMES     = 100_000;
+    private static final long   DEFAULT_SEED      = 1L;
+    private static final String DEFAULT_STRATEGY  = "MINIMAX";
+    private static final String VARIANT_STRATEGY  = "FIRST_CONSISTENT";
+    private static final int    CHUNKS_PER_THREAD = 4;
+
+    private static final int ARG_GAMES    = 0;
+    private static final int ARG_THREADS  = 1;
+    private static final int ARG_SEED     = 2;
+    private static final int ARG_STRATEGY = 3;
+    private static final int ARG_GEOMETRY = 4;
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final double PERCENT          = 100.0;
+
+    private static final long SEED_MIX = 0x9E3779B97F4A7C15L;
+
+    private final int                       games;
+    private final int                       threads;
+    private final long                      seed;
+    private final MastermindSolver.Strategy strategy;
+    private final CodeGeometry              geometry;
+
+    /**
+     * Constructs a {@code MastermindSimulator} for the classic game.
+     *
+     * @param games    the number of games to play
+     * @param threads  the number of threads to play them on
+     * @param seed     the seed the games are derived from
+     * @param strategy the solver strategy used to guess
+     */
+    MastermindSimulator(final int games,
+                        final int threads,
+                        final long seed,
+                        final MastermindSolver.Strategy strategy)
+    {
+        this(games,
+             threads,
+             seed,
+             strategy,
+             CodeGeometry.CLASSIC);
+    }
+
+    /**
+     * Constructs a {@code MastermindSimulator}.
+     *
+     * @param games    the number of games to play
+     * @param threads  the number of threads to play them on
+     * @param seed     the seed the games are derived from
+     * @param strategy the solver strategy used to guess in the classic game
+     * @param geometry the geometry of every game
+     */
+    MastermindSimulator(final int games,
+                        final int threads,
+                        final long seed,
+                        final MastermindSolver.Strategy strategy,
+                        final CodeGeometry geometry)
+    {
+        if(games <= 0)
+        {
+            throw new IllegalArgumentException("Game count must be positive: " +
+                                               games);
+        }
+        if(threads <= 0)
+        {
+            throw new IllegalArgumentException("Thread count must be positive: " +
+                                               threads);
+        }
+        if(strategy == null)
+        {
+            throw new IllegalArgumentException("Strategy cannot be null");
+        }
+        if(geometry == null)
+        {
+            throw new IllegalArgumentException("Geometry cannot be null");
+        }
+
+        this.games    = games;
+        this.threads  = threads;
+        this.seed     = seed;
+        this.strategy = strategy;
+        this.geometry = geometry;
+    }
+
+    /**
+     * Entry point for the simulator.
+     *
+     * @param args optional game count, thread count, seed, strategy name and
+     *             geometry
+     */
+    public static void main(final String[] args)
+    {
+        final int                       games;
+        final int                       threads;
+        final long                      seed;
+        final MastermindSolver.Strategy strategy;
+        final CodeGeometry              geometry;
+
+        games    = args.length > ARG_GAMES ?
+                   Integer.parseInt(args[ARG_GAMES]) :
+                   DEFAULT_GAMES;
+        threads  = args.length > ARG_THREADS ?
+                   Integer.parseInt(args[ARG_THREADS]) :
+                   Runtime.getRuntime()
+                          .availableProcessors();
+        seed     = args.length > ARG_SEED ?
+                   Long.parseLong(args[ARG_SEED]) :
+                   DEFAULT_SEED;
+        strategy = MastermindSolver.Strategy.valueOf((args.length > ARG_STRATEGY ?
+                                                      args[ARG_STRATEGY] :
+                                                      DEFAULT_STRATEGY).toUpperCase());
+        geometry = args.length > ARG_GEOMETRY ?
+                   CodeGeometry.parse(args[ARG_GEOMETRY]) :
+                   CodeGeometry.CLASSIC;
+
+        final MastermindSimulator simulator;
+        simulator = new MastermindSimulator(games,
+                                            threads,
+                                            seed,
+                                            strategy,
+                                            geometry);
+
+        System.out.println(simulator.run());
+    }
+
+    /**
+     * Plays every game and gathers the results.
+     *
+     * @return the combined results of the run
+     */
+    SimulationResult run()
+    {
+        final ForkJoinPool pool;
+        pool = new ForkJoinPool(threads);
+
+        try
+        {
+            final int                                  chunkCount;
+            final List<ForkJoinTask<SimulationResult>> tasks;
+            final SimulationResult                     total;
+            final long                                 startTime;
+
+            chunkCount = Math.min(games,
+                                  threads * CHUNKS_PER_THREAD);
+            tasks      = new ArrayList<>();
+            total      = new SimulationResult();
+            startTime  = System.nanoTime();
+
+            for(int chunk = 0; chunk < chunkCount; chunk++)
+            {
+                final int from;
+                final int to;
+
+                from = (int)((long)games * chunk / chunkCount);
+                to   = (int)((long)games * (chunk + 1) / chunkCount);
+
+                tasks.add(pool.submit(() -> playChunk(from,
+                                                      to,
+                                                      pool)));
+            }
+
+            for(final ForkJoinTask<SimulationResult> task : tasks)
+            {
+                total.merge(task.join());
+            }
+
+            total.elapsedNanos = System.nanoTime() - startTime;
+            total.threads      = threads;
+            total.geometry     = geometry;
+            total.strategy     = geometry.isClassic() ?
+                                 strategy.name() :
+                                 VARIANT_STRATEGY;
+            return total;
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    /*
+     * Plays games [from, to) on the calling thread with one game and one
+     * guess strategy.
+     */
+    private SimulationResult playChunk(final int from,
+                                       final int to,
+                                       final ForkJoinPool pool)
+    {
+        final SimulationResult result;
+        final GuessStrategy    guesser;
+        final RoundExecutor    roundExecutor;
+        final MastermindGame   game;
+
+        result        = new SimulationResult();
+        guesser       = geometry.isClassic() ?
+                        new MastermindSolver(strategy,
+                                             pool)::suggestNextGuess :
+                        new FirstConsistentGuesser(geometry);
+        roundExecutor = new RoundExecutor(RoundExecutor.defaultMode());
+        game          = new MastermindGame(createHeadlessUI(),
+                                           rounds ->
+                                           {
+                                               final long            startTime;
+                                               final PlayerGuessCode guess;
+
+                                               startTime = System.nanoTime();
+                                               guess     = guesser.nextGuess(rounds);
+                                               result.recordMove(System.nanoTime() - startTime);
+                                               return guess;
+                                           },
+                                           new SplittableRandom(seed),
+                                           roundExecutor);
+
+        try(roundExecutor)
+        {
+            for(int gameIndex = from; gameIndex < to; gameIndex++)
+            {
+                final MastermindSession session;
+                session = new MastermindSession(new SplittableRandom(mix(seed,
+                                                                         gameIndex)),
+                                                geometry);
+                game.setupNewGame(session);
+
+                while(!game.isGameOver())
+                {
+                    game.playOneRound();
+                }
+
+                result.recordGame(session.getRounds(),
+                                  session.isWon());
+            }
+            roundExecutor.awaitIdle();
+        }
+
+        result.roundLatency.merge(roundExecutor.getLatency());
+        result.roundMode = roundExecutor.getMode();
+        return result;
+    }
+
+    /*
+     * Builds a UIHandler that reads nothing and discards everything it prints.
+     */
+    private static UIHandler createHeadlessUI()
+    {
+        return new UIHandler(ScriptedInputSource.of(),
+                             NullOutputSink.getInstance(),
+                             NullOutputSink.getInstance());
+    }
+
+    /*
+     * Derives a well-spread per-game seed from the run seed and game index.
+     */
+    private static long mix(final long runSeed,
+                            final int gameIndex)
+    {
+        long value;
+
+        value = runSeed + SEED_MIX * (gameIndex + 1L);
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /*
+     * Guesses the first code still consistent with a game's rounds. The
+     * candidates are narrowed by one round per guess and start again when a
+     * new game begins, so one guesser plays one game at a time.
+     */
+    private static final class FirstConsistentGuesser implements
+                                                     GuessStrategy
+    {
+        private final CodeGeometry geometry;
+
+        private CodeSpace space;
+        private int       index;
+
+        /*
+         * Constructs a guesser for games of the given geometry.
+         */
+        private FirstConsistentGuesser(final CodeGeometry geometry)
+        {
+            this.geometry = geometry;
+        }
+
+        @Override
+        public PlayerGuessCode nextGuess(final List<Round> rounds)
+        {
+            if(rounds.isEmpty())
+            {
+                space = new CodeSpace(geometry);
+                index = 0;
+            }
+            else
+            {
+                final Round last;
+                last = rounds.get(rounds.size() - 1);
+
+                space.filter(last.getGuess()
+                                 .getPacked(),
+                             last.getFeedback()
+                                 .getPacked());
+                // Every code up to the last guess is already ruled out.
+                index++;
+            }
+
+            index = space.nextIndex(index);
+            return PlayerGuessCode.fromPacked(geometry,
+                                              geometry.codeAt(index));
+        }
+    }
+
+    /**
+     * Counts gathered from a batch of simulated games. Results from separate
+     * chunks are combined with {@link #merge(SimulationResult)}.
+     */
+    static final class SimulationResult
+    {
+        private final long[]          gamesByRounds          = new long[MastermindSession.MAX_ROUNDS + 1];
+        private final long[]          winsByRounds           = new long[MastermindSession.MAX_ROUNDS + 1];
+        private final long[]          gamesByDeceptiveRounds = new long[MastermindSession.MAX_ROUNDS + 1];
+        private final long[]          winsByDeceptiveRounds  = new long[MastermindSession.MAX_ROUNDS + 1];
+        private final LatencyRecorder moveLatency            = new LatencyRecorder();
+        private final LatencyRecorder roundLatency           = new LatencyRecorder();
+
+        private long               gamesPlayed;
+        private long               gamesWon;
+        private long               roundsPlayed;
+        private long               deceptiveRounds;
+        private long               elapsedNanos;
+        private int                threads;
+        private String             strategy;
+        private CodeGeometry       geometry;
+        private RoundExecutor.Mode roundMode;
+
+        /*
+         * Records one finished game.
+         */
+        private void recordGame(final List<Round> rounds,
+                                final boolean won)
+        {
+            int lies;
+            lies = 0;
+
+            for(final Round round : rounds)
+            {
+                if(round.isDeceptiveRound())
+                {
+                    lies++;
+                }
+            }
+
+            gamesPlayed++;
+            roundsPlayed    += rounds.size();
+            deceptiveRounds += lies;
+            gamesByRounds[rounds.size()]++;
+            gamesByDeceptiveRounds[lies]++;
+
+            if(won)
+            {
+                gamesWon++;
+                winsByRounds[rounds.size()]++;
+                winsByDeceptiveRounds[lies]++;
+            }
+        }
+
+        /*
+         * Records how long the strategy took to choose one guess.
+         */
+        private void recordMove(final long nanos)
+        {
+            moveLatency.record(nanos);
+        }
+
+        /*
+         * Adds another chunk's counts into this one.
+         */
+        private void merge(final SimulationResult other)
+        {
+            gamesPlayed     += other.gamesPlayed;
+            gamesWon        += other.gamesWon;
+            roundsPlayed    += other.roundsPlayed;
+            deceptiveRounds += other.deceptiveRounds;
+            roundMode       = other.roundMode == null ? roundMode : other.roundMode;
+
+            addInto(gamesByRounds,
+                    other.gamesByRounds);
+            addInto(winsByRounds,
+                    other.winsByRounds);
+            addInto(gamesByDeceptiveRounds,
+                    other.gamesByDeceptiveRounds);
+            addInto(winsByDeceptiveRounds,
+                    other.winsByDeceptiveRounds);
+            moveLatency.merge(other.moveLatency);
+            roundLatency.merge(other.roundLatency);
+        }
+
+        /**
+         * Gets the number of games played.
+         *
+         * @return the games played
+         */
+        long getGamesPlayed()
+        {
+            return gamesPlayed;
+        }
+
+        /**
+         * Gets the number of games won.
+         *
+         * @return the games won
+         */
+        long getGamesWon()
+        {
+            return gamesWon;
+        }
+
+        /**
+         * Gets the fraction of games won.
+         *
+         * @return the win rate in [0, 1]
+         */
+        double getWinRate()
+        {
+            return gamesPlayed == 0 ? 0.0 : (double)gamesWon / gamesPlayed;
+        }
+
+        /**
+         * Gets the fraction of rounds that showed false feedback.
+         *
+         * @return the deceptive round rate in [0, 1]
+         */
+        double getDeceptiveRoundRate()
+        {
+            return roundsPlayed == 0 ? 0.0 : (double)deceptiveRounds / roundsPlayed;
+        }
+
+        /**
+         * Gets how many games lasted the given number of rounds.
+         *
+         * @param rounds the number of rounds
+         * @return the number of games of that length
+         */
+        long getGamesWithRounds(final int rounds)
+        {
+            return gamesByRounds[rounds];
+        }
+
+        /**
+         * Gets the approximate strategy latency at a percentile, in
+         * microseconds.
+         *
+         * @param fraction the percentile as a fraction in (0, 1]
+         * @return the latency bucket holding that percentile
+         */
+        long getMoveLatencyMicros(final double fraction)
+        {
+            return moveLatency.getPercentileMicros(fraction);
+        }
+
+        /**
+         * Gets the time taken to play each round, from being handed a guess to
+         * having feedback ready, across every game.
+         *
+         * @return the per-round latency
+         */
+        LatencyRecorder getRoundLatency()
+        {
+            return roundLatency;
+        }
+
+        /**
+         * Returns the full report of the run.
+         *
+         * @return the formatted report
+         */
+        @Override
+        public String toString()
+        {
+            final StringBuilder report;
+            final double        seconds;
+
+            report  = new StringBuilder();
+            seconds = elapsedNanos / NANOS_PER_SECOND;
+
+            report.append("=== Mastermind Simulation ===\n");
+            if(geometry == null || geometry.isClassic())
+            {
+                report.append(FeedbackTable.getInstance())
+                      .append('\n');
+            }
+            report.append(String.format("Geometry: %s, strategy: %s, threads: %d%n",
+                                        geometry,
+                                        strategy,
+                                        threads));
+            report.append(String.format("Games: %d in %.2f s (%.0f games/s)%n",
+                                        gamesPlayed,
+                                        seconds,
+                                        seconds > 0 ? gamesPlayed / seconds : 0.0));
+            report.append(String.format("Win rate: %.2f%% (%d won)%n",
+                                        getWinRate() * PERCENT,
+                                        gamesWon));
+            report.append(String.format("Mean rounds: %.3f%n",
+                                        gamesPlayed == 0 ? 0.0 : (double)roundsPlayed / gamesPlayed));
+            report.append(String.format("Deceptive rounds: %.2f%% of rounds, %.3f per game%n",
+                                        getDeceptiveRoundRate() * PERCENT,
+                                        gamesPlayed == 0 ? 0.0 : (double)deceptiveRounds / gamesPlayed));
+            report.append(String.format("Move latency (us): %s%n",
+                                        moveLatency));
+            if(roundLatency.getCount() > 0)
+            {
+                report.append(String.format("Round latency (us, %s): %s%n",
+                                            roundMode,
+                                            roundLatency));
+            }
+
+            report.append("\nRounds  Games     Wins\n");
+            for(int rounds = 1; rounds < gamesByRounds.length; rounds++)
+            {
+                if(gamesByRounds[rounds] > 0)
+                {
+                    report.append(String.format("%6d  %-9d %d%n",
+                                                rounds,
+                                                gamesByRounds[rounds],
+                                                winsByRounds[rounds]));
+                }
+            }
+
+            report.append("\nLies    Games     Win rate\n");
+            for(int lies = 0; lies < gamesByDeceptiveRounds.length; lies++)
+            {
+                if(gamesByDeceptiveRounds[lies] > 0)
+                {
+                    report.append(String.format("%6d  %-9d %.2f%%%n",
+                                                lies,
+                                                gamesByDeceptiveRounds[lies],
+                                                winsByDeceptiveRounds[lies] * PERCENT / gamesByDeceptiveRounds[lies]));
+                }
+            }
+
+            return report.toString();
+        }
+
+        /*
+         * Adds each count in source into target.
+         */
+        private static void addInto(final long[] target,
+                                    final long[] source)
+        {
+            for(int i = 0; i < target.length; i++)
+            {
+                target[i] += source[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,574 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Proposes the next guess in {@code Mastermind} from the feedback seen so far.
+ * <p>
+ * The solver keeps every code that is consistent with the feedback history as a
+ * candidate, then scores all {@value FeedbackTable#CODE_COUNT} possible guesses
+ * against those candidates. With {@link Strategy#MINIMAX} it picks the guess
+ * whose largest feedback partition is smallest (Knuth's five-guess algorithm);
+ * with {@link Strategy#ENTROPY} it picks the guess whose partitions carry the
+ * most information. Ties prefer guesses that could themselves be the secret.
+ * </p>
+ * <p>
+ * Feedback in this game may be deceptive, so when no code fits every round the
+ * solver falls back to the codes that contradict the fewest rounds. With
+ * {@link Strategy#DECEPTION_AWARE} it instead keeps a {@link DeceptionModel}
+ * that weighs each code by how well the possible patterns of lies explain the
+ * history, and ranks guesses by expected information under those weights.
+ * That mode keeps state between calls, so such a solver should only be used
+ * by one game at a time.
+ * </p>
+ * <p>
+ * Scoring the guesses is split across a {@link ForkJoinPool} once the work is
+ * large enough to benefit from it.
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+final class MastermindSolver
+{
+    /**
+     * The rule used to rank candidate guesses.
+     */
+    enum Strategy
+    {
+        MINIMAX,
+        ENTROPY,
+        DECEPTION_AWARE
+    }
+
+    // Knuth's opening guess, 1122.
+    static final int FIRST_GUESS = Code.pack(List.of(1,
+                                                     1,
+                                                     2,
+                                                     2));
+
+    private static final int FEEDBACK_SLOTS      = Feedback.packResult(Code.CODE_LENGTH,
+                                                                       Code.CODE_LENGTH) + 1;
+    private static final int SEQUENTIAL_GUESSES  = 81;
+    private static final int SEQUENTIAL_WORKLOAD = 1 << 16;
+    private static final int WINNING_RESULT      = Feedback.packResult(Code.CODE_LENGTH,
+                                                                       0);
+
+    // Credit, in nats, for the chance that a guess ends the game outright.
+    private static final double WIN_CREDIT = 1.0;
+
+    private final Strategy       strategy;
+    private final ForkJoinPool   pool;
+    private final DeceptionModel deceptionModel;
+
+    /**
+     * Constructs a minimax solver that runs on the common pool.
+     */
+    MastermindSolver()
+    {
+        this(Strategy.MINIMAX,
+             ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a solver with the given ranking rule and pool.
+     *
+     * @param strategy the rule used to rank guesses
+     * @param pool     the pool used to score guesses in parallel
+     */
+    MastermindSolver(final Strategy strategy,
+                     final ForkJoinPool pool)
+    {
+        if(strategy == null)
+        {
+            throw new IllegalArgumentException("Strategy cannot be null");
+        }
+        if(pool == null)
+        {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        this.strategy = strategy;
+        this.pool     = pool;
+
+        if(strategy == Strategy.DECEPTION_AWARE)
+        {
+            this.deceptionModel = new DeceptionModel();
+        }
+        else
+        {
+            this.deceptionModel = null;
+        }
+    }
+
+    /**
+     * Proposes the next guess based on the rounds played so far.
+     * <p>
+     * Each round contributes the feedback the player can currently see: the
+     * true feedback if a truth scan revealed it, otherwise the feedback that
+     * was shown.
+     * </p>
+     *
+     * @param rounds the rounds played so far
+     * @return the suggested guess
+     */
+    PlayerGuessCode suggestNextGuess(final List<Round> rounds)
+    {
+        if(rounds == null)
+        {
+            throw new IllegalArgumentException("Rounds cannot be null");
+        }
+
+        if(deceptionModel != null)
+        {
+            deceptionModel.sync(rounds);
+            return PlayerGuessCode.fromPacked(suggestFromModel());
+        }
+
+        final int[] guesses;
+        final int[] feedbacks;
+
+        guesses   = new int[rounds.size()];
+        feedbacks = new int[rounds.size()];
+
+        for(int i = 0; i < rounds.size(); i++)
+        {
+            final Round round;
+            round = rounds.get(i);
+
+            guesses[i]   = round.getGuess()
+                                .getPacked();
+            feedbacks[i] = round.getVisibleFeedback()
+                                .getPacked();
+        }
+
+        return PlayerGuessCode.fromPacked(suggestNextGuess(guesses,
+                                                           feedbacks,
+                                                           rounds.size()));
+    }
+
+    /**
+     * Proposes the next guess from a packed feedback history.
+     *
+     * @param guesses    the packed guesses, oldest first
+     * @param feedbacks  the packed feedback for each guess
+     * @param roundCount how many entries of the arrays are in use
+     * @return the packed suggested guess
+     */
+    int suggestNextGuess(final int[] guesses,
+                         final int[] feedbacks,
+                         final int roundCount)
+    {
+        if(deceptionModel != null)
+        {
+            if(roundCount < deceptionModel.getRoundCount())
+            {
+                deceptionModel.reset();
+            }
+            for(int i = deceptionModel.getRoundCount(); i < roundCount; i++)
+            {
+                deceptionModel.observeRound(guesses[i],
+                                            feedbacks[i]);
+            }
+            return suggestFromModel();
+        }
+
+        if(roundCount == 0)
+        {
+            return FIRST_GUESS;
+        }
+
+        return rankGuesses(findCandidates(guesses,
+                                          feedbacks,
+                                          roundCount),
+                           null);
+    }
+
+    /**
+     * Picks the round whose truth scan would tell the player the most about
+     * the secret.
+     * <p>
+     * Only available with {@link Strategy#DECEPTION_AWARE}.
+     * </p>
+     *
+     * @param rounds the rounds played so far
+     * @return the one-based round number to scan, or
+     *         {@value DeceptionModel#NO_ROUND} if no round is worth scanning
+     */
+    int suggestTruthScanRound(final List<Round> rounds)
+    {
+        if(deceptionModel == null)
+        {
+            throw new IllegalStateException("Scan advice requires the " +
+                                            Strategy.DECEPTION_AWARE +
+                                            " strategy");
+        }
+
+        final int roundIndex;
+
+        deceptionModel.sync(rounds);
+        roundIndex = deceptionModel.mostInformativeScan();
+
+        if(roundIndex == DeceptionModel.NO_ROUND)
+        {
+            return DeceptionModel.NO_ROUND;
+        }
+        return roundIndex + 1;
+    }
+
+    /*
+     * Ranks guesses using the posterior of the deception model. Falls back to
+     * the honest-feedback candidates if the observations contradict every lie
+     * pattern the model allows.
+     */
+    private int suggestFromModel()
+    {
+        if(deceptionModel.getRoundCount() == 0)
+        {
+            return FIRST_GUESS;
+        }
+
+        final double[]  probabilities;
+        final boolean[] isCandidate;
+
+        boolean anyCandidate;
+
+        probabilities = deceptionModel.posterior();
+        isCandidate   = new boolean[FeedbackTable.CODE_COUNT];
+        anyCandidate  = false;
+
+        for(int code = 0; code < FeedbackTable.CODE_COUNT; code++)
+        {
+            isCandidate[code] = probabilities[code] > 0.0;
+            anyCandidate     |= isCandidate[code];
+        }
+
+        if(!anyCandidate)
+        {
+            Arrays.fill(isCandidate,
+                        true);
+            return rankGuesses(isCandidate,
+                               null);
+        }
+        return rankGuesses(isCandidate,
+                           probabilities);
+    }
+
+    /*
+     * Scores every guess against the flagged candidates and returns the best.
+     *
+     * @param isCandidate a flag per code index marking the candidates
+     * @param probabilities a weight per code index, or null to weigh all
+     * candidates equally
+     * @return the packed best guess
+     */
+    private int rankGuesses(final boolean[] isCandidate,
+                            final double[] probabilities)
+    {
+        final int[]    candidates;
+        final double[] candidateWeights;
+        final int      candidateCount;
+
+        candidates       = new int[FeedbackTable.CODE_COUNT];
+        candidateCount   = collectCandidates(isCandidate,
+                                             candidates);
+        candidateWeights = new double[candidateCount];
+
+        if(candidateCount == 1)
+        {
+            return FeedbackTable.codeAt(candidates[0]);
+        }
+
+        for(int i = 0; i < candidateCount; i++)
+        {
+            candidateWeights[i] = probabilities == null ? 1.0 : probabilities[candidates[i]];
+        }
+
+        final GuessEvaluationTask task;
+        final Evaluation          best;
+
+        task = new GuessEvaluationTask(strategy,
+                                       candidates,
+                                       candidateWeights,
+                                       candidateCount,
+                                       isCandidate,
+                                       0,
+                                       FeedbackTable.CODE_COUNT);
+
+        if(candidateCount * FeedbackTable.CODE_COUNT < SEQUENTIAL_WORKLOAD)
+        {
+            best = task.compute();
+        }
+        else
+        {
+            best = pool.invoke(task);
+        }
+
+        return FeedbackTable.codeAt(best.guessIndex);
+    }
+
+    /*
+     * Marks every code that contradicts the fewest rounds. When the feedback
+     * is honest this is exactly the set of codes consistent with every round.
+     *
+     * @param guesses the packed guesses
+     * @param feedbacks the packed feedback for each guess
+     * @param roundCount how many rounds to consider
+     * @return a flag per code index marking the candidates
+     */
+    private static boolean[] findCandidates(final int[] guesses,
+                                            final int[] feedbacks,
+                                            final int roundCount)
+    {
+        final FeedbackTable table;
+        final int[]         guessIndices;
+        final int[]         mismatches;
+        final boolean[]     isCandidate;
+
+        int fewestMismatches;
+
+        table            = FeedbackTable.getInstance();
+        guessIndices     = new int[roundCount];
+        mismatches       = new int[FeedbackTable.CODE_COUNT];
+        isCandidate      = new boolean[FeedbackTable.CODE_COUNT];
+        fewestMismatches = Integer.MAX_VALUE;
+
+        for(int round = 0; round < roundCount; round++)
+        {
+            guessIndices[round] = FeedbackTable.indexOf(guesses[round]);
+        }
+
+        for(int code = 0; code < FeedbackTable.CODE_COUNT; code++)
+        {
+            for(int round = 0; round < roundCount; round++)
+            {
+                if(table.score(code,
+                               guessIndices[round]) != feedbacks[round])
+                {
+                    mismatches[code]++;
+                }
+            }
+            fewestMismatches = Math.min(fewestMismatches,
+                                        mismatches[code]);
+        }
+
+        for(int code = 0; code < FeedbackTable.CODE_COUNT; code++)
+        {
+            isCandidate[code] = mismatches[code] == fewestMismatches;
+        }
+        return isCandidate;
+    }
+
+    /*
+     * Copies the indices of all flagged candidates into a dense array.
+     *
+     * @param isCandidate a flag per code index
+     * @param candidates the array to fill
+     * @return the number of candidates written
+     */
+    private static int collectCandidates(final boolean[] isCandidate,
+                                         final int[] candidates)
+    {
+        int count;
+        count = 0;
+
+        for(int code = 0; code < isCandidate.length; code++)
+        {
+            if(isCandidate[code])
+            {
+                candidates[count] = code;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /*
+     * The ranking of a single guess. Lower cost is better.
+     */
+    private static final class Evaluation
+    {
+        private final int     guessIndex;
+        private final double  cost;
+        private final boolean isCandidate;
+
+        private Evaluation(final int guessIndex,
+                           final double cost,
+                           final boolean isCandidate)
+        {
+            this.guessIndex  = guessIndex;
+            this.cost        = cost;
+            this.isCandidate = isCandidate;
+        }
+
+        /*
+         * Orders by cost, then prefers possible secrets, then the lower index
+         * so results do not depend on how the work was split.
+         */
+        private boolean isBetterThan(final Evaluation other)
+        {
+            if(other == null)
+            {
+                return true;
+            }
+            if(cost != other.cost)
+            {
+                return cost < other.cost;
+            }
+            if(isCandidate != other.isCandidate)
+            {
+                return isCandidate;
+            }
+            return guessIndex < other.guessIndex;
+        }
+    }
+
+    /*
+     * Scores a range of guesses against the candidates, splitting the range
+     * in half until it is small enough to score directly.
+     */
+    private static final class GuessEvaluationTask extends RecursiveTask<Evaluation>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final Strategy  strategy;
+        private final int[]     candidates;
+        private final double[]  candidateWeights;
+        private final int       candidateCount;
+        private final boolean[] isCandidate;
+        private final int       fromGuess;
+        private final int       toGuess;
+
+        private GuessEvaluationTask(final Strategy strategy,
+                                    final int[] candidates,
+                                    final double[] candidateWeights,
+                                    final int candidateCount,
+                                    final boolean[] isCandidate,
+                                    final int fromGuess,
+                                    final int toGuess)
+        {
+            this.strategy         = strategy;
+            this.candidates       = candidates;
+            this.candidateWeights = candidateWeights;
+            this.candidateCount   = candidateCount;
+            this.isCandidate      = isCandidate;
+            this.fromGuess        = fromGuess;
+            this.toGuess          = toGuess;
+        }
+
+        @Override
+        protected Evaluation compute()
+        {
+            if(toGuess - fromGuess <= SEQUENTIAL_GUESSES ||
+               candidateCount * (toGuess - fromGuess) < SEQUENTIAL_WORKLOAD)
+            {
+                return evaluateRange();
+            }
+
+            final int                 middle;
+            final GuessEvaluationTask left;
+            final GuessEvaluationTask right;
+            final Evaluation          rightBest;
+            final Evaluation          leftBest;
+
+            middle = (fromGuess + toGuess) >>> 1;
+            left   = new GuessEvaluationTask(strategy,
+                                             candidates,
+                                             candidateWeights,
+                                             candidateCount,
+                                             isCandidate,
+                                             fromGuess,
+                                             middle);
+            right  = new GuessEvaluationTask(strategy,
+                                             candidates,
+                                             candidateWeights,
+                                             candidateCount,
+                                             isCandidate,
+                                             middle,
+                                             toGuess);
+
+            left.fork();
+            rightBest = right.compute();
+            leftBest  = left.join();
+
+            return leftBest.isBetterThan(rightBest) ? leftBest : rightBest;
+        }
+
+        /*
+         * Scores each guess in the range directly.
+         */
+        private Evaluation evaluateRange()
+        {
+            final FeedbackTable table;
+            final double[]      partitionSizes;
+
+            Evaluation best;
+
+            table          = FeedbackTable.getInstance();
+            partitionSizes = new double[FEEDBACK_SLOTS];
+            best           = null;
+
+            for(int guess = fromGuess; guess < toGuess; guess++)
+            {
+                final Evaluation evaluation;
+
+                Arrays.fill(partitionSizes,
+                            0.0);
+                for(int i = 0; i < candidateCount; i++)
+                {
+                    partitionSizes[table.score(candidates[i],
+                                               guess)] += candidateWeights[i];
+                }
+
+                evaluation = new Evaluation(guess,
+                                            costOf(partitionSizes),
+                                            isCandidate[guess]);
+                if(evaluation.isBetterThan(best))
+                {
+                    best = evaluation;
+                }
+            }
+            return best;
+        }
+
+        /*
+         * Minimax cost is the largest partition. Entropy cost is the sum of
+         * w log w over the partition weights, which is lowest when the
+         * expected information of the guess is highest. The deception-aware
+         * cost also credits the probability that the guess is the secret,
+         * since otherwise a guess that only splits the rest is preferred over
+         * one that is very likely to win.
+         */
+        private double costOf(final double[] partitionSizes)
+        {
+            double cost;
+            cost = 0;
+
+            for(final double size : partitionSizes)
+            {
+                if(size == 0.0)
+                {
+                    continue;
+                }
+
+                if(strategy == Strategy.MINIMAX)
+                {
+                    cost = Math.max(cost,
+                                    size);
+                }
+                else
+                {
+                    cost += size * Math.log(size);
+                }
+            }
+
+            if(strategy == Strategy.DECEPTION_AWARE)
+            {
+                cost -= WIN_CREDIT * partitionSizes[WINNING_RESULT];
+            }
+            return cost;
+        }
+    }
+}
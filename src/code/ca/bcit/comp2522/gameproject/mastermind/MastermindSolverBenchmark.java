@@ -0,0 +1,191 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures how long the {@link MastermindSolver} takes to propose each move.
+ * <p>
+ * Plays the requested number of games with each {@link MastermindSolver.Strategy}
+ * against random secrets, with truthful feedback, and times every call for a
+ * suggestion. Warm-up games are played first and not timed. For each
+ * strategy the latency percentiles are reported over all moves and then for
+ * each move number, since the second move has the most candidates to rank.
+ * Percentiles come from a {@link LatencyRecorder}, so they are exact to the
+ * microsecond up to {@value LatencyRecorder#LINEAR_MICROS} microseconds and
+ * within one part in {@value LatencyRecorder#BUCKETS_PER_DOUBLING} above it;
+ * the maximum shown is exact.
+ * </p>
+ * <p>
+ * Usage: {@code MastermindSolverBenchmark [games] [threads]}. Use one thread
+ * to see the latency on a single core.
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public final class MastermindSolverBenchmark
+{
+    private static final int  DEFAULT_GAMES  = 200;
+    private static final int  WARM_UP_GAMES  = 20;
+    private static final long SEED           = 42L;
+    private static final int  WINNING_RESULT = Feedback.packResult(Code.CODE_LENGTH,
+                                                                   0);
+
+    private static final int ARG_GAMES   = 0;
+    private static final int ARG_THREADS = 1;
+
+    private static final int MOVE_INCREMENT = 1;
+
+    /*
+     * Private constructor to prevent instantiation.
+     */
+    private MastermindSolverBenchmark()
+    {
+        // Utility class should not be instantiated
+    }
+
+    /**
+     * Entry point for the benchmark.
+     *
+     * @param args optional game count and thread count
+     */
+    public static void main(final String[] args)
+    {
+        final int games;
+        final int threads;
+
+        games   = args.length > ARG_GAMES ?
+                  Integer.parseInt(args[ARG_GAMES]) :
+                  DEFAULT_GAMES;
+        threads = args.length > ARG_THREADS ?
+                  Integer.parseInt(args[ARG_THREADS]) :
+                  Runtime.getRuntime()
+                         .availableProcessors();
+
+        FeedbackTable.getInstance();
+        System.out.printf("%d games per strategy on %d thread(s), latency in us%n",
+                          games,
+                          threads);
+
+        final ForkJoinPool pool;
+        pool = new ForkJoinPool(threads);
+        try
+        {
+            for(final MastermindSolver.Strategy strategy : MastermindSolver.Strategy.values())
+            {
+                playGames(strategy,
+                          pool,
+                          WARM_UP_GAMES,
+                          new LatencyRecorder[MastermindSession.MAX_ROUNDS]);
+                report(strategy,
+                       pool,
+                       games);
+            }
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    /*
+     * Times the given number of games and prints the latency of all moves and
+     * of each move number.
+     */
+    private static void report(final MastermindSolver.Strategy strategy,
+                               final ForkJoinPool pool,
+                               final int games)
+    {
+        final LatencyRecorder[] byMove;
+        final LatencyRecorder   allMoves;
+
+        byMove = new LatencyRecorder[MastermindSession.MAX_ROUNDS];
+        playGames(strategy,
+                  pool,
+                  games,
+                  byMove);
+
+        allMoves = new LatencyRecorder();
+        for(final LatencyRecorder move : byMove)
+        {
+            if(move != null)
+            {
+                allMoves.merge(move);
+            }
+        }
+
+        System.out.printf("%-16s all moves  %s (%d moves)%n",
+                          strategy,
+                          allMoves,
+                          allMoves.getCount());
+        for(int move = 0; move < byMove.length; move++)
+        {
+            if(byMove[move] != null)
+            {
+                System.out.printf("%-16s move %-5d p50 %d, p99 %d (%d moves)%n",
+                                  "",
+                                  move + MOVE_INCREMENT,
+                                  byMove[move].getPercentileMicros(0.50),
+                                  byMove[move].getPercentileMicros(0.99),
+                                  byMove[move].getCount());
+            }
+        }
+    }
+
+    /*
+     * Plays games until each is won or out of rounds, recording how long each
+     * suggestion took under its move number.
+     */
+    private static void playGames(final MastermindSolver.Strategy strategy,
+                                  final ForkJoinPool pool,
+                                  final int games,
+                                  final LatencyRecorder[] byMove)
+    {
+        final SplittableRandom random;
+        final int[]            guesses;
+        final int[]            feedbacks;
+
+        random    = new SplittableRandom(SEED);
+        guesses   = new int[MastermindSession.MAX_ROUNDS];
+        feedbacks = new int[MastermindSession.MAX_ROUNDS];
+
+        for(int game = 0; game < games; game++)
+        {
+            final MastermindSolver solver;
+            final int              secret;
+
+            // The deception-aware solver keeps state, so each game gets its own.
+            solver = new MastermindSolver(strategy,
+                                          pool);
+            secret = FeedbackTable.codeAt(random.nextInt(FeedbackTable.CODE_COUNT));
+
+            for(int move = 0; move < MastermindSession.MAX_ROUNDS; move++)
+            {
+                final long start;
+                final int  guess;
+                final long elapsed;
+
+                start   = System.nanoTime();
+                guess   = solver.suggestNextGuess(guesses,
+                                                  feedbacks,
+                                                  move);
+                elapsed = System.nanoTime() - start;
+
+                if(byMove[move] == null)
+                {
+                    byMove[move] = new LatencyRecorder();
+                }
+                byMove[move].record(elapsed);
+
+                guesses[move]   = guess;
+                feedbacks[move] = Feedback.score(secret,
+                                                 guess);
+                if(feedbacks[move] == WINNING_RESULT)
+                {
+                    break;
+                }
+            }
+        }
+    }
+}
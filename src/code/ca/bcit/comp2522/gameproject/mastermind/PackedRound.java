@@ -0,0 +1,449 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+/**
+ * Packs the facts about one played round into a single {@code int}.
+ * <p>
+ * Layout: packed guess (bits 0-11), feedback shown to the player (bits
+ * 12-18), true feedback (bits 19-25), deceptive flag (bit 26) and
+ * truth-revealed flag (bit 27). Feedback values use
+ * {@link Feedback#packResult(int, int)}.
+ * </p>
+ * <p>
+ * Also converts between that form and the round lines in the text history
+ * file, such as {@code Round 3: Guess = [1, 2, 3, 4], Correct positions: 1,
+ * Misplaced: 2}. Parsing works on any {@link CharSequence} and does not
+ * allocate unless the line is malformed.
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+final class PackedRound
+{
+    private static final int GUESS_BITS     = Code.CODE_LENGTH * Code.DIGIT_BITS;
+    private static final int GUESS_MASK     = (1 << GUESS_BITS) - 1;
+    private static final int FEEDBACK_BITS  = 7;
+    private static final int FEEDBACK_MASK  = (1 << FEEDBACK_BITS) - 1;
+    private static final int SHOWN_SHIFT    = GUESS_BITS;
+    private static final int TRUE_SHIFT     = SHOWN_SHIFT + FEEDBACK_BITS;
+    private static final int DECEPTIVE_FLAG = 1 << (TRUE_SHIFT + FEEDBACK_BITS);
+    private static final int REVEALED_FLAG  = DECEPTIVE_FLAG << 1;
+
+    private static final String ROUND_PREFIX     = "Round ";
+    private static final char   ROUND_NUMBER_END = ':';
+    private static final char   GUESS_OPEN       = '[';
+    private static final char   GUESS_CLOSE      = ']';
+    private static final char   GUESS_SEPARATOR  = ',';
+    private static final char   SPACE            = ' ';
+    private static final String CORRECT_PREFIX   = "Correct positions: ";
+    private static final String MISPLACED_PREFIX = "Misplaced: ";
+    private static final String ACTUAL_PREFIX    = "Actual Feedback: ";
+    private static final String REVEALED_SUFFIX  = " (Truth Revealed)";
+    private static final int    NOT_FOUND        = -1;
+    private static final int    DECIMAL_RADIX    = 10;
+
+    /*
+     * Private constructor to prevent instantiation.
+     */
+    private PackedRound()
+    {
+        // Utility class should not be instantiated
+    }
+
+    /**
+     * Packs the parts of a round.
+     *
+     * @param guess         the packed guess
+     * @param shownFeedback the packed feedback shown to the player
+     * @param trueFeedback  the packed true feedback
+     * @param deceptive     whether the shown feedback was a lie
+     * @param revealed      whether a truth scan revealed the round
+     * @return the packed round
+     */
+    static int pack(final int guess,
+                    final int shownFeedback,
+                    final int trueFeedback,
+                    final boolean deceptive,
+                    final boolean revealed)
+    {
+        int packed;
+
+        packed = guess & GUESS_MASK |
+                 (shownFeedback & FEEDBACK_MASK) << SHOWN_SHIFT |
+                 (trueFeedback & FEEDBACK_MASK) << TRUE_SHIFT;
+        if(deceptive)
+        {
+            packed |= DECEPTIVE_FLAG;
+        }
+        if(revealed)
+        {
+            packed |= REVEALED_FLAG;
+        }
+        return packed;
+    }
+
+    /**
+     * Packs a played round of the classic game.
+     *
+     * @param round the round to pack
+     * @return the packed round
+     */
+    static int of(final Round round)
+    {
+        if(!round.getGuess()
+                 .getGeometry()
+                 .isClassic())
+        {
+            throw new IllegalArgumentException("Only classic rounds can be packed, not " +
+                                               round.getGuess()
+                                                    .getGeometry());
+        }
+
+        return pack(round.getGuess()
+                         .getPacked(),
+                    round.getFeedback()
+                         .getPacked(),
+                    round.getTrueFeedback()
+                         .getPacked(),
+                    round.isDeceptiveRound(),
+                    round.isTruthRevealed());
+    }
+
+    /**
+     * Gets the packed guess of a round.
+     *
+     * @param packedRound the packed round
+     * @return the packed guess
+     */
+    static int guessOf(final int packedRound)
+    {
+        return packedRound & GUESS_MASK;
+    }
+
+    /**
+     * Gets the packed feedback shown to the player.
+     *
+     * @param packedRound the packed round
+     * @return the packed shown feedback
+     */
+    static int shownFeedbackOf(final int packedRound)
+    {
+        return packedRound >>> SHOWN_SHIFT & FEEDBACK_MASK;
+    }
+
+    /**
+     * Gets the packed true feedback.
+     *
+     * @param packedRound the packed round
+     * @return the packed true feedback
+     */
+    static int trueFeedbackOf(final int packedRound)
+    {
+        return packedRound >>> TRUE_SHIFT & FEEDBACK_MASK;
+    }
+
+    /**
+     * Checks whether the round's shown feedback was a lie.
+     *
+     * @param packedRound the packed round
+     * @return true if the round was deceptive
+     */
+    static boolean isDeceptive(final int packedRound)
+    {
+        return (packedRound & DECEPTIVE_FLAG) != 0;
+    }
+
+    /**
+     * Checks whether a truth scan revealed the round.
+     *
+     * @param packedRound the packed round
+     * @return true if the round was revealed
+     */
+    static boolean isRevealed(final int packedRound)
+    {
+        return (packedRound & REVEALED_FLAG) != 0;
+    }
+
+    /**
+     * Checks whether a line has the form of a round line: {@code Round},
+     * a space, one or more digits and a colon.
+     *
+     * @param line the trimmed line
+     * @return true if the line starts like a round line
+     */
+    static boolean isRoundLine(final CharSequence line)
+    {
+        final int length;
+        int       position;
+
+        length = line.length();
+        if(!startsWith(line,
+                       ROUND_PREFIX,
+                       0))
+        {
+            return false;
+        }
+
+        position = ROUND_PREFIX.length();
+        while(position < length && isDigit(line.charAt(position)))
+        {
+            position++;
+        }
+        return position > ROUND_PREFIX.length() &&
+               position < length &&
+               line.charAt(position) == ROUND_NUMBER_END;
+    }
+
+    /**
+     * Parses a round line as written by {@link Round#toString()}. Text lines do
+     * not say whether an unscanned round lied, so such rounds are read with
+     * shown and true feedback equal.
+     *
+     * @param line the trimmed round line
+     * @return the packed round
+     */
+    static int parse(final CharSequence line)
+    {
+        final int     length;
+        final int     guessStart;
+        final int     correctStart;
+        final int     misplacedStart;
+        final int     feedback;
+        final boolean revealed;
+        int           guess;
+        int           digits;
+        int           position;
+
+        length     = line.length();
+        guessStart = indexOf(line,
+                             GUESS_OPEN,
+                             0);
+        if(guessStart == NOT_FOUND)
+        {
+            throw malformed("Round line has no guess",
+                            line);
+        }
+
+        guess    = 0;
+        digits   = 0;
+        position = guessStart + 1;
+        while(position < length && line.charAt(position) != GUESS_CLOSE)
+        {
+            final char character;
+            character = line.charAt(position);
+
+            if(character >= '0' + Code.DIGIT_MIN && character <= '0' + Code.DIGIT_MAX)
+            {
+                if(digits >= Code.CODE_LENGTH)
+                {
+                    throw malformed("Round line guess is too long",
+                                    line);
+                }
+                guess |= (character - '0') << (digits * Code.DIGIT_BITS);
+                digits++;
+            }
+            else if(character != GUESS_SEPARATOR && character != SPACE)
+            {
+                throw malformed("Round line guess has an invalid character",
+                                line);
+            }
+            position++;
+        }
+        if(position >= length || digits != Code.CODE_LENGTH)
+        {
+            throw malformed("Round line guess is incomplete",
+                            line);
+        }
+
+        correctStart   = indexOf(line,
+                                 CORRECT_PREFIX,
+                                 position);
+        misplacedStart = correctStart == NOT_FOUND ?
+                         NOT_FOUND :
+                         indexOf(line,
+                                 MISPLACED_PREFIX,
+                                 correctStart);
+        if(misplacedStart == NOT_FOUND)
+        {
+            throw malformed("Round line has no feedback",
+                            line);
+        }
+
+        feedback = Feedback.packResult(parseNumber(line,
+                                                   correctStart + CORRECT_PREFIX.length()),
+                                       parseNumber(line,
+                                                   misplacedStart + MISPLACED_PREFIX.length()));
+        if(Feedback.correctPositionsOf(feedback) + Feedback.misplacedOf(feedback) > Code.CODE_LENGTH)
+        {
+            throw malformed("Round line feedback counts more pegs than the code has",
+                            line);
+        }
+        revealed = endsWith(line,
+                            REVEALED_SUFFIX);
+
+        return pack(guess,
+                    feedback,
+                    feedback,
+                    revealed,
+                    revealed);
+    }
+
+    /**
+     * Renders a packed round as a round line, in the format used by
+     * {@link Round#toString()}.
+     *
+     * @param roundNumber the 1-based round number
+     * @param packedRound the packed round
+     * @return the round line
+     */
+    static String format(final int roundNumber,
+                         final int packedRound)
+    {
+        final StringBuilder result;
+
+        result = new StringBuilder();
+        result.append(ROUND_PREFIX)
+              .append(roundNumber)
+              .append(": Guess = ")
+              .append(PlayerGuessCode.fromPacked(guessOf(packedRound)))
+              .append(", ");
+
+        if(isDeceptive(packedRound) && isRevealed(packedRound))
+        {
+            result.append(ACTUAL_PREFIX)
+                  .append(Feedback.fromPacked(trueFeedbackOf(packedRound)))
+                  .append(REVEALED_SUFFIX);
+        }
+        else
+        {
+            result.append(Feedback.fromPacked(shownFeedbackOf(packedRound)));
+        }
+        return result.toString();
+    }
+
+    /**
+     * Checks whether text appears in a line at the given position.
+     *
+     * @param line   the line to check
+     * @param text   the text to look for
+     * @param offset where in the line to look
+     * @return true if the text is at that position
+     */
+    static boolean startsWith(final CharSequence line,
+                              final String text,
+                              final int offset)
+    {
+        if(offset < 0 || offset + text.length() > line.length())
+        {
+            return false;
+        }
+
+        for(int i = 0; i < text.length(); i++)
+        {
+            if(line.charAt(offset + i) != text.charAt(i))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Checks whether a line ends with the given text.
+     */
+    private static boolean endsWith(final CharSequence line,
+                                    final String text)
+    {
+        return startsWith(line,
+                          text,
+                          line.length() - text.length());
+    }
+
+    /*
+     * Finds a character in a line, starting at the given position.
+     */
+    private static int indexOf(final CharSequence line,
+                               final char target,
+                               final int from)
+    {
+        for(int i = from; i < line.length(); i++)
+        {
+            if(line.charAt(i) == target)
+            {
+                return i;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /*
+     * Finds text in a line, starting at the given position.
+     */
+    private static int indexOf(final CharSequence line,
+                               final String text,
+                               final int from)
+    {
+        for(int i = from; i + text.length() <= line.length(); i++)
+        {
+            if(startsWith(line,
+                          text,
+                          i))
+            {
+                return i;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /*
+     * Reads the run of digits starting at the given position.
+     */
+    private static int parseNumber(final CharSequence line,
+                                   final int start)
+    {
+        int value;
+        int position;
+
+        value    = 0;
+        position = start;
+        while(position < line.length() && isDigit(line.charAt(position)))
+        {
+            value = value * DECIMAL_RADIX + (line.charAt(position) - '0');
+            position++;
+
+            // A larger count would not fit its feedback field, nor the code.
+            if(value > Code.CODE_LENGTH)
+            {
+                throw malformed("Round line feedback count is more than " +
+                                Code.CODE_LENGTH,
+                                line);
+            }
+        }
+
+        if(position == start)
+        {
+            throw malformed("Round line feedback is not a number",
+                            line);
+        }
+        return value;
+    }
+
+    /*
+     * Checks for an ASCII digit.
+     */
+    private static boolean isDigit(final char character)
+    {
+        return character >= '0' && character <= '9';
+    }
+
+    /*
+     * Builds the exception for a line that cannot be parsed.
+     */
+    private static IllegalArgumentException malformed(final String problem,
+                                                      final CharSequence line)
+    {
+        return new IllegalArgumentException(problem +
+                                            ": " +
+                                            line);
+    }
+}
@@ -34,4 +34,16 @@ package ca.bcit.comp2522.gameproject.mastermind;
          */
         public GuessSummaryRequest(){}
     }
+
+    /**
+     * Represents a player's request for the solver to suggest a next guess
+     * based on the feedback seen so far.
+     */
+    final class HintRequest implements PlayerAction
+    {
+        /**
+         * Constructs a HintRequest.
+         */
+        public HintRequest(){}
+    }
 }
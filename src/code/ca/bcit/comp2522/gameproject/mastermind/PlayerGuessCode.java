@@ -1,8 +1,5 @@
 package ca.bcit.comp2522.gameproject.mastermind;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Represents a player's input guess in the Mastermind game.
  * <p>
@@ -17,84 +14,231 @@ final class PlayerGuessCode extends
                                    Code implements
                                    PlayerAction
 {
-    private static final String VALID_DIGIT_PATTERN = "[1-6]";
-    private static final int    CHARACTER_INCREMENT = 1;
+    private static final int BYTE_MASK           = 0xFF;
+    private static final int CHARACTER_INCREMENT = 1;
 
     /*
-     * Private constructor to enforce the use of the factory method.
-     * Initializes the code sequence for the guess.
+     * Private constructor for codes that are already packed.
      *
-     * @param digits The validated sequence of digits representing the guess.
+     * @param geometry The shape of the guess.
+     * @param packed The packed digits representing the guess.
      */
-    private PlayerGuessCode(final List<Integer> digits)
+    private PlayerGuessCode(final CodeGeometry geometry,
+                            final int packed)
     {
-        super(digits);
+        super(geometry,
+              packed);
     }
 
     /**
-     * Creates a PlayerGuessCode from a raw input string after validation.
+     * Creates a classic PlayerGuessCode from an already packed code, such as
+     * one proposed by a solver.
+     *
+     * @param packed The packed digits of the guess.
+     * @return A new PlayerGuessCode instance.
+     */
+    static PlayerGuessCode fromPacked(final int packed)
+    {
+        return fromPacked(CodeGeometry.CLASSIC,
+                          packed);
+    }
+
+    /**
+     * Creates a PlayerGuessCode of the given geometry from an already packed
+     * code.
+     *
+     * @param geometry The shape of the guess.
+     * @param packed   The packed digits of the guess.
+     * @return A new PlayerGuessCode instance.
+     */
+    static PlayerGuessCode fromPacked(final CodeGeometry geometry,
+                                      final int packed)
+    {
+        return new PlayerGuessCode(geometry,
+                                   packed);
+    }
+
+    /**
+     * Creates a classic PlayerGuessCode from a raw input string after
+     * validation.
+     *
+     * @param input      The raw input from the player.
+     * @return A new PlayerGuessCode instance.
+     */
+    static PlayerGuessCode fromInput(final CharSequence input)
+    {
+        return fromInput(CodeGeometry.CLASSIC,
+                         input);
+    }
+
+    /**
+     * Creates a PlayerGuessCode of the given geometry from a raw input string
+     * after validation.
      * <p>
-     * Validates the input string's length and ensures all characters are
-     * digits.
-     * Converts the valid string into a list of integers.
+     * Validates the input's length and ensures all characters are digits in
+     * range, then packs them straight into the code.
      * </p>
      *
-     * @param input      The raw string input from the player.
+     * @param geometry The shape of the guess.
+     * @param input    The raw input from the player.
      * @return A new PlayerGuessCode instance.
      */
-    static PlayerGuessCode fromInput(final String input)
+    static PlayerGuessCode fromInput(final CodeGeometry geometry,
+                                     final CharSequence input)
     {
-        validateInput(input);
+        return new PlayerGuessCode(geometry,
+                                   parsePacked(geometry,
+                                               input));
+    }
 
-        final List<Integer> digits;
-        digits = new ArrayList<>(CODE_LENGTH);
+    /**
+     * Parses a classic guess straight into its packed digits.
+     *
+     * @param input The raw input from the player.
+     * @return The packed digits of the guess.
+     */
+    static int parsePacked(final CharSequence input)
+    {
+        return parsePacked(CodeGeometry.CLASSIC,
+                           input);
+    }
 
-        // Iterate through input string to validate and convert characters
-        for(int i = 0; i < CODE_LENGTH; i++)
+    /**
+     * Parses a guess of the given geometry straight into its packed digits.
+     * <p>
+     * Nothing is allocated unless the input is invalid; only then is the
+     * detailed message for the {@link InvalidGuessException} built.
+     * </p>
+     *
+     * @param geometry The shape of the guess.
+     * @param input    The raw input from the player.
+     * @return The packed digits of the guess.
+     */
+    static int parsePacked(final CodeGeometry geometry,
+                           final CharSequence input)
+    {
+        if(input == null)
         {
-            final char   thisCharacter;
-            final String thisCharacterAsString;
+            throw new InvalidGuessException("Input cannot be null.");
+        }
+        if(input.length() != geometry.getLength())
+        {
+            throw invalidLength(geometry,
+                                input.length());
+        }
 
-            thisCharacter         = input.charAt(i);
-            thisCharacterAsString = String.valueOf(thisCharacter);
+        int packed;
+        packed = 0;
+
+        for(int i = 0; i < geometry.getLength(); i++)
+        {
+            final char thisCharacter;
+            final int  digit;
 
-            if(!thisCharacterAsString.matches(VALID_DIGIT_PATTERN))
+            thisCharacter = input.charAt(i);
+            digit         = geometry.digitOf(thisCharacter);
+
+            if(digit == CodeGeometry.NO_DIGIT)
             {
-                final String message = String.format("Invalid character '%c' at position %d." +
-                                                     "Only digits 1-6 are allowed.",
-                                                     thisCharacter,
-                                                     i + CHARACTER_INCREMENT);
-                throw new InvalidGuessException(message);
+                throw invalidCharacter(geometry,
+                                       thisCharacter,
+                                       i);
             }
-            digits.add(Character.getNumericValue(thisCharacter));
+            packed |= digit << (i * geometry.getDigitBits());
         }
-        return new PlayerGuessCode(digits);
+        return packed;
     }
 
-    /*
-     * Private helper method to validate the basic properties of the input
-     * string.
+    /**
+     * Parses a classic guess held as ASCII bytes, such as one read from a
+     * socket, straight into its packed digits without decoding it to a string
+     * first.
      *
-     * @param input The raw input string.
-     * @param codeLength The expected length of the code.
+     * @param input  The buffer holding the guess.
+     * @param offset The index of the guess's first byte.
+     * @param length The number of bytes in the guess.
+     * @return The packed digits of the guess.
      */
-    private static void validateInput(final String input)
+    static int parsePacked(final byte[] input,
+                           final int offset,
+                           final int length)
     {
         if(input == null)
         {
             throw new InvalidGuessException("Input cannot be null.");
         }
+        if(offset < 0 || length < 0 || offset > input.length - length)
+        {
+            throw new IllegalArgumentException("Range is outside the buffer: offset " +
+                                               offset +
+                                               ", length " +
+                                               length);
+        }
+        if(length != CODE_LENGTH)
+        {
+            throw invalidLength(CodeGeometry.CLASSIC,
+                                length);
+        }
+
+        int packed;
+        packed = 0;
 
-        if(input.length() != Code.getCodeLength())
+        for(int i = 0; i < CODE_LENGTH; i++)
         {
-            final String message;
+            final int thisByte;
+            final int digit;
+
+            thisByte = input[offset + i] & BYTE_MASK;
+            digit    = CodeGeometry.CLASSIC.digitOf(thisByte);
 
-            message = String.format("Invalid input length. Expected %d digits, but got %d.",
-                                    Code.getCodeLength(),
-                                    input.length());
-            throw new InvalidGuessException(message);
+            if(digit == CodeGeometry.NO_DIGIT)
+            {
+                throw invalidCharacter(CodeGeometry.CLASSIC,
+                                       (char)thisByte,
+                                       i);
+            }
+            packed |= digit << (i * DIGIT_BITS);
         }
+        return packed;
+    }
+
+    /*
+     * Builds the exception for input of the wrong length.
+     *
+     * @param geometry The shape of the guess.
+     * @param length The length of the input that was given.
+     * @return The exception to throw.
+     */
+    private static InvalidGuessException invalidLength(final CodeGeometry geometry,
+                                                       final int length)
+    {
+        final String message;
+
+        message = String.format("Invalid input length. Expected %d digits, but got %d.",
+                                geometry.getLength(),
+                                length);
+        return new InvalidGuessException(message);
     }
 
+    /*
+     * Builds the exception for a character that is not a valid digit.
+     *
+     * @param geometry The shape of the guess.
+     * @param thisCharacter The invalid character.
+     * @param index The zero-based position of the character.
+     * @return The exception to throw.
+     */
+    private static InvalidGuessException invalidCharacter(final CodeGeometry geometry,
+                                                          final char thisCharacter,
+                                                          final int index)
+    {
+        final String message;
 
-}
\ No newline at end of file
+        message = String.format("Invalid character '%c' at position %d." +
+                                "Only digits %s are allowed.",
+                                thisCharacter,
+                                index + CHARACTER_INCREMENT,
+                                geometry.describeDigits());
+        return new InvalidGuessException(message);
+    }
+}
@@ -12,18 +12,16 @@ package ca.bcit.comp2522.gameproject.mastermind;
  */
 final class Round
 {
-    private static final int MIN_ROUND_NUMBER         = 1;
-    private static final int INITIAL_DECEPTIVE_ROUNDS = 0;
+    private static final int MIN_ROUND_NUMBER = 1;
     
     static final int DECEPTIVE_ROUNDS_ALLOWED = 3;
 
-    private static int deceptiveRoundsUsed;
-
     private final int             roundNumber;
     private final PlayerGuessCode guess;
     private final Feedback        trueFeedback;
     private final Feedback        falseFeedback;
     private final boolean         isDeceptiveRound;
+    private final boolean         winning;
     private boolean               truthRevealed;
 
    
@@ -31,18 +29,19 @@ final class Round
      * Constructs a new Round with the specified details.
      * <p>
      * Creates a round object that stores both the player's guess and the corresponding feedback.
-     * For deceptive rounds, both true and false feedback are stored, with the deception
-     * being applied according to the game's rules. The constructor also tracks the number
-     * of deceptive rounds used in the game.
+     * For deceptive rounds, both true and false feedback are stored. Whether a round is
+     * deceptive is decided by the game, which owns the deception budget.
      * </p>
      *
-     * @param roundNumber  the sequential number of this round in the current game
-     * @param guess        the player's guess code for this round
-     * @param trueFeedback the accurate feedback based on comparing the guess with the secret code
+     * @param roundNumber   the sequential number of this round in the current game
+     * @param guess         the player's guess code for this round
+     * @param trueFeedback  the accurate feedback based on comparing the guess with the secret code
+     * @param falseFeedback the deceptive feedback shown instead, or null for an honest round
      */
     Round(final int roundNumber,
           final PlayerGuessCode guess,
-          final Feedback trueFeedback)
+          final Feedback trueFeedback,
+          final Feedback falseFeedback)
     {
         validateRoundData(roundNumber,
                           guess,
@@ -51,18 +50,11 @@ final class Round
         this.roundNumber      = roundNumber;
         this.guess            = guess;
         this.trueFeedback     = trueFeedback;
-        this.isDeceptiveRound = DeceptionEngine.shouldApplyDeception(deceptiveRoundsUsed,
-                                                                     DECEPTIVE_ROUNDS_ALLOWED);
-        if(this.isDeceptiveRound)
-        {
-            this.falseFeedback = DeceptionEngine.applyDeception(trueFeedback);
-            incrementDeceptiveRounds();
-        }
-        else
-        {
-            this.falseFeedback = null;
-        }
-        this.truthRevealed = false;
+        this.falseFeedback    = falseFeedback;
+        this.isDeceptiveRound = falseFeedback != null;
+        this.winning          = trueFeedback.getCorrectPositionCount() == guess.getGeometry()
+                                                                             .getLength();
+        this.truthRevealed    = false;
     }
 
     /**
@@ -100,50 +92,74 @@ final class Round
     }
 
     /**
-     * Checks if this round's feedback was deceptive.
+     * Gets the accurate feedback for this round, whether or not it was shown.
      *
-     * @return true if the feedback was altered, false otherwise
+     * @return the true Feedback object
      */
-    boolean isDeceptiveRound()
+    Feedback getTrueFeedback()
     {
-        return isDeceptiveRound;
+        return trueFeedback;
     }
 
     /**
-     * Marks this round as having its truth revealed by a scan.
+     * Gets the feedback the player can currently trust for this round.
+     * <p>
+     * This is the true feedback once a truth scan has revealed a deceptive
+     * round, and the feedback that was shown otherwise.
+     * </p>
+     *
+     * @return the Feedback object currently visible to the player
      */
-    void revealTruth()
+    Feedback getVisibleFeedback()
     {
-        if(this.isDeceptiveRound)
+        if(this.isDeceptiveRound && !this.truthRevealed)
         {
-            this.truthRevealed = true;
+            return falseFeedback;
         }
+        return trueFeedback;
     }
 
     /**
-     * Increments the number of deceptive rounds used.
+     * Checks if this round's guess matched the secret code. Decided once from
+     * the true feedback when the round is made, so checking is free.
+     *
+     * @return true if the guess was correct, whatever feedback was shown
      */
-    static void incrementDeceptiveRounds()
+    boolean isWinning()
     {
-        Round.deceptiveRoundsUsed++;
+        return winning;
     }
 
     /**
-     * Gets the number of deceptive rounds used.
-     * 
-     * @return the number of deceptive rounds used
+     * Checks if this round's feedback was deceptive.
+     *
+     * @return true if the feedback was altered, false otherwise
+     */
+    boolean isDeceptiveRound()
+    {
+        return isDeceptiveRound;
+    }
+
+    /**
+     * Checks if a truth scan has been used on this round.
+     *
+     * @return true if this round was scanned, false otherwise
      */
-    static int getDeceptiveRoundsUsed()
+    boolean isTruthRevealed()
     {
-        return Round.deceptiveRoundsUsed;
+        return truthRevealed;
     }
 
     /**
-     * Resets the number of deceptive rounds used.
+     * Marks this round as having its truth revealed by a scan.
+     * <p>
+     * Scanning an honest round also marks it, since the player then knows the
+     * shown feedback was accurate.
+     * </p>
      */
-    static void resetDeceptiveRounds()
+    void revealTruth()
     {
-        Round.deceptiveRoundsUsed = INITIAL_DECEPTIVE_ROUNDS;
+        this.truthRevealed = true;
     }
 
     /*
@@ -0,0 +1,205 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Plays the rounds of a game and times them.
+ * <p>
+ * Scoring a guess and deciding whether to lie take microseconds, far less
+ * than handing the work to another thread and waiting for it, so a round is
+ * always played on the calling thread. What the mode decides is where the
+ * bookkeeping that follows a round runs, such as preparing the round for the
+ * history file:
+ * </p>
+ * <ul>
+ *     <li>{@link Mode#INLINE}, the default, runs it straight after the round
+ *         on the calling thread.</li>
+ *     <li>{@link Mode#ASYNC} queues it on a background thread of its own, so
+ *         the previous round's bookkeeping overlaps the next round's scoring
+ *         and deception and the time the player spends choosing a guess.
+ *         {@link #awaitIdle()} waits for the queue to drain.</li>
+ * </ul>
+ * <p>
+ * The time from being handed a guess to having the round ready to show is
+ * recorded for every round in a {@link LatencyRecorder}. The mode used by
+ * default is chosen with {@code -D}{@value #MODE_PROPERTY}.
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+final class RoundExecutor implements AutoCloseable
+{
+    private static final String MODE_PROPERTY = "mastermind.roundExecutor";
+    private static final String THREAD_NAME   = "mastermind-rounds";
+
+    /**
+     * Where the work that follows a round runs.
+     */
+    enum Mode
+    {
+        /** On the calling thread, straight after the round. */
+        INLINE,
+        /** On a background thread, overlapping the next round. */
+        ASYNC
+    }
+
+    private final Mode            mode;
+    private final ExecutorService background;
+    private final LatencyRecorder latency;
+
+    private Future<?> pending;
+
+    /**
+     * Constructs a {@code RoundExecutor}.
+     *
+     * @param mode where the work that follows a round runs
+     */
+    RoundExecutor(final Mode mode)
+    {
+        if(mode == null)
+        {
+            throw new IllegalArgumentException("Mode cannot be null");
+        }
+
+        this.mode       = mode;
+        this.latency    = new LatencyRecorder();
+        this.background = mode == Mode.ASYNC ?
+                          Executors.newSingleThreadExecutor(task ->
+                                                            {
+                                                                final Thread thread;
+                                                                thread = new Thread(task,
+                                                                                    THREAD_NAME);
+                                                                thread.setDaemon(true);
+                                                                return thread;
+                                                            }) :
+                          null;
+    }
+
+    /**
+     * Gets the mode chosen by the {@value #MODE_PROPERTY} system property, or
+     * {@link Mode#INLINE} if it is not set.
+     *
+     * @return the default mode
+     */
+    static Mode defaultMode()
+    {
+        return Mode.valueOf(System.getProperty(MODE_PROPERTY,
+                                               Mode.INLINE.name())
+                                  .toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Plays a guess in a session and hands the recorded round to the work
+     * that follows it.
+     *
+     * @param session    the session to play in
+     * @param guess      the guess to play
+     * @param afterRound the work to run once the round is recorded
+     * @return the recorded round, ready to show
+     */
+    Round playRound(final MastermindSession session,
+                    final PlayerGuessCode guess,
+                    final Consumer<Round> afterRound)
+    {
+        if(session == null)
+        {
+            throw new IllegalArgumentException("Session cannot be null");
+        }
+        if(afterRound == null)
+        {
+            throw new IllegalArgumentException("After-round work cannot be null");
+        }
+
+        final long  startTime;
+        final Round round;
+
+        startTime = System.nanoTime();
+        round     = session.playGuess(guess);
+
+        if(mode == Mode.ASYNC)
+        {
+            // The single background thread keeps the queued work in round order.
+            pending = background.submit(() -> afterRound.accept(round));
+        }
+        latency.record(System.nanoTime() - startTime);
+
+        if(mode == Mode.INLINE)
+        {
+            afterRound.accept(round);
+        }
+        return round;
+    }
+
+    /**
+     * Waits until all work queued after earlier rounds has finished, so its
+     * results can be read on the calling thread.
+     */
+    void awaitIdle()
+    {
+        if(pending == null)
+        {
+            return;
+        }
+
+        try
+        {
+            pending.get();
+        }
+        catch(final InterruptedException e)
+        {
+            Thread.currentThread()
+                  .interrupt();
+            throw new IllegalStateException("Interrupted while waiting for round work",
+                                            e);
+        }
+        catch(final ExecutionException e)
+        {
+            throw new IllegalStateException("Round work failed: " +
+                                            e.getCause(),
+                                            e.getCause());
+        }
+        finally
+        {
+            pending = null;
+        }
+    }
+
+    /**
+     * Gets the mode this executor runs in.
+     *
+     * @return the mode
+     */
+    Mode getMode()
+    {
+        return mode;
+    }
+
+    /**
+     * Gets the time taken by every round played so far.
+     *
+     * @return the per-round latency
+     */
+    LatencyRecorder getLatency()
+    {
+        return latency;
+    }
+
+    /**
+     * Stops the background thread, if there is one, once its queued work is
+     * done.
+     */
+    @Override
+    public void close()
+    {
+        if(background != null)
+        {
+            background.shutdown();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import java.util.Formatter;
+
+import ca.bcit.comp2522.gameproject.interfaces.OutputSink;
+
+/**
+ * Collects the text of a screen and hands it to an {@link OutputSink} in one
+ * piece.
+ * <p>
+ * The printing methods mirror those of {@code PrintStream} but only append
+ * to a buffer. Nothing reaches the sink until {@link #flush()}, which the
+ * {@link UIHandler} calls just before it waits for the player, so a round
+ * header, its feedback and the next prompt go out as a single write. A
+ * screen that grows past {@value #FLUSH_THRESHOLD} characters is written out
+ * early, so output that never waits for a player is not held without limit.
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+final class ScreenRenderer
+{
+    private static final int    INITIAL_CAPACITY = 1024;
+    private static final int    FLUSH_THRESHOLD  = 16 * 1024;
+    private static final String LINE_SEPARATOR   = System.lineSeparator();
+
+    private final OutputSink    sink;
+    private final StringBuilder screen;
+    private final Formatter     formatter;
+
+    /**
+     * Constructs a {@code ScreenRenderer}.
+     *
+     * @param sink where each finished screen is written
+     */
+    ScreenRenderer(final OutputSink sink)
+    {
+        if(sink == null)
+        {
+            throw new IllegalArgumentException("Output sink cannot be null");
+        }
+
+        this.sink      = sink;
+        this.screen    = new StringBuilder(INITIAL_CAPACITY);
+        this.formatter = new Formatter(screen);
+    }
+
+    /**
+     * Adds text to the screen.
+     *
+     * @param text the text to add
+     */
+    void print(final Object text)
+    {
+        screen.append(text);
+        flushIfFull();
+    }
+
+    /**
+     * Ends the current line of the screen.
+     */
+    void println()
+    {
+        screen.append(LINE_SEPARATOR);
+        flushIfFull();
+    }
+
+    /**
+     * Adds text to the screen and ends the line.
+     *
+     * @param text the text to add
+     */
+    void println(final Object text)
+    {
+        screen.append(text)
+              .append(LINE_SEPARATOR);
+        flushIfFull();
+    }
+
+    /**
+     * Adds formatted text to the screen.
+     *
+     * @param format the format string
+     * @param args   the arguments referenced by the format
+     */
+    void printf(final String format,
+                final Object... args)
+    {
+        formatter.format(format,
+                         args);
+        flushIfFull();
+    }
+
+    /**
+     * Writes everything added since the last flush to the sink, in one piece.
+     * The screen is cleared even if the sink fails, so a failed screen is
+     * never sent again with the next one.
+     */
+    void flush()
+    {
+        if(screen.length() == 0)
+        {
+            return;
+        }
+
+        try
+        {
+            sink.write(screen);
+        }
+        finally
+        {
+            screen.setLength(0);
+        }
+    }
+
+    /**
+     * Drops everything added since the last flush without writing it.
+     */
+    void discard()
+    {
+        screen.setLength(0);
+    }
+
+    /*
+     * Writes the screen out early once it has grown too large to keep.
+     */
+    private void flushIfFull()
+    {
+        if(screen.length() >= FLUSH_THRESHOLD)
+        {
+            flush();
+        }
+    }
+}
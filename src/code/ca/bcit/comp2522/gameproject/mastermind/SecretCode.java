@@ -1,25 +1,23 @@
 package ca.bcit.comp2522.gameproject.mastermind;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents the secret code that players must guess in Mastermind.
  * <p>
  * This class extends the base Code class and provides functionality to generate
- * random secret codes of specified lengths.
+ * random secret codes of any {@link CodeGeometry}.
  * </p>
  *
  * @author Nathan O
- * @version 1.0 2025
+ * @version 1.1 2025
  */
 final class SecretCode extends Code
 {
-    private static final Random RANDOM = new Random();
-
     /**
-     * Constructs a new SecretCode with the specified digits.
+     * Constructs a new classic SecretCode with the specified digits.
      *
      * @param digits the sequence of digits that make up the code
      */
@@ -29,28 +27,90 @@ final class SecretCode extends Code
     }
 
     /**
-     * Generates a random secret code of the specified length.
+     * Constructs a new classic SecretCode from its packed representation.
+     *
+     * @param packed the packed digits of the code
+     */
+    SecretCode(final int packed)
+    {
+        super(packed);
+    }
+
+    /**
+     * Constructs a new SecretCode of the given geometry from its packed
+     * representation.
+     *
+     * @param geometry the shape of the code
+     * @param packed   the packed digits of the code
+     */
+    SecretCode(final CodeGeometry geometry,
+               final int packed)
+    {
+        super(geometry,
+              packed);
+    }
+
+    /**
+     * Generates a random secret code of the specified length with the classic
+     * colours, drawing digits from the calling thread's own generator.
      *
      * @param codeLength the desired length of the secret code
      * @return a new SecretCode with random digits
      */
     static SecretCode generateRandomCode(final int codeLength)
     {
-        if (codeLength != CODE_LENGTH)
+        return generateRandomCode(codeLength,
+                                  ThreadLocalRandom.current());
+    }
+
+    /**
+     * Generates a random secret code of the specified length with the classic
+     * colours using the given source of randomness, so games can be
+     * reproduced from a seed.
+     *
+     * @param codeLength the desired length of the secret code
+     * @param random     the source of randomness to draw digits from
+     * @return a new SecretCode with random digits
+     */
+    static SecretCode generateRandomCode(final int codeLength,
+                                         final RandomGenerator random)
+    {
+        final CodeGeometry geometry;
+
+        if(codeLength == CODE_LENGTH)
+        {
+            geometry = CodeGeometry.CLASSIC;
+        }
+        else
         {
-            throw new IllegalArgumentException("Code length must be 4");
+            geometry = new CodeGeometry(codeLength,
+                                        CodeGeometry.CLASSIC.getColours());
         }
+        return generateRandomCode(geometry,
+                                  random);
+    }
 
-        final List<Integer> randomDigits;
-        final SecretCode generatedSecretCode;
-        
-        randomDigits = new ArrayList<>();
-        for (int i = 0; i < codeLength; i++)
+    /**
+     * Generates a random secret code of the given geometry using the given
+     * source of randomness.
+     *
+     * @param geometry the shape of the secret code
+     * @param random   the source of randomness to draw digits from
+     * @return a new SecretCode with random digits
+     */
+    static SecretCode generateRandomCode(final CodeGeometry geometry,
+                                         final RandomGenerator random)
+    {
+        if(geometry == null)
+        {
+            throw new IllegalArgumentException("Geometry cannot be null");
+        }
+        if(random == null)
         {
-            randomDigits.add(RANDOM.nextInt(DIGIT_MAX) + DIGIT_MIN);
+            throw new IllegalArgumentException("Random generator cannot be null");
         }
-        generatedSecretCode = new SecretCode(randomDigits);
 
-        return generatedSecretCode;
+        return new SecretCode(geometry,
+                              geometry.randomCode(random));
     }
 }
@@ -0,0 +1,608 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Write-ahead log of {@code Mastermind} games in progress.
+ * <p>
+ * Each change to a game is appended as a fixed {@value #ENTRY_BYTES}-byte
+ * entry before the player sees its result: entry mark, entry type, two small
+ * arguments, the session id and one packed {@code int}. A game is started
+ * with its packed secret code, grows by one entry per round in the
+ * {@link PackedRound} layout, and may have one truth scan entry. Rounds
+ * carry their shown feedback and deceptive flag, so replaying them rebuilds
+ * the deception budget and strategy as well. An ended game is dropped on the
+ * next restore.
+ * </p>
+ * <p>
+ * {@link #restore(SplittableRandom)} replays the log into sessions, then
+ * rewrites it with only the games still in progress, so the log never holds
+ * more than the unfinished games and the rounds played since. A torn last
+ * entry from a crash is ignored. Entries are written without forcing them to
+ * the device, so a process crash loses nothing but a power failure may lose
+ * the last rounds. A journal is used by one thread at a time.
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+final class SessionJournal implements
+                           Closeable
+{
+    static final String JOURNAL_FILE_PATH = "src" +
+                                            java.io.File.separator +
+                                            "res" +
+                                            java.io.File.separator +
+                                            "mastermind_sessions.wal";
+
+    private static final int  FILE_MAGIC        = 0x4D4D4A31; // "MMJ1"
+    private static final int  FILE_VERSION      = 1;
+    private static final int  FILE_HEADER_BYTES = 8;
+    private static final int  ENTRY_BYTES       = 16;
+    private static final byte ENTRY_MARK        = 0x4A; // "J"
+
+    private static final byte ENTRY_STARTED = 1;
+    private static final byte ENTRY_ROUND   = 2;
+    private static final byte ENTRY_SCAN    = 3;
+    private static final byte ENTRY_ENDED   = 4;
+
+    private static final int TYPE_OFFSET       = 1;
+    private static final int FIRST_ARG_OFFSET  = 2;
+    private static final int SECOND_ARG_OFFSET = 3;
+    private static final int ID_OFFSET         = 4;
+    private static final int VALUE_OFFSET      = 12;
+
+    private static final int    NO_ARG           = 0;
+    private static final int    NO_VALUE         = 0;
+    private static final int    ROUND_INCREMENT  = 1;
+    private static final long   FIRST_SESSION_ID = 1L;
+    private static final int    COMPACT_BATCH    = 4 * 1024;
+    private static final String COMPACT_SUFFIX   = ".tmp";
+
+    private final Path       path;
+    private final ByteBuffer entry;
+
+    private FileChannel channel;
+    private long        nextSessionId;
+
+    /**
+     * Constructs a {@code SessionJournal} over the given file. Nothing is read
+     * or written until the journal is restored or appended to.
+     *
+     * @param path the path of the journal file
+     */
+    SessionJournal(final Path path)
+    {
+        if(path == null)
+        {
+            throw new IllegalArgumentException("Journal path cannot be null");
+        }
+
+        this.path          = path;
+        this.entry         = ByteBuffer.allocate(ENTRY_BYTES);
+        this.nextSessionId = FIRST_SESSION_ID;
+    }
+
+    /**
+     * Gets the path of the journal file.
+     *
+     * @return the journal file path
+     */
+    Path getPath()
+    {
+        return path;
+    }
+
+    /**
+     * Gets an id for a new game that no game in the journal has used.
+     *
+     * @return the new session id
+     */
+    long nextSessionId()
+    {
+        return nextSessionId++;
+    }
+
+    /**
+     * Records that a game has started. Only classic games can be journalled,
+     * since entries hold codes and rounds in the classic packed layout.
+     *
+     * @param sessionId the game's id
+     * @param session   the game's session
+     * @throws IOException if the journal cannot be written
+     */
+    void sessionStarted(final long sessionId,
+                        final MastermindSession session) throws IOException
+    {
+        if(session == null)
+        {
+            throw new IllegalArgumentException("Session cannot be null");
+        }
+        if(!session.getGeometry()
+                   .isClassic())
+        {
+            throw new IllegalArgumentException("Only classic games can be journalled, not " +
+                                               session.getGeometry());
+        }
+
+        append(ENTRY_STARTED,
+               NO_ARG,
+               NO_ARG,
+               sessionId,
+               session.getSecretCode()
+                      .getPacked());
+    }
+
+    /**
+     * Records a round that has just been played.
+     *
+     * @param sessionId the game's id
+     * @param round     the round that was played
+     * @throws IOException if the journal cannot be written
+     */
+    void roundPlayed(final long sessionId,
+                     final Round round) throws IOException
+    {
+        if(round == null)
+        {
+            throw new IllegalArgumentException("Round cannot be null");
+        }
+
+        append(ENTRY_ROUND,
+               round.getRoundNumber(),
+               NO_ARG,
+               sessionId,
+               PackedRound.of(round));
+    }
+
+    /**
+     * Records that the game's truth scan has just been used.
+     *
+     * @param sessionId the game's id
+     * @param session   the game's session, after the scan
+     * @throws IOException if the journal cannot be written
+     */
+    void truthScanUsed(final long sessionId,
+                       final MastermindSession session) throws IOException
+    {
+        if(session == null)
+        {
+            throw new IllegalArgumentException("Session cannot be null");
+        }
+        if(!session.isTruthScanUsed())
+        {
+            throw new IllegalArgumentException("The truth scan has not been used");
+        }
+
+        append(ENTRY_SCAN,
+               session.getTruthScanInitiatedIn(),
+               session.getTruthScanRound(),
+               sessionId,
+               NO_VALUE);
+    }
+
+    /**
+     * Records that a game is over and need not be restored.
+     *
+     * @param sessionId the game's id
+     * @throws IOException if the journal cannot be written
+     */
+    void sessionEnded(final long sessionId) throws IOException
+    {
+        append(ENTRY_ENDED,
+               NO_ARG,
+               NO_ARG,
+               sessionId,
+               NO_VALUE);
+    }
+
+    /**
+     * Rebuilds every game still in progress, then rewrites the journal to
+     * hold only those games. A game whose entries cannot be replayed is
+     * reported and left out.
+     *
+     * @param random the generator each restored session's generator is split
+     *               from
+     * @return the games in progress by session id, in the order they started
+     * @throws IOException if the journal cannot be read or rewritten
+     */
+    Map<Long, MastermindSession> restore(final SplittableRandom random) throws IOException
+    {
+        if(random == null)
+        {
+            throw new IllegalArgumentException("Random cannot be null");
+        }
+
+        final Map<Long, MastermindSession> sessions;
+        sessions = new LinkedHashMap<>();
+
+        close();
+        if(Files.exists(path))
+        {
+            try(final FileChannel readChannel = FileChannel.open(path,
+                                                                 StandardOpenOption.READ))
+            {
+                if(readChannel.size() > 0)
+                {
+                    final ByteBuffer data;
+                    data = readFully(readChannel);
+
+                    validateFileHeader(data);
+                    replayEntries(data,
+                                  sessions,
+                                  random);
+                }
+            }
+        }
+
+        compact(sessions);
+        return sessions;
+    }
+
+    /**
+     * Closes the journal file. Later entries reopen it.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException
+    {
+        if(channel != null)
+        {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /*
+     * Reads the whole journal into memory. The file is not mapped, since it
+     * is replaced once restored and some systems refuse to replace a mapped
+     * file.
+     */
+    private ByteBuffer readFully(final FileChannel readChannel) throws IOException
+    {
+        final long       size;
+        final ByteBuffer data;
+
+        size = readChannel.size();
+        if(size > Integer.MAX_VALUE)
+        {
+            throw new IOException("Session journal is too large: " +
+                                  path);
+        }
+
+        data = ByteBuffer.allocate((int)size);
+        while(data.hasRemaining() && readChannel.read(data) >= 0)
+        {
+            // Keep reading until the buffer is full.
+        }
+        return data;
+    }
+
+    /*
+     * Replays every whole entry in the journal into the sessions.
+     * Stops at the first entry without a mark, which can only be the torn
+     * end of an interrupted write.
+     */
+    private void replayEntries(final ByteBuffer data,
+                               final Map<Long, MastermindSession> sessions,
+                               final SplittableRandom random)
+    {
+        final int entries;
+        entries = (data.capacity() - FILE_HEADER_BYTES) / ENTRY_BYTES;
+
+        for(int index = 0; index < entries; index++)
+        {
+            final int  offset;
+            final long sessionId;
+
+            offset = FILE_HEADER_BYTES + index * ENTRY_BYTES;
+            if(data.get(offset) != ENTRY_MARK)
+            {
+                return;
+            }
+
+            sessionId     = data.getLong(offset + ID_OFFSET);
+            nextSessionId = Math.max(nextSessionId,
+                                     sessionId + ROUND_INCREMENT);
+            try
+            {
+                replayEntry(data,
+                            offset,
+                            sessionId,
+                            sessions,
+                            random);
+            }
+            catch(final IllegalArgumentException | IllegalStateException e)
+            {
+                sessions.remove(sessionId);
+                System.err.println("Skipping unreadable saved game " +
+                                   sessionId +
+                                   " in " +
+                                   path +
+                                   ": " +
+                                   e.getMessage());
+            }
+        }
+    }
+
+    /*
+     * Applies one entry to the session it belongs to. Entries for a game
+     * already skipped are ignored.
+     */
+    private static void replayEntry(final ByteBuffer data,
+                                    final int offset,
+                                    final long sessionId,
+                                    final Map<Long, MastermindSession> sessions,
+                                    final SplittableRandom random)
+    {
+        final byte              type;
+        final MastermindSession session;
+
+        type    = data.get(offset + TYPE_OFFSET);
+        session = sessions.get(sessionId);
+
+        if(type == ENTRY_STARTED)
+        {
+            sessions.put(sessionId,
+                         new MastermindSession(random.split(),
+                                               new SecretCode(data.getInt(offset + VALUE_OFFSET))));
+        }
+        else if(type == ENTRY_ENDED)
+        {
+            sessions.remove(sessionId);
+        }
+        else if(session == null)
+        {
+            return;
+        }
+        else if(type == ENTRY_ROUND)
+        {
+            if(data.get(offset + FIRST_ARG_OFFSET) != session.getRounds()
+                                                             .size() + ROUND_INCREMENT)
+            {
+                throw new IllegalArgumentException("Round " +
+                                                   data.get(offset + FIRST_ARG_OFFSET) +
+                                                   " is out of order");
+            }
+            session.replayRound(data.getInt(offset + VALUE_OFFSET));
+        }
+        else if(type == ENTRY_SCAN)
+        {
+            session.replayTruthScan(data.get(offset + FIRST_ARG_OFFSET),
+                                    data.get(offset + SECOND_ARG_OFFSET));
+        }
+        else
+        {
+            throw new IllegalArgumentException("Unknown journal entry type " +
+                                               type);
+        }
+    }
+
+    /*
+     * Rewrites the journal with only the given games, replacing the old file
+     * in one step so a crash leaves either the old journal or the new one.
+     */
+    private void compact(final Map<Long, MastermindSession> sessions) throws IOException
+    {
+        final Path       compactPath;
+        final ByteBuffer buffer;
+
+        if(path.getParent() != null)
+        {
+            Files.createDirectories(path.getParent());
+        }
+
+        compactPath = path.resolveSibling(path.getFileName()
+                                              .toString() + COMPACT_SUFFIX);
+        buffer      = ByteBuffer.allocate(COMPACT_BATCH * ENTRY_BYTES);
+
+        try(final FileChannel compactChannel = FileChannel.open(compactPath,
+                                                                StandardOpenOption.CREATE,
+                                                                StandardOpenOption.WRITE,
+                                                                StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            buffer.putInt(FILE_MAGIC);
+            buffer.putInt(FILE_VERSION);
+
+            for(final Map.Entry<Long, MastermindSession> session : sessions.entrySet())
+            {
+                writeSession(compactChannel,
+                             buffer,
+                             session.getKey(),
+                             session.getValue());
+            }
+
+            buffer.flip();
+            writeFully(compactChannel,
+                       buffer);
+        }
+
+        Files.move(compactPath,
+                   path,
+                   StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /*
+     * Writes the entries that rebuild one game, in the order they were first
+     * written: start, rounds, and the truth scan just before the round it was
+     * used in.
+     */
+    private static void writeSession(final FileChannel compactChannel,
+                                     final ByteBuffer buffer,
+                                     final long sessionId,
+                                     final MastermindSession session) throws IOException
+    {
+        final List<Round> rounds;
+        final int         scanIndex;
+
+        rounds    = session.getRounds();
+        scanIndex = session.isTruthScanUsed() ?
+                    session.getTruthScanInitiatedIn() - ROUND_INCREMENT :
+                    -ROUND_INCREMENT;
+
+        putEntry(compactChannel,
+                 buffer,
+                 ENTRY_STARTED,
+                 NO_ARG,
+                 NO_ARG,
+                 sessionId,
+                 session.getSecretCode()
+                        .getPacked());
+
+        for(int index = 0; index <= rounds.size(); index++)
+        {
+            if(index == scanIndex)
+            {
+                putEntry(compactChannel,
+                         buffer,
+                         ENTRY_SCAN,
+                         session.getTruthScanInitiatedIn(),
+                         session.getTruthScanRound(),
+                         sessionId,
+                         NO_VALUE);
+            }
+            if(index < rounds.size())
+            {
+                putEntry(compactChannel,
+                         buffer,
+                         ENTRY_ROUND,
+                         index + ROUND_INCREMENT,
+                         NO_ARG,
+                         sessionId,
+                         PackedRound.of(rounds.get(index)));
+            }
+        }
+    }
+
+    /*
+     * Adds one entry to a batch, writing the batch out first if it is full.
+     */
+    private static void putEntry(final FileChannel compactChannel,
+                                 final ByteBuffer buffer,
+                                 final byte type,
+                                 final int firstArg,
+                                 final int secondArg,
+                                 final long sessionId,
+                                 final int value) throws IOException
+    {
+        if(buffer.remaining() < ENTRY_BYTES)
+        {
+            buffer.flip();
+            writeFully(compactChannel,
+                       buffer);
+            buffer.clear();
+        }
+
+        buffer.put(ENTRY_MARK);
+        buffer.put(type);
+        buffer.put((byte)firstArg);
+        buffer.put((byte)secondArg);
+        buffer.putLong(sessionId);
+        buffer.putInt(value);
+    }
+
+    /*
+     * Appends one entry to the journal, opening it first if needed.
+     */
+    private void append(final byte type,
+                        final int firstArg,
+                        final int secondArg,
+                        final long sessionId,
+                        final int value) throws IOException
+    {
+        if(channel == null)
+        {
+            channel = openForAppend();
+        }
+
+        entry.clear();
+        entry.put(ENTRY_MARK);
+        entry.put(type);
+        entry.put((byte)firstArg);
+        entry.put((byte)secondArg);
+        entry.putLong(sessionId);
+        entry.putInt(value);
+        entry.flip();
+        writeFully(channel,
+                   entry);
+    }
+
+    /*
+     * Opens the journal for appending, writing the file header if the file
+     * is new. A torn entry left at the end is cut off so new entries stay
+     * aligned.
+     */
+    private FileChannel openForAppend() throws IOException
+    {
+        final FileChannel appendChannel;
+        final long        size;
+
+        if(path.getParent() != null)
+        {
+            Files.createDirectories(path.getParent());
+        }
+
+        appendChannel = FileChannel.open(path,
+                                         StandardOpenOption.CREATE,
+                                         StandardOpenOption.WRITE,
+                                         StandardOpenOption.APPEND);
+        size          = appendChannel.size();
+
+        if(size < FILE_HEADER_BYTES)
+        {
+            final ByteBuffer header;
+            header = ByteBuffer.allocate(FILE_HEADER_BYTES);
+            header.putInt(FILE_MAGIC);
+            header.putInt(FILE_VERSION);
+            header.flip();
+
+            appendChannel.truncate(0);
+            writeFully(appendChannel,
+                       header);
+        }
+        else if((size - FILE_HEADER_BYTES) % ENTRY_BYTES != 0)
+        {
+            appendChannel.truncate(size - (size - FILE_HEADER_BYTES) % ENTRY_BYTES);
+        }
+        return appendChannel;
+    }
+
+    /*
+     * Writes the whole buffer to the channel.
+     */
+    private static void writeFully(final FileChannel channel,
+                                   final ByteBuffer buffer) throws IOException
+    {
+        while(buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+    }
+
+    /*
+     * Checks that the journal read into memory starts with the expected header.
+     */
+    private void validateFileHeader(final ByteBuffer data) throws IOException
+    {
+        if(data.capacity() < FILE_HEADER_BYTES ||
+           data.getInt(0) != FILE_MAGIC ||
+           data.getInt(Integer.BYTES) != FILE_VERSION)
+        {
+            throw new IOException("Not a Mastermind session journal: " +
+                                  path);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Measures how long it takes to restore games in progress from a
+ * {@link SessionJournal}.
+ * <p>
+ * Writes a journal of the requested number of unfinished games, with rounds
+ * appended to all of them in turn as a busy server would, and about one game
+ * in {@value #SCAN_ONE_IN} using its truth scan. The journal is then
+ * restored once to warm up and the given number of times more, and the
+ * fastest restore is reported. Each restore includes rewriting the journal.
+ * </p>
+ * <p>
+ * Usage: {@code SessionJournalBenchmark [sessions] [iterations] [file]}. An
+ * existing journal is reused rather than rewritten.
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public final class SessionJournalBenchmark
+{
+    private static final int  DEFAULT_SESSIONS   = 100_000;
+    private static final int  DEFAULT_ITERATIONS = 3;
+    private static final long SEED               = 42L;
+    private static final long BYTES_PER_KILOBYTE = 1024L;
+
+    private static final int ARG_SESSIONS   = 0;
+    private static final int ARG_ITERATIONS = 1;
+    private static final int ARG_FILE       = 2;
+
+    private static final int    SCAN_ONE_IN     = 4;
+    private static final int    ROUND_INCREMENT = 1;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double NANOS_PER_MICRO = 1_000.0;
+
+    /*
+     * Private constructor to prevent instantiation.
+     */
+    private SessionJournalBenchmark()
+    {
+        // Utility class should not be instantiated
+    }
+
+    /**
+     * Entry point for the benchmark.
+     *
+     * @param args optional session count, iteration count and journal path
+     * @throws IOException if the journal cannot be written or read
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        final int  sessions;
+        final int  iterations;
+        final Path file;
+
+        sessions   = args.length > ARG_SESSIONS ?
+                     Integer.parseInt(args[ARG_SESSIONS]) :
+                     DEFAULT_SESSIONS;
+        iterations = args.length > ARG_ITERATIONS ?
+                     Integer.parseInt(args[ARG_ITERATIONS]) :
+                     DEFAULT_ITERATIONS;
+        file       = args.length > ARG_FILE ?
+                     Paths.get(args[ARG_FILE]) :
+                     Files.createTempFile("mastermind-sessions-bench",
+                                          ".wal");
+
+        if(!Files.exists(file) || Files.size(file) == 0)
+        {
+            writeSyntheticJournal(file,
+                                  sessions);
+        }
+
+        System.out.printf("Journal: %s (%d KB)%n",
+                          file,
+                          Files.size(file) / BYTES_PER_KILOBYTE);
+
+        int  restored;
+        long best;
+
+        restored = restore(file).size();
+        best     = Long.MAX_VALUE;
+        for(int i = 0; i < iterations; i++)
+        {
+            final long start;
+            start = System.nanoTime();
+
+            restored = restore(file).size();
+            best     = Math.min(best,
+                                System.nanoTime() - start);
+        }
+
+        System.out.printf("Restored %d sessions in %.1f ms (%.2f us per session)%n",
+                          restored,
+                          best / NANOS_PER_MILLI,
+                          best / NANOS_PER_MICRO / Math.max(restored,
+                                                            ROUND_INCREMENT));
+    }
+
+    /*
+     * Restores every game in the journal.
+     */
+    private static Map<Long, MastermindSession> restore(final Path file) throws IOException
+    {
+        try(final SessionJournal journal = new SessionJournal(file))
+        {
+            return journal.restore(new SplittableRandom(SEED));
+        }
+    }
+
+    /*
+     * Writes a journal of unfinished games. Each game gets a random number of
+     * rounds short of the limit; rounds are written one per game in turn.
+     */
+    private static void writeSyntheticJournal(final Path file,
+                                              final int sessionCount) throws IOException
+    {
+        final SplittableRandom    random;
+        final MastermindSession[] sessions;
+        final long[]              ids;
+        final int[]               roundTargets;
+
+        random       = new SplittableRandom(SEED);
+        sessions     = new MastermindSession[sessionCount];
+        ids          = new long[sessionCount];
+        roundTargets = new int[sessionCount];
+
+        try(final SessionJournal journal = new SessionJournal(file))
+        {
+            for(int index = 0; index < sessionCount; index++)
+            {
+                sessions[index]     = new MastermindSession(random.split());
+                ids[index]          = journal.nextSessionId();
+                roundTargets[index] = random.nextInt(ROUND_INCREMENT,
+                                                     MastermindSession.MAX_ROUNDS);
+                journal.sessionStarted(ids[index],
+                                       sessions[index]);
+            }
+
+            for(int round = 0; round < MastermindSession.MAX_ROUNDS; round++)
+            {
+                for(int index = 0; index < sessionCount; index++)
+                {
+                    final MastermindSession session;
+                    session = sessions[index];
+
+                    if(round < roundTargets[index] && !session.isGameOver())
+                    {
+                        journal.roundPlayed(ids[index],
+                                            session.playGuess(PlayerGuessCode.fromPacked(FeedbackTable.codeAt(random.nextInt(FeedbackTable.CODE_COUNT)))));
+                    }
+                    else if(round == roundTargets[index] &&
+                            !session.isTruthScanUsed() &&
+                            random.nextInt(SCAN_ONE_IN) == 0)
+                    {
+                        session.replayTruthScan(session.getRounds()
+                                                       .size() + ROUND_INCREMENT,
+                                                random.nextInt(session.getRounds()
+                                                                      .size()) + ROUND_INCREMENT);
+                        journal.truthScanUsed(ids[index],
+                                              session);
+                    }
+                }
+            }
+        }
+    }
+}
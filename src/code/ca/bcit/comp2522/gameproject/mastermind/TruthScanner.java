@@ -40,11 +40,13 @@ final class TruthScanner
      *
      * @param rounds The list of game rounds played so far.
      * @param secretCode The secret code for the current game.
+     * @param guessHandler Reads the player's choice of round to scan.
      * @return A formatted string describing the scan action (e.g., "Used in Round 5, targeting Round 3 (Deceptive)")
      *         if the scan was successfully completed, otherwise returns null (e.g., if already used, no rounds, or cancelled).
      */
     final String handleTruthScanRequestAndGetInfo(final List<Round> rounds,
-                                                  final SecretCode secretCode)
+                                                  final SecretCode secretCode,
+                                                  final GuessHandler guessHandler)
     {
         if (truthScanUsedThisGame)
         {
@@ -66,7 +68,7 @@ final class TruthScanner
         final String scanResultDescription;
 
         currentRoundNumber = rounds.size() + ROUND_INCREMENT;
-        targetRoundNumber = GuessHandler.getRoundNumberForScan(rounds.size());
+        targetRoundNumber = guessHandler.getRoundNumberForScan(rounds.size());
 
         if (targetRoundNumber <= ROUND_MINIMUM)
         {
@@ -87,18 +89,16 @@ final class TruthScanner
 
             // Reveal the truth
             selectedRound.revealTruth(); 
-            scanResultDescription = String.format("Used in Round %d, targeting Round %d (Deceptive - Truth Revealed)",
-                                                currentRoundNumber,
-                                                targetRoundNumber);
         }
         else
         {
             System.out.println("Round " + targetRoundNumber + " was not deceptive! Scan used, but no change.");
             // Even if not deceptive, the scan attempt counts as used
-            scanResultDescription = String.format("Used in Round %d, targeting Round %d (Not Deceptive)",
-                                                currentRoundNumber,
-                                                targetRoundNumber);
+            selectedRound.revealTruth();
         }
+        scanResultDescription = describeScan(currentRoundNumber,
+                                             targetRoundNumber,
+                                             selectedRound.isDeceptiveRound());
 
         // Mark scan as used for this game and store details
         this.truthScanUsedThisGame = true;
@@ -108,6 +108,80 @@ final class TruthScanner
         return scanResultDescription; 
     }
     
+    /**
+     * Checks whether the truth scan has already been used this game.
+     *
+     * @return true if the scan was used, false otherwise
+     */
+    final boolean isTruthScanUsed()
+    {
+        return truthScanUsedThisGame;
+    }
+
+    /**
+     * Gets the round the scan was used in.
+     *
+     * @return the 1-based round number, or -1 if the scan is unused
+     */
+    final int getRoundScanInitiatedIn()
+    {
+        return roundScanInitiatedIn;
+    }
+
+    /**
+     * Gets the round the scan targeted.
+     *
+     * @return the 1-based round number, or -1 if the scan is unused
+     */
+    final int getRoundScanned()
+    {
+        return roundScanned;
+    }
+
+    /**
+     * Marks the scan as used without asking the player, as when a saved game
+     * is restored. Revealing the target round is left to the caller.
+     *
+     * @param initiatedIn the round the scan was used in
+     * @param scanned     the round the scan targeted
+     */
+    final void restoreScan(final int initiatedIn,
+                           final int scanned)
+    {
+        if (truthScanUsedThisGame)
+        {
+            throw new IllegalStateException("The truth scan has already been used");
+        }
+        if (scanned <= ROUND_MINIMUM || scanned >= initiatedIn)
+        {
+            throw new IllegalArgumentException("Scanned round must come before round " +
+                                               initiatedIn + ": " + scanned);
+        }
+
+        this.truthScanUsedThisGame = true;
+        this.roundScanInitiatedIn  = initiatedIn;
+        this.roundScanned          = scanned;
+    }
+
+    /**
+     * Describes a scan the way it is recorded in the game history.
+     *
+     * @param initiatedIn the round the scan was used in
+     * @param scanned     the round the scan targeted
+     * @param deceptive   whether the targeted round was deceptive
+     * @return the description of the scan
+     */
+    static String describeScan(final int initiatedIn,
+                               final int scanned,
+                               final boolean deceptive)
+    {
+        return String.format(deceptive ?
+                             "Used in Round %d, targeting Round %d (Deceptive - Truth Revealed)" :
+                             "Used in Round %d, targeting Round %d (Not Deceptive)",
+                             initiatedIn,
+                             scanned);
+    }
+
     /**
      * Resets the truth scanner state for a new game.
      */
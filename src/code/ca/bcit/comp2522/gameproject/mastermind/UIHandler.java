@@ -1,14 +1,21 @@
 package ca.bcit.comp2522.gameproject.mastermind;
 
-import java.util.InputMismatchException;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Scanner;
 
+import ca.bcit.comp2522.gameproject.interfaces.InputSource;
+import ca.bcit.comp2522.gameproject.interfaces.OutputSink;
 import ca.bcit.comp2522.gameproject.mastermind.GameHistoryManager.GameSessionRecord;
+import ca.bcit.comp2522.gameproject.output.StreamOutputSink;
 
 /**
  * Handles all console input and output for the Mastermind game.
  * Separates UI concerns from the main game logic.
+ * <p>
+ * Output is collected a screen at a time by a {@link ScreenRenderer} and
+ * written out whenever the game is about to wait for the player, so each
+ * screen costs one write and one flush however many lines it has.
+ * </p>
  *
  * @author Nathan O
  * @version 1.6 2025
@@ -71,7 +78,8 @@ final class UIHandler
      * This enum defines all possible actions a player can take from the history menu
      * of the Mastermind game. Each option is associated with a numeric value that
      * corresponds to the user input expected from the console. Options include viewing
-     * all game records, filtering by outcome, or returning to the main menu.
+     * all game records, filtering by outcome, viewing statistics, or returning
+     * to the main menu.
      * </p>
      */
     enum HistoryMenuOption
@@ -79,7 +87,8 @@ final class UIHandler
         VIEW_ALL(1), 
         VIEW_WON(2), 
         VIEW_LOST(3),
-        BACK_TO_MAIN(4), 
+        STATISTICS(4),
+        BACK_TO_MAIN(5), 
         UNKNOWN(-1);
 
         private final int value;
@@ -123,6 +132,7 @@ final class UIHandler
     private static final String WIN_MESSAGE                 = "Congratulations! You won in %d round(s)!";
     private static final String GAME_OVER_SEPARATOR         = "=========== GAME OVER ============";
     private static final String GUESS_SUMMARY_HEADER_FOOTER = "----------- Guess Summary --------------";
+    private static final String PAGE_STOP_INPUT             = "q";
 
     
     private static final String RULES_TEMPLATE = """
@@ -143,6 +153,7 @@ final class UIHandler
                                                  - Enter a %d-digit guess (digits %d-%d).
                                                  - Enter '%s' to use your Truth Scan.
                                                  - Enter '%s' to view a summary of your previous guesses.
+                                                 - Enter '%s' to ask the solver for a hint.
 
                                                  ---------------EXAMPLE------------------
                                                  Secret Code: %s
@@ -158,23 +169,80 @@ final class UIHandler
     private static final int OPTION_EXIT_INT         = 3;
     private static final int DEFAULT_MENU_CHOICE_INT = - 1;
 
-    private static final int HISTORY_OPTION_ALL_INT  = 1;
-    private static final int HISTORY_OPTION_WON_INT  = 2;
-    private static final int HISTORY_OPTION_LOST_INT = 3;
-    private static final int HISTORY_OPTION_BACK_INT = 4;
+    private static final int HISTORY_OPTION_ALL_INT   = 1;
+    private static final int HISTORY_OPTION_WON_INT   = 2;
+    private static final int HISTORY_OPTION_LOST_INT  = 3;
+    private static final int HISTORY_OPTION_STATS_INT = 4;
+    private static final int HISTORY_OPTION_BACK_INT  = 5;
 
 
-    private final Scanner inputScanner;
+    static final String REMOTE_PROMPT_END = " to quit): ";
+
+    private final InputSource    input;
+    private final ScreenRenderer out;
+    private final ScreenRenderer err;
 
     /**
-     * Constructs a UIHandler with the specified Scanner.
+     * Constructs a UIHandler that reads from the specified source and writes
+     * to the console.
      *
-     * @param scanner The Scanner instance to use for input.
+     * @param input The source to read player input from.
+     */
+    UIHandler(final InputSource input)
+    {
+        this(input,
+             StreamOutputSink.standardOutput(),
+             StreamOutputSink.standardError());
+    }
+
+    /**
+     * Constructs a UIHandler with the specified input source and output
+     * sinks.
+     *
+     * @param input The source to read player input from.
+     * @param out   The sink for regular output.
+     * @param err   The sink for error output.
+     */
+    UIHandler(final InputSource input,
+              final OutputSink out,
+              final OutputSink err)
+    {
+        validateInput(input);
+        this.out   = new ScreenRenderer(out);
+        this.err   = new ScreenRenderer(err);
+        this.input = new FlushingInputSource(input,
+                                             this.out);
+    }
+
+    /**
+     * Gets the source this UI reads player input from, so the rest of the game
+     * can read from the same one. Reading from it first writes out whatever
+     * this UI is still holding, so the player sees the prompt they answer.
+     *
+     * @return The input source.
+     */
+    InputSource getInput()
+    {
+        return input;
+    }
+
+    /**
+     * Writes out everything displayed since the player was last asked for
+     * input.
+     */
+    void flush()
+    {
+        out.flush();
+    }
+
+    /**
+     * Drops any output that has been displayed but not yet written, so a
+     * screen that could not be sent is never shown to anyone else.
      */
-    UIHandler(final Scanner scanner)
+    void discardOutput()
     {
-        validateScanner(scanner);
-        this.inputScanner = scanner;
+        out.discard();
+        err.discard();
     }
 
     /**
@@ -182,7 +250,7 @@ final class UIHandler
      */
     void displaySeparator()
     {
-        System.out.println(SEPARATOR_LINE);
+        out.println(SEPARATOR_LINE);
     }
 
     /**
@@ -193,7 +261,7 @@ final class UIHandler
     void displayMessage(final String message)
     {
         validateMessage(message);
-        System.out.println(message);
+        out.println(message);
     }
 
     /**
@@ -204,7 +272,11 @@ final class UIHandler
     void displayError(final String errorMessage)
     {
         validateMessage(errorMessage);
-        System.err.println(errorMessage);
+
+        // Keep errors in order with the regular output before them.
+        out.flush();
+        err.println(errorMessage);
+        err.flush();
     }
 
     /**
@@ -212,12 +284,11 @@ final class UIHandler
      */
     void waitForEnter()
     {
-        System.out.print("Press Enter to continue...");
-        if(inputScanner.hasNextLine())
+        out.print("Press Enter to continue...");
+        if(input.hasNextLine())
         {
-            inputScanner.nextLine();
+            input.nextLine();
         }
-        inputScanner.nextLine();
     }
 
     /**
@@ -225,7 +296,7 @@ final class UIHandler
      */
     void displayWelcome()
     {
-        System.out.println();
+        out.println();
         displaySeparator();
         displayMessage("Welcome to Mastermind!");
         displaySeparator();
@@ -236,7 +307,7 @@ final class UIHandler
      */
     void promptForPlayedBefore()
     {
-        System.out.print("Have you played this version before? (yes/no): ");
+        out.print("Have you played this version before? (yes/no): ");
     }
 
     /**
@@ -249,6 +320,7 @@ final class UIHandler
      * @param deceptiveRoundsAllowed Max deceptive rounds.
      * @param truthScanKey           Key for truth scan action.
      * @param guessSummaryKey        Key for summary action.
+     * @param hintKey                Key for hint action.
      * @param exampleSecret          Example secret code for rules.
      * @param exampleGuess           Example guess for rules.
      * @param exampleCorrectPos      Example correct positions for rules.
@@ -261,6 +333,7 @@ final class UIHandler
                       final int deceptiveRoundsAllowed,
                       final String truthScanKey,
                       final String guessSummaryKey,
+                      final String hintKey,
                       final String exampleSecret,
                       final String exampleGuess,
                       final int exampleCorrectPos,
@@ -277,13 +350,14 @@ final class UIHandler
                                                     digitMax,
                                                     truthScanKey,
                                                     guessSummaryKey,
+                                                    hintKey,
                                                     exampleSecret,
                                                     exampleGuess,
                                                     exampleCorrectPos,
                                                     exampleMisplaced,
                                                     exampleCorrectPos,
                                                     exampleMisplaced                                                                                                                                                                                                                                                                                             );
-        System.out.println(formattedRules);
+        out.println(formattedRules);
     }
 
     /**
@@ -295,7 +369,7 @@ final class UIHandler
     void displayInitialInstructions(final int codeLength,
                                     final int maxRounds)
     {
-        System.out.println();
+        out.println();
         displaySeparator();
         displayMessage("Try to guess the " + codeLength + "-digit code.");
         displayMessage("You have " + maxRounds + " attempts.");
@@ -307,11 +381,11 @@ final class UIHandler
      */
     void displayExitMessage()
     {
-        System.out.println();
+        out.println();
         displaySeparator();
         displayMessage("Exiting Mastermind. Goodbye!");
         displaySeparator();
-        System.out.println();
+        out.println();
     }
 
 
@@ -320,7 +394,7 @@ final class UIHandler
      */
     void displayMainMenu()
     {
-        System.out.println();
+        out.println();
         displaySeparator();
         displayMessage("MASTERMIND MAIN MENU");
         displaySeparator();
@@ -345,28 +419,21 @@ final class UIHandler
 
         while (choice == MainMenuOption.UNKNOWN) 
         {
-            System.out.print("Enter your choice: ");
-            try 
+            out.print("Enter your choice: ");
+            choiceInt = readMenuNumber();
+            if(choiceInt == DEFAULT_MENU_CHOICE_INT)
             {
-                choiceInt = inputScanner.nextInt();
-                choice = MainMenuOption.fromInt(choiceInt);
-
-                if (choice == MainMenuOption.UNKNOWN) {
-                    displayMessage("Invalid choice. Please enter " +
-                                   MainMenuOption.PLAY_GAME.value + ", " +
-                                   MainMenuOption.VIEW_HISTORY.value + ", or " +
-                                   MainMenuOption.EXIT.value + ".");
-                }
-            } 
-            catch (final InputMismatchException e) 
-            {
-                displayMessage("Invalid input. Please enter a number.");
-                inputScanner.next(); 
-                choiceInt = DEFAULT_MENU_CHOICE_INT; 
-                choice = MainMenuOption.UNKNOWN;
+                continue;
+            }
+            choice = MainMenuOption.fromInt(choiceInt);
+
+            if (choice == MainMenuOption.UNKNOWN) {
+                displayMessage("Invalid choice. Please enter " +
+                               MainMenuOption.PLAY_GAME.value + ", " +
+                               MainMenuOption.VIEW_HISTORY.value + ", or " +
+                               MainMenuOption.EXIT.value + ".");
             }
         }
-        inputScanner.nextLine();
         return choice;
     }
 
@@ -375,13 +442,14 @@ final class UIHandler
      */
     void displayHistorySubMenu()
     {
-        System.out.println();
+        out.println();
         displaySeparator();
         displayMessage("VIEW GAME HISTORY");
         displaySeparator();
         displayMessage(HISTORY_OPTION_ALL_INT + ". View All History");
         displayMessage(HISTORY_OPTION_WON_INT + ". View Won Games");
         displayMessage(HISTORY_OPTION_LOST_INT + ". View Lost Games");
+        displayMessage(HISTORY_OPTION_STATS_INT + ". View Statistics");
         displayMessage(HISTORY_OPTION_BACK_INT + ". Back to Main Menu");
         displaySeparator();
     }
@@ -403,33 +471,51 @@ final class UIHandler
 
         while(choice == HistoryMenuOption.UNKNOWN)
         {
-            System.out.print("Enter your choice: ");
-            try
+            out.print("Enter your choice: ");
+            choiceInt = readMenuNumber();
+            if(choiceInt == DEFAULT_MENU_CHOICE_INT)
             {
-                choiceInt = inputScanner.nextInt();
-                choice    = HistoryMenuOption.fromInt(choiceInt);
-
-                if(choice == HistoryMenuOption.UNKNOWN)
-                {
-                    displayMessage("Invalid choice. Please enter a number between " +
-                                   HistoryMenuOption.VIEW_ALL.value +
-                                   " and " +
-                                   HistoryMenuOption.BACK_TO_MAIN.value +
-                                   ".");
-                }
+                continue;
             }
-            catch(final InputMismatchException e)
+            choice = HistoryMenuOption.fromInt(choiceInt);
+
+            if(choice == HistoryMenuOption.UNKNOWN)
             {
-                displayMessage("Invalid input. Please enter a number.");
-                inputScanner.next(); 
-                choiceInt = DEFAULT_MENU_CHOICE_INT; 
-                choice    = HistoryMenuOption.UNKNOWN;
+                displayMessage("Invalid choice. Please enter a number between " +
+                               HistoryMenuOption.VIEW_ALL.value +
+                               " and " +
+                               HistoryMenuOption.BACK_TO_MAIN.value +
+                               ".");
             }
         }
 
         return choice;
     }
 
+    /*
+     * Reads one line as a menu number, the whole line being consumed either
+     * way.
+     *
+     * @return The number entered, or DEFAULT_MENU_CHOICE_INT if the line was
+     *         not a number.
+     */
+    private int readMenuNumber()
+    {
+        final String line;
+        line = input.nextLine()
+                    .trim();
+
+        try
+        {
+            return Integer.parseInt(line);
+        }
+        catch(final NumberFormatException e)
+        {
+            displayMessage("Invalid input. Please enter a number.");
+            return DEFAULT_MENU_CHOICE_INT;
+        }
+    }
+
     /**
      * Displays the provided list of game history records.
      *
@@ -440,17 +526,7 @@ final class UIHandler
     void displayHistory(final List<GameSessionRecord> historyList,
                         final HistoryMenuOption historyType)
     {
-        // Determine title based on the enum
-        final String title;
-        switch(historyType)
-        {
-            case VIEW_ALL -> title = "-------------- All Games ---------------";
-            case VIEW_WON -> title = "-------------- Games Won ---------------";
-            case VIEW_LOST -> title = "-------------- Games Lost ---------------";
-            default -> title = "-------------- Unknown History View ---------------"; 
-        }
-
-        displayMessage("\n" + title);
+        displayMessage("\n" + historyTitle(historyType));
 
         if(historyList == null || historyList.isEmpty())
         {
@@ -468,12 +544,139 @@ final class UIHandler
                              .append("\n\n");
             }
             historyOutput.append("End of history view.\n");
-            System.out.print(historyOutput.toString());
+            out.print(historyOutput.toString());
         }
         displaySeparator();
         waitForEnter(); 
     }
 
+    /**
+     * Displays game history records a page at a time, pulling each record from
+     * the iterator only when its page is shown. Memory use stays the same
+     * however long the history is, and the first page appears as soon as its
+     * records are read.
+     *
+     * @param records     The records to display, read on demand.
+     * @param historyType The type of history being displayed (used to determine
+     *                    title).
+     * @param pageSize    The number of records shown before pausing.
+     */
+    void displayHistoryPaged(final Iterator<GameSessionRecord> records,
+                             final HistoryMenuOption historyType,
+                             final int pageSize)
+    {
+        if(records == null)
+        {
+            throw new IllegalArgumentException("Records cannot be null");
+        }
+        if(pageSize <= 0)
+        {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+
+        displayMessage("\n" + historyTitle(historyType));
+
+        if(!records.hasNext())
+        {
+            displayMessage("No matching game history found.");
+        }
+        else
+        {
+            int shown;
+            shown = 0;
+
+            while(records.hasNext())
+            {
+                final StringBuilder page;
+                page = new StringBuilder();
+
+                for(int i = 0; i < pageSize && records.hasNext(); i++)
+                {
+                    page.append(SEPARATOR_LINE)
+                        .append("\n");
+                    page.append(records.next()
+                                       .toString());
+                    page.append(SEPARATOR_LINE)
+                        .append("\n\n");
+                    shown++;
+                }
+                out.print(page);
+
+                if(records.hasNext())
+                {
+                    out.printf("Showing games 1-%d. Press Enter for more, or '%s' to stop: ",
+                               shown,
+                               PAGE_STOP_INPUT);
+                    if(!input.hasNextLine() ||
+                       input.nextLine()
+                            .trim()
+                            .equalsIgnoreCase(PAGE_STOP_INPUT))
+                    {
+                        break;
+                    }
+                }
+            }
+            displayMessage("End of history view.");
+        }
+        displaySeparator();
+        out.print("Press Enter to continue...");
+        if(input.hasNextLine())
+        {
+            input.nextLine();
+        }
+    }
+
+    /**
+     * Displays statistics gathered over the game history.
+     *
+     * @param analytics The statistics to display.
+     */
+    void displayHistoryStatistics(final HistoryAnalytics analytics)
+    {
+        if(analytics == null)
+        {
+            throw new IllegalArgumentException("Analytics cannot be null");
+        }
+
+        displayMessage("\n" + historyTitle(HistoryMenuOption.STATISTICS));
+
+        if(analytics.getGamesPlayed() == 0)
+        {
+            displayMessage("No game history found.");
+        }
+        else
+        {
+            out.print(analytics);
+        }
+        displaySeparator();
+        out.print("Press Enter to continue...");
+        if(input.hasNextLine())
+        {
+            input.nextLine();
+        }
+    }
+
+    /*
+     * Chooses the title shown above a history view.
+     *
+     * @param historyType The type of history being displayed.
+     * 
+     * @return The title line.
+     */
+    private static String historyTitle(final HistoryMenuOption historyType)
+    {
+        final String title;
+        switch(historyType)
+        {
+            case VIEW_ALL -> title = "-------------- All Games ---------------";
+            case VIEW_WON -> title = "-------------- Games Won ---------------";
+            case VIEW_LOST -> title = "-------------- Games Lost ---------------";
+            case STATISTICS -> title = "-------------- Statistics ---------------";
+            default -> title = "-------------- Unknown History View ---------------"; 
+        }
+        return title;
+    }
+
     /**
      * Prints the header for a specific round.
      *
@@ -483,9 +686,9 @@ final class UIHandler
     void displayRoundHeader(final int roundNumber,
                             final int maxRounds)
     {
-        System.out.printf("%n--- Round %d of %d ---%n",
-                          roundNumber,
-                          maxRounds);
+        out.printf("%n--- Round %d of %d ---%n",
+                   roundNumber,
+                   maxRounds);
     }
 
     /**
@@ -493,16 +696,40 @@ final class UIHandler
      *
      * @param truthScanKey    The key for truth scan.
      * @param guessSummaryKey The key for guess summary.
+     * @param hintKey         The key for a hint.
      */
     void promptForGuess(final String truthScanKey,
-                        final String guessSummaryKey)
+                        final String guessSummaryKey,
+                        final String hintKey)
     {
         displaySeparator();
-        System.out.print("Enter your guess (or '" +
-                         truthScanKey +
-                         "' for truth scan, '" +
-                         guessSummaryKey +
-                         "' for summary): ");
+        out.print("Enter your guess (or '" +
+                  truthScanKey +
+                  "' for truth scan, '" +
+                  guessSummaryKey +
+                  "' for summary, '" +
+                  hintKey +
+                  "' for hint): ");
+    }
+
+    /**
+     * Prompts a player connected over the network to enter their guess. The
+     * prompt always ends with {@value #REMOTE_PROMPT_END}, so a client can tell
+     * when the server is waiting.
+     *
+     * @param guessSummaryKey The key for guess summary.
+     * @param quitKey         The key for leaving the server.
+     */
+    void promptForRemoteGuess(final String guessSummaryKey,
+                              final String quitKey)
+    {
+        displaySeparator();
+        out.print("Enter your guess (or '" +
+                  guessSummaryKey +
+                  "' for summary, '" +
+                  quitKey +
+                  "'" +
+                  REMOTE_PROMPT_END);
     }
 
     /**
@@ -541,6 +768,43 @@ final class UIHandler
         displayMessage("No guesses made yet.");
     }
 
+    /**
+     * Displays how many codes are still consistent with the feedback shown.
+     *
+     * @param remaining The number of codes that could still be the secret.
+     */
+    void displayRemainingPossibilities(final int remaining)
+    {
+        displayMessage("Remaining possibilities: " + remaining);
+    }
+
+    /**
+     * Displays the guess suggested by the solver.
+     *
+     * @param suggestion The suggested guess.
+     */
+    void displayHint(final PlayerGuessCode suggestion)
+    {
+        final StringBuilder hint;
+
+        hint = new StringBuilder("\nHint: try ");
+        for(final int digit : suggestion.getDigits())
+        {
+            hint.append(digit);
+        }
+        displayMessage(hint.toString());
+    }
+
+    /**
+     * Displays the round the solver thinks is most worth a truth scan.
+     *
+     * @param roundNumber The suggested round number.
+     */
+    void displayScanAdvice(final int roundNumber)
+    {
+        displayMessage("A truth scan would reveal the most on round " + roundNumber + ".");
+    }
+
     /**
      * Displays the header for a truth scan request.
      */
@@ -580,7 +844,7 @@ final class UIHandler
      */
     void displayGameOverHeader()
     {
-        System.out.println("\n" + GAME_OVER_SEPARATOR);
+        out.println("\n" + GAME_OVER_SEPARATOR);
     }
 
     /**
@@ -590,8 +854,8 @@ final class UIHandler
      */
     void displayWinMessage(final int roundsPlayed)
     {
-        System.out.printf(WIN_MESSAGE + "%n",
-                          roundsPlayed);
+        out.printf(WIN_MESSAGE + "%n",
+                   roundsPlayed);
     }
 
     /**
@@ -601,8 +865,8 @@ final class UIHandler
      */
     void displayLossMessage(final SecretCode secretCode)
     {
-        System.out.printf(GAME_OVER_MESSAGE + "%n",
-                          secretCode.toString());
+        out.printf(GAME_OVER_MESSAGE + "%n",
+                   secretCode.toString());
     }
 
     /**
@@ -630,15 +894,29 @@ final class UIHandler
     }
 
     /**
-     * Validates that the scanner is not null.
+     * Displays a message that an unfinished game is being picked up again.
      *
-     * @param scanner The scanner to validate
+     * @param roundsPlayed the number of rounds already played
+     * @param summaryKey   the key that shows the guesses so far
      */
-    private static void validateScanner(final Scanner scanner)
+    void displayGameResumed(final int roundsPlayed,
+                            final String summaryKey)
     {
-        if(scanner == null)
+        displayMessage(String.format("%nResuming your unfinished game after %d round(s). Enter '%s' to see your guesses so far.",
+                                     roundsPlayed,
+                                     summaryKey));
+    }
+
+    /**
+     * Validates that the input source is not null.
+     *
+     * @param input The input source to validate
+     */
+    private static void validateInput(final InputSource input)
+    {
+        if(input == null)
         {
-            throw new IllegalArgumentException("Scanner cannot be null");
+            throw new IllegalArgumentException("Input source cannot be null");
         }
     }
 
@@ -672,4 +950,45 @@ final class UIHandler
             throw new IllegalArgumentException("List cannot be empty");
         }
     }
-}
\ No newline at end of file
+
+    /*
+     * An input source that writes out the pending screen before every read,
+     * so nothing waits for the player while its prompt is still held back.
+     */
+    private static final class FlushingInputSource implements
+                                                   InputSource
+    {
+        private final InputSource    input;
+        private final ScreenRenderer screen;
+
+        /*
+         * Wraps a source so reads from it flush the given screen first.
+         */
+        private FlushingInputSource(final InputSource input,
+                                    final ScreenRenderer screen)
+        {
+            this.input  = input;
+            this.screen = screen;
+        }
+
+        @Override
+        public boolean hasNextLine()
+        {
+            screen.flush();
+            return input.hasNextLine();
+        }
+
+        @Override
+        public String nextLine()
+        {
+            screen.flush();
+            return input.nextLine();
+        }
+
+        @Override
+        public boolean isReady()
+        {
+            return input.isReady();
+        }
+    }
+}
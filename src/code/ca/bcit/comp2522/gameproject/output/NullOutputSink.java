@@ -0,0 +1,39 @@
+package ca.bcit.comp2522.gameproject.output;
+
+import ca.bcit.comp2522.gameproject.interfaces.OutputSink;
+
+/**
+ * An {@link OutputSink} that discards everything written to it, for games
+ * run without anyone watching.
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public final class NullOutputSink implements
+                                  OutputSink
+{
+    private static final NullOutputSink INSTANCE = new NullOutputSink();
+
+    /*
+     * Private constructor; the one instance is shared.
+     */
+    private NullOutputSink()
+    {
+    }
+
+    /**
+     * Gets the shared sink that discards everything.
+     *
+     * @return the null sink
+     */
+    public static NullOutputSink getInstance()
+    {
+        return INSTANCE;
+    }
+
+    @Override
+    public void write(final CharSequence text)
+    {
+        // Nothing is kept.
+    }
+}
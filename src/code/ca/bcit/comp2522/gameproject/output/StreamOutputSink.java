@@ -0,0 +1,133 @@
+package ca.bcit.comp2522.gameproject.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+
+import ca.bcit.comp2522.gameproject.interfaces.OutputSink;
+
+/**
+ * An {@link OutputSink} that encodes each piece of text into a reused byte
+ * buffer and sends it to a stream with a single write and flush.
+ * <p>
+ * {@code System.out} takes a lock and may flush on every call, so printing a
+ * screen line by line costs one lock and one flush per line. This sink costs
+ * one of each per screen. Characters the charset cannot encode are replaced,
+ * as a {@code PrintStream} would.
+ * </p>
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public final class StreamOutputSink implements
+                                    OutputSink
+{
+    private static final int INITIAL_BYTES = 1024;
+
+    private final OutputStream   out;
+    private final CharsetEncoder encoder;
+
+    private ByteBuffer bytes;
+
+    /**
+     * Constructs a {@code StreamOutputSink}.
+     *
+     * @param out     the stream to write to
+     * @param charset the charset to encode text with
+     */
+    public StreamOutputSink(final OutputStream out,
+                            final Charset charset)
+    {
+        if(out == null)
+        {
+            throw new IllegalArgumentException("Output stream cannot be null");
+        }
+        if(charset == null)
+        {
+            throw new IllegalArgumentException("Charset cannot be null");
+        }
+
+        this.out     = out;
+        this.encoder = charset.newEncoder()
+                              .onMalformedInput(CodingErrorAction.REPLACE)
+                              .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.bytes   = ByteBuffer.allocate(INITIAL_BYTES);
+    }
+
+    /**
+     * Creates a sink that writes to the console's standard output.
+     *
+     * @return the standard output sink
+     */
+    public static StreamOutputSink standardOutput()
+    {
+        return new StreamOutputSink(System.out,
+                                    Charset.defaultCharset());
+    }
+
+    /**
+     * Creates a sink that writes to the console's standard error.
+     *
+     * @return the standard error sink
+     */
+    public static StreamOutputSink standardError()
+    {
+        return new StreamOutputSink(System.err,
+                                    Charset.defaultCharset());
+    }
+
+    @Override
+    public void write(final CharSequence text)
+    {
+        if(text == null)
+        {
+            throw new IllegalArgumentException("Text cannot be null");
+        }
+        if(text.length() == 0)
+        {
+            return;
+        }
+
+        encode(text);
+        try
+        {
+            out.write(bytes.array(),
+                      0,
+                      bytes.position());
+            out.flush();
+        }
+        catch(final IOException e)
+        {
+            throw new UncheckedIOException("Failed to write output",
+                                           e);
+        }
+    }
+
+    /*
+     * Encodes text into the byte buffer, first growing it to the most bytes
+     * the text could need so encoding never runs out of room.
+     */
+    private void encode(final CharSequence text)
+    {
+        final int maxBytes;
+        maxBytes = (int)Math.ceil(text.length() * (double)encoder.maxBytesPerChar());
+
+        if(bytes.capacity() < maxBytes)
+        {
+            bytes = ByteBuffer.allocate(Math.max(maxBytes,
+                                                 bytes.capacity() * 2));
+        }
+
+        bytes.clear();
+        encoder.reset();
+        encoder.encode(CharBuffer.wrap(text),
+                       bytes,
+                       true);
+        encoder.flush(bytes);
+    }
+}
@@ -1,6 +1,6 @@
 package ca.bcit.comp2522.gameproject.wordgame;
 
-import java.util.Scanner;
+import ca.bcit.comp2522.gameproject.interfaces.InputSource;
 
 /**
  * Checks user answers in the {@code WordGame}.
@@ -15,23 +15,23 @@ import java.util.Scanner;
  */
 final class AnswerChecker
 {
-    private final Scanner scanner;
-    private final Score   score;
+    private final InputSource input;
+    private final Score       score;
 
     /**
-     * Constructs a new AnswerValidator with the specified scanner and score
-     * tracker.
+     * Constructs a new AnswerValidator with the specified input source and
+     * score tracker.
      *
-     * @param scanner the Scanner object used to read user input
-     * @param score   the Score object used to track game statistics
+     * @param input the source used to read user input
+     * @param score the Score object used to track game statistics
      */
-    AnswerChecker(final Scanner scanner,
+    AnswerChecker(final InputSource input,
                   final Score score)
     {
-        validateDependencies(scanner,
+        validateDependencies(input,
                              score);
-        this.scanner = scanner;
-        this.score   = score;
+        this.input = input;
+        this.score = score;
     }
 
     /**
@@ -51,7 +51,7 @@ final class AnswerChecker
         final String  userAnswer;
         final boolean answerIsCorrect;
 
-        userAnswer      = scanner.nextLine();
+        userAnswer      = input.nextLine();
         answerIsCorrect = userAnswer.equalsIgnoreCase(expectedAnswer);
 
         if(answerIsCorrect)
@@ -80,7 +80,7 @@ final class AnswerChecker
         final boolean answerIsCorrect;
 
         System.out.println("INCORRECT\nOne more guess:");
-        userAnswer      = scanner.nextLine();
+        userAnswer      = input.nextLine();
         answerIsCorrect = userAnswer.equalsIgnoreCase(expectedAnswer);
 
         if(answerIsCorrect)
@@ -98,15 +98,15 @@ final class AnswerChecker
     /*
      * Validates that the required dependencies are not null.
      *
-     * @param scanner the Scanner to validate
-     * @param score   the Score to validate
+     * @param input the InputSource to validate
+     * @param score the Score to validate
      */
-    private static void validateDependencies(final Scanner scanner,
+    private static void validateDependencies(final InputSource input,
                                              final Score score)
     {
-        if(scanner == null)
+        if(input == null)
         {
-            throw new NullPointerException("Scanner cannot be null");
+            throw new NullPointerException("Input source cannot be null");
         }
         if(score == null)
         {
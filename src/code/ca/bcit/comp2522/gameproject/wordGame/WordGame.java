@@ -2,9 +2,10 @@ package ca.bcit.comp2522.gameproject.wordgame;
 
 import java.io.IOException;
 import java.util.HashSet;
-import java.util.Scanner;
 import java.util.Set;
 
+import ca.bcit.comp2522.gameproject.input.ReaderInputSource;
+import ca.bcit.comp2522.gameproject.interfaces.InputSource;
 import ca.bcit.comp2522.gameproject.interfaces.RoundBased;
 
 /**
@@ -34,22 +35,38 @@ public final class WordGame implements
     static final int QUESTION_COUNTRY      = 1;
     static final int QUESTION_FACT         = 2;
 
-    private static final Scanner scan = new Scanner(System.in);
-
+    private final InputSource   input;
     private final World         world;
     private final Score         currentScore;
     private final AnswerChecker answerChecker;
     private final Set<Country>  countriesUsed;
 
     /**
-     * Constructs a new WordGame, initializing required components including
-     * world data.
+     * Constructs a new WordGame that reads from the console, initializing
+     * required components including world data.
      */
     public WordGame()
     {
+        this(ReaderInputSource.standardInput());
+    }
+
+    /**
+     * Constructs a new WordGame that reads all player input from the given
+     * source, initializing required components including world data.
+     *
+     * @param input the source of player input
+     */
+    public WordGame(final InputSource input)
+    {
+        if(input == null)
+        {
+            throw new NullPointerException("Input source cannot be null");
+        }
+
+        this.input         = input;
         this.world         = new World();
         this.currentScore  = new Score();
-        this.answerChecker = new AnswerChecker(scan,
+        this.answerChecker = new AnswerChecker(input,
                                                currentScore);
         this.countriesUsed = new HashSet<>();
     }
@@ -182,8 +199,8 @@ public final class WordGame implements
             System.out.printf("\nWould you like to play again? (%s or %s)",
                               OPTION_YES,
                               OPTION_NO);
-            userChoice = scan.nextLine()
-                             .toLowerCase();
+            userChoice = input.nextLine()
+                              .toLowerCase();
             if(!userChoice.equalsIgnoreCase(OPTION_YES) &&
                !userChoice.equalsIgnoreCase(OPTION_NO))
             {
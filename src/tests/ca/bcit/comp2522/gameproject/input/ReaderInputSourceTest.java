@@ -0,0 +1,75 @@
+package ca.bcit.comp2522.gameproject.input;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for ReaderInputSource and ScriptedInputSource.
+ * Verifies that lines are handed out in order without any being lost, and
+ * that the end of input is reported rather than blocking.
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public class ReaderInputSourceTest
+{
+    private static final String TRANSCRIPT = "1\nyes\r\n1234\n\nq";
+
+    @Test
+    public void testLinesAreReadInOrder()
+    {
+        final ReaderInputSource input = new ReaderInputSource(new StringReader(TRANSCRIPT));
+
+        assertTrue(input.hasNextLine());
+        assertTrue(input.hasNextLine(),
+                   "Checking twice should not skip a line");
+        assertEquals("1",
+                     input.nextLine());
+        assertEquals("yes",
+                     input.nextLine());
+        assertEquals("1234",
+                     input.nextLine());
+        assertEquals("",
+                     input.nextLine());
+        assertEquals("q",
+                     input.nextLine());
+        assertFalse(input.hasNextLine());
+        assertThrows(NoSuchElementException.class,
+                     input::nextLine);
+    }
+
+    @Test
+    public void testReadyAtEndOfInput()
+    {
+        final ReaderInputSource input = new ReaderInputSource(new StringReader(""));
+
+        assertFalse(input.hasNextLine());
+        assertTrue(input.isReady(),
+                   "Ended input should never block");
+    }
+
+    @Test
+    public void testScriptMatchesReader()
+    {
+        final ReaderInputSource   reader = new ReaderInputSource(new StringReader(TRANSCRIPT));
+        final ScriptedInputSource script = ScriptedInputSource.fromTranscript(TRANSCRIPT);
+
+        while(reader.hasNextLine())
+        {
+            assertTrue(script.isReady());
+            assertEquals(reader.nextLine(),
+                         script.nextLine());
+        }
+        assertEquals(0,
+                     script.getRemainingLines());
+        assertThrows(NoSuchElementException.class,
+                     script::nextLine);
+    }
+}
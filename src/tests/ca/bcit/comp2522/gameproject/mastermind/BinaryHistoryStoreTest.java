@@ -0,0 +1,209 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import ca.bcit.comp2522.gameproject.mastermind.GameHistoryManager.GameSessionRecord;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for BinaryHistoryStore.
+ * Verifies records survive a round trip and that indexed queries return the
+ * right games.
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public class BinaryHistoryStoreTest
+{
+    private static final String DECEPTIVE_ROUND = "Round 2: Guess = [3, 4, 4, 4], Actual Feedback: Correct positions: 3, Misplaced: 0 (Truth Revealed)";
+    private static final String HONEST_ROUND    = "Round 1: Guess = [1, 2, 3, 4], Correct positions: 0, Misplaced: 2";
+
+    private Path               directory;
+    private BinaryHistoryStore store;
+
+    @BeforeEach
+    public void setUp() throws IOException
+    {
+        directory = Files.createTempDirectory("mastermind-history");
+        store     = new BinaryHistoryStore(directory.resolve("history.bin"));
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException
+    {
+        try(final Stream<Path> paths = Files.walk(directory))
+        {
+            paths.sorted(Comparator.reverseOrder())
+                 .forEach(path -> path.toFile()
+                                      .delete());
+        }
+    }
+
+    @Test
+    public void testRoundDetailRoundTrip()
+    {
+        assertEquals(HONEST_ROUND,
+                     PackedRound.format(1,
+                                        PackedRound.parse(HONEST_ROUND)));
+        assertEquals(DECEPTIVE_ROUND,
+                     PackedRound.format(2,
+                                        PackedRound.parse(DECEPTIVE_ROUND)));
+    }
+
+    @Test
+    public void testStructuredRoundsSurviveStore() throws IOException
+    {
+        final Round round = new Round(1,
+                                      PlayerGuessCode.fromInput("1234"),
+                                      Feedback.fromPacked(Feedback.packResult(1, 1)),
+                                      Feedback.fromPacked(Feedback.packResult(0, 3)));
+        final int   packed = PackedRound.of(round);
+
+        store.append(new GameSessionRecord(LocalDateTime.of(2025, 1, 1, 12, 0),
+                                           new int[] {packed},
+                                           "Not Used",
+                                           "Lost"));
+
+        final GameSessionRecord loaded = store.readAll()
+                                              .get(0);
+        assertEquals(packed,
+                     loaded.getRound(0));
+        assertTrue(PackedRound.isDeceptive(loaded.getRound(0)),
+                   "An unscanned lie should still be known as one");
+        assertEquals(Feedback.packResult(1, 1),
+                     PackedRound.trueFeedbackOf(loaded.getRound(0)));
+        assertEquals(round.toString(),
+                     loaded.getRoundDetails()
+                           .get(0));
+    }
+
+    @Test
+    public void testQueriesUseIndexes() throws IOException
+    {
+        for(int day = 1; day <= 10; day++)
+        {
+            store.append(record(day,
+                                day % 3 == 0 ? "Lost" : "Won"));
+        }
+
+        assertEquals(10,
+                     store.readAll()
+                          .size());
+        assertEquals(3,
+                     store.readByOutcome("Lost")
+                          .size());
+        assertEquals(7,
+                     store.readByOutcome("won")
+                          .size());
+
+        final List<GameSessionRecord> last = store.readLast(4);
+        assertEquals(4,
+                     last.size());
+        assertEquals(LocalDateTime.of(2025, 1, 7, 12, 0),
+                     last.get(0)
+                         .getTimestamp());
+
+        final List<GameSessionRecord> range = store.readBetween(LocalDateTime.of(2025, 1, 3, 0, 0),
+                                                                LocalDateTime.of(2025, 1, 5, 23, 59));
+        assertEquals(3,
+                     range.size());
+        assertEquals(record(3,
+                            "Lost").toString(),
+                     range.get(0)
+                          .toString());
+    }
+
+    @Test
+    public void testMigrationMatchesTextHistory() throws IOException
+    {
+        final Path                    textPath = Paths.get("src", "res", "mastermind_history.txt");
+        final List<GameSessionRecord> fromText = new GameHistoryManager(textPath,
+                                                                        null).loadGameHistory();
+        final int                     imported = HistoryMigrationTool.migrate(textPath,
+                                                                              store);
+        final List<GameSessionRecord> fromBinary = store.readAll();
+
+        assertEquals(fromText.size(),
+                     imported);
+        assertTrue(imported > 0,
+                   "Sample history should contain games");
+        for(int i = 0; i < imported; i++)
+        {
+            assertEquals(fromText.get(i)
+                                 .toString(),
+                         fromBinary.get(i)
+                                   .toString(),
+                         "Migrated game " + i + " should render the same");
+        }
+
+        assertThrows(IllegalStateException.class,
+                     () -> HistoryMigrationTool.migrate(textPath,
+                                                        store),
+                     "Migrating into a non-empty store should be refused");
+    }
+
+    @Test
+    public void testTruncatedRecordIsRejected() throws IOException
+    {
+        store.append(record(1,
+                            "Won"));
+
+        try(final FileChannel channel = FileChannel.open(store.getDataPath(),
+                                                         StandardOpenOption.WRITE))
+        {
+            channel.truncate(channel.size() - 1);
+        }
+
+        assertThrows(IllegalStateException.class,
+                     store::readAll,
+                     "A record cut short should not be decoded");
+    }
+
+    @Test
+    public void testDataFileOver2GbIsRejected() throws IOException
+    {
+        store.append(record(1,
+                            "Won"));
+
+        // Written sparsely, so the file takes no real space.
+        try(final FileChannel channel = FileChannel.open(store.getDataPath(),
+                                                         StandardOpenOption.WRITE))
+        {
+            channel.write(ByteBuffer.allocate(1),
+                          Integer.MAX_VALUE);
+        }
+
+        final IllegalStateException error = assertThrows(IllegalStateException.class,
+                                                         store::readAll);
+        assertTrue(error.getMessage()
+                        .contains("2 GB"),
+                   error.getMessage());
+    }
+
+    private static GameSessionRecord record(final int day,
+                                            final String outcome)
+    {
+        return new GameSessionRecord(LocalDateTime.of(2025, 1, day, 12, 0),
+                                     new int[] {PackedRound.parse(HONEST_ROUND),
+                                                PackedRound.parse(DECEPTIVE_ROUND)},
+                                     "Not Used",
+                                     outcome);
+    }
+}
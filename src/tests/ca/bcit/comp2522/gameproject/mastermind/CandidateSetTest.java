@@ -0,0 +1,123 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for CandidateSet.
+ * Verifies filtering, counting, iteration and intersection against scoring
+ * each code directly.
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public class CandidateSetTest
+{
+    private static final int GAMES = 100;
+
+    @Test
+    public void testFilterMatchesScoring()
+    {
+        final SplittableRandom random = new SplittableRandom(17);
+
+        for(int game = 0; game < GAMES; game++)
+        {
+            final CandidateSet set    = CandidateSet.all();
+            final int          secret = randomCode(random);
+            final boolean[]    kept   = new boolean[FeedbackTable.CODE_COUNT];
+
+            Arrays.fill(kept,
+                        true);
+            for(int round = 0; round < 4; round++)
+            {
+                final int guess  = randomCode(random);
+                final int result = FeedbackTable.scoreOf(secret,
+                                                         guess);
+                int       count  = 0;
+
+                for(int index = 0; index < FeedbackTable.CODE_COUNT; index++)
+                {
+                    kept[index] &= FeedbackTable.scoreOf(FeedbackTable.codeAt(index),
+                                                         guess) == result;
+                    count += kept[index] ? 1 : 0;
+                }
+
+                assertEquals(count,
+                             set.countMatching(guess,
+                                               result));
+                set.filter(guess,
+                           result);
+                assertEquals(count,
+                             set.cardinality());
+                assertTrue(set.contains(secret));
+            }
+
+            for(int index = 0; index < FeedbackTable.CODE_COUNT; index++)
+            {
+                assertEquals(kept[index],
+                             set.contains(FeedbackTable.codeAt(index)));
+            }
+        }
+    }
+
+    @Test
+    public void testIterationAndIntersection()
+    {
+        final CandidateSet first  = CandidateSet.none();
+        final CandidateSet second = CandidateSet.none();
+        final int[]        codes  = {0, 63, 64, 700, FeedbackTable.CODE_COUNT - 1};
+        int                found  = 0;
+
+        assertTrue(first.isEmpty());
+        for(final int index : codes)
+        {
+            first.add(FeedbackTable.codeAt(index));
+        }
+        for(int index = first.nextIndex(0); index != CandidateSet.NO_CODE; index = first.nextIndex(index + 1))
+        {
+            assertEquals(codes[found],
+                         index);
+            found++;
+        }
+        assertEquals(codes.length,
+                     found);
+
+        second.add(FeedbackTable.codeAt(63));
+        second.add(FeedbackTable.codeAt(65));
+        first.intersect(second);
+
+        assertEquals(1,
+                     first.cardinality());
+        assertTrue(first.contains(FeedbackTable.codeAt(63)));
+        assertFalse(first.contains(FeedbackTable.codeAt(65)));
+        assertEquals(FeedbackTable.CODE_COUNT,
+                     CandidateSet.all()
+                                 .cardinality());
+    }
+
+    @Test
+    public void testImpossibleResultEmptiesTheSet()
+    {
+        final CandidateSet set = CandidateSet.all();
+
+        set.filter(FeedbackTable.codeAt(0),
+                   Feedback.packResult(3, 1));
+
+        assertTrue(set.isEmpty());
+        assertThrows(IllegalArgumentException.class,
+                     () -> set.filter(FeedbackTable.codeAt(0),
+                                      -1));
+    }
+
+    private static int randomCode(final SplittableRandom random)
+    {
+        return FeedbackTable.codeAt(random.nextInt(FeedbackTable.CODE_COUNT));
+    }
+}
@@ -0,0 +1,132 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for CodeGeometry and CodeSpace.
+ * Verifies the count-array evaluator against the classic scoring, the lazy
+ * code order, and that variant games can be searched without a table.
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public class CodeGeometryTest
+{
+    @Test
+    public void testClassicGeometryMatchesFeedbackTable()
+    {
+        final CodeGeometry classic = CodeGeometry.CLASSIC;
+
+        assertEquals(FeedbackTable.CODE_COUNT,
+                     classic.getCodeCount());
+        for(int secret = 0; secret < FeedbackTable.CODE_COUNT; secret += 7)
+        {
+            for(int guess = 0; guess < FeedbackTable.CODE_COUNT; guess++)
+            {
+                assertEquals(Feedback.score(FeedbackTable.codeAt(secret),
+                                            FeedbackTable.codeAt(guess)),
+                             classic.score(FeedbackTable.codeAt(secret),
+                                           FeedbackTable.codeAt(guess)));
+            }
+        }
+    }
+
+    @Test
+    public void testCodesAreGeneratedInIndexOrder()
+    {
+        for(final CodeGeometry geometry : new CodeGeometry[] {CodeGeometry.CLASSIC, CodeGeometry.SUPER, new CodeGeometry(3, 10)})
+        {
+            int code = geometry.codeAt(0);
+
+            for(int index = 0; index < geometry.getCodeCount(); index++)
+            {
+                assertEquals(geometry.codeAt(index),
+                             code);
+                assertEquals(index,
+                             geometry.indexOf(code));
+                code = geometry.nextCode(code);
+            }
+            assertEquals(CodeGeometry.NO_CODE,
+                         code);
+        }
+    }
+
+    @Test
+    public void testVariantScoring()
+    {
+        final CodeGeometry grand = CodeGeometry.GRAND;
+
+        // Secret 1 2 3 4 5 10 against guess 10 2 4 3 9 9: one exact, three misplaced.
+        final int secret = pack(grand, 1, 2, 3, 4, 5, 10);
+        final int guess  = pack(grand, 10, 2, 4, 3, 9, 9);
+
+        assertEquals(1_000_000,
+                     grand.getCodeCount());
+        assertEquals(Feedback.packResult(1, 3),
+                     grand.score(secret,
+                                 guess));
+        assertEquals(grand.getWinningResult(),
+                     grand.score(secret,
+                                 secret));
+        assertEquals("[1, 2, 3, 4, 5, 10]",
+                     grand.format(secret));
+        assertSame(CodeGeometry.SUPER,
+                   CodeGeometry.parse("5X8"));
+        assertThrows(IllegalArgumentException.class,
+                     () -> new CodeGeometry(7, 10));
+        assertThrows(IllegalArgumentException.class,
+                     () -> CodeGeometry.parse("five by eight"));
+    }
+
+    @Test
+    public void testCodeSpaceFindsTheSecret()
+    {
+        final SplittableRandom random   = new SplittableRandom(23);
+        final CodeGeometry     geometry = CodeGeometry.SUPER;
+
+        for(int game = 0; game < 20; game++)
+        {
+            final int       secret = geometry.randomCode(random);
+            final CodeSpace space  = new CodeSpace(geometry);
+            int             index  = 0;
+            int             rounds = 0;
+            int             result = 0;
+
+            while(result != geometry.getWinningResult())
+            {
+                index  = space.nextIndex(index);
+                result = geometry.score(secret,
+                                        geometry.codeAt(index));
+                space.filter(geometry.codeAt(index),
+                             result);
+                assertTrue(space.contains(secret));
+                index++;
+                rounds++;
+            }
+
+            assertEquals(1,
+                         space.count());
+            assertTrue(rounds <= MastermindSession.MAX_ROUNDS,
+                       "Took " + rounds + " rounds");
+        }
+    }
+
+    private static int pack(final CodeGeometry geometry,
+                            final int... digits)
+    {
+        int index = 0;
+
+        for(int position = digits.length - 1; position >= 0; position--)
+        {
+            index = index * geometry.getColours() + digits[position] - Code.DIGIT_MIN;
+        }
+        return geometry.codeAt(index);
+    }
+}
@@ -0,0 +1,178 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for DeceptionEngine.
+ * Verifies lies are always a result the guess can score, never the truth or
+ * a win, and follow the chosen distribution.
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public class DeceptionEngineTest
+{
+    private static final int      DRAWS  = 20_000;
+    private static final String[] SHAPES = {"1234", "1123", "1122", "1112", "1111"};
+
+    @Test
+    public void testLiesAreValidAndNeverTheTruth()
+    {
+        final SplittableRandom random  = new SplittableRandom(7);
+        final int              winning = Feedback.packResult(Code.CODE_LENGTH, 0);
+
+        for(final String shape : SHAPES)
+        {
+            final int       guess    = PlayerGuessCode.fromInput(shape)
+                                                      .getPacked();
+            final boolean[] scorable = scorableResults(guess);
+
+            for(final DeceptionEngine.Distribution distribution : DeceptionEngine.Distribution.values())
+            {
+                for(int truth = 0; truth < scorable.length; truth++)
+                {
+                    if(!scorable[truth])
+                    {
+                        continue;
+                    }
+
+                    final boolean[] seen     = new boolean[scorable.length];
+                    int             distinct = 0;
+                    int             expected = 0;
+
+                    for(int result = 0; result < scorable.length; result++)
+                    {
+                        expected += scorable[result] && result != truth && result != winning ? 1 : 0;
+                    }
+
+                    for(int i = 0; i < DRAWS / 10; i++)
+                    {
+                        final int lie = DeceptionEngine.lie(guess,
+                                                            truth,
+                                                            distribution,
+                                                            random);
+
+                        assertNotEquals(truth,
+                                        lie,
+                                        distribution + " should never tell the truth");
+                        assertNotEquals(winning,
+                                        lie,
+                                        distribution + " should never claim a win");
+                        assertTrue(scorable[lie],
+                                   distribution + " should only show results " + shape + " can score");
+                        if(!seen[lie])
+                        {
+                            seen[lie] = true;
+                            distinct++;
+                        }
+                    }
+
+                    assertEquals(expected,
+                                 distinct,
+                                 distribution + " should be able to show every other result for " + shape);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRepeatedDigitGuessGetsNoMisplacedLies()
+    {
+        final SplittableRandom random = new SplittableRandom(5);
+        final int              guess  = PlayerGuessCode.fromInput("1111")
+                                                       .getPacked();
+
+        for(int i = 0; i < DRAWS; i++)
+        {
+            assertEquals(0,
+                         Feedback.misplacedOf(DeceptionEngine.lie(guess,
+                                                                  Feedback.packResult(1, 0),
+                                                                  DeceptionEngine.Distribution.UNIFORM,
+                                                                  random)));
+        }
+    }
+
+    @Test
+    public void testDistributionsDiffer()
+    {
+        final SplittableRandom random     = new SplittableRandom(11);
+        final int              guess      = PlayerGuessCode.fromInput("1234")
+                                                           .getPacked();
+        final int              truth      = Feedback.packResult(4, 0);
+        final int              farthest   = Feedback.packResult(0, 4);
+        final int              common     = Feedback.packResult(0, 1);
+        int                    uniformFar = 0;
+        int                    evilFar    = 0;
+        int                    plausible  = 0;
+
+        for(int i = 0; i < DRAWS; i++)
+        {
+            uniformFar += DeceptionEngine.lie(guess,
+                                              truth,
+                                              DeceptionEngine.Distribution.UNIFORM,
+                                              random) == farthest ? 1 : 0;
+            evilFar    += DeceptionEngine.lie(guess,
+                                              truth,
+                                              DeceptionEngine.Distribution.ADVERSARIAL,
+                                              random) == farthest ? 1 : 0;
+            plausible  += DeceptionEngine.lie(guess,
+                                              truth,
+                                              DeceptionEngine.Distribution.PLAUSIBLE,
+                                              random) == common ? 1 : 0;
+        }
+
+        assertEquals(1.0 / 13,
+                     (double)uniformFar / DRAWS,
+                     0.01);
+        assertTrue(evilFar > uniformFar,
+                   "Adversarial lies should favour the farthest result");
+        assertTrue(plausible > uniformFar,
+                   "Plausible lies should favour common results");
+    }
+
+    @Test
+    public void testFeedbackEquality()
+    {
+        final Feedback shown = Feedback.fromPacked(Feedback.packResult(1, 2));
+        final Feedback other = new Feedback(new SecretCode(java.util.List.of(1, 2, 3, 4)),
+                                            PlayerGuessCode.fromInput("1325"));
+
+        assertEquals(shown,
+                     other);
+        assertEquals(shown.hashCode(),
+                     other.hashCode());
+        assertSame(shown,
+                   Feedback.fromPacked(shown.getPacked()));
+        assertThrows(IllegalArgumentException.class,
+                     () -> DeceptionEngine.lie(PlayerGuessCode.fromInput("1234")
+                                                              .getPacked(),
+                                               Feedback.packResult(3, 1),
+                                               DeceptionEngine.Distribution.UNIFORM,
+                                               random()));
+    }
+
+    private static boolean[] scorableResults(final int guess)
+    {
+        final boolean[] scorable = new boolean[Feedback.packResult(Code.CODE_LENGTH, Code.CODE_LENGTH) + 1];
+
+        for(int secret = 0; secret < FeedbackTable.CODE_COUNT; secret++)
+        {
+            scorable[Feedback.score(FeedbackTable.codeAt(secret),
+                                    guess)] = true;
+        }
+        return scorable;
+    }
+
+    private static SplittableRandom random()
+    {
+        return new SplittableRandom(1);
+    }
+}
@@ -0,0 +1,110 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for DeceptionModel.
+ * Verifies the posterior over secrets as rounds and truth scans are observed.
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public class DeceptionModelTest
+{
+    private static final double TOLERANCE = 1e-4;
+
+    private final int secret = PlayerGuessCode.fromInput("1234")
+                                              .getPacked();
+
+    @Test
+    public void testPosteriorStartsUniform()
+    {
+        final DeceptionModel model     = new DeceptionModel();
+        final double[]       posterior = model.posterior();
+
+        for(final double probability : posterior)
+        {
+            assertEquals(1.0 / FeedbackTable.CODE_COUNT,
+                         probability,
+                         TOLERANCE,
+                         "Every code should start equally likely");
+        }
+    }
+
+    @Test
+    public void testPosteriorSumsToOneAfterRounds()
+    {
+        final DeceptionModel model = new DeceptionModel();
+        final String[]       guesses = {"1122", "3456", "1324"};
+
+        for(final String guess : guesses)
+        {
+            final int packed = PlayerGuessCode.fromInput(guess)
+                                              .getPacked();
+            model.observeRound(packed,
+                               Feedback.score(secret,
+                                              packed));
+        }
+
+        double total = 0.0;
+        for(final double probability : model.posterior())
+        {
+            total += probability;
+        }
+        assertEquals(1.0,
+                     total,
+                     TOLERANCE,
+                     "Posterior should stay normalized");
+        assertTrue(model.posterior()[FeedbackTable.indexOf(secret)] > 0.0,
+                   "The true secret should remain possible");
+    }
+
+    @Test
+    public void testTruthScanRemovesLieHypothesis()
+    {
+        final DeceptionModel model = new DeceptionModel();
+        final int            guess = PlayerGuessCode.fromInput("1122")
+                                                    .getPacked();
+        final int            truth = Feedback.score(secret,
+                                                    guess);
+
+        model.observeRound(guess,
+                           truth);
+        assertTrue(model.probabilityOfLie(0) > 0.0,
+                   "An unscanned round could have been a lie");
+
+        model.observeTruth(0,
+                           false,
+                           truth);
+        assertEquals(0.0,
+                     model.probabilityOfLie(0),
+                     TOLERANCE,
+                     "A scanned honest round cannot be a lie");
+        assertEquals(DeceptionModel.NO_ROUND,
+                     model.mostInformativeScan(),
+                     "A scanned round is not worth scanning again");
+    }
+
+    @Test
+    public void testMostInformativeScanPicksObservedRound()
+    {
+        final DeceptionModel model = new DeceptionModel();
+        final String[]       guesses = {"1122", "3344"};
+
+        for(final String guess : guesses)
+        {
+            final int packed = PlayerGuessCode.fromInput(guess)
+                                              .getPacked();
+            model.observeRound(packed,
+                               Feedback.score(secret,
+                                              packed));
+        }
+
+        final int round = model.mostInformativeScan();
+        assertTrue(round >= 0 && round < guesses.length,
+                   "Scan advice should name an observed round");
+    }
+}
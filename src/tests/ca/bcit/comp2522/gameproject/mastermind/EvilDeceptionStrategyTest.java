@@ -0,0 +1,177 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for EvilDeceptionStrategy.
+ * Verifies the strategy's candidates and choices against a brute-force count
+ * over every code.
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public class EvilDeceptionStrategyTest
+{
+    private static final int GAMES = 50;
+
+    @Test
+    public void testLiesKeepTheMostCandidates()
+    {
+        final SplittableRandom random = new SplittableRandom(3);
+
+        for(int game = 0; game < GAMES; game++)
+        {
+            final EvilDeceptionStrategy strategy = new EvilDeceptionStrategy();
+            final int                   secret   = randomCode(random);
+            final int[]                 guesses  = new int[MastermindSession.MAX_ROUNDS];
+            final int[]                 shown    = new int[MastermindSession.MAX_ROUNDS];
+
+            for(int round = 0; round < MastermindSession.MAX_ROUNDS; round++)
+            {
+                final int guess = randomCode(random);
+                final int truth = FeedbackTable.scoreOf(secret,
+                                                        guess);
+                final int lie   = strategy.lie(guess,
+                                               truth,
+                                               random);
+                int       best  = 0;
+
+                assertNotEquals(truth,
+                                lie);
+                assertNotEquals(Feedback.packResult(Code.CODE_LENGTH, 0),
+                                lie,
+                                "A lie should never claim a win");
+                for(int result = 0; result < Feedback.packResult(Code.CODE_LENGTH, 0); result++)
+                {
+                    if(result != truth)
+                    {
+                        best = Math.max(best,
+                                        survivors(guesses,
+                                                  shown,
+                                                  round,
+                                                  guess,
+                                                  result));
+                    }
+                }
+                if(best > 0)
+                {
+                    assertEquals(best,
+                                 survivors(guesses,
+                                           shown,
+                                           round,
+                                           guess,
+                                           lie));
+                }
+
+                guesses[round] = guess;
+                shown[round]   = round % 2 == 0 ? lie : truth;
+                strategy.roundShown(guess,
+                                    shown[round]);
+
+                assertEquals(survivors(guesses,
+                                       shown,
+                                       round + 1,
+                                       guess,
+                                       shown[round]),
+                             strategy.getCandidateCount());
+            }
+        }
+    }
+
+    @Test
+    public void testRevealedTruthRestoresCandidates()
+    {
+        final SplittableRandom      random   = new SplittableRandom(5);
+        final EvilDeceptionStrategy strategy = new EvilDeceptionStrategy();
+        final int                   secret   = FeedbackTable.codeAt(700);
+        final int[]                 guesses  = new int[] {FeedbackTable.codeAt(7), FeedbackTable.codeAt(300)};
+        final int[]                 truths   = new int[guesses.length];
+
+        for(int round = 0; round < guesses.length; round++)
+        {
+            truths[round] = FeedbackTable.scoreOf(secret,
+                                                  guesses[round]);
+        }
+
+        strategy.roundShown(guesses[0],
+                            strategy.lie(guesses[0],
+                                         truths[0],
+                                         random));
+        strategy.roundShown(guesses[1],
+                            truths[1]);
+        strategy.truthRevealed(0,
+                               truths[0]);
+
+        assertEquals(survivors(guesses,
+                               truths,
+                               1,
+                               guesses[1],
+                               truths[1]),
+                     strategy.getCandidateCount());
+        assertThrows(IllegalArgumentException.class,
+                     () -> strategy.truthRevealed(2,
+                                                  truths[0]));
+    }
+
+    @Test
+    public void testSessionLiesWithStrategy()
+    {
+        final MastermindSession session = new MastermindSession(new SplittableRandom(9),
+                                                                new SecretCode(FeedbackTable.codeAt(42)),
+                                                                new EvilDeceptionStrategy());
+
+        while(!session.isGameOver())
+        {
+            session.playGuess(PlayerGuessCode.fromInput("1122"));
+        }
+
+        for(final Round round : session.getRounds())
+        {
+            if(round.isDeceptiveRound())
+            {
+                assertNotEquals(round.getTrueFeedback(),
+                                round.getFeedback());
+            }
+        }
+    }
+
+    /*
+     * Counts the codes consistent with the first rounds shown and with the
+     * given result for the given guess.
+     */
+    private static int survivors(final int[] guesses,
+                                 final int[] shown,
+                                 final int rounds,
+                                 final int guess,
+                                 final int result)
+    {
+        int count = 0;
+
+        for(int index = 0; index < FeedbackTable.CODE_COUNT; index++)
+        {
+            final int code       = FeedbackTable.codeAt(index);
+            boolean   consistent = FeedbackTable.scoreOf(code, guess) == result;
+
+            for(int round = 0; round < rounds && consistent; round++)
+            {
+                consistent = FeedbackTable.scoreOf(code, guesses[round]) == shown[round];
+            }
+            if(consistent)
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int randomCode(final SplittableRandom random)
+    {
+        return FeedbackTable.codeAt(random.nextInt(FeedbackTable.CODE_COUNT));
+    }
+}
@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * Test class for Mastermind game components.
@@ -358,5 +359,104 @@ public class FeedbackTest
                      feedback.getMisplacedCount(),
                      "Case 3: Should have 0 partial matches for [3,3,4,4] vs [1,1,2,2]");
     }
-}
 
+    @Test
+    public void testPackedScoreMatchesFeedbackObject()
+    {
+        final int packedResult;
+        secret     = Arrays.asList(1,
+                                   1,
+                                   2,
+                                   3);
+        secretCode = new SecretCode(secret);
+        guessCode  = PlayerGuessCode.fromInput("3121");
+        feedback   = new Feedback(secretCode,
+                                  guessCode);
+
+        packedResult = Feedback.score(secretCode.getPacked(),
+                                      guessCode.getPacked());
+        assertEquals(feedback.getCorrectPositionCount(),
+                     Feedback.correctPositionsOf(packedResult),
+                     "Packed score should agree with Feedback on exact matches");
+        assertEquals(feedback.getMisplacedCount(),
+                     Feedback.misplacedOf(packedResult),
+                     "Packed score should agree with Feedback on partial matches");
+        assertEquals(2,
+                     Feedback.correctPositionsOf(packedResult),
+                     "Should have 2 exact matches for [3,1,2,1] vs [1,1,2,3]");
+        assertEquals(2,
+                     Feedback.misplacedOf(packedResult),
+                     "Should have 2 partial matches for [3,1,2,1] vs [1,1,2,3]");
+    }
+
+    @Test
+    public void testPackedCodeRoundTrip()
+    {
+        secret     = Arrays.asList(6,
+                                   5,
+                                   1,
+                                   2);
+        secretCode = new SecretCode(secret);
+
+        assertEquals(secret,
+                     new SecretCode(secretCode.getPacked()).getDigits(),
+                     "Packing and unpacking should preserve the digits");
+        assertEquals(secret.toString(),
+                     secretCode.toString(),
+                     "toString should match the list format");
+    }
+
+    @Test
+    public void testFeedbackTableMatchesPackedScore()
+    {
+        final FeedbackTable table;
+        table = FeedbackTable.getInstance();
+
+        for(int secretIndex = 0; secretIndex < FeedbackTable.CODE_COUNT; secretIndex++)
+        {
+            for(int guessIndex = 0; guessIndex < FeedbackTable.CODE_COUNT; guessIndex++)
+            {
+                assertEquals(Feedback.score(FeedbackTable.codeAt(secretIndex),
+                                            FeedbackTable.codeAt(guessIndex)),
+                             table.score(secretIndex,
+                                         guessIndex),
+                             "Table entry should match the computed score");
+            }
+        }
+        assertEquals(FeedbackTable.CODE_COUNT * FeedbackTable.CODE_COUNT,
+                     table.getResidentBytes(),
+                     "Table should hold one byte per (secret, guess) pair");
+    }
+
+    @Test
+    public void testScoreAllMatchesPackedScore()
+    {
+        final int[]  candidates;
+        final byte[] results;
+
+        candidates = new int[FeedbackTable.CODE_COUNT];
+        results    = new byte[FeedbackTable.CODE_COUNT];
+        for(int index = 0; index < FeedbackTable.CODE_COUNT; index++)
+        {
+            candidates[index] = FeedbackTable.codeAt(index);
+        }
+
+        for(final int guess : candidates)
+        {
+            Feedback.scoreAll(guess,
+                              candidates,
+                              results);
+            for(int index = 0; index < candidates.length; index++)
+            {
+                assertEquals(Feedback.score(candidates[index],
+                                            guess),
+                             results[index],
+                             "Batch score should match the single score");
+            }
+        }
+        assertThrows(IllegalArgumentException.class,
+                     () -> Feedback.scoreAll(candidates[0],
+                                             candidates,
+                                             new byte[1]));
+    }
+}
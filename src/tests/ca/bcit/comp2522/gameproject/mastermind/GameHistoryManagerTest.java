@@ -0,0 +1,307 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import ca.bcit.comp2522.gameproject.input.ScriptedInputSource;
+import ca.bcit.comp2522.gameproject.mastermind.GameHistoryManager.GameSessionRecord;
+import ca.bcit.comp2522.gameproject.mastermind.UIHandler.HistoryMenuOption;
+import ca.bcit.comp2522.gameproject.output.StreamOutputSink;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for GameHistoryManager.
+ * Verifies saving, loading and streaming of the text history file.
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public class GameHistoryManagerTest
+{
+    private static final String ROUND = "Round 1: Guess = [1, 2, 3, 4], Correct positions: 4, Misplaced: 0";
+    private static final int    GAMES = 12;
+
+    private Path               directory;
+    private Path               historyFile;
+    private GameHistoryManager manager;
+
+    @BeforeEach
+    public void setUp() throws IOException
+    {
+        directory   = Files.createTempDirectory("mastermind-history");
+        historyFile = directory.resolve("history.txt");
+        manager     = new GameHistoryManager(historyFile,
+                                             null);
+
+        for(int i = 0; i < GAMES; i++)
+        {
+            manager.saveGameHistory(record(i));
+        }
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException
+    {
+        try(final Stream<Path> paths = Files.walk(directory))
+        {
+            paths.sorted(Comparator.reverseOrder())
+                 .forEach(path -> path.toFile()
+                                      .delete());
+        }
+    }
+
+    @Test
+    public void testSavedRecordsLoadBack()
+    {
+        final List<GameSessionRecord> history = manager.loadGameHistory();
+
+        assertEquals(GAMES,
+                     history.size());
+        assertEquals(record(0).toString(),
+                     history.get(0)
+                            .toString());
+    }
+
+    @Test
+    public void testStreamHistoryFilters()
+    {
+        try(final Stream<GameSessionRecord> lost = manager.streamHistoryByOutcome("Lost"))
+        {
+            assertEquals(GAMES / 2,
+                         lost.count());
+        }
+
+        try(final Stream<GameSessionRecord> recent = manager.streamHistory(record -> record.getTimestamp()
+                                                                                         .getMinute() >= 10))
+        {
+            assertEquals(List.of(10, 11),
+                         recent.map(record -> record.getTimestamp()
+                                                    .getMinute())
+                               .collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void testPagedDisplayStopsWhenAsked()
+    {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final StreamOutputSink      out    = new StreamOutputSink(output,
+                                                                  StandardCharsets.UTF_8);
+        final ScriptedInputSource   input  = ScriptedInputSource.of("",
+                                                                    "q",
+                                                                    "");
+        final UIHandler             ui     = new UIHandler(input,
+                                                           out,
+                                                           out);
+
+        try(final Stream<GameSessionRecord> history = manager.streamHistory(record -> true))
+        {
+            ui.displayHistoryPaged(history.iterator(),
+                                   HistoryMenuOption.VIEW_ALL,
+                                   5);
+        }
+
+        final String shown = output.toString(StandardCharsets.UTF_8);
+        assertTrue(shown.contains("Showing games 1-10."),
+                   "Second page should be shown after Enter");
+        assertFalse(shown.contains("2025-01-01 12:10:00"),
+                    "Third page should not be shown after 'q'");
+    }
+
+    @Test
+    public void testCacheSeesSavesAndOutsideChanges() throws IOException
+    {
+        assertEquals(GAMES,
+                     manager.loadGameHistory()
+                            .size());
+
+        manager.saveGameHistory(record(GAMES));
+        assertEquals(GAMES + 1,
+                     manager.loadGameHistory()
+                            .size(),
+                     "A saved game should appear without reloading");
+        assertEquals(GAMES / 2 + 1,
+                     manager.loadGameHistoryByOutcome("won")
+                            .size());
+
+        final GameHistoryManager other = new GameHistoryManager(historyFile,
+                                                                null);
+        other.saveGameHistory(record(GAMES + 1));
+        assertEquals(GAMES + 2,
+                     manager.loadGameHistory()
+                            .size(),
+                     "A game saved by someone else should invalidate the cache");
+
+        Files.writeString(historyFile,
+                          "");
+        assertTrue(manager.loadGameHistory()
+                          .isEmpty(),
+                   "A truncated file should invalidate the cache");
+    }
+
+    @Test
+    public void testBinaryStoreStreamsNewSaves() throws IOException
+    {
+        // The text file already has games in it, so a cache stamped from it would never go stale.
+        final GameHistoryManager binary = new GameHistoryManager(historyFile,
+                                                                 new BinaryHistoryStore(directory.resolve("history.bin")));
+
+        for(int i = 0; i < 3; i++)
+        {
+            binary.saveGameHistory(record(i));
+            try(final Stream<GameSessionRecord> records = binary.streamHistory(record -> true))
+            {
+                assertEquals(i + 1,
+                             records.count(),
+                             "Streaming should see every game saved to the binary store");
+            }
+        }
+        assertEquals(3,
+                     binary.loadGameHistory()
+                           .size());
+    }
+
+    @Test
+    public void testAsyncWriterGroupCommits() throws IOException
+    {
+        for(final AsyncHistoryWriter.Durability durability : AsyncHistoryWriter.Durability.values())
+        {
+            final Path               file   = directory.resolve("async-" + durability + ".txt");
+            final AsyncHistoryWriter writer = new AsyncHistoryWriter(file,
+                                                                     8,
+                                                                     16,
+                                                                     5,
+                                                                     durability);
+            final GameHistoryManager async  = new GameHistoryManager(file,
+                                                                     null,
+                                                                     writer);
+
+            for(int i = 0; i < 50; i++)
+            {
+                async.saveGameHistory(record(i % 60));
+            }
+            assertEquals(50,
+                         async.loadGameHistory()
+                              .size(),
+                         "Reads should see every queued game with " + durability);
+
+            async.saveGameHistory(record(0));
+            async.close();
+            assertEquals(51,
+                         new GameHistoryManager(file,
+                                                null).loadGameHistory()
+                                                     .size(),
+                         "Closing should drain the queue with " + durability);
+        }
+    }
+
+    @Test
+    public void testFailedAsyncWriterFallsBackToDirectSaves()
+    {
+        // The writer cannot open a directory as its file, so it fails at once.
+        final AsyncHistoryWriter writer = new AsyncHistoryWriter(directory,
+                                                                 1,
+                                                                 1,
+                                                                 0,
+                                                                 AsyncHistoryWriter.Durability.FLUSH);
+        final GameHistoryManager async  = new GameHistoryManager(historyFile,
+                                                                 null,
+                                                                 writer);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+                                  () ->
+                                  {
+                                      async.saveGameHistory(record(0));
+                                      assertEquals(GAMES + 1,
+                                                   async.loadGameHistory()
+                                                        .size(),
+                                                   "A game the writer took before failing should still be saved");
+
+                                      for(int i = 0; i < GAMES; i++)
+                                      {
+                                          assertFalse(writer.submit(record(i)),
+                                                      "A failed writer should turn records away");
+                                          async.saveGameHistory(record(i));
+                                      }
+                                      assertEquals(2 * GAMES + 1,
+                                                   async.loadGameHistory()
+                                                        .size(),
+                                                   "Games should be saved directly once the writer fails");
+                                  });
+        async.close();
+    }
+
+    @Test
+    public void testInterruptedSubmitIsTurnedAway()
+    {
+        final AsyncHistoryWriter writer = new AsyncHistoryWriter(historyFile,
+                                                                 1,
+                                                                 1,
+                                                                 0,
+                                                                 AsyncHistoryWriter.Durability.FLUSH);
+
+        Thread.currentThread()
+              .interrupt();
+        try
+        {
+            assertFalse(writer.submit(record(0)),
+                        "A record that was not queued must be left for the caller to save");
+        }
+        finally
+        {
+            Thread.interrupted();
+            writer.close();
+        }
+    }
+
+    @Test
+    public void testAsyncSavesKeepTheCache()
+    {
+        final AsyncHistoryWriter writer = new AsyncHistoryWriter(historyFile,
+                                                                 8,
+                                                                 4,
+                                                                 1,
+                                                                 AsyncHistoryWriter.Durability.FLUSH);
+        final GameHistoryManager async  = new GameHistoryManager(historyFile,
+                                                                 null,
+                                                                 writer);
+        final GameSessionRecord  saved  = record(GAMES);
+
+        async.loadGameHistory();
+        async.saveGameHistory(saved);
+
+        final List<GameSessionRecord> history = async.loadGameHistory();
+        assertEquals(GAMES + 1,
+                     history.size());
+        assertSame(saved,
+                   history.get(GAMES),
+                   "A queued game should be added to the cache rather than the file read again");
+        async.close();
+    }
+
+    private static GameSessionRecord record(final int minute)
+    {
+        return new GameSessionRecord(LocalDateTime.of(2025, 1, 1, 12, minute),
+                                     new int[] {PackedRound.parse(ROUND)},
+                                     "Not Used",
+                                     minute % 2 == 0 ? "Won" : "Lost");
+    }
+}
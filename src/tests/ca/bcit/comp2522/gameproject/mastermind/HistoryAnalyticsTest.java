@@ -0,0 +1,155 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import ca.bcit.comp2522.gameproject.mastermind.GameHistoryManager.GameSessionRecord;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for HistoryAnalytics.
+ * Verifies the statistics gathered and that chunked parallel reads agree with
+ * a single pass.
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public class HistoryAnalyticsTest
+{
+    private static final int    WIN      = Feedback.packResult(4, 0);
+    private static final int    MISS     = Feedback.packResult(1, 1);
+    private static final int    LIE      = Feedback.packResult(0, 3);
+    private static final String SCANNED  = "Used in Round 2, targeting Round 1 (Deceptive - Truth Revealed)";
+    private static final double EPSILON  = 1e-9;
+
+    @Test
+    public void testStatistics()
+    {
+        final List<GameSessionRecord> records = List.of(game(1, 2, true, false),
+                                                        game(1, 4, true, true),
+                                                        game(2, 12, false, true),
+                                                        game(2, 3, true, false));
+        final HistoryAnalytics        stats   = HistoryAnalytics.analyze(records.iterator());
+
+        assertEquals(4,
+                     stats.getGamesPlayed());
+        assertEquals(0.75,
+                     stats.getWinRate(),
+                     EPSILON);
+        assertEquals(1.0,
+                     stats.getWinRateByDay()
+                          .get(LocalDate.of(2025, 1, 1)),
+                     EPSILON);
+        assertEquals(0.5,
+                     stats.getWinRateByDay()
+                          .get(LocalDate.of(2025, 1, 2)),
+                     EPSILON);
+        assertEquals(3.0,
+                     stats.getMeanRoundsToWin(),
+                     EPSILON);
+        assertEquals(3,
+                     stats.getRoundsToWin(0.5));
+        assertEquals(4,
+                     stats.getRoundsToWin(0.99));
+        assertEquals(2,
+                     stats.getScansUsed());
+        assertEquals(1.0,
+                     stats.getScanHitRate(),
+                     EPSILON);
+        assertEquals(0.5,
+                     stats.getDeceptionPerGame(),
+                     EPSILON);
+    }
+
+    @Test
+    public void testChunkedReadMatchesSinglePass() throws IOException
+    {
+        final Path                    file    = Files.createTempFile("mastermind-analytics",
+                                                                     ".txt");
+        final List<GameSessionRecord> records = new ArrayList<>();
+
+        try
+        {
+            try(final BufferedWriter writer = Files.newBufferedWriter(file,
+                                                                      StandardCharsets.UTF_8))
+            {
+                for(int i = 0; i < 20_000; i++)
+                {
+                    final GameSessionRecord record;
+                    record = game(1 + i % 28,
+                                  1 + i % MastermindSession.MAX_ROUNDS,
+                                  i % 3 != 0,
+                                  i % 5 == 0);
+
+                    records.add(record);
+                    writer.write(GameHistoryManager.formatRecord(record));
+                }
+            }
+
+            final HistoryAnalytics expected = HistoryAnalytics.analyze(records.iterator());
+            final HistoryAnalytics single   = HistoryAnalytics.analyzeFile(file,
+                                                                           1);
+            final HistoryAnalytics chunked  = HistoryAnalytics.analyzeFile(file,
+                                                                           4);
+
+            assertEquals(records.size(),
+                         chunked.getGamesPlayed());
+            assertEquals(expected.toString(),
+                         single.toString());
+            assertEquals(expected.toString(),
+                         chunked.toString());
+        }
+        finally
+        {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static GameSessionRecord game(final int day,
+                                          final int rounds,
+                                          final boolean won,
+                                          final boolean scanned)
+    {
+        final int[] packed = new int[rounds];
+
+        for(int round = 0; round < rounds; round++)
+        {
+            packed[round] = PackedRound.pack(FeedbackTable.codeAt(round),
+                                             MISS,
+                                             MISS,
+                                             false,
+                                             false);
+        }
+        if(scanned)
+        {
+            packed[0] = PackedRound.pack(FeedbackTable.codeAt(0),
+                                         LIE,
+                                         MISS,
+                                         true,
+                                         true);
+        }
+        if(won)
+        {
+            packed[rounds - 1] = PackedRound.pack(FeedbackTable.codeAt(rounds),
+                                                  WIN,
+                                                  WIN,
+                                                  false,
+                                                  false);
+        }
+
+        return new GameSessionRecord(LocalDateTime.of(2025, 1, day, 12, 0),
+                                     packed,
+                                     scanned ? SCANNED : MastermindSession.TRUTH_SCAN_NOT_USED,
+                                     won ? "Won" : "Lost");
+    }
+}
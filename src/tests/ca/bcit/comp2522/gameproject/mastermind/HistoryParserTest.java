@@ -0,0 +1,149 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import ca.bcit.comp2522.gameproject.mastermind.GameHistoryManager.GameSessionRecord;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for HistoryParser.
+ * Verifies the single-pass parser reads the same records the text format
+ * describes, including awkward line endings and very long lines.
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public class HistoryParserTest
+{
+    private static final String ROUND = "Round 1: Guess = [1, 2, 3, 4], Correct positions: 4, Misplaced: 0";
+
+    @Test
+    public void testSampleHistoryMatchesFileLines() throws IOException
+    {
+        final Path                    textPath = Paths.get("src", "res", "mastermind_history.txt");
+        final List<GameSessionRecord> records  = parseAll(Files.readAllBytes(textPath));
+        final List<List<String>>      expected = new ArrayList<>();
+
+        for(final String line : Files.readAllLines(textPath))
+        {
+            if(line.trim()
+                   .equals(GameHistoryManager.GAME_START_MARKER))
+            {
+                expected.add(new ArrayList<>());
+            }
+            else if(line.trim()
+                        .startsWith("Round "))
+            {
+                expected.get(expected.size() - 1)
+                        .add(line.trim());
+            }
+        }
+
+        assertEquals(expected.size(),
+                     records.size());
+        for(int i = 0; i < records.size(); i++)
+        {
+            assertEquals(expected.get(i),
+                         records.get(i)
+                                .getRoundDetails(),
+                         "Game " + i + " should keep its rounds");
+        }
+    }
+
+    @Test
+    public void testLineEndingsAndLongLines()
+    {
+        final String                  longScan = "x".repeat(200_000);
+        final String                  text     = "=== GAME START ===\r\n" +
+                                                 "Date and Time: 2025-01-02 03:04:05\r\n" +
+                                                 "Rounds:\r\n" +
+                                                 "  " + ROUND + "\r\n" +
+                                                 "Truth Scan: " + longScan + "\r\n" +
+                                                 "Outcome: Won\r\n" +
+                                                 "=== GAME END ===\r\n" +
+                                                 "=== GAME START ===\n" +
+                                                 "Date and Time: 2025-01-02 03:04:05\n" +
+                                                 "  " + ROUND + "\n" +
+                                                 "Outcome: Draw\n" +
+                                                 "=== GAME END ===\n" +
+                                                 "=== GAME START ===\n" +
+                                                 "Date and Time: 2025-02-30 23:59:59\n" +
+                                                 "  " + ROUND + "\n" +
+                                                 "Outcome: lost\n" +
+                                                 "=== GAME END ===";
+        final List<GameSessionRecord> records  = parseAll(text.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(2,
+                     records.size(),
+                     "The record with an invalid outcome should be skipped");
+        assertEquals(LocalDateTime.of(2025, 1, 2, 3, 4, 5),
+                     records.get(0)
+                            .getTimestamp());
+        assertEquals(List.of(ROUND),
+                     records.get(0)
+                            .getRoundDetails());
+        assertEquals(longScan,
+                     records.get(0)
+                            .getTruthScanInfo());
+        assertEquals(LocalDateTime.of(2025, 2, 28, 23, 59, 59),
+                     records.get(1)
+                            .getTimestamp(),
+                     "Out-of-range days should resolve as the formatter does");
+        assertEquals("lost",
+                     records.get(1)
+                            .getOutcome());
+    }
+
+    @Test
+    public void testRoundLineShape()
+    {
+        assertFalse(PackedRound.isRoundLine("Round : Guess = [1, 2, 3, 4]"));
+        assertFalse(PackedRound.isRoundLine("Rounds:"));
+        assertEquals(ROUND,
+                     PackedRound.format(1,
+                                        PackedRound.parse(ROUND)));
+    }
+
+    @Test
+    public void testRoundLinesThatDoNotFitAreRejected()
+    {
+        final String[] malformed = {
+            "Round 1: Guess = [1, 2, x3, 4], Correct positions: 4, Misplaced: 0",
+            "Round 1: Guess = [1, 2, 7, 4], Correct positions: 4, Misplaced: 0",
+            "Round 1: Guess = [1, 2, 3, 4], Correct positions: 9, Misplaced: 0",
+            "Round 1: Guess = [1, 2, 3, 4], Correct positions: 1, Misplaced: 99999999999",
+            "Round 1: Guess = [1, 2, 3, 4], Correct positions: 3, Misplaced: 2"
+        };
+
+        for(final String line : malformed)
+        {
+            assertThrows(IllegalArgumentException.class,
+                         () -> PackedRound.parse(line),
+                         line);
+        }
+    }
+
+    private static List<GameSessionRecord> parseAll(final byte[] bytes)
+    {
+        final HistoryParser           parser  = new HistoryParser(Channels.newChannel(new ByteArrayInputStream(bytes)),
+                                                                  "test");
+        final List<GameSessionRecord> records = new ArrayList<>();
+
+        parser.forEachRemaining(records::add);
+        return records;
+    }
+}
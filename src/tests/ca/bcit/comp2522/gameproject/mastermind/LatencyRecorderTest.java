@@ -0,0 +1,72 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for LatencyRecorder.
+ * Verifies that percentiles are exact below the linear limit and stay close
+ * to the true latency above it.
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public class LatencyRecorderTest
+{
+    private static final long NANOS_PER_MICRO = 1_000L;
+
+    @Test
+    public void testPercentilesBelowTheLinearLimitAreExact()
+    {
+        final LatencyRecorder recorder = new LatencyRecorder();
+
+        for(int micros = 1; micros <= 100; micros++)
+        {
+            recorder.record(micros * NANOS_PER_MICRO);
+        }
+
+        assertEquals(50,
+                     recorder.getPercentileMicros(0.50));
+        assertEquals(99,
+                     recorder.getPercentileMicros(0.99));
+        assertEquals(100,
+                     recorder.getMaxMicros());
+    }
+
+    @Test
+    public void testSlowRunsAreNotCappedAtTheLinearLimit()
+    {
+        final LatencyRecorder recorder = new LatencyRecorder();
+        final long[]          slow     = {15_000L, 40_000L, 250_000L, 3_000_000L, 86_400_000_000L};
+
+        for(final long micros : slow)
+        {
+            final LatencyRecorder single = new LatencyRecorder();
+            final long            p50;
+
+            single.record(micros * NANOS_PER_MICRO);
+            p50 = single.getPercentileMicros(0.50);
+
+            assertTrue(p50 <= micros && p50 > micros - micros / LatencyRecorder.BUCKETS_PER_DOUBLING,
+                       micros + " us was reported as " + p50 + " us");
+            recorder.merge(single);
+        }
+
+        assertTrue(recorder.getPercentileMicros(0.50) > LatencyRecorder.LINEAR_MICROS,
+                   "The median of runs over the limit should be over the limit: " + recorder);
+        assertEquals(86_400_000_000L,
+                     recorder.getMaxMicros());
+    }
+
+    @Test
+    public void testLongestRunFitsABucket()
+    {
+        final LatencyRecorder recorder = new LatencyRecorder();
+
+        recorder.record(Long.MAX_VALUE);
+
+        assertTrue(recorder.getPercentileMicros(1.0) > Long.MAX_VALUE / NANOS_PER_MICRO / 2);
+    }
+}
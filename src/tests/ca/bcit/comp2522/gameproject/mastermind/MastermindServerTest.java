@@ -0,0 +1,254 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for MastermindServer.
+ * Verifies that a player can connect, guess, see errors for bad guesses and
+ * quit, that the server keeps count of its players, and that a dropped
+ * player's output never reaches anyone else.
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public class MastermindServerTest
+{
+    private static final int  TIMEOUT_MILLIS = 5_000;
+    private static final long POLL_MILLIS    = 10L;
+    private static final int  END_OF_STREAM  = -1;
+
+    private static final int SLOW_RECEIVE_BYTES  = 1024;
+    private static final int PIPELINED_SUMMARIES = 4 * 1024;
+
+    private MastermindServer server;
+    private Thread           serverThread;
+
+    @BeforeEach
+    public void setUp() throws IOException
+    {
+        server       = new MastermindServer(new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                                                                  0),
+                                            new SplittableRandom(42L));
+        serverThread = new Thread(this::serve);
+        serverThread.setDaemon(true);
+        serverThread.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException
+    {
+        server.close();
+        serverThread.join(TIMEOUT_MILLIS);
+    }
+
+    @Test
+    public void testPlayerCanGuessAndQuit() throws IOException, InterruptedException
+    {
+        try(final Socket socket = connect())
+        {
+            final InputStream  in  = socket.getInputStream();
+            final OutputStream out = socket.getOutputStream();
+
+            assertTrue(readUntil(in,
+                                 UIHandler.REMOTE_PROMPT_END).contains("Round 1 of 12"));
+
+            send(out,
+                 "1122");
+            assertTrue(readUntil(in,
+                                 UIHandler.REMOTE_PROMPT_END).contains("Feedback:"));
+            assertEquals(1,
+                         server.getConnectionCount());
+
+            send(out,
+                 "q");
+            readToEnd(in);
+        }
+
+        waitForConnectionCount(0);
+    }
+
+    @Test
+    public void testBadGuessIsReportedAndAskedAgain() throws IOException
+    {
+        try(final Socket socket = connect())
+        {
+            final InputStream  in  = socket.getInputStream();
+            final OutputStream out = socket.getOutputStream();
+            final String       reply;
+
+            readUntil(in,
+                      UIHandler.REMOTE_PROMPT_END);
+            send(out,
+                 "12a");
+            reply = readUntil(in,
+                              UIHandler.REMOTE_PROMPT_END);
+
+            assertTrue(reply.contains("Expected 4 digits, but got 3"),
+                       reply);
+            assertTrue(reply.contains("Round 1 of 12"),
+                       "A bad guess should not use up a round");
+        }
+    }
+
+    @Test
+    public void testDroppedPlayerOutputDoesNotReachOthers() throws IOException, InterruptedException
+    {
+        final Socket slow;
+        slow = new Socket();
+        slow.setReceiveBufferSize(SLOW_RECEIVE_BYTES);
+        slow.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                                           server.getPort()),
+                     TIMEOUT_MILLIS);
+
+        final Thread writer;
+        writer = new Thread(() -> askForSummariesUntilDropped(slow));
+        writer.setDaemon(true);
+
+        try(slow)
+        {
+            // Socket buffers can hold a lot, so keep asking until the server gives up.
+            writer.start();
+            waitForConnectionCount(0);
+        }
+        writer.join(TIMEOUT_MILLIS);
+
+        try(final Socket socket = connect())
+        {
+            final String screen;
+            screen = readUntil(socket.getInputStream(),
+                               UIHandler.REMOTE_PROMPT_END);
+
+            assertTrue(screen.contains("Round 1 of 12"),
+                       screen);
+            assertFalse(screen.contains("No guesses made yet."),
+                        "Another player's summary leaked: " + screen);
+        }
+    }
+
+    /*
+     * Serves until the test closes the server.
+     */
+    private void serve()
+    {
+        try
+        {
+            server.serve();
+        }
+        catch(final IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /*
+     * Asks for summaries without reading them until the connection fails.
+     */
+    private static void askForSummariesUntilDropped(final Socket socket)
+    {
+        final byte[] summaries;
+        summaries = (MastermindServer.INPUT_SUMMARY + "\n").repeat(PIPELINED_SUMMARIES)
+                                                           .getBytes(StandardCharsets.US_ASCII);
+
+        try
+        {
+            final OutputStream out;
+            out = socket.getOutputStream();
+
+            while(!socket.isClosed())
+            {
+                out.write(summaries);
+                out.flush();
+            }
+        }
+        catch(final IOException e)
+        {
+            // The server dropped the player, or the test closed the socket.
+        }
+    }
+
+    /*
+     * Connects a player to the server under test.
+     */
+    private Socket connect() throws IOException
+    {
+        final Socket socket;
+        socket = new Socket(InetAddress.getLoopbackAddress(),
+                            server.getPort());
+        socket.setSoTimeout(TIMEOUT_MILLIS);
+        return socket;
+    }
+
+    /*
+     * Sends one line of input.
+     */
+    private static void send(final OutputStream out,
+                             final String line) throws IOException
+    {
+        out.write((line + "\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    /*
+     * Reads until the given text arrives and returns everything read.
+     */
+    private static String readUntil(final InputStream in,
+                                    final String end) throws IOException
+    {
+        final StringBuilder text = new StringBuilder();
+
+        while(text.indexOf(end) < 0)
+        {
+            final int value;
+            value = in.read();
+            if(value == END_OF_STREAM)
+            {
+                throw new IOException("Stream ended before \"" + end + "\": " + text);
+            }
+            text.append((char)value);
+        }
+        return text.toString();
+    }
+
+    /*
+     * Reads until the server closes the connection.
+     */
+    private static void readToEnd(final InputStream in) throws IOException
+    {
+        while(in.read() != END_OF_STREAM)
+        {
+            // Discard the goodbye.
+        }
+    }
+
+    /*
+     * Waits for the serving thread to catch up with closed connections.
+     */
+    private void waitForConnectionCount(final int expected) throws InterruptedException
+    {
+        final long deadline;
+        deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+
+        while(server.getConnectionCount() != expected &&
+              System.currentTimeMillis() < deadline)
+        {
+            Thread.sleep(POLL_MILLIS);
+        }
+        assertEquals(expected,
+                     server.getConnectionCount());
+    }
+}
@@ -0,0 +1,221 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for MastermindSession.
+ * Verifies that each session keeps its own rounds, deception budget and
+ * random generator.
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public class MastermindSessionTest
+{
+    private static final long   SEED        = 42L;
+    private static final int    SESSIONS    = 500;
+    private static final String WRONG_GUESS = "6665";
+
+    @Test
+    public void testDeceptionBudgetIsPerSession()
+    {
+        for(int i = 0; i < SESSIONS; i++)
+        {
+            final MastermindSession session = new MastermindSession(new SplittableRandom(i),
+                                                                    new SecretCode(PlayerGuessCode.fromInput("1234")
+                                                                                                  .getPacked()));
+            playToEnd(session);
+
+            assertTrue(session.getDeceptiveRoundsUsed() <= Round.DECEPTIVE_ROUNDS_ALLOWED,
+                       "A session should never lie more than its budget allows");
+            assertEquals(session.getDeceptiveRoundsUsed(),
+                         countDeceptive(session.getRounds()),
+                         "Budget should match the deceptive rounds recorded");
+        }
+    }
+
+    @Test
+    public void testSameSeedPlaysSameGame()
+    {
+        final MastermindSession first  = new MastermindSession(new SplittableRandom(SEED));
+        final MastermindSession second = new MastermindSession(new SplittableRandom(SEED));
+
+        assertEquals(first.getSecretCode(),
+                     second.getSecretCode(),
+                     "Same seed should give the same secret");
+
+        playToEnd(first);
+        playToEnd(second);
+
+        for(int i = 0; i < first.getRounds()
+                                .size(); i++)
+        {
+            assertEquals(first.getRounds()
+                              .get(i)
+                              .toString(),
+                         second.getRounds()
+                               .get(i)
+                               .toString(),
+                         "Same seed should show the same feedback");
+        }
+    }
+
+    @Test
+    public void testInterleavedSessionsDoNotShareRounds()
+    {
+        final MastermindSession first  = new MastermindSession(new SplittableRandom(1L));
+        final MastermindSession second = new MastermindSession(new SplittableRandom(2L));
+
+        first.playGuess(PlayerGuessCode.fromInput(WRONG_GUESS));
+        first.playGuess(PlayerGuessCode.fromInput(WRONG_GUESS));
+        second.playGuess(PlayerGuessCode.fromInput(WRONG_GUESS));
+
+        assertEquals(2,
+                     first.getRounds()
+                          .size());
+        assertEquals(1,
+                     second.getRounds()
+                           .size());
+        assertFalse(second.isTruthScanUsed());
+    }
+
+    @Test
+    public void testWinningEndsTheSession()
+    {
+        final SecretCode        secret  = new SecretCode(PlayerGuessCode.fromInput("3251")
+                                                                        .getPacked());
+        final MastermindSession session = new MastermindSession(new SplittableRandom(SEED),
+                                                                secret);
+
+        session.playGuess(PlayerGuessCode.fromInput("3251"));
+
+        assertTrue(session.isWon());
+        assertTrue(session.isGameOver());
+        assertThrows(IllegalStateException.class,
+                     () -> session.playGuess(PlayerGuessCode.fromInput(WRONG_GUESS)));
+    }
+
+    @Test
+    public void testRoundWinsOnTrueFeedbackOnly()
+    {
+        final PlayerGuessCode guess     = PlayerGuessCode.fromInput("3251");
+        final Feedback        allRight  = Feedback.fromPacked(Feedback.packResult(Code.CODE_LENGTH,
+                                                                                  0));
+        final Feedback        noneRight = Feedback.fromPacked(Feedback.packResult(0,
+                                                                                  0));
+
+        assertTrue(new Round(1,
+                             guess,
+                             allRight,
+                             noneRight).isWinning(),
+                   "A lie about a winning guess should not hide the win");
+        assertFalse(new Round(1,
+                              guess,
+                              noneRight,
+                              allRight).isWinning(),
+                    "A lie claiming a win should not end the game");
+    }
+
+    @Test
+    public void testVariantSessionIsHonestAndWinnable()
+    {
+        final CodeGeometry      geometry = CodeGeometry.SUPER;
+        final SecretCode        secret   = new SecretCode(geometry,
+                                                          PlayerGuessCode.fromInput(geometry,
+                                                                                    "18273")
+                                                                         .getPacked());
+        final MastermindSession session  = new MastermindSession(new SplittableRandom(SEED),
+                                                                 secret);
+        final Round             first    = session.playGuess(PlayerGuessCode.fromInput(geometry,
+                                                                                       "81111"));
+        final CodeSpace         space    = new CodeSpace(geometry);
+
+        space.filter(first.getGuess()
+                          .getPacked(),
+                     first.getFeedback()
+                          .getPacked());
+
+        assertEquals(geometry,
+                     session.getGeometry());
+        assertFalse(first.isDeceptiveRound());
+        assertEquals(Feedback.packResult(0,
+                                         2),
+                     first.getFeedback()
+                          .getPacked());
+        assertEquals(space.count(),
+                     session.getRemainingPossibilities());
+
+        while(!session.isGameOver() && session.getRounds()
+                                              .size() < MastermindSession.MAX_ROUNDS - 1)
+        {
+            session.playGuess(PlayerGuessCode.fromInput(geometry,
+                                                        "88888"));
+        }
+        session.playGuess(PlayerGuessCode.fromInput(geometry,
+                                                    "18273"));
+
+        assertTrue(session.isWon());
+        assertEquals(0,
+                     session.getDeceptiveRoundsUsed());
+    }
+
+    @Test
+    public void testVariantSessionRefusesClassicOnlyWork()
+    {
+        final SecretCode        secret  = SecretCode.generateRandomCode(CodeGeometry.GRAND,
+                                                                        new SplittableRandom(SEED));
+        final MastermindSession session = new MastermindSession(new SplittableRandom(SEED),
+                                                                CodeGeometry.GRAND);
+
+        assertThrows(IllegalArgumentException.class,
+                     () -> new MastermindSession(new SplittableRandom(SEED),
+                                                 secret,
+                                                 DeceptionEngine.defaultStrategy()),
+                     "Deception should refuse a variant game");
+        assertThrows(IllegalArgumentException.class,
+                     () -> session.playGuess(PlayerGuessCode.fromInput(WRONG_GUESS)),
+                     "A classic guess should not be scored against a variant secret");
+        assertThrows(IllegalStateException.class,
+                     () -> session.replayRound(0));
+
+        final Round round = session.playGuess(PlayerGuessCode.fromInput(CodeGeometry.GRAND,
+                                                                        "000000"));
+        assertThrows(IllegalArgumentException.class,
+                     () -> PackedRound.of(round),
+                     "History should refuse a variant round");
+        assertThrows(IllegalArgumentException.class,
+                     () -> new SessionJournal(Path.of("unused.journal")).sessionStarted(1L,
+                                                                                                     session),
+                     "The journal should refuse a variant game");
+    }
+
+    private static void playToEnd(final MastermindSession session)
+    {
+        while(!session.isGameOver())
+        {
+            session.playGuess(PlayerGuessCode.fromInput(WRONG_GUESS));
+        }
+    }
+
+    private static int countDeceptive(final List<Round> rounds)
+    {
+        int count = 0;
+        for(final Round round : rounds)
+        {
+            if(round.isDeceptiveRound())
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,109 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for MastermindSolver.
+ * Verifies the solver finds every secret when feedback is honest.
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public class MastermindSolverTest
+{
+    private static final int KNUTH_MAX_GUESSES = 5;
+    private static final int MAX_ROUNDS        = 12;
+
+    @Test
+    public void testFirstGuessIsKnuthOpening()
+    {
+        final MastermindSolver solver = new MastermindSolver();
+        assertEquals(MastermindSolver.FIRST_GUESS,
+                     solver.suggestNextGuess(new int[0],
+                                             new int[0],
+                                             0),
+                     "Solver should open with 1122");
+    }
+
+    @Test
+    public void testMinimaxSolvesEverySecretWithinFiveGuesses()
+    {
+        final MastermindSolver solver = new MastermindSolver(MastermindSolver.Strategy.MINIMAX,
+                                                             ForkJoinPool.commonPool());
+
+        for(int index = 0; index < FeedbackTable.CODE_COUNT; index++)
+        {
+            final int secret = FeedbackTable.codeAt(index);
+            final int rounds = playHonestGame(solver,
+                                              secret);
+            assertTrue(rounds <= KNUTH_MAX_GUESSES,
+                       "Minimax should solve " +
+                       new SecretCode(secret) +
+                       " within five guesses but took " +
+                       rounds);
+        }
+    }
+
+    @Test
+    public void testEntropySolvesEverySecret()
+    {
+        final MastermindSolver solver = new MastermindSolver(MastermindSolver.Strategy.ENTROPY,
+                                                             ForkJoinPool.commonPool());
+
+        for(int index = 0; index < FeedbackTable.CODE_COUNT; index++)
+        {
+            final int secret = FeedbackTable.codeAt(index);
+            final int rounds = playHonestGame(solver,
+                                              secret);
+            assertTrue(rounds <= MAX_ROUNDS,
+                       "Entropy solver should solve " +
+                       new SecretCode(secret) +
+                       " within the round limit");
+        }
+    }
+
+    @Test
+    public void testFallsBackWhenFeedbackIsContradictory()
+    {
+        final MastermindSolver solver    = new MastermindSolver();
+        final int              guess     = MastermindSolver.FIRST_GUESS;
+        final int[]            guesses   = {guess, guess};
+        final int[]            feedbacks = {Feedback.packResult(0,
+                                                                0),
+                                            Feedback.packResult(1,
+                                                                0)};
+
+        // No secret can give two different results for the same guess.
+        assertTrue(solver.suggestNextGuess(guesses,
+                                           feedbacks,
+                                           guesses.length) != 0,
+                   "Solver should still suggest a guess");
+    }
+
+    private static int playHonestGame(final MastermindSolver solver,
+                                      final int secret)
+    {
+        final int[] guesses   = new int[MAX_ROUNDS];
+        final int[] feedbacks = new int[MAX_ROUNDS];
+
+        for(int round = 0; round < MAX_ROUNDS; round++)
+        {
+            final int guess = solver.suggestNextGuess(guesses,
+                                                      feedbacks,
+                                                      round);
+            guesses[round]   = guess;
+            feedbacks[round] = Feedback.score(secret,
+                                              guess);
+            if(guess == secret)
+            {
+                return round + 1;
+            }
+        }
+        return MAX_ROUNDS + 1;
+    }
+}
@@ -1,6 +1,8 @@
 package ca.bcit.comp2522.gameproject.mastermind;
 
 import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 
@@ -142,4 +144,77 @@ public class PlayerGuessCodeTest
 
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testParsePackedMatchesFromInput()
+    {
+        final String validInput = "6152";
+        final byte[] buffer     = ("guess " + validInput + "\n").getBytes(StandardCharsets.US_ASCII);
+
+        assertEquals(PlayerGuessCode.fromInput(validInput)
+                                    .getPacked(),
+                     PlayerGuessCode.parsePacked(new StringBuilder(validInput)));
+        assertEquals(PlayerGuessCode.fromInput(validInput)
+                                    .getPacked(),
+                     PlayerGuessCode.parsePacked(buffer,
+                                                 6,
+                                                 validInput.length()));
+    }
+
+    @Test
+    public void testParsePackedBytesKeepsMessages()
+    {
+        final byte[]                buffer    = "12a4".getBytes(StandardCharsets.US_ASCII);
+        final InvalidGuessException character = assertThrows(InvalidGuessException.class,
+                                                             () -> PlayerGuessCode.parsePacked(buffer,
+                                                                                               0,
+                                                                                               buffer.length));
+        final InvalidGuessException length    = assertThrows(InvalidGuessException.class,
+                                                             () -> PlayerGuessCode.parsePacked(buffer,
+                                                                                               1,
+                                                                                               3));
+
+        assertEquals("Invalid character 'a' at position 3.Only digits 1-6 are allowed.",
+                     character.getMessage());
+        assertEquals("Invalid input length. Expected 4 digits, but got 3.",
+                     length.getMessage());
+        assertThrows(IllegalArgumentException.class,
+                     () -> PlayerGuessCode.parsePacked(buffer,
+                                                       2,
+                                                       4));
+    }
+
+    @Test
+    public void testFromInputOfGeometry()
+    {
+        final PlayerGuessCode grand = PlayerGuessCode.fromInput(CodeGeometry.GRAND,
+                                                                "190345");
+
+        assertEquals(List.of(1,
+                             9,
+                             10,
+                             3,
+                             4,
+                             5),
+                     grand.getDigits());
+        assertEquals("[1, 9, 10, 3, 4, 5]",
+                     grand.toString());
+
+        final InvalidGuessException character = assertThrows(InvalidGuessException.class,
+                                                             () -> PlayerGuessCode.fromInput(CodeGeometry.SUPER,
+                                                                                             "12349"));
+        final InvalidGuessException length    = assertThrows(InvalidGuessException.class,
+                                                             () -> PlayerGuessCode.fromInput(CodeGeometry.SUPER,
+                                                                                             "1234"));
+
+        assertEquals("Invalid character '9' at position 5.Only digits 1-8 are allowed.",
+                     character.getMessage());
+        assertEquals("Invalid input length. Expected 5 digits, but got 4.",
+                     length.getMessage());
+        assertNotEquals(PlayerGuessCode.fromInput(CodeGeometry.SUPER,
+                                                  "12341"),
+                        PlayerGuessCode.fromInput(new CodeGeometry(5,
+                                                                   6),
+                                                  "12341"),
+                        "Codes of different geometries should not be equal");
+    }
+}
@@ -0,0 +1,100 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for RoundExecutor.
+ * Verifies both modes play the same rounds, run the follow-up work in order
+ * and time every round.
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public class RoundExecutorTest
+{
+    private static final long   SEED  = 99L;
+    private static final String GUESS = "1122";
+
+    @Test
+    public void testInlineRunsWorkStraightAway()
+    {
+        try(final RoundExecutor executor = new RoundExecutor(RoundExecutor.Mode.INLINE))
+        {
+            final MastermindSession session  = new MastermindSession(new SplittableRandom(SEED));
+            final List<Round>       prepared = new ArrayList<>();
+            final Round             round    = executor.playRound(session,
+                                                                  PlayerGuessCode.fromInput(GUESS),
+                                                                  prepared::add);
+
+            assertEquals(1,
+                         prepared.size());
+            assertSame(round,
+                       prepared.get(0));
+            assertEquals(1,
+                         executor.getLatency()
+                                 .getCount());
+        }
+    }
+
+    @Test
+    public void testAsyncMatchesInline()
+    {
+        final List<Round> inlineRounds = playGame(RoundExecutor.Mode.INLINE);
+        final List<Round> asyncRounds  = playGame(RoundExecutor.Mode.ASYNC);
+
+        assertEquals(inlineRounds.size(),
+                     asyncRounds.size());
+        for(int i = 0; i < inlineRounds.size(); i++)
+        {
+            assertEquals(inlineRounds.get(i)
+                                     .toString(),
+                         asyncRounds.get(i)
+                                    .toString());
+        }
+    }
+
+    @Test
+    public void testRejectsMissingWork()
+    {
+        try(final RoundExecutor executor = new RoundExecutor(RoundExecutor.Mode.INLINE))
+        {
+            assertThrows(IllegalArgumentException.class,
+                         () -> executor.playRound(new MastermindSession(new SplittableRandom(SEED)),
+                                                  PlayerGuessCode.fromInput(GUESS),
+                                                  null));
+        }
+    }
+
+    private static List<Round> playGame(final RoundExecutor.Mode mode)
+    {
+        try(final RoundExecutor executor = new RoundExecutor(mode))
+        {
+            final MastermindSession session  = new MastermindSession(new SplittableRandom(SEED));
+            final List<Round>       prepared = new ArrayList<>();
+
+            while(!session.isGameOver())
+            {
+                executor.playRound(session,
+                                   PlayerGuessCode.fromInput(GUESS),
+                                   prepared::add);
+            }
+            executor.awaitIdle();
+
+            assertEquals(session.getRounds(),
+                         prepared);
+            assertEquals(session.getRounds()
+                                .size(),
+                         executor.getLatency()
+                                 .getCount());
+            return prepared;
+        }
+    }
+}
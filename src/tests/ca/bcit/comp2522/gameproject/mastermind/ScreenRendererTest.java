@@ -0,0 +1,138 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import ca.bcit.comp2522.gameproject.input.ScriptedInputSource;
+import ca.bcit.comp2522.gameproject.interfaces.OutputSink;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for ScreenRenderer.
+ * Verifies that a screen reaches the sink in one write, just before the
+ * player is asked for input, and that errors stay in order.
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public class ScreenRendererTest
+{
+    @Test
+    public void testRoundIsOneWriteBeforeInput()
+    {
+        final List<String> writes = new ArrayList<>();
+        final OutputSink   sink   = text -> writes.add(text.toString());
+        final UIHandler    ui     = new UIHandler(ScriptedInputSource.of("1234"),
+                                                  sink,
+                                                  sink);
+
+        ui.displayFeedback(Feedback.fromPacked(Feedback.packResult(1,
+                                                                   2)));
+        ui.displayRoundHeader(2,
+                              MastermindSession.MAX_ROUNDS);
+        ui.promptForGuess(MastermindGame.INPUT_TRUTH_SCAN,
+                          MastermindGame.INPUT_GUESS_SUMMARY,
+                          MastermindGame.INPUT_HINT);
+        assertTrue(writes.isEmpty(),
+                   "Nothing should be written until the player is asked");
+
+        assertEquals("1234",
+                     ui.getInput()
+                       .nextLine());
+        assertEquals(1,
+                     writes.size());
+        assertTrue(writes.get(0)
+                         .contains("Round 2 of 12"));
+        assertTrue(writes.get(0)
+                         .contains("Enter your guess"));
+    }
+
+    @Test
+    public void testErrorsFollowPendingOutput()
+    {
+        final List<String> writes = new ArrayList<>();
+        final UIHandler    ui     = new UIHandler(ScriptedInputSource.of(),
+                                                  text -> writes.add("out:" + text),
+                                                  text -> writes.add("err:" + text));
+
+        ui.displayMessage("before");
+        ui.displayError("failed");
+
+        assertEquals(List.of("out:before" + System.lineSeparator(),
+                             "err:failed" + System.lineSeparator()),
+                     writes);
+    }
+
+    @Test
+    public void testLargeScreenIsWrittenEarly()
+    {
+        final List<String>   writes   = new ArrayList<>();
+        final ScreenRenderer renderer = new ScreenRenderer(text -> writes.add(text.toString()));
+
+        for(int line = 0; line < 2_000; line++)
+        {
+            renderer.println("Round " + line);
+        }
+
+        assertFalse(writes.isEmpty(),
+                    "A screen that is never flushed should not grow without limit");
+    }
+
+    @Test
+    public void testFailedScreenIsNotSentAgain()
+    {
+        final List<String>   writes   = new ArrayList<>();
+        final boolean[]      failing  = {true};
+        final ScreenRenderer renderer = new ScreenRenderer(text ->
+        {
+            if(failing[0])
+            {
+                throw new IllegalStateException("Sink is down");
+            }
+            writes.add(text.toString());
+        });
+
+        renderer.println("lost");
+        assertThrows(IllegalStateException.class,
+                     renderer::flush);
+
+        failing[0] = false;
+        renderer.println("sent");
+        renderer.flush();
+
+        assertEquals(List.of("sent" + System.lineSeparator()),
+                     writes);
+    }
+
+    @Test
+    public void testFailedErrorIsNotSentAgain()
+    {
+        final List<String> errors  = new ArrayList<>();
+        final boolean[]    failing = {true};
+        final UIHandler    ui      = new UIHandler(ScriptedInputSource.of(),
+                                                   text -> {},
+                                                   text ->
+                                                   {
+                                                       if(failing[0])
+                                                       {
+                                                           throw new IllegalStateException("Sink is down");
+                                                       }
+                                                       errors.add(text.toString());
+                                                   });
+
+        assertThrows(IllegalStateException.class,
+                     () -> ui.displayError("lost"));
+
+        failing[0] = false;
+        ui.displayError("sent");
+
+        assertEquals(List.of("sent" + System.lineSeparator()),
+                     errors);
+    }
+}
@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.List;
 import java.util.Arrays;
+import java.util.SplittableRandom;
 
 /**
  * Test class for Mastermind game components.
@@ -17,21 +18,54 @@ public class SecretCodeTest
     @Test
     public void testSecretCodeLength()
     {
-        final int tooShortLength = 3;
-        final int validLength    = 4;
+        final int shortLength   = 3;
+        final int validLength   = 4;
+        final int tooLongLength = 7;
 
-        // Test length too short
-        IllegalArgumentException shortException = assertThrows(IllegalArgumentException.class,
-                                                               () -> SecretCode.generateRandomCode(tooShortLength));
+        // Lengths outside what a geometry allows are rejected
+        assertThrows(IllegalArgumentException.class,
+                     () -> SecretCode.generateRandomCode(0));
+        assertThrows(IllegalArgumentException.class,
+                     () -> SecretCode.generateRandomCode(tooLongLength));
 
         // Test valid length should not throw
         assertDoesNotThrow(() -> SecretCode.generateRandomCode(validLength));
 
-        // Verify the generated code has correct length
+        // Verify the generated codes have the requested length
         final SecretCode validCode = SecretCode.generateRandomCode(validLength);
-        assertTrue(validCode.getDigits()
-                            .toString()
-                            .length() >= validLength);
+        final SecretCode shortCode = SecretCode.generateRandomCode(shortLength);
+        assertEquals(validLength,
+                     validCode.getDigits()
+                              .size());
+        assertSame(CodeGeometry.CLASSIC,
+                   validCode.getGeometry());
+        assertEquals(shortLength,
+                     shortCode.getDigits()
+                              .size());
+    }
+
+    @Test
+    public void testSecretCodeOfGeometry()
+    {
+        final CodeGeometry     geometry = CodeGeometry.GRAND;
+        final SplittableRandom random   = new SplittableRandom(7);
+
+        for(int i = 0; i < 1_000; i++)
+        {
+            final SecretCode secret = SecretCode.generateRandomCode(geometry,
+                                                                    random);
+
+            assertEquals(geometry,
+                         secret.getGeometry());
+            assertEquals(geometry.getLength(),
+                         secret.getDigits()
+                               .size());
+            for(final int digit : secret.getDigits())
+            {
+                assertTrue(digit >= Code.DIGIT_MIN && digit <= geometry.getColours(),
+                           "Digit out of range: " + digit);
+            }
+        }
     }
 
     @Test
@@ -0,0 +1,210 @@
+package ca.bcit.comp2522.gameproject.mastermind;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for SessionJournal.
+ * Verifies that games in progress come back exactly as they were played,
+ * including deception and the truth scan, and that finished games and torn
+ * entries are dropped.
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public class SessionJournalTest
+{
+    private static final int  ROUNDS_PLAYED = 8;
+    private static final int  ENTRY_BYTES   = 16;
+    private static final int  HEADER_BYTES  = 8;
+    private static final long SEED          = 3L;
+
+    private Path           directory;
+    private Path           file;
+    private SessionJournal journal;
+
+    @BeforeEach
+    public void setUp() throws IOException
+    {
+        directory = Files.createTempDirectory("mastermind-journal");
+        file      = directory.resolve("sessions.wal");
+        journal   = new SessionJournal(file);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException
+    {
+        journal.close();
+        try(final Stream<Path> paths = Files.walk(directory))
+        {
+            paths.sorted(Comparator.reverseOrder())
+                 .forEach(path -> path.toFile()
+                                      .delete());
+        }
+    }
+
+    @Test
+    public void testGameInProgressIsRestored() throws IOException
+    {
+        final MastermindSession            played   = playJournaledGame(journal.nextSessionId(),
+                                                                        ROUNDS_PLAYED);
+        final Map<Long, MastermindSession> restored = reopen().restore(new SplittableRandom(SEED));
+        final MastermindSession            session  = restored.values()
+                                                              .iterator()
+                                                              .next();
+
+        assertTrue(played.getDeceptiveRoundsUsed() > 0,
+                   "The game should include a deceptive round");
+        assertEquals(1,
+                     restored.size());
+        assertEquals(played.getSecretCode()
+                           .getPacked(),
+                     session.getSecretCode()
+                            .getPacked());
+        assertEquals(packedRounds(played.getRounds()),
+                     packedRounds(session.getRounds()));
+        assertEquals(played.getDeceptiveRoundsUsed(),
+                     session.getDeceptiveRoundsUsed());
+        assertEquals(played.getRemainingPossibilities(),
+                     session.getRemainingPossibilities());
+    }
+
+    @Test
+    public void testTruthScanIsRestored() throws IOException
+    {
+        final long              sessionId = journal.nextSessionId();
+        final MastermindSession played    = playJournaledGame(sessionId,
+                                                              3);
+
+        played.replayTruthScan(4,
+                               2);
+        journal.truthScanUsed(sessionId,
+                              played);
+        journal.roundPlayed(sessionId,
+                            played.playGuess(PlayerGuessCode.fromInput("5566")));
+
+        final MastermindSession session = reopen().restore(new SplittableRandom(SEED))
+                                                  .get(sessionId);
+
+        assertTrue(session.isTruthScanUsed());
+        assertTrue(session.getRounds()
+                          .get(1)
+                          .isTruthRevealed());
+        assertEquals(played.getTruthScanInfo(),
+                     session.getTruthScanInfo());
+        assertEquals(packedRounds(played.getRounds()),
+                     packedRounds(session.getRounds()));
+    }
+
+    @Test
+    public void testEndedGamesAreDroppedFromTheJournal() throws IOException
+    {
+        final long finishedId = journal.nextSessionId();
+        final long openId     = journal.nextSessionId();
+
+        playJournaledGame(finishedId,
+                          2);
+        playJournaledGame(openId,
+                          2);
+        journal.sessionEnded(finishedId);
+
+        final SessionJournal               reopened = reopen();
+        final Map<Long, MastermindSession> restored = reopened.restore(new SplittableRandom(SEED));
+
+        assertEquals(List.of(openId),
+                     List.copyOf(restored.keySet()));
+        assertEquals(HEADER_BYTES + 3 * ENTRY_BYTES,
+                     Files.size(file),
+                     "Only the unfinished game should be left in the journal");
+        assertTrue(reopened.nextSessionId() > openId);
+    }
+
+    @Test
+    public void testTornEntryIsIgnored() throws IOException
+    {
+        final long sessionId = journal.nextSessionId();
+
+        playJournaledGame(sessionId,
+                          2);
+        journal.close();
+        Files.write(file,
+                    new byte[] { 0x4A, 2, 3 },
+                    StandardOpenOption.APPEND);
+
+        final SessionJournal    reopened = reopen();
+        final MastermindSession session  = reopened.restore(new SplittableRandom(SEED))
+                                                   .get(sessionId);
+
+        assertEquals(2,
+                     session.getRounds()
+                            .size());
+        assertFalse(session.isGameOver());
+
+        reopened.roundPlayed(sessionId,
+                             session.playGuess(PlayerGuessCode.fromInput("3456")));
+        reopened.close();
+        assertEquals(3,
+                     reopen().restore(new SplittableRandom(SEED))
+                             .get(sessionId)
+                             .getRounds()
+                             .size());
+    }
+
+    /*
+     * Plays the given number of losing rounds, recording each in the journal.
+     */
+    private MastermindSession playJournaledGame(final long sessionId,
+                                                final int rounds) throws IOException
+    {
+        final MastermindSession session = new MastermindSession(new SplittableRandom(SEED),
+                                                                new SecretCode(List.of(1,
+                                                                                       2,
+                                                                                       3,
+                                                                                       4)));
+        final String[]          guesses = { "1111", "2222", "3333", "4444", "5555", "6666", "2143", "4321" };
+
+        journal.sessionStarted(sessionId,
+                               session);
+        for(int round = 0; round < rounds; round++)
+        {
+            journal.roundPlayed(sessionId,
+                                session.playGuess(PlayerGuessCode.fromInput(guesses[round])));
+        }
+        return session;
+    }
+
+    /*
+     * Opens the journal file afresh, as a restarted game would.
+     */
+    private SessionJournal reopen() throws IOException
+    {
+        journal.close();
+        journal = new SessionJournal(file);
+        return journal;
+    }
+
+    /*
+     * Packs rounds so whole games can be compared.
+     */
+    private static List<Integer> packedRounds(final List<Round> rounds)
+    {
+        return rounds.stream()
+                     .map(PackedRound::of)
+                     .toList();
+    }
+}
@@ -0,0 +1,86 @@
+package ca.bcit.comp2522.gameproject.output;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for StreamOutputSink.
+ * Verifies that each piece of text is encoded correctly and sent with one
+ * write and one flush.
+ *
+ * @author Nathan O
+ * @version 1.0 2025
+ */
+public class StreamOutputSinkTest
+{
+    @Test
+    public void testOneWriteAndFlushPerText()
+    {
+        final CountingStream   stream = new CountingStream();
+        final StreamOutputSink sink   = new StreamOutputSink(stream,
+                                                             StandardCharsets.UTF_8);
+
+        sink.write("--- Round 1 of 12 ---\nEnter your guess: ");
+        sink.write("");
+
+        assertEquals(1,
+                     stream.writes);
+        assertEquals(1,
+                     stream.flushes);
+        assertEquals("--- Round 1 of 12 ---\nEnter your guess: ",
+                     stream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testLongTextIsEncodedWhole()
+    {
+        final CountingStream   stream = new CountingStream();
+        final StreamOutputSink sink   = new StreamOutputSink(stream,
+                                                             StandardCharsets.UTF_8);
+        final StringBuilder    text   = new StringBuilder();
+
+        for(int i = 0; i < 1_000; i++)
+        {
+            text.append("V\u00e9rit\u00e9 \u2713 ")
+                .append(i)
+                .append('\n');
+        }
+        sink.write(text);
+        sink.write("done");
+
+        assertEquals(text + "done",
+                     stream.toString(StandardCharsets.UTF_8));
+        assertEquals(2,
+                     stream.writes);
+    }
+
+    /*
+     * Collects what is written and counts the calls that wrote it.
+     */
+    private static final class CountingStream extends ByteArrayOutputStream
+    {
+        private int writes;
+        private int flushes;
+
+        @Override
+        public synchronized void write(final byte[] bytes,
+                                       final int offset,
+                                       final int length)
+        {
+            writes++;
+            super.write(bytes,
+                        offset,
+                        length);
+        }
+
+        @Override
+        public void flush()
+        {
+            flushes++;
+        }
+    }
+}